@@ -0,0 +1,226 @@
+package com.simulador;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.simulador.distribuido.LineaComandosBarrido;
+import com.simulador.models.CargaTrabajo;
+import com.simulador.models.Metricas;
+import com.simulador.models.SystemParams;
+import com.simulador.persistencia.LectorTraza;
+import com.simulador.persistencia.PuntoDeControl;
+import com.simulador.scheduler.Planificador;
+import com.simulador.scheduler.RegistroPlanificadores;
+
+/*
+   Una simulación de la tanda desde la línea de comandos, sin ventana, pensada para corridas largas:
+
+       simular <carga.json|traza.csv> [--algoritmo nombre] [--tip n] [--tfp n] [--tcp n] [--quantum n]
+               [--checkpoint archivo intervalo]
+       reanudar <archivo> [--algoritmo nombre] [--checkpoint archivo intervalo]
+       resimular <carga.json|traza.csv> [--algoritmo nombre] [--tip n,m] [--tfp n,m] [--tcp n,m] [--quantum n,m]
+               [--instantaneas intervalo]
+
+   Con --checkpoint se guarda el estado completo en "archivo" cada "intervalo" unidades de tiempo simulado
+   (ver PuntoDeControl). Si la corrida se corta, "reanudar" sigue desde el último punto guardado y llega a las
+   mismas métricas. El algoritmo se crea por el nombre guardado en el punto de control: --algoritmo solo hace
+   falta si la corrida original tenía una configuración distinta de la por defecto, como 'MLFQ:niveles=4'.
+   No se registran eventos, solo se muestran las métricas al terminar.
+
+   "resimular" recorre las variantes de parámetros (las listas se combinan todas con todas, como en el barrido)
+   con una SimulacionIncremental: la primera se simula entera y cada una de las siguientes solo desde la última
+   instantánea anterior al primer instante en que el cambio puede influir. Se toma una instantánea cada
+   "intervalo" unidades de tiempo simulado.
+ */
+public final class LineaComandosSimulacion {
+
+    private static final String USO_SIMULAR = "Uso: simular <carga.json|traza.csv> [--algoritmo nombre] [--tip n] [--tfp n] [--tcp n]"
+            + " [--quantum n] [--checkpoint archivo intervalo]";
+    private static final String USO_REANUDAR = "Uso: reanudar <archivo> [--algoritmo nombre] [--checkpoint archivo intervalo]";
+    private static final String USO_RESIMULAR = "Uso: resimular <carga.json|traza.csv> [--algoritmo nombre] [--tip n,m] [--tfp n,m]"
+            + " [--tcp n,m] [--quantum n,m] [--instantaneas intervalo]";
+    private static final long INTERVALO_INSTANTANEAS_POR_DEFECTO = 1000;
+    private static final int TIP_POR_DEFECTO = 2; //Los mismos que la ventana principal
+    private static final int TFP_POR_DEFECTO = 1;
+    private static final int TCP_POR_DEFECTO = 1;
+    private static final int QUANTUM_POR_DEFECTO = 10;
+
+    private LineaComandosSimulacion() {
+    }
+
+    public static void simular(String[] args) throws Exception {
+        Map<String, String> opciones = leerOpciones(args, USO_SIMULAR);
+        String algoritmo = opciones.getOrDefault("algoritmo", RegistroPlanificadores.nombres().get(0));
+        Planificador planificador = crearPlanificador(algoritmo);
+        if (planificador == null) {
+            System.err.println("No hay un planificador registrado con el nombre " + algoritmo + ". Los registrados son "
+                    + RegistroPlanificadores.nombres());
+            System.exit(2);
+        }
+        SystemParams params;
+        try {
+            params = new SystemParams(
+                    Integer.parseInt(opciones.getOrDefault("tip", String.valueOf(TIP_POR_DEFECTO))),
+                    Integer.parseInt(opciones.getOrDefault("tfp", String.valueOf(TFP_POR_DEFECTO))),
+                    Integer.parseInt(opciones.getOrDefault("tcp", String.valueOf(TCP_POR_DEFECTO))),
+                    Integer.parseInt(opciones.getOrDefault("quantum", String.valueOf(QUANTUM_POR_DEFECTO))));
+        } catch (NumberFormatException ex) {
+            System.err.println("Valor inválido: " + ex.getMessage());
+            System.err.println(USO_SIMULAR);
+            System.exit(2);
+            return;
+        }
+        correr(new Simulador(leerCarga(Path.of(args[0])), planificador, params), opciones, USO_SIMULAR);
+    }
+
+    public static void reanudar(String[] args) throws Exception {
+        Map<String, String> opciones = leerOpciones(args, USO_REANUDAR);
+        Planificador planificador = null; //Sin --algoritmo, el del punto de control con su configuración por defecto
+        if (opciones.containsKey("algoritmo")) {
+            planificador = crearPlanificador(opciones.get("algoritmo"));
+            if (planificador == null) {
+                System.err.println("No hay un planificador registrado con el nombre " + opciones.get("algoritmo"));
+                System.exit(2);
+            }
+        }
+        Simulador simulador;
+        try {
+            simulador = PuntoDeControl.restaurar(Path.of(args[0]), planificador);
+        } catch (IOException ex) {
+            System.err.println("No se pudo leer el punto de control " + args[0] + ": " + ex);
+            System.exit(1);
+            return;
+        }
+        System.out.println("Se reanuda desde t=" + simulador.getTiempoActual());
+        correr(simulador, opciones, USO_REANUDAR);
+    }
+
+    public static void resimular(String[] args) throws Exception {
+        Map<String, String> opciones = leerOpciones(args, USO_RESIMULAR);
+        String algoritmo = opciones.getOrDefault("algoritmo", RegistroPlanificadores.nombres().get(0));
+        if (crearPlanificador(algoritmo) == null) {
+            System.err.println("No hay un planificador registrado con el nombre " + algoritmo + ". Los registrados son "
+                    + RegistroPlanificadores.nombres());
+            System.exit(2);
+        }
+        List<SystemParams> variantes = new ArrayList<>();
+        long intervalo;
+        try {
+            for (int tip : enteros(opciones.getOrDefault("tip", String.valueOf(TIP_POR_DEFECTO)))) {
+                for (int tfp : enteros(opciones.getOrDefault("tfp", String.valueOf(TFP_POR_DEFECTO)))) {
+                    for (int tcp : enteros(opciones.getOrDefault("tcp", String.valueOf(TCP_POR_DEFECTO)))) {
+                        for (int quantum : enteros(opciones.getOrDefault("quantum", String.valueOf(QUANTUM_POR_DEFECTO)))) {
+                            variantes.add(new SystemParams(tip, tfp, tcp, quantum));
+                        }
+                    }
+                }
+            }
+            intervalo = Long.parseLong(opciones.getOrDefault("instantaneas", String.valueOf(INTERVALO_INSTANTANEAS_POR_DEFECTO)));
+        } catch (NumberFormatException ex) {
+            System.err.println("Valor inválido: " + ex.getMessage());
+            System.err.println(USO_RESIMULAR);
+            System.exit(2);
+            return;
+        }
+        if (intervalo <= 0) {
+            System.err.println("El intervalo de las instantáneas debe ser positivo.");
+            System.exit(2);
+        }
+        CargaTrabajo carga = leerCarga(Path.of(args[0]));
+
+        SimulacionIncremental incremental = new SimulacionIncremental(() -> RegistroPlanificadores.crear(algoritmo), intervalo);
+        for (SystemParams params : variantes) {
+            long inicio = System.nanoTime();
+            incremental.reejecutar(carga, params); //La primera vez simula todo
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+            Metricas m = incremental.getMetricas();
+            System.out.printf("TIP %d, TFP %d, TCP %d, quantum %d: retorno de la tanda %d, retorno medio %.3f"
+                    + " (desde t=%d, %d eventos reutilizados, %.3f s)%n",
+                    params.getTip(), params.getTfp(), params.getTcp(), params.getQuantum(), m.getTiempoRetornoTanda(),
+                    m.getTiempoMedioRetornoTanda(), incremental.getTiempoReanudacion(), incremental.getEventosReutilizados(), segundos);
+        }
+        incremental.getLog().close();
+    }
+
+    private static void correr(Simulador simulador, Map<String, String> opciones, String uso) {
+        simulador.desactivarLog();
+        if (opciones.containsKey("checkpoint")) {
+            String[] valores = opciones.get("checkpoint").split("\n");
+            try {
+                simulador.configurarPuntosDeControl(Path.of(valores[0]), Long.parseLong(valores[1]));
+            } catch (IllegalArgumentException ex) { //También el NumberFormatException de un intervalo que no es un número
+                System.err.println("Punto de control inválido: " + ex.getMessage());
+                System.err.println(uso);
+                System.exit(2);
+            }
+        }
+        long inicio = System.nanoTime();
+        simulador.iniciar();
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        Metricas m = simulador.getMetricas();
+        long tiempoFinal = simulador.getTiempoActual();
+        System.out.println(simulador.getCarga().getCantidad() + " procesos, terminó en t=" + tiempoFinal);
+        System.out.println("Tiempo de retorno de la tanda: " + m.getTiempoRetornoTanda());
+        System.out.printf("Tiempo medio de retorno: %.3f%n", m.getTiempoMedioRetornoTanda());
+        System.out.println("CPU desocupada: " + m.getTiempoCPUDesocupada());
+        System.out.println("CPU usada por el SO: " + m.getTiempoCPU_OS());
+        System.out.println("CPU usada por los procesos: " + (tiempoFinal - (m.getTiempoCPUDesocupada() + m.getTiempoCPU_OS())));
+        System.out.printf("Simulado en %.3f s%n", segundos);
+    }
+
+    //El primer argumento es el archivo; --checkpoint lleva dos valores, que quedan separados por un salto de línea
+    private static Map<String, String> leerOpciones(String[] args, String uso) {
+        if (args.length < 1) {
+            System.err.println(uso);
+            System.exit(2);
+        }
+        Map<String, String> opciones = new HashMap<>();
+        for (int i = 1; i < args.length; i += 2) {
+            if (args[i].equals("--checkpoint")) {
+                if (i + 2 >= args.length) {
+                    System.err.println("--checkpoint lleva el archivo y el intervalo.");
+                    System.err.println(uso);
+                    System.exit(2);
+                }
+                opciones.put("checkpoint", args[i + 1] + "\n" + args[i + 2]);
+                i++;
+                continue;
+            }
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                System.err.println("Opción inválida: " + args[i]);
+                System.err.println(uso);
+                System.exit(2);
+            }
+            opciones.put(args[i].substring(2), args[i + 1]);
+        }
+        return opciones;
+    }
+
+    //Una traza se empaqueta mientras se lee, sin armar antes la lista de procesos
+    private static CargaTrabajo leerCarga(Path archivo) throws IOException {
+        if (archivo.getFileName().toString().toLowerCase().endsWith(".csv")) {
+            return LectorTraza.leerCarga(archivo);
+        }
+        return new CargaTrabajo(LineaComandosBarrido.leerCarga(archivo));
+    }
+
+    private static int[] enteros(String lista) {
+        return Arrays.stream(lista.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+    }
+
+    private static Planificador crearPlanificador(String nombre) {
+        try {
+            return RegistroPlanificadores.crear(nombre);
+        } catch (IllegalArgumentException ex) {
+            System.err.println(nombre + ": " + ex.getMessage());
+            System.exit(2);
+            return null;
+        }
+    }
+}
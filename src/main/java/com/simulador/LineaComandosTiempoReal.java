@@ -0,0 +1,110 @@
+package com.simulador;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.simulador.models.Evento;
+import com.simulador.models.Metricas;
+import com.simulador.models.TareaPeriodica;
+import com.simulador.scheduler.EDF;
+import com.simulador.scheduler.PlanificadorTiempoReal;
+import com.simulador.scheduler.RateMonotonic;
+
+/*
+   Simulación de tareas periódicas desde la línea de comandos, sin ventana:
+
+       tiemporeal <tareas.json> [--politica EDF|RM] [--horizonte n] [--vencidos seguir|descartar] [--eventos si|no]
+
+   tareas.json es una lista de {"nombre", "periodo", "plazo", "wcet", "fase"} (ver TareaPeriodica). Sin --horizonte
+   se simula hasta la mayor fase más un hiperperiodo. Con --vencidos descartar los plazos son firmes. El log solo
+   se registra con --eventos si, porque un hiperperiodo largo libera millones de trabajos.
+ */
+public final class LineaComandosTiempoReal {
+
+    private static final String USO = "Uso: tiemporeal <tareas.json> [--politica EDF|RM] [--horizonte n] [--vencidos seguir|descartar] [--eventos si|no]";
+
+    private LineaComandosTiempoReal() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println(USO);
+            System.exit(2);
+        }
+        Map<String, String> opciones = new HashMap<>();
+        for (int i = 1; i < args.length; i += 2) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                System.err.println("Opción inválida: " + args[i]);
+                System.exit(2);
+            }
+            opciones.put(args[i].substring(2), args[i + 1]);
+        }
+
+        List<TareaPeriodica> tareas = leerTareas(Path.of(args[0]));
+        PlanificadorTiempoReal planificador = crearPolitica(opciones.getOrDefault("politica", "EDF"));
+        if (planificador == null) {
+            System.err.println("Política desconocida: " + opciones.get("politica") + ". Las disponibles son EDF y RM.");
+            System.exit(2);
+        }
+        long horizonte;
+        try {
+            horizonte = opciones.containsKey("horizonte")
+                    ? Long.parseLong(opciones.get("horizonte"))
+                    : SimuladorTiempoReal.horizontePorDefecto(tareas);
+        } catch (NumberFormatException ex) {
+            System.err.println("Horizonte inválido: " + opciones.get("horizonte"));
+            System.err.println(USO);
+            System.exit(2);
+            return;
+        } catch (ArithmeticException ex) {
+            System.err.println("El hiperperiodo no entra en un long: hay que indicar --horizonte.");
+            System.exit(2);
+            return;
+        }
+        boolean descartar = opciones.getOrDefault("vencidos", "seguir").equals("descartar");
+        boolean conEventos = opciones.getOrDefault("eventos", "no").equals("si");
+
+        SimuladorTiempoReal simulador = new SimuladorTiempoReal(tareas, planificador, horizonte, descartar, conEventos);
+        long inicio = System.nanoTime();
+        simulador.iniciar();
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        for (Evento e : simulador.getLog()) {
+            System.out.println(e.getTiempo() + "\t" + e.getTipoEvento() + "\t" + e.getMensaje());
+        }
+        double utilizacion = tareas.stream().mapToDouble(TareaPeriodica::getUtilizacion).sum();
+        Metricas m = simulador.getMetricas();
+        System.out.printf("%s con %d tareas (utilización %.3f) hasta t=%d%n", planificador.getNombre(), tareas.size(), utilizacion, horizonte);
+        System.out.println("Trabajos liberados: " + m.getTrabajosLiberados());
+        System.out.println("Trabajos completados: " + m.getTrabajosCompletados());
+        System.out.println("Plazos incumplidos: " + m.getPlazosIncumplidos());
+        System.out.println("Tardanza máxima: " + m.getTardanzaMaxima());
+        System.out.printf("Simulado en %.3f s%n", segundos);
+    }
+
+    private static PlanificadorTiempoReal crearPolitica(String nombre) {
+        return switch (nombre.trim().toUpperCase()) {
+            case "EDF" -> new EDF();
+            case "RM", "RATE MONOTONIC", "RATEMONOTONIC" -> new RateMonotonic();
+            default -> null;
+        };
+    }
+
+    private static List<TareaPeriodica> leerTareas(Path archivo) throws IOException {
+        try (Reader lector = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            List<TareaPeriodica> tareas = new Gson().fromJson(lector, new TypeToken<List<TareaPeriodica>>() {}.getType());
+            if (tareas == null || tareas.isEmpty()) {
+                throw new IOException("El archivo " + archivo + " está vacío o no tiene el formato esperado.");
+            }
+            return tareas;
+        }
+    }
+}
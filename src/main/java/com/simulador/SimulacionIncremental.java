@@ -0,0 +1,184 @@
+package com.simulador;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+
+import com.simulador.eventos.AlmacenEventos;
+import com.simulador.eventos.TipoEvento;
+import com.simulador.models.CargaTrabajo;
+import com.simulador.models.EstadoProcesos;
+import com.simulador.models.Metricas;
+import com.simulador.models.SystemParams;
+import com.simulador.persistencia.Instantaneas;
+import com.simulador.persistencia.Instantaneas.Instantanea;
+import com.simulador.scheduler.MLFQ;
+import com.simulador.scheduler.Planificador;
+
+/*
+   Corre una simulación guardando instantáneas en memoria y, cuando se cambia algo (un proceso, un parámetro),
+   vuelve a simular solo desde el último punto anterior al primer instante en que el cambio puede influir.
+   El prefijo del log y las métricas acumuladas hasta ese punto se reutilizan tal cual: los registros del prefijo
+   se copian al log nuevo sin armar Eventos, y como los mensajes se redactan al leerlos salen con los nombres nuevos.
+
+   El instante desde el que hay que resimular se calcula así:
+   - un proceso con la definición cambiada no influye antes de su arribo (el menor entre el viejo y el nuevo);
+   - un proceso agregado al final de la tanda no influye antes de su arribo;
+   - TIP, TCP y TFP recién se usan en el primer INICIO_TIP, INICIO_TCP y PROCESO_TERMINADO del log anterior;
+   - el quantum recién se usa en el primer DESPACHO_PROCESO, salvo en MLFQ con el boost por defecto, donde
+     también fija el periodo del boost (FACTOR_BOOST_POR_DEFECTO veces el quantum) y obliga a simular todo;
+   - la semilla arma la cola desde el principio, así que obliga a simular todo.
+   Si se quitan procesos de la tanda se simula todo de nuevo, porque cambiarían los PID.
+   Se usa desde la línea de comandos con "resimular" (ver LineaComandosSimulacion).
+ */
+public class SimulacionIncremental {
+
+    private final Supplier<Planificador> fabricaPlanificador; //Cada corrida necesita su propia instancia
+    private final Instantaneas instantaneas;
+    private CargaTrabajo carga; //Lo simulado, para comparar con el próximo cambio (es inmutable, no hace falta copiarla)
+    private SystemParams params;
+    private AlmacenEventos log;
+    private Metricas metricas;
+    private EstadoProcesos procesos;
+    private long tiempoReanudacion; //Desde dónde se simuló en la última corrida (0 si fue completa)
+    private long eventosReutilizados;
+
+    public SimulacionIncremental(Supplier<Planificador> fabricaPlanificador, long intervaloInstantaneas) {
+        this.fabricaPlanificador = fabricaPlanificador;
+        this.instantaneas = new Instantaneas(intervaloInstantaneas);
+    }
+
+    //Simula la tanda entera desde cero
+    public void ejecutar(CargaTrabajo nuevaCarga, SystemParams nuevosParams) {
+        instantaneas.getLista().clear();
+        Simulador simulador = new Simulador(nuevaCarga, fabricaPlanificador.get(), nuevosParams);
+        simulador.configurarInstantaneas(instantaneas);
+        simulador.iniciar();
+
+        reemplazarLog(simulador.getLog());
+        terminarCorrida(simulador, nuevaCarga, nuevosParams, 0, 0);
+    }
+
+    /*
+       Vuelve a simular con las definiciones y parámetros nuevos reutilizando todo lo que no cambia.
+       Si todavía no se simuló nada o el cambio no se puede aplicar desde la mitad, simula todo.
+     */
+    public void reejecutar(CargaTrabajo nuevaCarga, SystemParams nuevosParams) {
+        if (log == null || nuevaCarga.getCantidad() < carga.getCantidad()) {
+            ejecutar(nuevaCarga, nuevosParams);
+            return;
+        }
+        long desde = primerTiempoAfectado(nuevaCarga, nuevosParams);
+        if (desde == Long.MAX_VALUE) { //No cambió nada que la simulación use
+            this.carga = nuevaCarga;
+            this.params = nuevosParams;
+            this.tiempoReanudacion = tiempoFinal();
+            this.eventosReutilizados = log.getCantidad();
+            return;
+        }
+        Instantanea punto = instantaneas.ultimaHasta(desde);
+        if (punto == null) {
+            ejecutar(nuevaCarga, nuevosParams);
+            return;
+        }
+
+        Simulador simulador;
+        try {
+            simulador = Simulador.leerEstado(new DataInputStream(new ByteArrayInputStream(punto.getDatos())),
+                    fabricaPlanificador.get(), nuevaCarga, nuevosParams);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex); //Las instantáneas las escribimos nosotros, no debería pasar
+        }
+        instantaneas.descartarDespuesDe(punto.getTiempo());
+        simulador.configurarInstantaneas(instantaneas);
+        simulador.iniciar();
+
+        //Se empalma el sufijo nuevo con el prefijo que no cambió, redactado por la continuación
+        long prefijo = punto.getPosicionLog();
+        AlmacenEventos sufijo = simulador.getLog();
+        AlmacenEventos empalmado = new AlmacenEventos(sufijo.getRedactor());
+        empalmado.agregarRegistros(log, 0, prefijo);
+        empalmado.agregarRegistros(sufijo, 0, sufijo.getCantidad());
+        cerrar(sufijo);
+        reemplazarLog(empalmado);
+        terminarCorrida(simulador, nuevaCarga, nuevosParams, punto.getTiempo(), prefijo);
+    }
+
+    //El log anterior ya no se lee: se cierra para que no quede su archivo de desborde
+    private void reemplazarLog(AlmacenEventos nuevo) {
+        if (log != null) {
+            cerrar(log);
+        }
+        this.log = nuevo;
+    }
+
+    private static void cerrar(AlmacenEventos almacen) {
+        try {
+            almacen.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void terminarCorrida(Simulador simulador, CargaTrabajo nuevaCarga, SystemParams nuevosParams, long tiempo, long reutilizados) {
+        this.metricas = simulador.getMetricas();
+        this.procesos = simulador.getEstadoProcesos();
+        this.carga = nuevaCarga;
+        this.params = nuevosParams;
+        this.tiempoReanudacion = tiempo;
+        this.eventosReutilizados = reutilizados;
+    }
+
+    //Primer instante en que el cambio puede hacer que la simulación difiera de la anterior (MAX_VALUE si no difiere)
+    private long primerTiempoAfectado(CargaTrabajo nuevaCarga, SystemParams nuevosParams) {
+        long desde = Long.MAX_VALUE;
+        for (int pid = 1; pid <= nuevaCarga.getCantidad(); pid++) {
+            if (pid > carga.getCantidad()) {
+                desde = Math.min(desde, nuevaCarga.getTiempoArribo(pid));
+            } else if (!carga.mismaDefinicion(pid, nuevaCarga)) {
+                desde = Math.min(desde, Math.min(carga.getTiempoArribo(pid), nuevaCarga.getTiempoArribo(pid)));
+            }
+        }
+        if (nuevosParams.getSemilla() != params.getSemilla() || nuevosParams.getUnidad() != params.getUnidad()) {
+            return 0; //Con otra unidad los mensajes del prefijo ya redactados quedarían con la anterior
+        }
+        if (nuevosParams.getTip() != params.getTip()) {
+            desde = Math.min(desde, primerEvento(TipoEvento.INICIO_TIP));
+        }
+        if (nuevosParams.getTcp() != params.getTcp()) {
+            desde = Math.min(desde, primerEvento(TipoEvento.INICIO_TCP));
+        }
+        if (nuevosParams.getTfp() != params.getTfp()) {
+            desde = Math.min(desde, primerEvento(TipoEvento.PROCESO_TERMINADO));
+        }
+        if (nuevosParams.getQuantum() != params.getQuantum()) {
+            if (fabricaPlanificador.get() instanceof MLFQ mlfq && mlfq.getPeriodoBoost(nuevosParams) != mlfq.getPeriodoBoost(params)) {
+                return 0; //Los impulsos caen en otros instantes desde el primero, que puede ser anterior a todo lo registrado
+            }
+            desde = Math.min(desde, primerEvento(TipoEvento.DESPACHO_PROCESO));
+        }
+        return Math.max(desde, 0);
+    }
+
+    private long primerEvento(int tipo) {
+        for (long i = 0; i < log.getCantidad(); i++) {
+            if (log.getTipo(i) == tipo) {
+                return log.getTiempo(i);
+            }
+        }
+        return Long.MAX_VALUE; //Nunca se usó en la corrida anterior
+    }
+
+    private long tiempoFinal() {
+        return (log.getCantidad() == 0) ? 0 : log.getTiempo(log.getCantidad() - 1);
+    }
+
+    public AlmacenEventos getLog() { return log; }
+    public Metricas getMetricas() { return metricas; }
+    public CargaTrabajo getCarga() { return carga; }
+    public EstadoProcesos getEstadoProcesos() { return procesos; }
+    public long getTiempoReanudacion() { return tiempoReanudacion; }
+    public long getEventosReutilizados() { return eventosReutilizados; }
+}
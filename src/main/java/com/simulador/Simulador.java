@@ -1,309 +1,913 @@
 package com.simulador;
 
-import java.util.ArrayList;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.function.Predicate;
 
+import com.simulador.eventos.AlmacenEventos;
+import com.simulador.eventos.TipoEvento;
+import com.simulador.jfr.EventoCiclo;
+import com.simulador.jfr.EventoDecision;
+import com.simulador.jfr.EventoSimulacion;
+import com.simulador.jmx.MonitorSimulacion;
+import com.simulador.models.CargaTrabajo;
 import com.simulador.models.ColaListos;
-import com.simulador.models.ColaListosPrioridad;
-import com.simulador.models.ColaListosSPN;
-import com.simulador.models.ColaListosSRT;
 import com.simulador.models.EstadoCPU;
-import com.simulador.models.Evento;
+import com.simulador.models.EstadoProcesos;
+import com.simulador.models.HeapIndexado;
 import com.simulador.models.Metricas;
 import com.simulador.models.Proceso;
 import com.simulador.models.SystemParams;
+import com.simulador.models.Telemetria;
+import com.simulador.models.UnidadTiempo;
+import com.simulador.persistencia.Instantaneas;
+import com.simulador.persistencia.PuntoDeControl;
 import com.simulador.scheduler.Planificador;
-import com.simulador.scheduler.PrioridadExterna;
-import com.simulador.scheduler.RoundRobin;
-import com.simulador.scheduler.SPN;
-import com.simulador.scheduler.SRTN;
+import com.simulador.scheduler.RegistroPlanificadores;
 
+/*
+   Motor de la simulación. No conoce las políticas concretas: todo lo que depende del algoritmo
+   pasa por los ganchos de Planificador. Las propiedades fijas de la política (si expropia, si usa
+   quantum) se leen una sola vez en el constructor y quedan en campos final, así el ciclo por
+   unidad de tiempo no vuelve a preguntarlas y las llamadas a ganchos quedan en los sucesos.
+
+   Los procesos se manejan por PID. La definición (CargaTrabajo) es inmutable y se puede compartir
+   entre corridas; el estado de esta corrida está en EstadoProcesos. El ciclo no recorre a todos los
+   procesos: los arribos salen de la carga ordenada por arribo, los bloqueados de un heap por instante
+   de despertar y el tiempo en listo se suma al salir de la cola.
+
+   El tiempo es long y su unidad la elige quien configura (ver UnidadTiempo). Para que el costo dependa de
+   los sucesos y no de la resolución, los tramos en los que la CPU solo descuenta (un overhead, una ráfaga
+   o nada) y no llega, despierta ni se reordena nadie se aplican en un solo ciclo: con microsegundos una
+   ráfaga de un segundo cuesta lo mismo que con la unidad abstracta.
+ */
 public class Simulador {
 
-    private int tiempoActual;
-    private final List<Proceso> procesos;
+    private static final int MAGIA_PUNTO_DE_CONTROL = 0x53494D53; //"SIMS"
+    private static final int VERSION_PUNTO_DE_CONTROL = 5;
+    private static final int NINGUNO = ColaListos.NINGUNO;
+
+    private long tiempoActual;
+    private final CargaTrabajo carga;
+    private final EstadoProcesos procesos;
     private final SystemParams params;
     private final Planificador planificador;
     private final EstadoCPU cpu;
     private final ColaListos colaPrincipal;
-    private final List<Proceso> colaBloqueados;
-    private final List<Evento> log;
+    private final HeapIndexado colaBloqueados; //Por instante de despertar; entre iguales, en el orden en que se bloquearon
+    private AlmacenEventos log; //Fuera del heap; se reemplaza solo si se configura el desborde antes de empezar
     private final Metricas metricas; //Pongo final porque se asigna en el constructor y no cambia más, pero se le pueden cambiar sus atributos
     private boolean simulacionTerminada;
-    private Proceso ultimoProcesoTerminado;
+    private int ultimoProcesoTerminado;
+    private int siguienteArribo; //Posición en el orden de arribo de la carga del próximo que todavía no llegó
+    private final boolean expropiativo;
+    private final boolean usaQuantum;
+    private final boolean midoOcupacion; //La cola tiene niveles (MLFQ) y se registra su ocupación
+    private long desplazamientoLog; //Eventos registrados antes del punto de control desde el que se reanudó
+    private boolean restaurada;
+    private boolean registrarLog = true; //Sin log para las corridas en las que solo interesan las métricas
+    private PuntoDeControl puntosDeControl; //null si no se guardan
+    private Instantaneas instantaneas; //Puntos de control en memoria, null si no se guardan
+    private Predicate<Simulador> corte; //Si da true la simulación se abandona (null si nunca)
+    private long intervaloCorte;
+    private boolean abortada;
+    private Telemetria telemetria; //Se crea al iniciar, desde el instante en que arranca (o se reanuda) la corrida
+    private int ventanaTelemetria = 1; //0 si no se registra
+    private int capacidadTelemetria = Telemetria.CAPACIDAD_POR_DEFECTO;
+    private int cpuEnCiclo; //Qué hizo la CPU en la unidad de tiempo actual, con el mismo criterio que las métricas
+    private int despachosEnCiclo;
+    private long decisiones; //Para muestrear las decisiones que se graban con JFR
+    private long ciclos; //Ciclos ejecutados, para muestrear el monitor y JFR (un ciclo puede cubrir muchas unidades)
+    private MonitorSimulacion monitor; //En JMX mientras corre iniciar()
+    private boolean deResultadoGuardado; //Armado por leerResultado, sin simular
 
-    public Simulador(List<Proceso> procesos, Planificador planificador, SystemParams params) {
+    public Simulador(List<Proceso> definiciones, Planificador planificador, SystemParams params) {
+        this(new CargaTrabajo(definiciones), planificador, params);
+    }
+
+    public Simulador(CargaTrabajo carga, Planificador planificador, SystemParams params) {
         this.tiempoActual = 0;
-        this.procesos = procesos;
+        this.carga = carga;
+        this.procesos = new EstadoProcesos(carga);
         this.planificador = planificador;
         this.params = params;
-        this.ultimoProcesoTerminado = null;
-
-        if (planificador instanceof SRTN) {
-            this.colaPrincipal = new ColaListosSRT();
-        } else if (planificador instanceof PrioridadExterna) {
-            this.colaPrincipal = new ColaListosPrioridad();
-        } else if (planificador instanceof SPN) {
-            this.colaPrincipal = new ColaListosSPN();
-        } else {
-            this.colaPrincipal = new ColaListos();
-        }
+        this.ultimoProcesoTerminado = NINGUNO;
+        this.siguienteArribo = 0;
+
+        this.colaPrincipal = planificador.crearColaListos(procesos, params);
+        this.expropiativo = planificador.esExpropiativo();
+        this.usaQuantum = planificador.usaQuantum();
 
         this.cpu = new EstadoCPU();
-        this.colaBloqueados = new ArrayList<>();
-        this.log = new ArrayList<>();
+        this.colaBloqueados = new HeapIndexado((a, b) -> Long.compare(procesos.getTiempoDespertar(a), procesos.getTiempoDespertar(b)));
+        this.log = new AlmacenEventos(this::redactar);
         this.metricas = new Metricas();
+        this.midoOcupacion = colaPrincipal.getCantidadNiveles() > 0;
+        if (midoOcupacion) {
+            metricas.inicializarOcupacionNiveles(colaPrincipal.getCantidadNiveles());
+        }
         this.simulacionTerminada = false;
     }
 
+    //Para muchas réplicas seguidas: no se guardan los eventos (las métricas se calculan igual)
+    public void desactivarLog() {
+        this.registrarLog = false;
+    }
+
+    //Los eventos pasan a un archivo mapeado en "directorio" cuando ocupan más de "limiteEnMemoria" bytes
+    public void configurarDesbordeEventos(long limiteEnMemoria, Path directorio) {
+        if (log.getCantidad() > 0) {
+            throw new IllegalStateException("El desborde de eventos se configura antes de iniciar la simulación.");
+        }
+        try {
+            log.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        this.log = new AlmacenEventos(this::redactar, limiteEnMemoria, directorio);
+    }
+
+    //Ventanas de "ventana" unidades de tiempo, "capacidad" por nivel (ver Telemetria); ventana 0 no registra nada
+    public void configurarTelemetria(int ventana, int capacidad) {
+        if (telemetria != null) {
+            throw new IllegalStateException("La telemetría se configura antes de iniciar la simulación.");
+        }
+        if (ventana > 0) {
+            new Telemetria(0, ventana, capacidad); //Valida los valores ahora y no al iniciar
+        }
+        this.ventanaTelemetria = ventana;
+        this.capacidadTelemetria = capacidad;
+    }
+
+    //Guarda el estado completo en "archivo" cada "intervalo" unidades de tiempo simulado
+    public void configurarPuntosDeControl(Path archivo, long intervalo) {
+        this.puntosDeControl = new PuntoDeControl(archivo, intervalo);
+    }
+
+    //Guarda el estado en memoria cada "instantaneas.getIntervalo()" unidades de tiempo simulado
+    public void configurarInstantaneas(Instantaneas instantaneas) {
+        this.instantaneas = instantaneas;
+    }
+
+    /*
+       Cada "intervalo" unidades de tiempo se le pregunta a "corte" si vale la pena seguir; si dice que no,
+       la simulación termina ahí sin calcular las métricas finales (isAbortada() queda en true).
+       Sirve para abandonar corridas que ya no pueden ganar, por ejemplo al buscar el mejor quantum.
+     */
+    public void configurarCorte(Predicate<Simulador> corte, long intervalo) {
+        if (intervalo <= 0) {
+            throw new IllegalArgumentException("El intervalo de corte debe ser positivo.");
+        }
+        this.corte = corte;
+        this.intervaloCorte = intervalo;
+    }
+
     public void iniciar() {
-        registrarEvento(null, "INICIO_SIMULACION", "La simulación ha comenzado.");
-        while (!simulacionTerminada) {
-            ejecutarCiclo();
+        if (deResultadoGuardado) {
+            throw new IllegalStateException("La simulación ya está terminada: se leyó de un resultado guardado.");
+        }
+        EventoSimulacion evento = new EventoSimulacion();
+        evento.begin();
+        long tiempoInicial = tiempoActual;
+        if (!restaurada) { //Una simulación restaurada sigue donde quedó, su inicio ya está en el log original
+            registrarEvento(NINGUNO, TipoEvento.INICIO_SIMULACION);
+        }
+        if (ventanaTelemetria > 0 && telemetria == null) {
+            telemetria = new Telemetria(tiempoActual, ventanaTelemetria, capacidadTelemetria);
+        }
+        monitor = new MonitorSimulacion(planificador.getNombre(), carga.getCantidad(), tiempoActual); //Se registra solo si la corrida es larga
+        try {
+            while (!simulacionTerminada) {
+                if (puntosDeControl != null && puntosDeControl.corresponde(tiempoActual)) {
+                    guardarPuntoDeControl();
+                }
+                if (instantaneas != null && instantaneas.corresponde(tiempoActual)) {
+                    guardarInstantanea();
+                }
+                if (corte != null && tiempoActual % intervaloCorte == 0 && corte.test(this)) {
+                    abortar();
+                    break;
+                }
+                if ((ciclos & (MonitorSimulacion.INTERVALO - 1)) == 0 && publicarProgreso()) { //Cancelada desde JMX
+                    abortar();
+                    break;
+                }
+                ejecutarCiclo();
+            }
+        } finally {
+            publicarContadores();
+            monitor.desregistrar();
+        }
+        if (telemetria != null) {
+            telemetria.finalizar();
+        }
+        if (!abortada) {
+            registrarEvento(NINGUNO, TipoEvento.FIN_SIMULACION);
+            calcularMetricasFinales();
+        }
+        if (puntosDeControl != null) {
+            try {
+                puntosDeControl.close();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+        evento.end();
+        if (evento.shouldCommit()) {
+            evento.planificador = planificador.getNombre();
+            evento.procesos = carga.getCantidad();
+            evento.tiempoInicial = tiempoInicial;
+            evento.tiempoFinal = tiempoActual;
+            evento.eventos = log.getCantidad();
+            evento.abortada = abortada;
+            evento.commit();
+        }
+    }
+
+    private void abortar() {
+        abortada = true;
+        registrarEvento(NINGUNO, TipoEvento.SIMULACION_ABORTADA);
+    }
+
+    //Devuelve true si la cancelaron; si está pausada, se queda esperando acá
+    private boolean publicarProgreso() {
+        publicarContadores();
+        return monitor.controlar();
+    }
+
+    private void publicarContadores() {
+        monitor.publicar(tiempoActual, log.getCantidad(), log.getBytesEnMemoria() + log.getBytesEnDisco(),
+                colaPrincipal.tamanio(), colaBloqueados.size(), procesos.getTerminados());
+    }
+
+    private void guardarPuntoDeControl() {
+        try {
+            puntosDeControl.guardar(this, tiempoActual);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void guardarInstantanea() {
+        try {
+            instantaneas.guardar(this, tiempoActual, desplazamientoLog + log.getCantidad());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
         }
-        int tiempoFinal = tiempoActual;
-        registrarEvento(null, "FIN_SIMULACION", "La simulación ha terminado en t=" + tiempoFinal);
-        calcularMetricasFinales();
     }
 
     private void ejecutarCiclo() {
+        //En los ciclos muestreados, y solo si JFR está grabando, se mide cada fase
+        EventoCiclo medicion = null;
+        if ((ciclos & (EventoCiclo.MUESTREO - 1)) == 0) {
+            medicion = new EventoCiclo();
+            if (medicion.isEnabled()) {
+                medicion.empezar();
+            } else {
+                medicion = null;
+            }
+        }
+        colaPrincipal.avanzarTiempo(tiempoActual);
+        if (planificador.alAvanzarTiempo(tiempoActual)) {
+            registrarEvento(NINGUNO, TipoEvento.IMPULSO_PRIORIDAD);
+        }
         //Actualizar llegadas
         procesarLlegadas();
+        if (medicion != null) {
+            medicion.nanosLlegadas = medicion.marcar();
+        }
         actualizarColaBloqueados();
+        if (medicion != null) {
+            medicion.nanosBloqueados = medicion.marcar();
+        }
         //Verificar si el nuevo estado causa una interrupción.
-        if (planificador.esExpropiativo()) {
+        if (expropiativo) {
             verificarInterrupcion();
         }
         //Gestionar la CPU con la información más reciente.
-        gestionarCPU();
+        cpuEnCiclo = Telemetria.CPU_PROCESOS;
+        despachosEnCiclo = 0;
+        long unidades = unidadesSinSucesos();
+        if (unidades > 1) {
+            saltearSinSucesos(unidades);
+        } else {
+            gestionarCPU();
+        }
+        if (medicion != null) {
+            medicion.nanosCPU = medicion.marcar();
+        }
+        if (telemetria != null) {
+            telemetria.registrar(colaPrincipal.tamanio(), colaBloqueados.size(), cpuEnCiclo, despachosEnCiclo, unidades);
+        }
 
         //El que sale del bloqueo recién interrumpe en el siguiente ciclo (porque sale en el mismo ciclo que consume si no)
 
 
-        //Actualizar métricas de espera y avanzar el tiempo.
-        for (Proceso p : colaPrincipal.getCola()) {
-            p.setTiempoEnEstadoListo(p.getTiempoEnEstadoListo() + 1);
+        //El tiempo en listo se acumula al salir de la cola (ver EstadoProcesos), acá solo queda la ocupación por nivel.
+        if (midoOcupacion) {
+            colaPrincipal.acumularOcupacion(metricas.getOcupacionNiveles(), unidades);
+            metricas.sumarMuestrasOcupacion(unidades);
         }
 
         verificarCondicionDeFin();
+        if (medicion != null) {
+            medicion.end();
+            if (medicion.shouldCommit()) {
+                medicion.tiempo = tiempoActual;
+                medicion.listos = colaPrincipal.tamanio();
+                medicion.eventos = log.getCantidad();
+                medicion.commit();
+            }
+        }
 
+        ciclos++;
         if (!simulacionTerminada) {
             tiempoActual++;
         }
     }
+
+    /*
+       Cuántas unidades seguidas, desde la actual, la CPU solo descuenta: un TIP, TCP o TFP que no termina,
+       una ráfaga que no termina ni agota el quantum, o nada si está ociosa sin nadie en la cola. Se corta
+       antes del próximo arribo, despertar, reordenamiento del planificador, punto de control, instantánea o
+       consulta de corte, que tienen que pasar en su unidad. Devuelve 1 si en la unidad actual pasa algo.
+     */
+    private long unidadesSinSucesos() {
+        long limite;
+        if (cpu.getTiempoRestanteTIP() > 0) {
+            limite = cpu.getTiempoRestanteTIP() - 1;
+        } else if (cpu.getTiempoRestanteTCP() > 0) {
+            limite = cpu.getTiempoRestanteTCP() - 1;
+        } else if (!cpu.estaOciosa()) {
+            limite = procesos.getTiempoRestanteRafagaCPU(cpu.getProcesoActual()) - 1;
+            if (usaQuantum) {
+                limite = Math.min(limite, cpu.getQuantumRestante() - 1);
+            }
+        } else if (colaPrincipal.estaVacia() && procesos.getTerminados() < carga.getCantidad()) {
+            limite = Long.MAX_VALUE; //Ociosa hasta que llegue o despierte alguien
+        } else {
+            return 1;
+        }
+        if (limite <= 1) {
+            return 1;
+        }
+        long hasta = (limite > Long.MAX_VALUE - tiempoActual) ? Long.MAX_VALUE : tiempoActual + limite;
+        if (siguienteArribo < carga.getCantidad()) {
+            hasta = Math.min(hasta, carga.getTiempoArribo(carga.getPidPorArribo(siguienteArribo)));
+        }
+        if (!colaBloqueados.isEmpty()) {
+            hasta = Math.min(hasta, procesos.getTiempoDespertar(colaBloqueados.peek()));
+        }
+        hasta = Math.min(hasta, planificador.proximoAvanceDeTiempo(tiempoActual));
+        if (puntosDeControl != null) {
+            hasta = Math.min(hasta, puntosDeControl.proximo(tiempoActual));
+        }
+        if (instantaneas != null) {
+            hasta = Math.min(hasta, instantaneas.proximo(tiempoActual));
+        }
+        if (corte != null) {
+            hasta = Math.min(hasta, (tiempoActual / intervaloCorte + 1) * intervaloCorte);
+        }
+        return (hasta == Long.MAX_VALUE) ? 1 : hasta - tiempoActual;
+    }
+
+    //Aplica de una vez lo que gestionarCPU haría en cada una de esas unidades; el tiempo queda en la última
+    private void saltearSinSucesos(long unidades) {
+        int ejecutando = NINGUNO;
+        if (cpu.getTiempoRestanteTIP() > 0) {
+            cpu.setTiempoRestanteTIP(cpu.getTiempoRestanteTIP() - unidades);
+            metricas.sumarTiempoCPU_OS(unidades);
+            cpuEnCiclo = Telemetria.CPU_SO;
+        } else if (cpu.getTiempoRestanteTCP() > 0) {
+            cpu.setTiempoRestanteTCP(cpu.getTiempoRestanteTCP() - unidades);
+            metricas.sumarTiempoCPU_OS(unidades);
+            cpuEnCiclo = Telemetria.CPU_SO;
+        } else if (!cpu.estaOciosa()) {
+            ejecutando = cpu.getProcesoActual();
+            procesos.setTiempoRestanteRafagaCPU(ejecutando, procesos.getTiempoRestanteRafagaCPU(ejecutando) - unidades);
+            cpu.setQuantumRestante(cpu.getQuantumRestante() - unidades);
+        } else {
+            metricas.sumarTiempoCPUDesocupada(unidades);
+            cpuEnCiclo = Telemetria.CPU_OCIOSA;
+        }
+        tiempoActual += unidades - 1;
+        if (ejecutando != NINGUNO) { //Un solo evento por tramo, en su última unidad y con lo que resta al final
+            registrarEvento(ejecutando, TipoEvento.EJECUCION, procesos.getTiempoRestanteRafagaCPU(ejecutando));
+        }
+    }
     
     private void gestionarCPU() {
         // Manejar TIP (Tiempo de Ingreso de Proceso)
         if (cpu.getTiempoRestanteTIP() > 0) {
             cpu.setTiempoRestanteTIP(cpu.getTiempoRestanteTIP() - 1);
             metricas.incrementarTiempoCPU_OS();
+            cpuEnCiclo = Telemetria.CPU_SO;
             if (cpu.getTiempoRestanteTIP() == 0) {
-                Proceso p = cpu.getProcesoADespachar();
-                registrarEvento(p.getPid(), "FIN_TIP", "Proceso " + p.getNombre() + " completó TIP.");
-                p.setEstado("LISTO");
-                Proceso ganador = decidirProximoIncumbente(p);
-                iniciarDespachoOAdmision(ganador);
+                terminarTIP();
             }
-            return;
-        }
-
-        // Manejar TCP (Cambio de Contexto) y TFP (Finalización)
-        if (cpu.getTiempoRestanteTCP() > 0) {
+            if (cpu.estaOciosa()) {
+                return; //Sigue un TCP (o el TIP no terminó); solo con TCP 0 el despachado ejecuta en este ciclo
+            }
+        } else if (cpu.getTiempoRestanteTCP() > 0) { // Manejar TCP (Cambio de Contexto) y TFP (Finalización)
             cpu.setTiempoRestanteTCP(cpu.getTiempoRestanteTCP() - 1);
             metricas.incrementarTiempoCPU_OS();
+            cpuEnCiclo = Telemetria.CPU_SO;
             if (cpu.getTiempoRestanteTCP() == 0) {
-                Proceso p = cpu.getProcesoADespachar();
-                if (p != null) { //Fin de un TCP
-                    Proceso ganador = decidirProximoIncumbente(p);
-                    if (ganador == p) {
-                        cpu.asignarProceso(ganador, params.getQuantum());
-                        registrarEvento(ganador.getPid(), "DESPACHO_PROCESO", "Proceso " + ganador.getNombre() + " pasa a ejecución.");
-                        //NO hay return para que la ejecución comience en este mismo ciclo.
-                    } else {
-                        iniciarDespachoOAdmision(ganador);
-                        return; //Hay cambio de incumbente, se inicia otro overhead y se sale.
-                    }
-                } else { // Fin de un TFP
-                    if (this.ultimoProcesoTerminado != null) {
-                        this.ultimoProcesoTerminado.setTiempoFinEjecucion(tiempoActual);
-                        registrarEvento(this.ultimoProcesoTerminado.getPid(), "FIN TFP", "Proceso " + this.ultimoProcesoTerminado.getNombre() + " ha finalizado TFP");
-                        this.ultimoProcesoTerminado = null;
-                    }
-                    return; 
-                }
-            } else {
-                return; // El TCP/TFP sigue en curso.
+                terminarTCP();
+            }
+            if (cpu.estaOciosa()) {
+                return; //El TCP/TFP sigue en curso, terminó un TFP o hay cambio de incumbente y empezó otro overhead.
+            }
+            //Si despachó, NO hay return para que la ejecución comience en este mismo ciclo.
+        } else if (cpu.estaOciosa()) { //Si la CPU está Ociosa, buscar nuevo trabajo
+            int proximo = seleccionar();
+            if (proximo == NINGUNO) {
+                metricas.incrementarTiempoCPUDesocupada();
+                cpuEnCiclo = Telemetria.CPU_OCIOSA;
+                return;
+            }
+            iniciarDespachoOAdmision(proximo);
+            if (cpu.estaOciosa()) {
+                return; //Empezó su TIP o su TCP; sin overhead ya está despachado y ejecuta en este ciclo
             }
         }
 
         //Ejecución normal de un proceso en CPU
-        if (!cpu.estaOciosa()) {
-            Proceso actual = cpu.getProcesoActual();
-            actual.setTiempoRestanteRafagaCPU(actual.getTiempoRestanteRafagaCPU() - 1);
-            registrarEvento(actual.getPid(), "EJECUCION", "Proceso " + actual.getNombre() + " resta ejecutar " + actual.getTiempoRestanteRafagaCPU());
-            cpu.setQuantumRestante(cpu.getQuantumRestante() - 1);
-
-            if (actual.getTiempoRestanteRafagaCPU() <= 0) { //Termino su rafaga
-                actual.setRafagasRestantes(actual.getRafagasRestantes() - 1);
-                registrarEvento(actual.getPid(), "FIN_RAFAGA_CPU", "Proceso " + actual.getNombre() + " terminó ráfaga de CPU.");
-                
-                cpu.liberar();
-                //Verificamos si terminó porque se bloqueó o terminó
-                if (actual.getRafagasRestantes() <= 0) {
-                    actual.setEstado("TERMINADO");
-                    this.ultimoProcesoTerminado = actual;
-                    registrarEvento(actual.getPid(), "PROCESO_TERMINADO", "Proceso " + actual.getNombre() + " ha finalizado.");
-                    cpu.setProcesoADespachar(null); //Marcar que el próximo es TFP
-                    cpu.setTiempoRestanteTCP(params.getTfp());
-                } else {
-                    actual.setEstado("BLOQUEADO");
-                    actual.setTiempoRestanteES(actual.getDuracionRafagaES()); //+1 porque se consume en el mismo ciclo
-                    colaBloqueados.add(actual);
-                    registrarEvento(actual.getPid(), "EJECUCION_A_BLOQUEADO", "Proceso " + actual.getNombre() + " inicia E/S.");
+        int actual = cpu.getProcesoActual();
+        long restante = procesos.getTiempoRestanteRafagaCPU(actual) - 1;
+        procesos.setTiempoRestanteRafagaCPU(actual, restante);
+        registrarEvento(actual, TipoEvento.EJECUCION, restante);
+        cpu.setQuantumRestante(cpu.getQuantumRestante() - 1);
+
+        if (restante <= 0) { //Termino su rafaga
+            procesos.setRafagasRestantes(actual, procesos.getRafagasRestantes(actual) - 1);
+            registrarEvento(actual, TipoEvento.FIN_RAFAGA_CPU);
+
+            cpu.liberar();
+            //Verificamos si terminó porque se bloqueó o terminó
+            if (procesos.getRafagasRestantes(actual) <= 0) {
+                procesos.setEstado(actual, EstadoProcesos.TERMINADO);
+                this.ultimoProcesoTerminado = actual;
+                registrarEvento(actual, TipoEvento.PROCESO_TERMINADO);
+                cpu.setProcesoADespachar(NINGUNO); //Marcar que el próximo es TFP
+                cpu.setTiempoRestanteTCP(params.getTfp());
+                if (params.getTfp() == 0) {
+                    terminarTCP();
                 }
-            } else if (cpu.getQuantumRestante() <= 0 && planificador instanceof RoundRobin) { //Si no terminó su rafaga, pero si su quantum, se manda de nuevo a la cola
-                actual.setEstado("LISTO");
-                actual.setFueInterrumpido(true);
-                colaPrincipal.agregar(actual);
-                registrarEvento(actual.getPid(), "FIN_QUANTUM", "Proceso " + actual.getNombre() + " vuelve a la fila por fin de quantum.");
-                cpu.liberar();
+            } else {
+                procesos.setEstado(actual, EstadoProcesos.BLOQUEADO);
+                //Sale a partir del ciclo siguiente, cuando se cumpla la duración de la E/S
+                procesos.setTiempoDespertar(actual, tiempoActual + 1 + Math.max(0, carga.getDuracionRafagaES(actual, procesos.getIndiceRafaga(actual) - 1)));
+                colaBloqueados.offer(actual);
+                planificador.alBloquear(actual);
+                registrarEvento(actual, TipoEvento.EJECUCION_A_BLOQUEADO);
             }
-            return; //Después de ejecutar, el trabajo de la CPU en este ciclo terminó.
+        } else if (cpu.getQuantumRestante() <= 0 && usaQuantum) { //Si no terminó su rafaga, pero si su quantum, se manda de nuevo a la cola
+            procesos.setEstado(actual, EstadoProcesos.LISTO);
+            procesos.setFueInterrumpido(actual, true);
+            planificador.alFinQuantum(actual);
+            encolar(actual);
+            registrarEvento(actual, TipoEvento.FIN_QUANTUM);
+            cpu.liberar();
         }
+    }
 
-        //Si la CPU está Ociosa, buscar nuevo trabajo
-        if (cpu.estaOciosa()) {
-            Proceso proximo = colaPrincipal.quitar();
-            if (proximo != null) {
-                iniciarDespachoOAdmision(proximo);
-            } else {
-                metricas.incrementarTiempoCPUDesocupada();
+    //Fin del TIP: el admitido pasa a listo y se decide si sigue él o alguien que llegó con más derecho
+    private void terminarTIP() {
+        int p = cpu.getProcesoADespachar();
+        registrarEvento(p, TipoEvento.FIN_TIP);
+        procesos.setEstado(p, EstadoProcesos.LISTO);
+        int ganador = decidirProximoIncumbente(p);
+        iniciarDespachoOAdmision(ganador);
+    }
+
+    //Fin de un TCP (se despacha o cambia el incumbente) o de un TFP (el proceso termina del todo)
+    private void terminarTCP() {
+        int p = cpu.getProcesoADespachar();
+        if (p == NINGUNO) { // Fin de un TFP
+            if (this.ultimoProcesoTerminado != NINGUNO) {
+                procesos.setTiempoFinEjecucion(ultimoProcesoTerminado, tiempoActual);
+                registrarEvento(ultimoProcesoTerminado, TipoEvento.FIN_TFP);
+                this.ultimoProcesoTerminado = NINGUNO;
             }
+            return;
+        }
+        int ganador = decidirProximoIncumbente(p);
+        if (ganador == p) {
+            cpu.asignarProceso(ganador, planificador.quantumPara(ganador, params));
+            procesos.setEstado(ganador, EstadoProcesos.EJECUCION);
+            registrarEvento(ganador, TipoEvento.DESPACHO_PROCESO);
+            despachosEnCiclo++;
+        } else {
+            iniciarDespachoOAdmision(ganador); //Hay cambio de incumbente, se inicia otro overhead.
         }
     }
     
     private void verificarInterrupcion() {
-        if (planificador instanceof RoundRobin) return; //Porque es premtivo pero usa el Quantum para interrumpir
-        
         if (!cpu.estaOciosa() && cpu.getTiempoRestanteTIP() == 0 && cpu.getTiempoRestanteTCP() == 0) {
-            Proceso actual = cpu.getProcesoActual();
-            Proceso proximoEnCola = colaPrincipal.verSiguiente();
-            boolean debeInterrumpir = false;
-            if (proximoEnCola != null) {
-                if (planificador instanceof SRTN && proximoEnCola.getTiempoRestanteRafagaCPU() < actual.getTiempoRestanteRafagaCPU()) {
-                    debeInterrumpir = true;
-                } else if (planificador instanceof PrioridadExterna && proximoEnCola.getPrioridadExterna() > actual.getPrioridadExterna()) {
-                    debeInterrumpir = true;
-                }
-            }
-            if (debeInterrumpir) {
-                if (actual!=null && proximoEnCola != null) { //Validación solo para que no me salte el warning 
-                  registrarEvento(actual.getPid(), "INTERRUPCION", "Proceso " + actual.getNombre() + " interrumpido por " + proximoEnCola.getNombre());
-                  actual.setEstado("LISTO");
-                  actual.setFueInterrumpido(true); //OBVIAMENTE, si la variable debeInterrumpir esta en verdadera es porque actual y proximo son NO NULL, pero salta el warning igual
-                }              
-                colaPrincipal.agregar(actual);
+            int actual = cpu.getProcesoActual();
+            if (planificador.debeExpropiar(actual, colaPrincipal)) {
+                int proximoEnCola = colaPrincipal.verSiguiente();
+                registrarEvento(actual, TipoEvento.INTERRUPCION, proximoEnCola);
+                procesos.setEstado(actual, EstadoProcesos.LISTO);
+                procesos.setFueInterrumpido(actual, true);
+                encolar(actual);
                 cpu.liberar();
             }
         }
     }
 
-    private Proceso decidirProximoIncumbente(Proceso p) {
-        if (!planificador.esExpropiativo()) return p; //Si no es expropiativo, siempre sigue el mismo proceso.
-        
-        Proceso proximoEnCola = colaPrincipal.verSiguiente();
-        boolean debeSerExpropiado = false;
-        if (proximoEnCola != null) {
-            if (planificador instanceof PrioridadExterna && proximoEnCola.getPrioridadExterna() > p.getPrioridadExterna()) {
-                debeSerExpropiado = true; //Si la prioridad del de la cola es mayor, expropia. SOLO SI ES MAYOR, SI ES IGUAL SIGUE EL MISMO
-            } else if (planificador instanceof SRTN && proximoEnCola.getTiempoRestanteRafagaCPU() < p.getTiempoRestanteRafagaCPU()) {
-                debeSerExpropiado = true; //IDem arriba
-            }
+    private int decidirProximoIncumbente(int p) {
+        if (!expropiativo) return p; //Si no es expropiativo, siempre sigue el mismo proceso.
+
+        if (planificador.debeExpropiar(p, colaPrincipal)) {
+            int proximoEnCola = colaPrincipal.verSiguiente();
+            registrarEvento(p, TipoEvento.INCUMBENTE_EXPROPIADO, proximoEnCola);
+            procesos.setFueInterrumpido(p, true);
+            encolar(p);
+            return seleccionar();
         }
+        return p;
+    }
 
-        if (debeSerExpropiado) {
-            if (p!=null && proximoEnCola != null){
-              registrarEvento(p.getPid(), "INCUMBENTE_EXPROPIADO", "Proceso " + p.getNombre() + " es expropiado por " + proximoEnCola.getNombre());
-              p.setFueInterrumpido(true);
+    private void encolar(int pid) {
+        planificador.alEncolar(pid);
+        procesos.entrarAListo(pid, tiempoActual);
+        colaPrincipal.agregar(pid);
+    }
+
+    //Le pide al planificador el próximo de la cola y cierra su tramo en estado listo
+    private int seleccionar() {
+        int pid = planificador.seleccionarSiguienteProceso(colaPrincipal);
+        if (pid != NINGUNO) {
+            if (procesos.getEstado(pid) == EstadoProcesos.NUEVO) { //Primera vez que lo eligen
+                metricas.getHistogramaRespuesta().registrar(tiempoActual - Math.max(0, carga.getTiempoArribo(pid)));
+            }
+            metricas.getHistogramaEsperaListo().registrar(procesos.salirDeListo(pid, tiempoActual));
+            if ((++decisiones & (EventoDecision.MUESTREO - 1)) == 0) {
+                grabarDecision(pid);
             }
-            colaPrincipal.agregar(p);
-            return colaPrincipal.quitar();
         }
-        return p;
+        return pid;
+    }
+
+    private void grabarDecision(int pid) {
+        EventoDecision evento = new EventoDecision();
+        if (evento.shouldCommit()) {
+            evento.tiempo = tiempoActual;
+            evento.pid = pid;
+            evento.listos = colaPrincipal.tamanio();
+            evento.decisiones = decisiones;
+            evento.commit();
+        }
     }
 
-    private void iniciarDespachoOAdmision(Proceso p) {
-        if (!p.GetfueInterrumpido()) { //Esto es para mantener la duración de rafaga que llevaba
-            p.setTiempoRestanteRafagaCPU(p.getDuracionRafagaCPU()); //No fue interrumpido, arranca nueva ráfaga
+    private void iniciarDespachoOAdmision(int p) {
+        if (!procesos.getFueInterrumpido(p)) { //Esto es para mantener la duración de rafaga que llevaba
+            procesos.setTiempoRestanteRafagaCPU(p, procesos.getDuracionRafagaActual(p)); //No fue interrumpido, arranca nueva ráfaga
         }
-        p.setFueInterrumpido(false);
+        procesos.setFueInterrumpido(p, false);
 
-        registrarEvento(p.getPid(), "PROCESO_SELECCIONADO", "Proceso " + p.getNombre() + " seleccionado por el planificador.");
+        registrarEvento(p, TipoEvento.PROCESO_SELECCIONADO);
         
         cpu.setProcesoADespachar(p);
-        if (p.getEstado().equals("NUEVO")) {
+        //Un overhead de 0 termina en el acto: si no, la CPU quedaría como ociosa con un proceso a medio despachar
+        if (procesos.getEstado(p) == EstadoProcesos.NUEVO) {
             cpu.setTiempoRestanteTIP(params.getTip());
-            registrarEvento(p.getPid(), "INICIO_TIP", "Proceso " + p.getNombre() + " es seleccionado para admisión (TIP).");
+            registrarEvento(p, TipoEvento.INICIO_TIP);
+            if (params.getTip() == 0) {
+                terminarTIP();
+            }
         } else { //Si es nuevo le hacemos TIP, si no, TCP
             cpu.setTiempoRestanteTCP(params.getTcp());
-            registrarEvento(p.getPid(), "INICIO_TCP", "Iniciando cambio de contexto para " + p.getNombre());
+            registrarEvento(p, TipoEvento.INICIO_TCP);
+            if (params.getTcp() == 0) {
+                terminarTCP();
+            }
         }
     }
 
     private void procesarLlegadas() {
-        for (Proceso p : procesos) {
-            if (p.getEstado().equals("NO_LLEGADO") && p.getTiempoArribo() <= tiempoActual) {
-                p.setEstado("NUEVO");
-                colaPrincipal.agregar(p); //Verificamos todos los procesos disponibles para ver cuáles deberían arribar en el T actual
-                registrarEvento(p.getPid(), "ARRIBO_PROCESO", "El proceso " + p.getNombre() + " ha arribado y se encola.");
+        //La carga da los PIDs ordenados por arribo: se avanza hasta el primero que todavía no llega
+        while (siguienteArribo < carga.getCantidad()) {
+            int pid = carga.getPidPorArribo(siguienteArribo);
+            if (carga.getTiempoArribo(pid) > tiempoActual) {
+                break;
             }
+            siguienteArribo++;
+            procesos.setEstado(pid, EstadoProcesos.NUEVO);
+            encolar(pid);
+            registrarEvento(pid, TipoEvento.ARRIBO_PROCESO);
         }
     }
 
     private void actualizarColaBloqueados() {
-        List<Proceso> desbloqueados = new ArrayList<>();
-        for (Proceso p : colaBloqueados) {
-            if (p.getTiempoRestanteES() <= 0) {
-                p.setEstado("LISTO");
-                if (!p.GetfueInterrumpido()){
-                    p.setTiempoRestanteRafagaCPU(p.getDuracionRafagaCPU());
-                }
-                colaPrincipal.agregar(p);
-                desbloqueados.add(p); //Pasa saber cuales sacar luego de la cola de bloqueados
-                registrarEvento(p.getPid(), "BLOQUEADO_A_LISTO", "Proceso " + p.getNombre() + " terminó E/S y se re-encola.");
+        //Salen los que cumplieron su E/S, en el orden en que se bloquearon; el resto ni se mira
+        while (!colaBloqueados.isEmpty() && procesos.getTiempoDespertar(colaBloqueados.peek()) <= tiempoActual) {
+            int p = colaBloqueados.poll();
+            procesos.setEstado(p, EstadoProcesos.LISTO);
+            if (!procesos.getFueInterrumpido(p)) {
+                procesos.setTiempoRestanteRafagaCPU(p, procesos.getDuracionRafagaActual(p));
             }
+            encolar(p);
+            registrarEvento(p, TipoEvento.BLOQUEADO_A_LISTO);
         }
-        colaBloqueados.removeAll(desbloqueados);   
-        for (Proceso p : colaBloqueados){  
-          p.setTiempoRestanteES(p.getTiempoRestanteES() - 1); //Descontamos a cada uno una unidad de tiempo    
-        }  
     }
 
     private void verificarCondicionDeFin() {
-        long procesosTerminados = procesos.stream().filter(p -> p.getEstado().equals("TERMINADO")).count(); //Si todos los procesos tienen como estado "Terminado", la simulacion termina
-        if (procesosTerminados == procesos.size() && cpu.estaOciosa() && cpu.getTiempoRestanteTCP() == 0 && cpu.getTiempoRestanteTIP() == 0) { //No hay procesos en CPU ni en overhead
+        //Si todos los procesos están terminados y no hay procesos en CPU ni en overhead, la simulacion termina
+        if (procesos.getTerminados() == carga.getCantidad() && cpu.estaOciosa() && cpu.getTiempoRestanteTCP() == 0 && cpu.getTiempoRestanteTIP() == 0) {
             this.simulacionTerminada = true;
         }
     }
 
-    private void registrarEvento(Integer pid, String tipo, String mensaje) {
-        this.log.add(new Evento(tiempoActual, pid, tipo, mensaje)); //Lo uso de log, como es una lista lo puedo guardar y exportar
+    private void registrarEvento(int pid, int tipo) {
+        registrarEvento(pid, tipo, 0);
+    }
+
+    //Solo se guardan los campos; el texto lo arma redactar() cuando alguien lee el evento
+    private void registrarEvento(int pid, int tipo, long dato) {
+        if (!registrarLog) {
+            return;
+        }
+        this.log.agregar(tiempoActual, pid, tipo, dato);
+    }
+
+    private String redactar(long tiempo, int pid, int tipo, long dato) {
+        String nombre = (pid != NINGUNO) ? carga.getNombre(pid) : null;
+        UnidadTiempo unidad = params.getUnidad();
+        return switch (tipo) {
+            case TipoEvento.INICIO_SIMULACION -> "La simulación ha comenzado.";
+            case TipoEvento.SIMULACION_ABORTADA -> "La simulación se abandonó en t=" + unidad.formatear(tiempo);
+            case TipoEvento.FIN_SIMULACION -> "La simulación ha terminado en t=" + unidad.formatear(tiempo);
+            case TipoEvento.IMPULSO_PRIORIDAD -> "El planificador " + planificador.getNombre() + " reordenó las prioridades.";
+            case TipoEvento.ARRIBO_PROCESO -> "El proceso " + nombre + " ha arribado y se encola.";
+            case TipoEvento.PROCESO_SELECCIONADO -> "Proceso " + nombre + " seleccionado por el planificador.";
+            case TipoEvento.INICIO_TIP -> "Proceso " + nombre + " es seleccionado para admisión (TIP).";
+            case TipoEvento.FIN_TIP -> "Proceso " + nombre + " completó TIP.";
+            case TipoEvento.INICIO_TCP -> "Iniciando cambio de contexto para " + nombre;
+            case TipoEvento.DESPACHO_PROCESO -> "Proceso " + nombre + " pasa a ejecución.";
+            case TipoEvento.EJECUCION -> "Proceso " + nombre + " resta ejecutar " + unidad.formatear(dato);
+            case TipoEvento.FIN_RAFAGA_CPU -> "Proceso " + nombre + " terminó ráfaga de CPU.";
+            case TipoEvento.EJECUCION_A_BLOQUEADO -> "Proceso " + nombre + " inicia E/S.";
+            case TipoEvento.BLOQUEADO_A_LISTO -> "Proceso " + nombre + " terminó E/S y se re-encola.";
+            case TipoEvento.FIN_QUANTUM -> "Proceso " + nombre + " vuelve a la fila por fin de quantum.";
+            case TipoEvento.INTERRUPCION -> "Proceso " + nombre + " interrumpido por " + carga.getNombre((int) dato);
+            case TipoEvento.INCUMBENTE_EXPROPIADO -> "Proceso " + nombre + " es expropiado por " + carga.getNombre((int) dato);
+            case TipoEvento.PROCESO_TERMINADO -> "Proceso " + nombre + " ha finalizado.";
+            case TipoEvento.FIN_TFP -> "Proceso " + nombre + " ha finalizado TFP";
+            default -> "";
+        };
     }
 
     private void calcularMetricasFinales() {
-        int sumaTR = 0;
-        for (Proceso p : procesos) {
-            int tr = p.getTiempoFinEjecucion() - p.getTiempoArribo();
+        long sumaTR = 0; //Con cientos de miles de procesos la suma no entra en un int
+        long finMaximo = Long.MIN_VALUE;
+        long arriboMinimo = Long.MAX_VALUE;
+        int n = carga.getCantidad();
+        for (int pid = 1; pid <= n; pid++) {
+            long tr = procesos.getTiempoFinEjecucion(pid) - carga.getTiempoArribo(pid);
             sumaTR += tr;
+            double tiempoDeServicio = carga.getTiempoServicio(pid);
+            metricas.getHistogramaRetorno().registrar(tr);
+            if (tiempoDeServicio > 0) {
+                metricas.getHistogramaRetornoNormalizado().registrar(tr / tiempoDeServicio);
+            }
+            finMaximo = Math.max(finMaximo, procesos.getTiempoFinEjecucion(pid));
+            arriboMinimo = Math.min(arriboMinimo, carga.getTiempoArribo(pid));
         }
-        int trt = procesos.stream().mapToInt(Proceso::getTiempoFinEjecucion).max().orElse(0)
-                - procesos.stream().mapToInt(Proceso::getTiempoArribo).min().orElse(0); //Tiempo de retorno de la tanda = tiempo de finalización del último - tiempo de arribo del primero
-        double tmrt = (procesos.isEmpty()) ? 0 : (double) sumaTR / procesos.size();
+        long trt = (n == 0) ? 0 : finMaximo - arriboMinimo; //Tiempo de retorno de la tanda = tiempo de finalización del último - tiempo de arribo del primero
+        double tmrt = (n == 0) ? 0 : (double) sumaTR / n;
         metricas.setTiempoRetornoTanda(trt);
         metricas.setTiempoMedioRetornoTanda(tmrt);
     }
     
-    public List<Evento> getLog() { return log; }
+    /*
+       Vuelca todo el estado de la simulación al comienzo de la unidad de tiempo actual: parámetros,
+       procesos (definición y estado), CPU, bloqueados, cola de listos con su estado interno,
+       planificador, métricas y la posición del log. Con eso leerEstado arma una continuación idéntica.
+     */
+    public void escribirEstado(DataOutput salida) throws IOException {
+        salida.writeInt(MAGIA_PUNTO_DE_CONTROL);
+        salida.writeInt(VERSION_PUNTO_DE_CONTROL);
+        salida.writeUTF(planificador.getNombre());
+        salida.writeInt(params.getTip());
+        salida.writeInt(params.getTfp());
+        salida.writeInt(params.getTcp());
+        salida.writeInt(params.getQuantum());
+        salida.writeLong(params.getSemilla());
+        salida.writeUTF(params.getUnidad().getNombre());
+
+        salida.writeLong(tiempoActual);
+        salida.writeBoolean(simulacionTerminada);
+        salida.writeLong(desplazamientoLog + log.getCantidad());
+
+        salida.writeInt(carga.getCantidad());
+        for (int pid = 1; pid <= carga.getCantidad(); pid++) {
+            salida.writeUTF(carga.getNombre(pid) != null ? carga.getNombre(pid) : "");
+            salida.writeLong(carga.getTiempoArribo(pid));
+            salida.writeInt(carga.getCantidadRafagasCPU(pid));
+            salida.writeLong(carga.getDuracionRafagaCPU(pid));
+            salida.writeLong(carga.getDuracionRafagaES(pid));
+            salida.writeInt(carga.getPrioridadExterna(pid));
+            salida.writeBoolean(carga.tieneSecuenciaRafagas(pid));
+            if (carga.tieneSecuenciaRafagas(pid)) {
+                for (int r = 0; r < carga.getCantidadRafagasCPU(pid); r++) {
+                    salida.writeLong(carga.getDuracionRafagaCPU(pid, r));
+                    salida.writeLong(carga.getDuracionRafagaES(pid, r));
+                }
+            }
+        }
+        procesos.escribirEstado(salida);
+        salida.writeInt(ultimoProcesoTerminado);
+
+        salida.writeInt(cpu.getProcesoActual());
+        salida.writeLong(cpu.getQuantumRestante());
+        salida.writeLong(cpu.getTiempoRestanteTCP());
+        salida.writeLong(cpu.getTiempoRestanteTIP());
+        salida.writeInt(cpu.getProcesoADespachar());
+
+        colaBloqueados.escribirEstado(salida);
+        colaPrincipal.escribirEstado(salida);
+        planificador.escribirEstado(salida);
+        metricas.escribirEstado(salida);
+    }
+
+    /*
+       Arma un Simulador a partir de lo escrito por escribirEstado. El planificador debe estar
+       configurado igual que el original; si es null se crea por nombre desde el registro.
+     */
+    public static Simulador leerEstado(DataInput entrada, Planificador planificador) throws IOException {
+        return leerEstado(entrada, planificador, null, null);
+    }
+
+    /*
+       Igual que el anterior, pero reemplazando lo que se quiere cambiar para seguir desde el punto de control.
+       "nuevaCarga" reemplaza a la carga guardada (puede tener procesos de más, que quedan sin arribar) y
+       "nuevosParams" a los parámetros guardados; null deja los originales.
+       Quien llama es responsable de que los cambios no afecten nada anterior al punto de control
+       (por ejemplo, un proceso cambiado no puede haber arribado todavía).
+     */
+    public static Simulador leerEstado(DataInput entrada, Planificador planificador, CargaTrabajo nuevaCarga, SystemParams nuevosParams) throws IOException {
+        if (entrada.readInt() != MAGIA_PUNTO_DE_CONTROL) {
+            throw new IOException("El archivo no es un punto de control del simulador.");
+        }
+        int version = entrada.readInt();
+        if (version != VERSION_PUNTO_DE_CONTROL) {
+            throw new IOException("Versión de punto de control no soportada: " + version);
+        }
+        String nombrePlanificador = entrada.readUTF();
+        if (planificador == null) {
+            planificador = RegistroPlanificadores.crear(nombrePlanificador);
+            if (planificador == null) {
+                throw new IOException("No hay un planificador registrado con el nombre " + nombrePlanificador);
+            }
+        } else if (!planificador.getNombre().equals(nombrePlanificador)) {
+            throw new IOException("El punto de control es de " + nombrePlanificador + ", no de " + planificador.getNombre());
+        }
+        SystemParams params = new SystemParams(entrada.readInt(), entrada.readInt(), entrada.readInt(), entrada.readInt(), entrada.readLong());
+        UnidadTiempo unidad = UnidadTiempo.porNombre(entrada.readUTF());
+        params.setUnidad((unidad != null) ? unidad : UnidadTiempo.UNIDAD);
+        if (nuevosParams != null) {
+            params = nuevosParams;
+        }
+
+        long tiempo = entrada.readLong();
+        boolean terminada = entrada.readBoolean();
+        long posicionLog = entrada.readLong();
+
+        //Las ráfagas van directo a la carga empaquetada; con una carga nueva solo se saltean
+        int cantidad = entrada.readInt();
+        CargaTrabajo.Armador guardada = (nuevaCarga == null) ? new CargaTrabajo.Armador() : null;
+        for (int i = 0; i < cantidad; i++) {
+            String nombre = entrada.readUTF();
+            long tiempoArribo = entrada.readLong();
+            int rafagas = entrada.readInt();
+            long duracionCPU = entrada.readLong();
+            long duracionES = entrada.readLong();
+            int prioridad = entrada.readInt();
+            if (entrada.readBoolean()) {
+                if (guardada != null) {
+                    Proceso p = guardada.agregarConSecuencia(nombre, tiempoArribo, prioridad);
+                    p.setDuracionRafagaCPU(duracionCPU);
+                    p.setDuracionRafagaES(duracionES);
+                }
+                for (int r = 0; r < rafagas; r++) {
+                    long cpu = entrada.readLong();
+                    long es = entrada.readLong();
+                    if (guardada != null) {
+                        guardada.agregarRafaga(cpu, es);
+                    }
+                }
+            } else if (guardada != null) {
+                Proceso p = new Proceso();
+                p.setNombre(nombre);
+                p.setTiempoArribo(tiempoArribo);
+                p.setCantidadRafagasCPU(rafagas);
+                p.setDuracionRafagaCPU(duracionCPU);
+                p.setDuracionRafagaES(duracionES);
+                p.setPrioridadExterna(prioridad);
+                guardada.agregar(p);
+            }
+        }
+        CargaTrabajo carga = (nuevaCarga != null) ? nuevaCarga : guardada.armar();
+
+        Simulador simulador = new Simulador(carga, planificador, params);
+        simulador.tiempoActual = tiempo;
+        simulador.simulacionTerminada = terminada;
+        simulador.desplazamientoLog = posicionLog;
+        simulador.restaurada = true;
+        EstadoProcesos procesos = simulador.procesos;
+        procesos.leerEstado(entrada);
+        for (int pid = 1; pid <= carga.getCantidad(); pid++) {
+            if (procesos.getEstado(pid) == EstadoProcesos.NO_LLEGADO) {
+                procesos.inicializar(pid); //El estado inicial sale de la definición, que pudo cambiar
+            } else {
+                simulador.siguienteArribo++; //Los que ya llegaron son los primeros en el orden de arribo
+            }
+        }
+        simulador.ultimoProcesoTerminado = entrada.readInt();
+
+        simulador.cpu.setProcesoActual(entrada.readInt());
+        simulador.cpu.setQuantumRestante(entrada.readLong());
+        simulador.cpu.setTiempoRestanteTCP(entrada.readLong());
+        simulador.cpu.setTiempoRestanteTIP(entrada.readLong());
+        simulador.cpu.setProcesoADespachar(entrada.readInt());
+
+        simulador.colaBloqueados.leerEstado(entrada);
+        simulador.colaPrincipal.leerEstado(entrada);
+        planificador.leerEstado(entrada);
+        simulador.metricas.leerEstado(entrada);
+        return simulador;
+    }
+
+    /*
+       Resultado de una corrida terminada, para CacheResultados: instante final, estado final de los procesos,
+       métricas, telemetría y, si "conEventos", los campos de cada evento del log (24 bytes cada uno).
+       No incluye la definición de la carga ni los parámetros: quien lo guarda los identifica por su clave.
+     */
+    public void escribirResultado(DataOutput salida, boolean conEventos) throws IOException {
+        if (!simulacionTerminada || abortada || restaurada) {
+            throw new IllegalStateException("Solo se guarda el resultado de una simulación completa, terminada y no reanudada.");
+        }
+        if (conEventos && !registrarLog) {
+            throw new IllegalStateException("La simulación corrió sin log, no hay eventos para guardar.");
+        }
+        salida.writeLong(tiempoActual);
+        procesos.escribirEstado(salida);
+        metricas.escribirEstado(salida);
+        salida.writeBoolean(telemetria != null);
+        if (telemetria != null) {
+            telemetria.escribirEstado(salida);
+        }
+        salida.writeBoolean(conEventos);
+        if (conEventos) {
+            salida.writeLong(log.getCantidad());
+            log.escribirRegistros(salida, 0);
+        }
+    }
+
+    /*
+       Arma un Simulador ya terminado con lo escrito por escribirResultado, sin volver a simular.
+       La carga, el planificador (sin usar) y los parámetros deben ser los de la corrida guardada.
+     */
+    public static Simulador leerResultado(DataInput entrada, CargaTrabajo carga, Planificador planificador, SystemParams params) throws IOException {
+        Simulador simulador = new Simulador(carga, planificador, params);
+        simulador.tiempoActual = entrada.readLong();
+        simulador.procesos.leerEstado(entrada);
+        simulador.metricas.leerEstado(entrada);
+        if (entrada.readBoolean()) {
+            simulador.telemetria = Telemetria.leerEstado(entrada);
+        } else {
+            simulador.ventanaTelemetria = 0;
+        }
+        if (entrada.readBoolean()) {
+            try {
+                simulador.log.agregarRegistros(entrada, entrada.readLong());
+            } catch (IOException | RuntimeException ex) { //Resultado truncado: para la caché es un fallo, y lo ya leído no debe quedar en disco
+                simulador.log.close();
+                throw ex;
+            }
+        }
+        simulador.simulacionTerminada = true;
+        simulador.deResultadoGuardado = true;
+        return simulador;
+    }
+
+    //Cantidad de eventos que ya estaban en el log original antes del punto de control (0 si no se restauró)
+    public long getDesplazamientoLog() { return desplazamientoLog; }
+    public boolean isAbortada() { return abortada; }
+    public boolean isDeResultadoGuardado() { return deResultadoGuardado; } //Si salió de CacheResultados en vez de simularse
+    public MonitorSimulacion getMonitor() { return monitor; } //El de la última vez que se llamó a iniciar(), null antes
+    public long getTiempoActual() { return tiempoActual; } //Al terminar, el instante final
+    public AlmacenEventos getLog() { return log; } //También es una List<Evento>, pero leer los campos no crea objetos
     public Metricas getMetricas() { return metricas; }
-    public List<Proceso> getProcesos() { return procesos; } //Los eventos, metricas y procesos de esta simulacion en especifico
+    public Telemetria getTelemetria() { return telemetria; } //null antes de iniciar o si se configuró sin telemetría
+    public CargaTrabajo getCarga() { return carga; }
+    public SystemParams getParams() { return params; }
+    public EstadoProcesos getEstadoProcesos() { return procesos; } //Los eventos, metricas y procesos de esta simulacion en especifico
 }
\ No newline at end of file
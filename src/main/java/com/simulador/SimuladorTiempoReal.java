@@ -0,0 +1,278 @@
+package com.simulador;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import com.simulador.models.Evento;
+import com.simulador.models.Metricas;
+import com.simulador.models.TareaPeriodica;
+import com.simulador.models.TrabajoTiempoReal;
+import com.simulador.scheduler.PlanificadorTiempoReal;
+
+/*
+   Simula un conjunto de tareas periódicas bajo una política de tiempo real (EDF, Rate Monotonic).
+   A diferencia de Simulador, no avanza de a una unidad: salta directo al próximo suceso
+   (liberación, fin de trabajo o vencimiento de plazo), así que el costo depende de la cantidad
+   de trabajos y no del largo del hiperperiodo.
+   Los trabajos se generan de forma perezosa. Dentro de una tarea se atienden en orden (el k-ésimo se libera en
+   fase + k·periodo y tanto EDF como RM lo prefieren al k+1), así que de los pendientes de cada tarea solo se
+   guarda el más viejo y cuántos hay: aunque haya sobrecarga, la memoria es proporcional a la cantidad de tareas.
+   Los trabajos se despachan sin TIP/TCP/TFP: en el análisis de tiempo real ese costo va incluido en el WCET.
+   Con plazos firmes, un trabajo vencido se saca de la cola apenas vence su plazo.
+   Se corre desde la línea de comandos con "tiemporeal" (ver LineaComandosTiempoReal).
+ */
+public class SimuladorTiempoReal {
+
+    private final List<TareaPeriodica> tareas;
+    private final PlanificadorTiempoReal planificador;
+    private final long horizonte;
+    private final boolean abortarVencidos; //Plazos firmes: un trabajo vencido se descarta en vez de seguir ejecutando
+    private final boolean registrarLog;
+
+    private long tiempoActual;
+    private final long[] proximaLiberacion;
+    private final long[] liberadosPorTarea;
+    private final long[] primerPendiente; //Número del trabajo más viejo sin terminar ni descartar de cada tarea
+    private final long[] primerSinVerificar; //Los trabajos anteriores a este ya se revisaron contra su plazo
+    private final TrabajoTiempoReal[] cabezas; //El trabajo primerPendiente de cada tarea, null si no tiene pendientes
+    private final PriorityQueue<Integer> tareasPorLiberacion; //Índices de tarea ordenados por su próxima liberación
+    private final PriorityQueue<TrabajoTiempoReal> listos; //Solo la cabeza de cada tarea que no está en ejecución
+    private final PriorityQueue<Vencimiento> porPlazo; //Para detectar vencimientos sin recorrer los pendientes
+    private TrabajoTiempoReal enEjecucion;
+    private final List<Evento> log; //Vacía si no se registra: un hiperperiodo largo libera millones de trabajos
+    private final Metricas metricas;
+
+    public SimuladorTiempoReal(List<TareaPeriodica> tareas, PlanificadorTiempoReal planificador, long horizonte,
+            boolean abortarVencidos, boolean registrarLog) {
+        for (TareaPeriodica t : tareas) {
+            if (t.getPeriodo() <= 0 || t.getWcet() < 0) {
+                throw new IllegalArgumentException("La tarea " + t.getNombre() + " necesita periodo positivo y WCET no negativo.");
+            }
+        }
+        this.tareas = tareas;
+        this.planificador = planificador;
+        this.horizonte = horizonte;
+        this.abortarVencidos = abortarVencidos;
+        this.registrarLog = registrarLog;
+        this.tiempoActual = 0;
+        this.proximaLiberacion = new long[tareas.size()];
+        this.liberadosPorTarea = new long[tareas.size()];
+        this.primerPendiente = new long[tareas.size()];
+        this.primerSinVerificar = new long[tareas.size()];
+        this.cabezas = new TrabajoTiempoReal[tareas.size()];
+        this.tareasPorLiberacion = new PriorityQueue<>((a, b) -> {
+            int c = Long.compare(proximaLiberacion[a], proximaLiberacion[b]);
+            return (c != 0) ? c : Integer.compare(a, b);
+        });
+        for (int i = 0; i < tareas.size(); i++) {
+            proximaLiberacion[i] = tareas.get(i).getFase();
+            tareasPorLiberacion.add(i);
+        }
+        this.listos = new PriorityQueue<>(planificador::comparar);
+        this.porPlazo = new PriorityQueue<>((a, b) -> {
+            int c = Long.compare(a.plazo, b.plazo);
+            return (c != 0) ? c : Integer.compare(a.tarea, b.tarea);
+        });
+        this.enEjecucion = null;
+        this.log = new ArrayList<>();
+        this.metricas = new Metricas();
+    }
+
+    //Simula hasta la mayor fase más un hiperperiodo, que es cuando el patrón de liberaciones se repite, sin log
+    public SimuladorTiempoReal(List<TareaPeriodica> tareas, PlanificadorTiempoReal planificador) {
+        this(tareas, planificador, horizontePorDefecto(tareas), false, false);
+    }
+
+    public static long calcularHiperperiodo(List<TareaPeriodica> tareas) {
+        long mcm = 1;
+        for (TareaPeriodica t : tareas) {
+            long p = t.getPeriodo();
+            mcm = Math.multiplyExact(mcm / mcd(mcm, p), p); //Lanza ArithmeticException si no entra en un long
+        }
+        return mcm;
+    }
+
+    public static long horizontePorDefecto(List<TareaPeriodica> tareas) {
+        long faseMaxima = tareas.stream().mapToLong(TareaPeriodica::getFase).max().orElse(0);
+        return faseMaxima + calcularHiperperiodo(tareas);
+    }
+
+    private static long mcd(long a, long b) {
+        while (b != 0) {
+            long r = a % b;
+            a = b;
+            b = r;
+        }
+        return a;
+    }
+
+    public void iniciar() {
+        registrarEvento(null, "INICIO_SIMULACION", "Simulación de tiempo real con " + planificador.getNombre() + " hasta t=" + horizonte);
+        while (tiempoActual < horizonte) {
+            liberarTrabajos();
+            verificarPlazos();
+            elegirTrabajo();
+
+            long proximo = Math.min(horizonte, proximoSuceso());
+            long transcurrido = proximo - tiempoActual;
+            if (enEjecucion != null) {
+                enEjecucion.setRestante(enEjecucion.getRestante() - transcurrido);
+            }
+            tiempoActual = proximo;
+
+            if (enEjecucion != null && enEjecucion.estaTerminado()) {
+                finalizarTrabajo(enEjecucion);
+                int tarea = enEjecucion.getIndiceTarea();
+                enEjecucion = null;
+                avanzarCabeza(tarea);
+            }
+        }
+        //Los que siguen pendientes y ya vencieron en el último instante también cuentan
+        verificarPlazos();
+        registrarEvento(null, "FIN_SIMULACION", "La simulación ha terminado en t=" + tiempoActual);
+    }
+
+    private void liberarTrabajos() {
+        while (!tareasPorLiberacion.isEmpty() && proximaLiberacion[tareasPorLiberacion.peek()] <= tiempoActual) {
+            int i = tareasPorLiberacion.poll();
+            TareaPeriodica tarea = tareas.get(i);
+            long numero = liberadosPorTarea[i]++;
+            metricas.incrementarTrabajosLiberados();
+            registrarEvento(i + 1, "LIBERACION_TRABAJO", "Se libera " + nombreTrabajo(i, numero) + " con plazo t=" + plazo(i, numero));
+            if (tarea.getWcet() == 0) { //No necesita CPU: termina al liberarse y la tarea nunca acumula pendientes
+                finalizarTrabajo(new TrabajoTiempoReal(i, tarea, numero, proximaLiberacion[i]));
+                primerPendiente[i] = liberadosPorTarea[i];
+                primerSinVerificar[i] = liberadosPorTarea[i];
+            } else {
+                if (cabezas[i] == null) {
+                    cabezas[i] = new TrabajoTiempoReal(i, tarea, numero, proximaLiberacion[i]);
+                    listos.add(cabezas[i]);
+                }
+                if (primerSinVerificar[i] == numero) { //Los anteriores ya se revisaron: este pasa a ser el próximo a vencer
+                    porPlazo.add(new Vencimiento(plazo(i, numero), i, numero));
+                }
+            }
+            proximaLiberacion[i] += tarea.getPeriodo();
+            tareasPorLiberacion.add(i);
+        }
+    }
+
+    private void verificarPlazos() {
+        while (!porPlazo.isEmpty() && porPlazo.peek().plazo <= tiempoActual) {
+            Vencimiento vencimiento = porPlazo.poll();
+            int i = vencimiento.tarea;
+            if (vencimiento.numero != primerSinVerificar[i]) {
+                continue; //Ese trabajo terminó a tiempo, solo quedaba en el heap
+            }
+            metricas.incrementarPlazosIncumplidos();
+            registrarEvento(i + 1, "PLAZO_INCUMPLIDO", nombreTrabajo(i, vencimiento.numero) + " no terminó antes de t=" + vencimiento.plazo);
+            if (abortarVencidos) {
+                //Los anteriores de la tarea ya terminaron o se descartaron, así que el vencido es la cabeza
+                if (cabezas[i] == enEjecucion) {
+                    enEjecucion = null;
+                } else {
+                    listos.remove(cabezas[i]); //La cola tiene a lo sumo una entrada por tarea
+                }
+                registrarEvento(i + 1, "TRABAJO_DESCARTADO", cabezas[i].getNombre() + " se descarta por plazo vencido.");
+                avanzarCabeza(i);
+            } else {
+                primerSinVerificar[i]++;
+                if (primerSinVerificar[i] < liberadosPorTarea[i]) {
+                    porPlazo.add(new Vencimiento(plazo(i, primerSinVerificar[i]), i, primerSinVerificar[i]));
+                }
+            }
+        }
+    }
+
+    //Saca la cabeza de la tarea (terminada o descartada) y pone en la cola al siguiente pendiente, si ya se liberó
+    private void avanzarCabeza(int i) {
+        boolean sinVerificar = (primerSinVerificar[i] == primerPendiente[i]);
+        primerPendiente[i]++;
+        if (primerPendiente[i] < liberadosPorTarea[i]) {
+            long numero = primerPendiente[i];
+            cabezas[i] = new TrabajoTiempoReal(i, tareas.get(i), numero, tareas.get(i).getFase() + numero * tareas.get(i).getPeriodo());
+            listos.add(cabezas[i]);
+        } else {
+            cabezas[i] = null;
+        }
+        if (sinVerificar) {
+            primerSinVerificar[i] = primerPendiente[i];
+            if (primerSinVerificar[i] < liberadosPorTarea[i]) {
+                porPlazo.add(new Vencimiento(plazo(i, primerSinVerificar[i]), i, primerSinVerificar[i]));
+            }
+        }
+    }
+
+    private void elegirTrabajo() {
+        TrabajoTiempoReal candidato = listos.peek();
+        if (candidato == null) {
+            return;
+        }
+        if (enEjecucion == null) {
+            enEjecucion = listos.poll();
+            registrarEvento(enEjecucion.getIndiceTarea() + 1, "DESPACHO_PROCESO", enEjecucion.getNombre() + " pasa a ejecución.");
+        } else if (planificador.comparar(candidato, enEjecucion) < 0) {
+            registrarEvento(enEjecucion.getIndiceTarea() + 1, "INTERRUPCION", enEjecucion.getNombre() + " interrumpido por " + candidato.getNombre());
+            listos.add(enEjecucion);
+            enEjecucion = listos.poll();
+            registrarEvento(enEjecucion.getIndiceTarea() + 1, "DESPACHO_PROCESO", enEjecucion.getNombre() + " pasa a ejecución.");
+        }
+    }
+
+    //Próximo instante en que algo puede cambiar: una liberación, el fin del trabajo actual o un vencimiento
+    private long proximoSuceso() {
+        long proximo = Long.MAX_VALUE;
+        if (!tareasPorLiberacion.isEmpty()) {
+            proximo = proximaLiberacion[tareasPorLiberacion.peek()];
+        }
+        if (enEjecucion != null) {
+            proximo = Math.min(proximo, tiempoActual + enEjecucion.getRestante());
+        }
+        if (!porPlazo.isEmpty()) {
+            proximo = Math.min(proximo, porPlazo.peek().plazo);
+        }
+        return proximo;
+    }
+
+    private void finalizarTrabajo(TrabajoTiempoReal trabajo) {
+        metricas.incrementarTrabajosCompletados();
+        long tardanza = tiempoActual - trabajo.getPlazoAbsoluto();
+        metricas.registrarTardanza(tardanza);
+        registrarEvento(trabajo.getIndiceTarea() + 1, "FIN_TRABAJO", trabajo.getNombre() + " terminó" + (tardanza > 0 ? " con " + tardanza + " de demora." : " a tiempo."));
+    }
+
+    private long plazo(int tarea, long numero) {
+        TareaPeriodica t = tareas.get(tarea);
+        return t.getFase() + numero * t.getPeriodo() + t.getPlazoRelativo();
+    }
+
+    //Mismo nombre que TrabajoTiempoReal.getNombre, para los pendientes que no tienen objeto
+    private String nombreTrabajo(int tarea, long numero) {
+        return tareas.get(tarea).getNombre() + "#" + numero;
+    }
+
+    private void registrarEvento(Integer pid, String tipo, String mensaje) {
+        if (registrarLog) {
+            this.log.add(new Evento(tiempoActual, pid, tipo, mensaje));
+        }
+    }
+
+    public List<Evento> getLog() { return log; }
+    public Metricas getMetricas() { return metricas; }
+    public List<TareaPeriodica> getTareas() { return tareas; }
+    public long getTiempoActual() { return tiempoActual; }
+
+    //Plazo del trabajo "numero" de una tarea, pendiente de revisar
+    private static class Vencimiento {
+        final long plazo;
+        final int tarea;
+        final long numero;
+
+        Vencimiento(long plazo, int tarea, long numero) {
+            this.plazo = plazo;
+            this.tarea = tarea;
+            this.numero = numero;
+        }
+    }
+}
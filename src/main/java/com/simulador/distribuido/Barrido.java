@@ -0,0 +1,162 @@
+package com.simulador.distribuido;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.simulador.Simulador;
+import com.simulador.models.Metricas;
+import com.simulador.models.Proceso;
+import com.simulador.models.SystemParams;
+import com.simulador.montecarlo.ReplicadorMonteCarlo;
+import com.simulador.scheduler.Planificador;
+import com.simulador.scheduler.RegistroPlanificadores;
+
+/*
+   Un barrido: todas las combinaciones de algoritmo, variante de parámetros (TIP, TFP, TCP y quantum)
+   y réplica de una tanda. Las réplicas son las de ReplicadorMonteCarlo con la semilla del barrido, así
+   el punto (algoritmo, variante, réplica r) da lo mismo que la réplica r de un ReplicadorMonteCarlo con
+   esa semilla, y todos los algoritmos y variantes corren sobre las mismas muestras.
+
+   Los puntos se numeran de 0 a getCantidadPuntos() - 1 con la réplica variando más rápido, después la
+   variante y después el algoritmo; una porción de puntos consecutivos comparte casi siempre algoritmo y
+   variante. La definición es inmutable y se manda por la red con escribir y leer.
+ */
+public class Barrido {
+
+    private final List<Proceso> definiciones;
+    private final List<String> algoritmos;
+    private final List<SystemParams> variantes; //La semilla de cada una no se usa: la pone la réplica
+    private final int replicas;
+    private final long semilla;
+    private ReplicadorMonteCarlo replicador; //Solo las semillas de las réplicas; se arma la primera vez que se corre un punto
+
+    public Barrido(List<Proceso> definiciones, List<String> algoritmos, List<SystemParams> variantes, int replicas, long semilla) {
+        if (algoritmos.isEmpty() || variantes.isEmpty() || replicas <= 0) {
+            throw new IllegalArgumentException("El barrido necesita al menos un algoritmo, una variante y una réplica.");
+        }
+        if ((long) algoritmos.size() * variantes.size() * replicas > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("El barrido tiene demasiados puntos.");
+        }
+        this.definiciones = List.copyOf(definiciones);
+        this.algoritmos = List.copyOf(algoritmos);
+        this.variantes = variantes.stream() //SystemParams tiene setters: se copian para que nadie cambie el barrido desde afuera
+                .map(v -> new SystemParams(v.getTip(), v.getTfp(), v.getTcp(), v.getQuantum()))
+                .toList();
+        this.replicas = replicas;
+        this.semilla = semilla;
+    }
+
+    public int getCantidadPuntos() {
+        return algoritmos.size() * variantes.size() * replicas;
+    }
+
+    public String getAlgoritmo(int punto) {
+        return algoritmos.get(punto / (variantes.size() * replicas));
+    }
+
+    public SystemParams getVariante(int punto) {
+        return variantes.get((punto / replicas) % variantes.size());
+    }
+
+    public int getReplica(int punto) {
+        return punto % replicas;
+    }
+
+    public List<String> getAlgoritmos() {
+        return algoritmos;
+    }
+
+    public List<SystemParams> getVariantes() {
+        return variantes;
+    }
+
+    public int getReplicas() {
+        return replicas;
+    }
+
+    public long getSemilla() {
+        return semilla;
+    }
+
+    //Los parámetros con los que corre el punto: los de su variante con la semilla de su réplica
+    public SystemParams getParams(int punto) {
+        SystemParams variante = getVariante(punto);
+        long semillaReplica = getReplicador().getParams(getReplica(punto)).getSemilla();
+        return new SystemParams(variante.getTip(), variante.getTfp(), variante.getTcp(), variante.getQuantum(), semillaReplica);
+    }
+
+    //Las semillas se derivan una sola vez por proceso; la carga de cada réplica se sortea recién al correr uno de sus
+    //puntos, así un trabajador solo arma las réplicas de las porciones que le tocan
+    private synchronized ReplicadorMonteCarlo getReplicador() {
+        if (replicador == null) {
+            replicador = new ReplicadorMonteCarlo(definiciones, variantes.get(0), replicas, semilla);
+        }
+        return replicador;
+    }
+
+    //Corre un punto sin log ni telemetría y devuelve su fila de TablaBarrido. Se puede llamar desde varios hilos.
+    public double[] correr(int punto) {
+        Planificador planificador = RegistroPlanificadores.crear(getAlgoritmo(punto));
+        if (planificador == null) {
+            throw new IllegalStateException("No hay un planificador registrado con el nombre " + getAlgoritmo(punto));
+        }
+        Simulador simulador = new Simulador(getReplicador().getCarga(getReplica(punto)), planificador, getParams(punto));
+        simulador.desactivarLog();
+        simulador.configurarTelemetria(0, 0);
+        simulador.iniciar();
+        Metricas m = simulador.getMetricas();
+        double[] fila = new double[TablaBarrido.COLUMNAS];
+        fila[TablaBarrido.TIEMPO_RETORNO_TANDA] = m.getTiempoRetornoTanda();
+        fila[TablaBarrido.TIEMPO_MEDIO_RETORNO] = m.getTiempoMedioRetornoTanda();
+        fila[TablaBarrido.CPU_DESOCUPADA] = m.getTiempoCPUDesocupada();
+        fila[TablaBarrido.CPU_SO] = m.getTiempoCPU_OS();
+        fila[TablaBarrido.TIEMPO_FINAL] = simulador.getTiempoActual();
+        fila[TablaBarrido.P99_RETORNO] = m.getHistogramaRetorno().percentil(99);
+        fila[TablaBarrido.P99_ESPERA] = m.getHistogramaEsperaListo().percentil(99);
+        fila[TablaBarrido.P99_RESPUESTA] = m.getHistogramaRespuesta().percentil(99);
+        return fila;
+    }
+
+    //La tanda va como el JSON de siempre (con las distribuciones de los procesos estocásticos)
+    public void escribir(DataOutput salida) throws IOException {
+        byte[] json = new Gson().toJson(definiciones).getBytes(StandardCharsets.UTF_8);
+        salida.writeInt(json.length);
+        salida.write(json);
+        salida.writeInt(algoritmos.size());
+        for (String algoritmo : algoritmos) {
+            salida.writeUTF(algoritmo);
+        }
+        salida.writeInt(variantes.size());
+        for (SystemParams variante : variantes) {
+            salida.writeInt(variante.getTip());
+            salida.writeInt(variante.getTfp());
+            salida.writeInt(variante.getTcp());
+            salida.writeInt(variante.getQuantum());
+        }
+        salida.writeInt(replicas);
+        salida.writeLong(semilla);
+    }
+
+    public static Barrido leer(DataInput entrada) throws IOException {
+        byte[] json = new byte[entrada.readInt()];
+        entrada.readFully(json);
+        List<Proceso> definiciones = new Gson().fromJson(new String(json, StandardCharsets.UTF_8), new TypeToken<List<Proceso>>() {}.getType());
+        int cantidadAlgoritmos = entrada.readInt();
+        List<String> algoritmos = new ArrayList<>(cantidadAlgoritmos);
+        for (int i = 0; i < cantidadAlgoritmos; i++) {
+            algoritmos.add(entrada.readUTF());
+        }
+        int cantidadVariantes = entrada.readInt();
+        List<SystemParams> variantes = new ArrayList<>(cantidadVariantes);
+        for (int i = 0; i < cantidadVariantes; i++) {
+            variantes.add(new SystemParams(entrada.readInt(), entrada.readInt(), entrada.readInt(), entrada.readInt()));
+        }
+        return new Barrido(definiciones, algoritmos, variantes, entrada.readInt(), entrada.readLong());
+    }
+}
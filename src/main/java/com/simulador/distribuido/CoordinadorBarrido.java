@@ -0,0 +1,341 @@
+package com.simulador.distribuido;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+
+/*
+   Reparte un Barrido entre procesos trabajadores (TrabajadorBarrido) y junta los resultados en una TablaBarrido.
+
+   Los puntos se cortan en porciones de "puntosPorPorcion" consecutivos. El coordinador escucha en un
+   socket TCP; cada trabajador que se conecta con el token correcto recibe el barrido y va pidiendo porciones
+   de a una. Los trabajadores locales los lanza el mismo coordinador como JVMs aparte (mismo java y
+   classpath) apuntando a su puerto; los de otras máquinas se lanzan a mano con el host, el puerto y el token.
+   No hace falta nada más que java en cada máquina.
+
+   Una porción falla si el trabajador devuelve un error, se desconecta o no responde en "plazo"; vuelve a
+   la cola para otro trabajador hasta "intentos" veces, y si se agotan el barrido entero falla. Si un
+   trabajador local se muere se lanza otro en su lugar. Si durante "plazo" no hay ningún trabajador
+   conectado ni local vivo, también falla (los remotos tienen ese tiempo para conectarse).
+ */
+public class CoordinadorBarrido {
+
+    public static final int PUNTOS_POR_PORCION_POR_DEFECTO = 64;
+    public static final int INTENTOS_POR_DEFECTO = 3;
+    public static final long PLAZO_POR_DEFECTO_MILIS = 10 * 60_000;
+    private static final long ESPERA_POR_TRABAJADOR_MILIS = 200; //Cada cuánto un hilo de conexión se fija si terminó el barrido
+
+    private final Barrido barrido;
+    private final TablaBarrido tabla;
+    private final LinkedBlockingDeque<Porcion> pendientes = new LinkedBlockingDeque<>();
+    private final List<Process> locales = new ArrayList<>();
+    private int intentos = INTENTOS_POR_DEFECTO;
+    private long plazoMilis = PLAZO_POR_DEFECTO_MILIS;
+    private long token = new SecureRandom().nextLong();
+
+    private ServerSocket servidor;
+    private InetAddress hostLocales;
+    private int hilosPorLocal;
+    private int reemplazosLocales; //Cuántos trabajadores locales más se pueden lanzar si se mueren
+    private int porcionesSinTerminar;
+    private int conectados;
+    private long ultimoConTrabajadores;
+    private String falla; //null mientras el barrido puede terminar bien
+    private volatile boolean terminado;
+
+    public CoordinadorBarrido(Barrido barrido, int puntosPorPorcion) {
+        if (puntosPorPorcion <= 0) {
+            throw new IllegalArgumentException("Las porciones deben tener al menos un punto.");
+        }
+        this.barrido = barrido;
+        this.tabla = new TablaBarrido(barrido);
+        int id = 0;
+        for (int desde = 0; desde < barrido.getCantidadPuntos(); desde += puntosPorPorcion) {
+            pendientes.add(new Porcion(id++, desde, Math.min(barrido.getCantidadPuntos(), desde + puntosPorPorcion)));
+        }
+        this.porcionesSinTerminar = pendientes.size();
+    }
+
+    //Cuántas veces se intenta cada porción y cuánto se espera la respuesta de un trabajador
+    public void configurarReintentos(int intentos, long plazoMilis) {
+        if (intentos <= 0 || plazoMilis <= 0) {
+            throw new IllegalArgumentException("Los intentos y el plazo deben ser positivos.");
+        }
+        this.intentos = intentos;
+        this.plazoMilis = plazoMilis;
+    }
+
+    //Por defecto es uno al azar; para trabajadores remotos hay que fijarlo o leerlo con getToken()
+    public void configurarToken(long token) {
+        this.token = token;
+    }
+
+    public long getToken() {
+        return token;
+    }
+
+    //Escucha en "direccion" (puerto 0: uno libre) y lanza los trabajadores locales. No espera a que terminen.
+    public synchronized void iniciar(InetSocketAddress direccion, int trabajadoresLocales) throws IOException {
+        if (servidor != null) {
+            throw new IllegalStateException("El barrido ya se inició.");
+        }
+        servidor = new ServerSocket();
+        servidor.bind(direccion);
+        hostLocales = servidor.getInetAddress().isAnyLocalAddress() ? InetAddress.getLoopbackAddress() : servidor.getInetAddress();
+        hilosPorLocal = Math.max(1, Runtime.getRuntime().availableProcessors() / Math.max(1, trabajadoresLocales));
+        reemplazosLocales = trabajadoresLocales * intentos;
+        ultimoConTrabajadores = System.currentTimeMillis();
+        Thread aceptador = new Thread(this::aceptar, "barrido-coordinador");
+        aceptador.setDaemon(true);
+        aceptador.start();
+        for (int i = 0; i < trabajadoresLocales; i++) {
+            locales.add(lanzarLocal());
+        }
+    }
+
+    //El puerto en el que escucha (para pasárselo a los trabajadores remotos si se inició con puerto 0)
+    public synchronized int getPuerto() {
+        return (servidor != null) ? servidor.getLocalPort() : -1;
+    }
+
+    //Bloquea hasta que están todos los puntos; si el barrido falla, IOException con el motivo
+    public TablaBarrido esperar() throws IOException, InterruptedException {
+        try {
+            synchronized (this) {
+                while (porcionesSinTerminar > 0 && falla == null) {
+                    wait(1000);
+                    revisarTrabajadores();
+                }
+            }
+        } finally {
+            cerrar();
+        }
+        synchronized (this) {
+            if (falla != null) {
+                throw new IOException("El barrido no terminó: " + falla);
+            }
+        }
+        return tabla;
+    }
+
+    public TablaBarrido ejecutar(InetSocketAddress direccion, int trabajadoresLocales) throws IOException, InterruptedException {
+        iniciar(direccion, trabajadoresLocales);
+        return esperar();
+    }
+
+    //Los resultados que llegaron hasta ahora (también si el barrido falló)
+    public TablaBarrido getTabla() {
+        return tabla;
+    }
+
+    public synchronized int getPorcionesSinTerminar() {
+        return porcionesSinTerminar;
+    }
+
+    public synchronized int getConectados() {
+        return conectados;
+    }
+
+    //Con el lock tomado: reemplaza a los locales muertos y se rinde si hace mucho que no hay nadie
+    private void revisarTrabajadores() {
+        boolean hayLocalVivo = false;
+        for (int i = 0; i < locales.size(); i++) {
+            Process local = locales.get(i);
+            if (!local.isAlive() && reemplazosLocales > 0) {
+                reemplazosLocales--;
+                try {
+                    local = lanzarLocal();
+                    locales.set(i, local);
+                } catch (IOException ex) {
+                    continue;
+                }
+            }
+            hayLocalVivo |= local.isAlive();
+        }
+        long ahora = System.currentTimeMillis();
+        if (conectados > 0 || hayLocalVivo) {
+            ultimoConTrabajadores = ahora;
+        } else if (ahora - ultimoConTrabajadores > plazoMilis) {
+            falla = "no hubo trabajadores durante " + plazoMilis + " ms";
+        }
+    }
+
+    private void cerrar() throws InterruptedException {
+        terminado = true;
+        try {
+            servidor.close();
+        } catch (IOException ex) {
+            //Ya no se aceptan conexiones de todas formas
+        }
+        for (Process local : locales) { //Reciben FIN y terminan solos; si no, se los termina
+            if (!local.waitFor(5, TimeUnit.SECONDS)) {
+                local.destroyForcibly();
+            }
+        }
+    }
+
+    private Process lanzarLocal() throws IOException {
+        List<String> comando = new ArrayList<>();
+        comando.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (ManagementFactory.getRuntimeMXBean().getInputArguments().contains("--enable-preview")) {
+            comando.add("--enable-preview");
+        }
+        comando.add("-cp");
+        comando.add(System.getProperty("java.class.path"));
+        comando.add(TrabajadorBarrido.class.getName());
+        comando.add(hostLocales.getHostAddress());
+        comando.add(String.valueOf(servidor.getLocalPort()));
+        comando.add(String.valueOf(hilosPorLocal));
+        ProcessBuilder constructor = new ProcessBuilder(comando)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.INHERIT);
+        constructor.environment().put(TrabajadorBarrido.VARIABLE_TOKEN, Long.toString(token));
+        return constructor.start();
+    }
+
+    private void aceptar() {
+        while (!terminado) {
+            try {
+                Socket socket = servidor.accept();
+                Thread hilo = new Thread(() -> atender(socket), "barrido-trabajador-" + socket.getRemoteSocketAddress());
+                hilo.setDaemon(true);
+                hilo.start();
+            } catch (SocketException ex) {
+                return; //Se cerró el servidor
+            } catch (IOException ex) {
+                //Una conexión fallida no impide aceptar las siguientes
+            }
+        }
+    }
+
+    //Un hilo por trabajador conectado: le manda porciones de a una mientras queden
+    private void atender(Socket socket) {
+        String nombre = String.valueOf(socket.getRemoteSocketAddress());
+        boolean contado = false;
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            socket.setSoTimeout((int) Math.min(Integer.MAX_VALUE, plazoMilis));
+            DataOutputStream salida = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 64 * 1024));
+            DataInputStream entrada = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 64 * 1024));
+            if (entrada.readInt() != ProtocoloBarrido.MAGIA || entrada.readInt() != ProtocoloBarrido.VERSION || entrada.readLong() != token) {
+                return; //No es un trabajador de este barrido: se cierra sin mandarle nada
+            }
+            nombre = entrada.readUTF() + " en " + nombre;
+            entrada.readInt(); //Hilos del trabajador: por ahora todos reciben porciones del mismo tamaño
+            barrido.escribir(salida);
+            salida.flush();
+            synchronized (this) {
+                conectados++;
+                contado = true;
+            }
+            while (true) {
+                Porcion porcion = pendientes.poll(ESPERA_POR_TRABAJADOR_MILIS, TimeUnit.MILLISECONDS);
+                if (porcion == null) {
+                    if (terminado) {
+                        salida.writeByte(ProtocoloBarrido.FIN);
+                        salida.flush();
+                        return;
+                    }
+                    continue;
+                }
+                try {
+                    correrPorcion(porcion, nombre, salida, entrada);
+                } catch (IOException ex) { //Se cortó o no respondió a tiempo: la porción va a otro
+                    reintentar(porcion, nombre + ": " + ex);
+                    throw ex;
+                }
+            }
+        } catch (IOException ex) {
+            //El trabajador se fue; lo que tenía ya volvió a la cola
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (contado) {
+                synchronized (this) {
+                    conectados--;
+                }
+            }
+        }
+    }
+
+    private void correrPorcion(Porcion porcion, String nombre, DataOutputStream salida, DataInputStream entrada) throws IOException {
+        salida.writeByte(ProtocoloBarrido.PORCION);
+        salida.writeInt(porcion.id);
+        salida.writeInt(porcion.desde);
+        salida.writeInt(porcion.hasta);
+        salida.flush();
+
+        byte codigo = entrada.readByte();
+        int id = entrada.readInt();
+        if (id != porcion.id) {
+            throw new IOException("Respuesta de la porción " + id + " cuando se esperaba la " + porcion.id);
+        }
+        if (codigo == ProtocoloBarrido.ERROR) {
+            reintentar(porcion, nombre + ": " + entrada.readUTF()); //El trabajador sigue sano, solo falló esta porción
+            return;
+        }
+        if (codigo != ProtocoloBarrido.RESULTADOS) {
+            throw new IOException("Mensaje desconocido del trabajador: " + codigo);
+        }
+        int cantidad = entrada.readInt();
+        if (cantidad != porcion.hasta - porcion.desde) {
+            throw new IOException("La porción " + porcion.id + " volvió con " + cantidad + " puntos");
+        }
+        double[][] filas = new double[cantidad][TablaBarrido.COLUMNAS];
+        for (int i = 0; i < cantidad; i++) {
+            if (entrada.readInt() != porcion.desde + i) {
+                throw new IOException("La porción " + porcion.id + " volvió con los puntos desordenados");
+            }
+            for (int columna = 0; columna < TablaBarrido.COLUMNAS; columna++) {
+                filas[i][columna] = entrada.readDouble();
+            }
+        }
+        for (int i = 0; i < cantidad; i++) { //Se agregan recién con la porción entera leída
+            tabla.agregar(porcion.desde + i, filas[i]);
+        }
+        synchronized (this) {
+            porcionesSinTerminar--;
+            notifyAll();
+        }
+    }
+
+    private synchronized void reintentar(Porcion porcion, String motivo) {
+        porcion.intentos++;
+        if (porcion.intentos >= intentos) {
+            if (falla == null) {
+                falla = "la porción " + porcion.id + " (puntos " + porcion.desde + " a " + (porcion.hasta - 1) + ") falló "
+                        + porcion.intentos + " veces; la última, " + motivo;
+            }
+            notifyAll();
+        } else {
+            pendientes.addLast(porcion);
+        }
+    }
+
+    private static class Porcion {
+        private final int id;
+        private final int desde;
+        private final int hasta; //Exclusivo
+        private int intentos; //Fallidos hasta ahora
+
+        private Porcion(int id, int desde, int hasta) {
+            this.id = id;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+    }
+}
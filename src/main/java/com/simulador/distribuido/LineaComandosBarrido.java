@@ -0,0 +1,133 @@
+package com.simulador.distribuido;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.simulador.models.Proceso;
+import com.simulador.models.SystemParams;
+import com.simulador.persistencia.LectorTraza;
+import com.simulador.scheduler.RegistroPlanificadores;
+
+/*
+   Barrido desde la línea de comandos, sin ventana:
+
+       barrido <carga.json|traza.csv> <salida.csv> [--algoritmos FCFS,RR,...] [--tip 1,2] [--tfp 1]
+               [--tcp 0,1,2] [--quantum 5,10,20] [--replicas 30] [--semilla 1] [--trabajadores 4]
+               [--direccion 0.0.0.0] [--puerto 5000] [--porcion 64] [--intentos 3] [--plazo 600]
+
+   Las listas de TIP, TFP, TCP y quantum se combinan todas con todas. Sin --algoritmos corren todos los
+   registrados; un algoritmo puede llevar su configuración, como en 'MLFQ:niveles=4;boost=200' (con comillas
+   por el ";"). --trabajadores son las JVMs locales que se lanzan (0: solo remotos). Para sumar máquinas
+   se escucha en una dirección que no sea la de loopback y en cada una se corre "trabajador <host>
+   <puerto> [hilos]" con el token que se muestra al iniciar en la variable SIMULADOR_TOKEN.
+ */
+public final class LineaComandosBarrido {
+
+    private LineaComandosBarrido() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Uso: barrido <carga.json|traza.csv> <salida.csv> [--algoritmos A,B] [--tip n,m] [--tfp n,m] [--tcp n,m]"
+                    + " [--quantum n,m] [--replicas n] [--semilla n] [--trabajadores n] [--direccion ip] [--puerto n]"
+                    + " [--porcion n] [--intentos n] [--plazo segundos]");
+            System.exit(2);
+        }
+        Map<String, String> opciones = new HashMap<>();
+        for (int i = 2; i < args.length; i += 2) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                System.err.println("Opción inválida: " + args[i]);
+                System.exit(2);
+            }
+            opciones.put(args[i].substring(2), args[i + 1]);
+        }
+
+        List<Proceso> procesos = leerCarga(Path.of(args[0]));
+        List<String> algoritmos = opciones.containsKey("algoritmos")
+                ? Arrays.asList(opciones.get("algoritmos").split(","))
+                : RegistroPlanificadores.nombres();
+        for (String algoritmo : algoritmos) {
+            try {
+                if (RegistroPlanificadores.crear(algoritmo) == null) {
+                    System.err.println("No hay un planificador registrado con el nombre " + algoritmo + ". Los registrados son "
+                            + RegistroPlanificadores.nombres());
+                    System.exit(2);
+                }
+            } catch (IllegalArgumentException ex) {
+                System.err.println(algoritmo + ": " + ex.getMessage());
+                System.exit(2);
+            }
+        }
+        List<SystemParams> variantes = new ArrayList<>();
+        for (int tip : enteros(opciones.getOrDefault("tip", "2"))) {
+            for (int tfp : enteros(opciones.getOrDefault("tfp", "1"))) {
+                for (int tcp : enteros(opciones.getOrDefault("tcp", "1"))) {
+                    for (int quantum : enteros(opciones.getOrDefault("quantum", "10"))) {
+                        variantes.add(new SystemParams(tip, tfp, tcp, quantum));
+                    }
+                }
+            }
+        }
+        Barrido barrido = new Barrido(procesos, algoritmos, variantes,
+                Integer.parseInt(opciones.getOrDefault("replicas", "1")), Long.parseLong(opciones.getOrDefault("semilla", "1")));
+
+        CoordinadorBarrido coordinador = new CoordinadorBarrido(barrido,
+                Integer.parseInt(opciones.getOrDefault("porcion", String.valueOf(CoordinadorBarrido.PUNTOS_POR_PORCION_POR_DEFECTO))));
+        coordinador.configurarReintentos(Integer.parseInt(opciones.getOrDefault("intentos", String.valueOf(CoordinadorBarrido.INTENTOS_POR_DEFECTO))),
+                Long.parseLong(opciones.getOrDefault("plazo", String.valueOf(CoordinadorBarrido.PLAZO_POR_DEFECTO_MILIS / 1000))) * 1000);
+        InetSocketAddress direccion = new InetSocketAddress(opciones.getOrDefault("direccion", "127.0.0.1"),
+                Integer.parseInt(opciones.getOrDefault("puerto", "0")));
+        int trabajadores = Integer.parseInt(opciones.getOrDefault("trabajadores", String.valueOf(Runtime.getRuntime().availableProcessors())));
+
+        long inicio = System.nanoTime();
+        coordinador.iniciar(direccion, trabajadores);
+        System.out.println(barrido.getCantidadPuntos() + " puntos (" + algoritmos.size() + " algoritmos, " + variantes.size()
+                + " variantes, " + barrido.getReplicas() + " réplicas); escuchando en el puerto " + coordinador.getPuerto()
+                + " con " + trabajadores + " trabajadores locales");
+        if (!direccion.getAddress().isLoopbackAddress()) {
+            System.out.println("Token para trabajadores remotos: " + TrabajadorBarrido.VARIABLE_TOKEN + "=" + coordinador.getToken());
+        }
+        TablaBarrido tabla;
+        try {
+            tabla = coordinador.esperar();
+        } catch (IOException ex) {
+            System.err.println(ex.getMessage());
+            Path parcial = Path.of(args[1] + ".parcial");
+            coordinador.getTabla().exportarCSV(parcial);
+            System.err.println("Los " + coordinador.getTabla().getCantidad() + " puntos que sí terminaron quedaron en " + parcial);
+            System.exit(1);
+            return;
+        }
+        tabla.exportarCSV(Path.of(args[1]));
+        System.out.printf("Listo en %.1f s: %s%n", (System.nanoTime() - inicio) / 1e9, args[1]);
+    }
+
+    //También la usa LineaComandosSimulacion
+    public static List<Proceso> leerCarga(Path archivo) throws IOException {
+        if (archivo.getFileName().toString().toLowerCase().endsWith(".csv")) {
+            return LectorTraza.leer(archivo);
+        }
+        try (Reader lector = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            List<Proceso> procesos = new Gson().fromJson(lector, new TypeToken<List<Proceso>>() {}.getType());
+            if (procesos == null || procesos.isEmpty()) {
+                throw new IOException("El archivo " + archivo + " está vacío o no tiene el formato esperado.");
+            }
+            return procesos;
+        }
+    }
+
+    private static int[] enteros(String lista) {
+        return Arrays.stream(lista.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+    }
+}
@@ -0,0 +1,24 @@
+package com.simulador.distribuido;
+
+/*
+   Mensajes entre CoordinadorBarrido y TrabajadorBarrido, con DataOutput sobre un socket TCP.
+   El trabajador se conecta y saluda (MAGIA, VERSION, token, nombre e hilos); si el token es el del
+   coordinador recibe el Barrido y desde ahí cada mensaje empieza con un código:
+   - coordinador a trabajador: PORCION (id, primer punto, último punto + 1) o FIN;
+   - trabajador a coordinador: RESULTADOS (id, cantidad y por cada punto su número y sus columnas)
+     o ERROR (id y el mensaje de la excepción).
+   El trabajador pide la próxima porción respondiendo la anterior, así cada uno tiene una a la vez.
+ */
+public final class ProtocoloBarrido {
+
+    public static final int MAGIA = 0x53494D42; //"SIMB"
+    public static final int VERSION = 1;
+
+    public static final byte PORCION = 1;
+    public static final byte FIN = 2;
+    public static final byte RESULTADOS = 3;
+    public static final byte ERROR = 4;
+
+    private ProtocoloBarrido() {
+    }
+}
@@ -0,0 +1,110 @@
+package com.simulador.distribuido;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.BitSet;
+
+import com.simulador.exportacion.EscritorCSV;
+import com.simulador.models.SystemParams;
+
+/*
+   Resultados de un barrido, una fila por punto (valores[punto][columna]), en el orden de los puntos
+   sin importar en qué orden ni desde qué trabajador llegaron. Una porción reintentada puede llegar dos
+   veces: como cada punto es determinista, la segunda copia se ignora.
+ */
+public class TablaBarrido {
+
+    public static final int TIEMPO_RETORNO_TANDA = 0;
+    public static final int TIEMPO_MEDIO_RETORNO = 1;
+    public static final int CPU_DESOCUPADA = 2;
+    public static final int CPU_SO = 3;
+    public static final int TIEMPO_FINAL = 4;
+    public static final int P99_RETORNO = 5;
+    public static final int P99_ESPERA = 6;
+    public static final int P99_RESPUESTA = 7;
+    public static final String[] NOMBRES_COLUMNA = {"tiempo_retorno_tanda", "tiempo_medio_retorno", "cpu_desocupada",
+            "cpu_so", "tiempo_final", "p99_retorno", "p99_espera", "p99_respuesta"};
+    public static final int COLUMNAS = NOMBRES_COLUMNA.length;
+
+    private final Barrido barrido;
+    private final double[][] valores;
+    private final BitSet presentes;
+    private int cantidad;
+
+    public TablaBarrido(Barrido barrido) {
+        this.barrido = barrido;
+        this.valores = new double[barrido.getCantidadPuntos()][];
+        this.presentes = new BitSet(valores.length);
+    }
+
+    //Devuelve false si el punto ya estaba
+    public synchronized boolean agregar(int punto, double[] fila) {
+        if (fila.length != COLUMNAS) {
+            throw new IllegalArgumentException("La fila tiene " + fila.length + " columnas y se esperaban " + COLUMNAS);
+        }
+        if (presentes.get(punto)) {
+            return false;
+        }
+        valores[punto] = fila.clone();
+        presentes.set(punto);
+        cantidad++;
+        return true;
+    }
+
+    public Barrido getBarrido() {
+        return barrido;
+    }
+
+    public synchronized boolean estaCompleta() {
+        return cantidad == valores.length;
+    }
+
+    public synchronized int getCantidad() {
+        return cantidad;
+    }
+
+    public synchronized boolean tiene(int punto) {
+        return presentes.get(punto);
+    }
+
+    public synchronized double getValor(int punto, int columna) {
+        if (!presentes.get(punto)) {
+            throw new IllegalStateException("El punto " + punto + " todavía no tiene resultado.");
+        }
+        return valores[punto][columna];
+    }
+
+    //Una fila por punto con resultado: de qué combinación es y sus métricas
+    public synchronized void exportarCSV(Path archivo) throws IOException {
+        try (EscritorCSV csv = new EscritorCSV(archivo)) {
+            for (String nombre : new String[] {"punto", "algoritmo", "tip", "tfp", "tcp", "quantum", "replica", "semilla"}) {
+                csv.texto(nombre);
+            }
+            for (String nombre : NOMBRES_COLUMNA) {
+                csv.texto(nombre);
+            }
+            csv.finFila();
+            for (int punto = presentes.nextSetBit(0); punto >= 0; punto = presentes.nextSetBit(punto + 1)) {
+                SystemParams params = barrido.getParams(punto);
+                double[] fila = valores[punto];
+                csv.entero(punto);
+                csv.texto(barrido.getAlgoritmo(punto));
+                csv.entero(params.getTip());
+                csv.entero(params.getTfp());
+                csv.entero(params.getTcp());
+                csv.entero(params.getQuantum());
+                csv.entero(barrido.getReplica(punto));
+                csv.entero(params.getSemilla());
+                csv.entero((long) fila[TIEMPO_RETORNO_TANDA]);
+                csv.decimal(fila[TIEMPO_MEDIO_RETORNO]);
+                csv.entero((long) fila[CPU_DESOCUPADA]);
+                csv.entero((long) fila[CPU_SO]);
+                csv.entero((long) fila[TIEMPO_FINAL]);
+                csv.decimal(fila[P99_RETORNO]);
+                csv.decimal(fila[P99_ESPERA]);
+                csv.decimal(fila[P99_RESPUESTA]);
+                csv.finFila();
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.simulador.distribuido;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/*
+   Proceso trabajador de un barrido: se conecta al coordinador, recibe el Barrido y corre las porciones
+   que le manda, en paralelo con "hilos" hilos, hasta que le dice FIN. No guarda nada: si se cae, el
+   coordinador le da su porción a otro.
+
+   Uso: java -cp <classpath> com.simulador.distribuido.TrabajadorBarrido <host> <puerto> [hilos]
+   El token del coordinador va en la variable de entorno SIMULADOR_TOKEN (no en los argumentos, que
+   cualquiera ve con ps). El coordinador lanza así a los trabajadores locales; en otras máquinas se
+   lanzan a mano apuntando al host y puerto del coordinador.
+ */
+public class TrabajadorBarrido {
+
+    public static final String VARIABLE_TOKEN = "SIMULADOR_TOKEN";
+    private static final long ESPERA_CONEXION_MILIS = 30_000; //Uno remoto puede arrancar un poco antes que el coordinador
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Uso: TrabajadorBarrido <host> <puerto> [hilos]  (token en la variable " + VARIABLE_TOKEN + ")");
+            System.exit(2);
+        }
+        String token = System.getenv(VARIABLE_TOKEN);
+        if (token == null) {
+            System.err.println("Falta la variable de entorno " + VARIABLE_TOKEN + " con el token del coordinador.");
+            System.exit(2);
+        }
+        int hilos = (args.length > 2) ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        trabajar(args[0], Integer.parseInt(args[1]), Long.parseLong(token), hilos);
+    }
+
+    public static void trabajar(String host, int puerto, long token, int hilos) throws IOException, InterruptedException {
+        try (Socket socket = conectar(new InetSocketAddress(host, puerto))) {
+            socket.setTcpNoDelay(true);
+            DataOutputStream salida = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 64 * 1024));
+            DataInputStream entrada = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 64 * 1024));
+            salida.writeInt(ProtocoloBarrido.MAGIA);
+            salida.writeInt(ProtocoloBarrido.VERSION);
+            salida.writeLong(token);
+            salida.writeUTF("pid " + ProcessHandle.current().pid());
+            salida.writeInt(hilos);
+            salida.flush();
+
+            Barrido barrido;
+            try {
+                barrido = Barrido.leer(entrada);
+            } catch (EOFException ex) {
+                throw new IOException("El coordinador rechazó la conexión (¿token o versión distintos?)", ex);
+            }
+            ForkJoinPool pool = new ForkJoinPool(hilos);
+            try {
+                while (true) {
+                    byte codigo = entrada.readByte();
+                    if (codigo == ProtocoloBarrido.FIN) {
+                        return;
+                    }
+                    if (codigo != ProtocoloBarrido.PORCION) {
+                        throw new IOException("Mensaje desconocido del coordinador: " + codigo);
+                    }
+                    int id = entrada.readInt();
+                    int desde = entrada.readInt();
+                    int hasta = entrada.readInt();
+                    double[][] filas = new double[hasta - desde][];
+                    try {
+                        pool.submit(() -> IntStream.range(desde, hasta).parallel()
+                                .forEach(punto -> filas[punto - desde] = barrido.correr(punto))).get();
+                        salida.writeByte(ProtocoloBarrido.RESULTADOS);
+                        salida.writeInt(id);
+                        salida.writeInt(filas.length);
+                        for (int i = 0; i < filas.length; i++) {
+                            salida.writeInt(desde + i);
+                            for (double valor : filas[i]) {
+                                salida.writeDouble(valor);
+                            }
+                        }
+                    } catch (ExecutionException ex) { //Se avisa y se sigue: el coordinador decide si reintenta
+                        salida.writeByte(ProtocoloBarrido.ERROR);
+                        salida.writeInt(id);
+                        Throwable causa = ex.getCause();
+                        while (causa.getCause() != null) { //ForkJoinPool envuelve la excepción del hilo que la tiró
+                            causa = causa.getCause();
+                        }
+                        salida.writeUTF(String.valueOf(causa));
+                    }
+                    salida.flush();
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    private static Socket conectar(InetSocketAddress direccion) throws IOException, InterruptedException {
+        long limite = System.currentTimeMillis() + ESPERA_CONEXION_MILIS;
+        while (true) {
+            try {
+                return new Socket(direccion.getAddress(), direccion.getPort());
+            } catch (ConnectException ex) {
+                if (System.currentTimeMillis() > limite) {
+                    throw ex;
+                }
+                Thread.sleep(500);
+            }
+        }
+    }
+}
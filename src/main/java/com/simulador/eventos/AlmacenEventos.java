@@ -0,0 +1,314 @@
+package com.simulador.eventos;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+import com.simulador.jfr.EventoBloqueLog;
+import com.simulador.models.Evento;
+
+/*
+   Log de eventos fuera del heap: cada evento es un registro de 24 bytes (tiempo y dato de 64 bits, pid y tipo)
+   en bloques de memoria nativa de 1,5 MiB pedidos a un Arena. Pasado el límite configurado, los bloques
+   nuevos salen de un archivo temporal mapeado en memoria, así una corrida con miles de millones de eventos
+   no llena el heap ni le da trabajo al GC: el sistema operativo decide qué páginas quedan en RAM.
+
+   Se puede usar como List<Evento> (cada get arma el Evento y su mensaje en el momento, con el Redactor
+   del simulador), pero quien recorre muchos eventos debería leer los campos con getTiempo, getPid, getTipo
+   y getDato, que no crean objetos. Un solo hilo escribe; leer desde otros hilos después es seguro.
+   La memoria se libera cuando el almacén deja de usarse (Arena automático); close() borra el archivo antes.
+ */
+public class AlmacenEventos extends AbstractList<Evento> implements RandomAccess, AutoCloseable {
+
+    public static final long LIMITE_EN_MEMORIA_POR_DEFECTO = 384L << 20; //384 MiB, unos 16 millones de eventos
+
+    //Arma el mensaje de un evento a partir de sus campos
+    public interface Redactor {
+        String mensaje(long tiempo, int pid, int tipo, long dato);
+    }
+
+    private static final int BYTES_REGISTRO = 24;
+    private static final int TIEMPO = 0;
+    private static final int DATO = 8;
+    private static final int PID = 16;
+    private static final int TIPO = 20;
+    private static final int BITS_BLOQUE = 16;
+    private static final int REGISTROS_POR_BLOQUE = 1 << BITS_BLOQUE;
+    private static final long MASCARA_BLOQUE = REGISTROS_POR_BLOQUE - 1;
+    private static final long BYTES_BLOQUE = (long) REGISTROS_POR_BLOQUE * BYTES_REGISTRO;
+    private static final int BLOQUES_POR_REGION = 64; //Del archivo se mapean 64 MiB por vez
+    //Los registros quedan en little endian también en memoria (en x86 y ARM es el orden nativo y no cuesta nada),
+    //así escribirRegistros y agregarRegistros copian bytes sin mirar qué campo es long y cuál int
+    private static final ValueLayout.OfLong LARGO = ValueLayout.JAVA_LONG.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfInt ENTERO = ValueLayout.JAVA_INT.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private final Redactor redactor;
+    private final long limiteEnMemoria;
+    private final Path directorioDesborde;
+    private final Arena arena = Arena.ofAuto();
+
+    private MemorySegment[] bloques = new MemorySegment[16];
+    private int cantidadBloques;
+    private int bloquesEnMemoria;
+    private long cantidad;
+
+    private Path archivoDesborde; //null mientras todo entra en memoria
+    private FileChannel canalDesborde;
+    private MemorySegment regionActual;
+    private int bloquesUsadosRegion;
+    private long bytesMapeados;
+    private IndiceEventos indice;
+
+    public AlmacenEventos(Redactor redactor) {
+        this(redactor, LIMITE_EN_MEMORIA_POR_DEFECTO, Path.of(System.getProperty("java.io.tmpdir")));
+    }
+
+    //Con "limiteEnMemoria" bytes de memoria nativa como máximo; lo que sigue va a un archivo en "directorioDesborde"
+    public AlmacenEventos(Redactor redactor, long limiteEnMemoria, Path directorioDesborde) {
+        if (limiteEnMemoria < 0) {
+            throw new IllegalArgumentException("El límite en memoria no puede ser negativo.");
+        }
+        this.redactor = redactor;
+        this.limiteEnMemoria = limiteEnMemoria;
+        this.directorioDesborde = directorioDesborde;
+    }
+
+    public void agregar(long tiempo, int pid, int tipo, long dato) {
+        int enBloque = (int) (cantidad & MASCARA_BLOQUE);
+        if (enBloque == 0 && (cantidad >>> BITS_BLOQUE) == cantidadBloques) {
+            agregarBloque();
+        }
+        MemorySegment bloque = bloques[(int) (cantidad >>> BITS_BLOQUE)];
+        long base = (long) enBloque * BYTES_REGISTRO;
+        bloque.set(LARGO, base + TIEMPO, tiempo);
+        bloque.set(LARGO, base + DATO, dato);
+        bloque.set(ENTERO, base + PID, pid);
+        bloque.set(ENTERO, base + TIPO, tipo);
+        cantidad++;
+    }
+
+    /*
+       Escribe los registros de los eventos desde "desde" hasta el final, 24 bytes cada uno (tiempo, dato, pid y tipo
+       en little endian), de a bloques enteros: para la caché de resultados, que guarda el log así y lo lee con agregarRegistros.
+     */
+    public void escribirRegistros(DataOutput salida, long desde) throws IOException {
+        byte[] tramo = new byte[(int) Math.min(BYTES_BLOQUE, Math.max(0, cantidad - desde) * BYTES_REGISTRO)];
+        MemorySegment destino = MemorySegment.ofArray(tramo);
+        for (long i = desde; i < cantidad; ) {
+            int enBloque = (int) (i & MASCARA_BLOQUE);
+            int n = (int) Math.min(cantidad - i, REGISTROS_POR_BLOQUE - enBloque);
+            MemorySegment.copy(bloque(i), (long) enBloque * BYTES_REGISTRO, destino, 0, (long) n * BYTES_REGISTRO);
+            salida.write(tramo, 0, n * BYTES_REGISTRO);
+            i += n;
+        }
+    }
+
+    //Agrega "cantidad" eventos con el formato de escribirRegistros, copiando de a bloques en vez de uno por uno
+    public void agregarRegistros(DataInput entrada, long cantidad) throws IOException {
+        byte[] tramo = new byte[(int) Math.min(BYTES_BLOQUE, cantidad * BYTES_REGISTRO)];
+        MemorySegment origen = MemorySegment.ofArray(tramo);
+        while (cantidad > 0) {
+            int enBloque = (int) (this.cantidad & MASCARA_BLOQUE);
+            if (enBloque == 0 && (this.cantidad >>> BITS_BLOQUE) == cantidadBloques) {
+                agregarBloque();
+            }
+            int n = (int) Math.min(cantidad, REGISTROS_POR_BLOQUE - enBloque);
+            entrada.readFully(tramo, 0, n * BYTES_REGISTRO);
+            MemorySegment.copy(origen, 0, bloques[(int) (this.cantidad >>> BITS_BLOQUE)], (long) enBloque * BYTES_REGISTRO,
+                    (long) n * BYTES_REGISTRO);
+            this.cantidad += n;
+            cantidad -= n;
+        }
+    }
+
+    //Agrega los eventos de "origen" desde "desde" hasta "hasta" (sin incluirlo), copiando de bloque a bloque sin pasar por el heap
+    public void agregarRegistros(AlmacenEventos origen, long desde, long hasta) {
+        if (desde < 0 || hasta > origen.cantidad || desde > hasta) {
+            throw new IndexOutOfBoundsException("Eventos " + desde + " a " + hasta + " de " + origen.cantidad);
+        }
+        for (long i = desde; i < hasta; ) {
+            int enBloque = (int) (this.cantidad & MASCARA_BLOQUE);
+            if (enBloque == 0 && (this.cantidad >>> BITS_BLOQUE) == cantidadBloques) {
+                agregarBloque();
+            }
+            int enBloqueOrigen = (int) (i & MASCARA_BLOQUE);
+            int n = (int) Math.min(hasta - i, REGISTROS_POR_BLOQUE - Math.max(enBloque, enBloqueOrigen));
+            MemorySegment.copy(origen.bloque(i), (long) enBloqueOrigen * BYTES_REGISTRO,
+                    bloques[(int) (this.cantidad >>> BITS_BLOQUE)], (long) enBloque * BYTES_REGISTRO, (long) n * BYTES_REGISTRO);
+            this.cantidad += n;
+            i += n;
+        }
+    }
+
+    //Como escribirRegistros(DataOutput, long), pero el canal lee directo de los bloques: los registros no pasan por el heap
+    public void escribirRegistros(WritableByteChannel canal, long desde) throws IOException {
+        for (long i = desde; i < cantidad; ) {
+            int enBloque = (int) (i & MASCARA_BLOQUE);
+            int n = (int) Math.min(cantidad - i, REGISTROS_POR_BLOQUE - enBloque);
+            ByteBuffer tramo = bloque(i).asSlice((long) enBloque * BYTES_REGISTRO, (long) n * BYTES_REGISTRO).asByteBuffer();
+            while (tramo.hasRemaining()) {
+                canal.write(tramo);
+            }
+            i += n;
+        }
+    }
+
+    //Como agregarRegistros(DataInput, long), pero el canal escribe directo en los bloques
+    public void agregarRegistros(ReadableByteChannel canal, long cantidad) throws IOException {
+        while (cantidad > 0) {
+            int enBloque = (int) (this.cantidad & MASCARA_BLOQUE);
+            if (enBloque == 0 && (this.cantidad >>> BITS_BLOQUE) == cantidadBloques) {
+                agregarBloque();
+            }
+            int n = (int) Math.min(cantidad, REGISTROS_POR_BLOQUE - enBloque);
+            ByteBuffer tramo = bloques[(int) (this.cantidad >>> BITS_BLOQUE)]
+                    .asSlice((long) enBloque * BYTES_REGISTRO, (long) n * BYTES_REGISTRO).asByteBuffer();
+            while (tramo.hasRemaining()) {
+                if (canal.read(tramo) < 0) {
+                    throw new EOFException("Faltan " + cantidad + " eventos");
+                }
+            }
+            this.cantidad += n;
+            cantidad -= n;
+        }
+    }
+
+    private void agregarBloque() {
+        EventoBloqueLog evento = new EventoBloqueLog();
+        evento.begin();
+        if (cantidadBloques == bloques.length) {
+            bloques = Arrays.copyOf(bloques, bloques.length * 2);
+        }
+        MemorySegment bloque;
+        boolean enMemoria = (long) (bloquesEnMemoria + 1) * BYTES_BLOQUE <= limiteEnMemoria;
+        if (enMemoria) {
+            bloque = arena.allocate(BYTES_BLOQUE, Long.BYTES);
+            bloquesEnMemoria++;
+        } else {
+            bloque = bloqueMapeado();
+        }
+        bloques[cantidadBloques++] = bloque;
+        evento.end();
+        if (evento.shouldCommit()) {
+            evento.eventos = cantidad;
+            evento.enDisco = !enMemoria;
+            evento.bytesEnMemoria = getBytesEnMemoria();
+            evento.bytesEnDisco = getBytesEnDisco();
+            evento.commit();
+        }
+    }
+
+    private MemorySegment bloqueMapeado() {
+        try {
+            if (canalDesborde == null) {
+                archivoDesborde = Files.createTempFile(directorioDesborde, "eventos", ".bin");
+                archivoDesborde.toFile().deleteOnExit();
+                canalDesborde = FileChannel.open(archivoDesborde, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            }
+            if (regionActual == null || bloquesUsadosRegion == BLOQUES_POR_REGION) {
+                long largo = BYTES_BLOQUE * BLOQUES_POR_REGION;
+                regionActual = canalDesborde.map(FileChannel.MapMode.READ_WRITE, bytesMapeados, largo, arena);
+                bytesMapeados += largo;
+                bloquesUsadosRegion = 0;
+            }
+            return regionActual.asSlice(BYTES_BLOQUE * bloquesUsadosRegion++, BYTES_BLOQUE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudo extender el log de eventos a disco", ex);
+        }
+    }
+
+    private MemorySegment bloque(long i) {
+        if (i < 0 || i >= cantidad) {
+            throw new IndexOutOfBoundsException("Evento " + i + " de " + cantidad);
+        }
+        return bloques[(int) (i >>> BITS_BLOQUE)];
+    }
+
+    private static long base(long i) {
+        return (i & MASCARA_BLOQUE) * BYTES_REGISTRO;
+    }
+
+    public long getTiempo(long i) {
+        return bloque(i).get(LARGO, base(i) + TIEMPO);
+    }
+
+    //0 para los eventos del sistema
+    public int getPid(long i) {
+        return bloque(i).get(ENTERO, base(i) + PID);
+    }
+
+    //Uno de los códigos de TipoEvento
+    public int getTipo(long i) {
+        return bloque(i).get(ENTERO, base(i) + TIPO);
+    }
+
+    public long getDato(long i) {
+        return bloque(i).get(LARGO, base(i) + DATO);
+    }
+
+    //El índice por PID, tiempo y tipo, al día con los eventos agregados hasta ahora (se arma la primera vez)
+    public synchronized IndiceEventos getIndice() {
+        if (indice == null) {
+            indice = new IndiceEventos(this);
+        }
+        indice.actualizar();
+        return indice;
+    }
+
+    public Redactor getRedactor() {
+        return redactor;
+    }
+
+    public String getMensaje(long i) {
+        return redactor.mensaje(getTiempo(i), getPid(i), getTipo(i), getDato(i));
+    }
+
+    @Override
+    public Evento get(int i) {
+        int pid = getPid(i);
+        return new Evento(getTiempo(i), (pid != 0) ? pid : null, TipoEvento.nombre(getTipo(i)), getMensaje(i));
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.min(cantidad, Integer.MAX_VALUE);
+    }
+
+    //Puede pasar de Integer.MAX_VALUE (size() queda topeado ahí)
+    public long getCantidad() {
+        return cantidad;
+    }
+
+    public long getBytesEnMemoria() {
+        return bloquesEnMemoria * BYTES_BLOQUE;
+    }
+
+    public long getBytesEnDisco() {
+        return bytesMapeados;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (canalDesborde != null) {
+            canalDesborde.close();
+            canalDesborde = null;
+            Files.deleteIfExists(archivoDesborde); //Las regiones ya mapeadas siguen siendo legibles hasta que se liberen
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.simulador.eventos;
+
+import java.util.Arrays;
+
+import com.simulador.jfr.EventoIndiceLog;
+
+/*
+   Índices sobre un AlmacenEventos para no recorrer el log entero en cada consulta:
+   - por PID, la lista ordenada de posiciones de sus eventos (posting list);
+   - por tiempo, el tiempo de uno de cada 4096 eventos: como el log está ordenado por tiempo, el primer evento
+     de un instante sale por bisección sobre la muestra y después dentro de un solo tramo del log;
+   - por tipo, un bitmap con un bit por evento y un resumen con un bit por palabra no vacía, así un tipo raro
+     se recorre salteando de a 4096 eventos los tramos donde no aparece.
+   Las consultas por PID y tipo se acotan a un rango de tiempo con el índice de tiempo y bisección.
+
+   Se actualiza con actualizar(), que agrega solo los eventos nuevos; AlmacenEventos.getIndice() lo hace solo.
+   Cubre hasta Integer.MAX_VALUE eventos (las posiciones se guardan como int).
+ */
+public class IndiceEventos {
+
+    private static final int BITS_MUESTRA = 12;
+
+    private final AlmacenEventos eventos;
+    private int indexados;
+
+    private int[][] porPid = new int[16][];
+    private int[] cantidadPorPid = new int[16];
+
+    private final long[][] bitsPorTipo = new long[TipoEvento.CANTIDAD][];
+    private final long[][] resumenPorTipo = new long[TipoEvento.CANTIDAD][];
+    private final int[] cantidadPorTipo = new int[TipoEvento.CANTIDAD];
+
+    private long[] tiemposMuestra = new long[16];
+
+    public IndiceEventos(AlmacenEventos eventos) {
+        this.eventos = eventos;
+        for (int tipo = 0; tipo < TipoEvento.CANTIDAD; tipo++) {
+            bitsPorTipo[tipo] = new long[16];
+            resumenPorTipo[tipo] = new long[1];
+        }
+    }
+
+    //Indexa los eventos agregados al almacén desde la última vez
+    public synchronized void actualizar() {
+        EventoIndiceLog evento = new EventoIndiceLog();
+        evento.begin();
+        int total = (int) Math.min(eventos.getCantidad(), Integer.MAX_VALUE);
+        int anteriores = indexados;
+        for (int i = indexados; i < total; i++) {
+            int pid = eventos.getPid(i);
+            int tipo = eventos.getTipo(i);
+            if ((i & ((1 << BITS_MUESTRA) - 1)) == 0) {
+                int muestra = i >>> BITS_MUESTRA;
+                if (muestra == tiemposMuestra.length) {
+                    tiemposMuestra = Arrays.copyOf(tiemposMuestra, muestra * 2);
+                }
+                tiemposMuestra[muestra] = eventos.getTiempo(i);
+            }
+            if (pid != 0) {
+                agregarAPid(pid, i);
+            }
+            marcarTipo(tipo, i);
+        }
+        indexados = total;
+        evento.end();
+        if (evento.shouldCommit()) {
+            evento.nuevos = total - anteriores;
+            evento.indexados = total;
+            evento.commit();
+        }
+    }
+
+    private void agregarAPid(int pid, int posicion) {
+        if (pid >= porPid.length) {
+            int largo = Math.max(pid + 1, porPid.length * 2);
+            porPid = Arrays.copyOf(porPid, largo);
+            cantidadPorPid = Arrays.copyOf(cantidadPorPid, largo);
+        }
+        int[] lista = porPid[pid];
+        int cantidad = cantidadPorPid[pid];
+        if (lista == null) {
+            lista = porPid[pid] = new int[8];
+        } else if (cantidad == lista.length) {
+            lista = porPid[pid] = Arrays.copyOf(lista, cantidad * 2);
+        }
+        lista[cantidad] = posicion;
+        cantidadPorPid[pid] = cantidad + 1;
+    }
+
+    private void marcarTipo(int tipo, int posicion) {
+        int palabra = posicion >>> 6;
+        long[] bits = bitsPorTipo[tipo];
+        if (palabra >= bits.length) {
+            bits = bitsPorTipo[tipo] = Arrays.copyOf(bits, Math.max(palabra + 1, bits.length * 2));
+        }
+        bits[palabra] |= 1L << posicion;
+        long[] resumen = resumenPorTipo[tipo];
+        if ((palabra >>> 6) >= resumen.length) {
+            resumen = resumenPorTipo[tipo] = Arrays.copyOf(resumen, Math.max((palabra >>> 6) + 1, resumen.length * 2));
+        }
+        resumen[palabra >>> 6] |= 1L << palabra;
+        cantidadPorTipo[tipo]++;
+    }
+
+    public synchronized int getIndexados() {
+        return indexados;
+    }
+
+    //Posición del primer evento con tiempo >= "tiempo" (getIndexados() si no hay ninguno)
+    public synchronized int primerEventoDesde(long tiempo) {
+        int muestras = (indexados + (1 << BITS_MUESTRA) - 1) >>> BITS_MUESTRA;
+        //Última muestra con tiempo < "tiempo": el primer evento buscado está en su tramo o al comienzo del siguiente
+        int bajo = 0;
+        int alto = muestras;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (tiemposMuestra[medio] < tiempo) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        if (bajo == 0) {
+            return 0;
+        }
+        int desde = (bajo - 1) << BITS_MUESTRA;
+        int hasta = Math.min(indexados, bajo << BITS_MUESTRA);
+        while (desde < hasta) {
+            int medio = (desde + hasta) >>> 1;
+            if (eventos.getTiempo(medio) < tiempo) {
+                desde = medio + 1;
+            } else {
+                hasta = medio;
+            }
+        }
+        return desde;
+    }
+
+    public synchronized int cantidadDePid(int pid) {
+        return (pid > 0 && pid < cantidadPorPid.length) ? cantidadPorPid[pid] : 0;
+    }
+
+    public synchronized int cantidadDeTipo(int tipo) {
+        return cantidadPorTipo[tipo];
+    }
+
+    //Posiciones de los eventos de "pid" con tiempo entre "desde" y "hasta" (inclusive), en orden
+    public synchronized int[] eventosDe(int pid, long desde, long hasta) {
+        int cantidad = cantidadDePid(pid);
+        if (cantidad == 0) {
+            return new int[0];
+        }
+        int[] lista = porPid[pid];
+        int inicio = primeraPostingDesde(lista, cantidad, desde);
+        int fin = (hasta == Long.MAX_VALUE) ? cantidad : primeraPostingDesde(lista, cantidad, hasta + 1);
+        return Arrays.copyOfRange(lista, inicio, Math.max(inicio, fin));
+    }
+
+    private int primeraPostingDesde(int[] lista, int cantidad, long tiempo) {
+        int bajo = 0;
+        int alto = cantidad;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (eventos.getTiempo(lista[medio]) < tiempo) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+
+    //Posiciones de los eventos del tipo con tiempo entre "desde" y "hasta", como mucho "limite"
+    public synchronized int[] eventosDeTipo(int tipo, long desde, long hasta, int limite) {
+        int inicio = primerEventoDesde(desde);
+        int fin = (hasta == Long.MAX_VALUE) ? indexados : primerEventoDesde(hasta + 1);
+        int[] resultado = new int[Math.min(limite, Math.min(cantidadPorTipo[tipo], Math.max(0, fin - inicio)))];
+        int cantidad = 0;
+        long[] bits = bitsPorTipo[tipo];
+        long[] resumen = resumenPorTipo[tipo];
+        int palabraFinal = (fin - 1) >>> 6;
+        for (int r = inicio >>> 12; cantidad < resultado.length && r <= palabraFinal >>> 6 && r < resumen.length; r++) {
+            long palabrasNoVacias = resumen[r];
+            if (r == inicio >>> 12) {
+                palabrasNoVacias &= -1L << (inicio >>> 6); //Las palabras anteriores a la de "inicio" no cuentan
+            }
+            while (palabrasNoVacias != 0 && cantidad < resultado.length) {
+                int palabra = (r << 6) + Long.numberOfTrailingZeros(palabrasNoVacias);
+                palabrasNoVacias &= palabrasNoVacias - 1;
+                if (palabra > palabraFinal) {
+                    break;
+                }
+                long palabraBits = bits[palabra];
+                while (palabraBits != 0 && cantidad < resultado.length) {
+                    int posicion = (palabra << 6) + Long.numberOfTrailingZeros(palabraBits);
+                    palabraBits &= palabraBits - 1;
+                    if (posicion >= inicio && posicion < fin) {
+                        resultado[cantidad++] = posicion;
+                    }
+                }
+            }
+        }
+        return (cantidad == resultado.length) ? resultado : Arrays.copyOf(resultado, cantidad);
+    }
+
+    public synchronized boolean esDeTipo(int posicion, int tipo) {
+        long[] bits = bitsPorTipo[tipo];
+        int palabra = posicion >>> 6;
+        return palabra < bits.length && (bits[palabra] & (1L << posicion)) != 0;
+    }
+
+    /*
+       Para el visor del log: eventos entre "desde" y "hasta", de "pid" si no es 0 y del tipo si no es -1,
+       como mucho "limite". Usa la lista del PID si hay PID, el bitmap si solo hay tipo y el índice de tiempo si no.
+     */
+    public synchronized int[] filtrar(int pid, int tipo, long desde, long hasta, int limite) {
+        if (pid != 0) {
+            int[] delPid = eventosDe(pid, desde, hasta);
+            int[] resultado = new int[Math.min(limite, delPid.length)];
+            int cantidad = 0;
+            for (int i = 0; i < delPid.length && cantidad < resultado.length; i++) {
+                if (tipo < 0 || esDeTipo(delPid[i], tipo)) {
+                    resultado[cantidad++] = delPid[i];
+                }
+            }
+            return Arrays.copyOf(resultado, cantidad);
+        }
+        if (tipo >= 0) {
+            return eventosDeTipo(tipo, desde, hasta, limite);
+        }
+        int inicio = primerEventoDesde(desde);
+        int fin = (hasta == Long.MAX_VALUE) ? indexados : primerEventoDesde(hasta + 1);
+        int[] resultado = new int[Math.max(0, Math.min(limite, fin - inicio))];
+        for (int i = 0; i < resultado.length; i++) {
+            resultado[i] = inicio + i;
+        }
+        return resultado;
+    }
+
+    public AlmacenEventos getEventos() {
+        return eventos;
+    }
+}
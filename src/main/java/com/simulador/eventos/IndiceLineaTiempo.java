@@ -0,0 +1,299 @@
+package com.simulador.eventos;
+
+import java.util.Arrays;
+
+/*
+   Índice para reconstruir el estado de la simulación en cualquier instante a partir del log.
+   Cada "intervalo" eventos guarda una foto completa (estado de cada proceso, cola de listos en orden
+   de llegada a la cola y ocupante de la CPU); en el medio los eventos hacen de deltas. Para un instante t
+   se busca por bisección el último evento con tiempo <= t, se parte de la foto anterior y se aplican
+   como mucho intervalo - 1 eventos: O(K + log n) en lugar de recorrer el log desde el principio.
+
+   Una foto ocupa O(P) (P procesos), así que el intervalo por defecto es max(64, P): las fotos ocupan
+   O(n) en total sin importar cuántos procesos haya, y restaurar una, que ya cuesta O(P), no pesa más que
+   aplicar los eventos que siguen. Los eventos no se copian: tiempo, pid y tipo se leen del AlmacenEventos
+   cuando hacen falta, por lo que el almacén tiene que seguir abierto mientras se use el índice.
+ */
+public class IndiceLineaTiempo {
+
+    public static final int INTERVALO_POR_DEFECTO = 64; //Intervalo mínimo; con más procesos se usa uno por proceso
+    public static final long MAXIMO_EVENTOS = Integer.MAX_VALUE; //Posiciones de int; con más, no se arma el índice
+
+    //Estados que puede tener un proceso en la línea de tiempo (los overheads se ven como estados propios)
+    public static final byte NO_LLEGADO = 0;
+    public static final byte NUEVO = 1;
+    public static final byte LISTO = 2;
+    public static final byte TIP = 3;
+    public static final byte TCP = 4;
+    public static final byte EJECUCION = 5;
+    public static final byte BLOQUEADO = 6;
+    public static final byte TFP = 7;
+    public static final byte TERMINADO = 8;
+    public static final String[] NOMBRES_ESTADO = {"NO_LLEGADO", "NUEVO", "LISTO", "TIP", "TCP", "EJECUCION", "BLOQUEADO", "TFP", "TERMINADO"};
+
+    //Qué hace cada tipo de evento con el proceso, la cola y la CPU
+    private static final byte SIN_EFECTO = 0;
+    private static final byte ARRIBO = 1;
+    private static final byte SELECCION = 2;
+    private static final byte INICIO_TIP = 3;
+    private static final byte INICIO_TCP = 4;
+    private static final byte DESPACHO = 5;
+    private static final byte A_LISTO = 6; //Vuelve a la cola y libera la CPU si la tenía
+    private static final byte A_BLOQUEADO = 7;
+    private static final byte TERMINA = 8;
+    private static final byte FIN_TFP = 9;
+
+    //Efecto de cada código de TipoEvento
+    private static final byte[] EFECTOS = new byte[TipoEvento.CANTIDAD];
+
+    static {
+        EFECTOS[TipoEvento.ARRIBO_PROCESO] = ARRIBO;
+        EFECTOS[TipoEvento.PROCESO_SELECCIONADO] = SELECCION;
+        EFECTOS[TipoEvento.INICIO_TIP] = INICIO_TIP;
+        EFECTOS[TipoEvento.INICIO_TCP] = INICIO_TCP;
+        EFECTOS[TipoEvento.DESPACHO_PROCESO] = DESPACHO;
+        EFECTOS[TipoEvento.EJECUCION] = DESPACHO;
+        EFECTOS[TipoEvento.FIN_TIP] = A_LISTO;
+        EFECTOS[TipoEvento.BLOQUEADO_A_LISTO] = A_LISTO;
+        EFECTOS[TipoEvento.FIN_QUANTUM] = A_LISTO;
+        EFECTOS[TipoEvento.INTERRUPCION] = A_LISTO;
+        EFECTOS[TipoEvento.INCUMBENTE_EXPROPIADO] = A_LISTO;
+        EFECTOS[TipoEvento.EJECUCION_A_BLOQUEADO] = A_BLOQUEADO;
+        EFECTOS[TipoEvento.PROCESO_TERMINADO] = TERMINA;
+        EFECTOS[TipoEvento.FIN_TFP] = FIN_TFP;
+    }
+
+    private final AlmacenEventos eventos;
+    private final int intervalo;
+    private final int cantidadProcesos;
+    private final int cantidadEventos;
+    private final Foto[] fotos; //fotos[j] = estado antes de aplicar el evento j * intervalo
+    private final Reproductor reproductor; //Se reutiliza en cada consulta, por eso estadoEn es synchronized
+
+    public IndiceLineaTiempo(AlmacenEventos eventos, int cantidadProcesos) {
+        this(eventos, cantidadProcesos, Math.max(INTERVALO_POR_DEFECTO, cantidadProcesos));
+    }
+
+    public IndiceLineaTiempo(AlmacenEventos eventos, int cantidadProcesos, int intervalo) {
+        if (intervalo <= 0) {
+            throw new IllegalArgumentException("El intervalo entre fotos debe ser positivo.");
+        }
+        if (!admite(eventos.getCantidad())) {
+            throw new IllegalArgumentException("El índice admite hasta " + MAXIMO_EVENTOS + " eventos y el log tiene " + eventos.getCantidad());
+        }
+        this.eventos = eventos;
+        this.intervalo = intervalo;
+        this.cantidadProcesos = cantidadProcesos;
+        this.cantidadEventos = (int) eventos.getCantidad();
+        int n = cantidadEventos;
+
+        this.fotos = new Foto[n / intervalo + 1];
+        this.reproductor = new Reproductor(cantidadProcesos);
+        for (int i = 0; i < n; i++) {
+            if (i % intervalo == 0) {
+                fotos[i / intervalo] = reproductor.fotografiar(i);
+            }
+            reproductor.aplicar(efecto(i), eventos.getPid(i));
+        }
+        if (n % intervalo == 0) {
+            fotos[n / intervalo] = reproductor.fotografiar(n);
+        }
+    }
+
+    //Si un log con esa cantidad de eventos se puede indexar (si no, quien lo muestra se arregla sin el índice)
+    public static boolean admite(long cantidadEventos) {
+        return cantidadEventos <= MAXIMO_EVENTOS;
+    }
+
+    private byte efecto(int i) {
+        return (eventos.getPid(i) != 0) ? EFECTOS[eventos.getTipo(i)] : SIN_EFECTO; //Los eventos del sistema no cambian nada
+    }
+
+    public long getTiempoFinal() {
+        return cantidadEventos == 0 ? 0 : eventos.getTiempo(cantidadEventos - 1);
+    }
+
+    public int getCantidadProcesos() {
+        return cantidadProcesos;
+    }
+
+    public int getCantidadEventos() {
+        return cantidadEventos;
+    }
+
+    //Estado al terminar la unidad de tiempo "tiempo", con todos sus eventos aplicados
+    public synchronized Foto estadoEn(long tiempo) {
+        int hasta = primerEventoDespuesDe(tiempo); //Se aplican los eventos [0, hasta)
+        int j = hasta / intervalo;
+        reproductor.restaurar(fotos[j]);
+        for (int i = j * intervalo; i < hasta; i++) {
+            reproductor.aplicar(efecto(i), eventos.getPid(i));
+        }
+        Foto foto = reproductor.fotografiar(hasta);
+        foto.tiempo = tiempo;
+        return foto;
+    }
+
+    private int primerEventoDespuesDe(long tiempo) {
+        int izquierda = 0;
+        int derecha = cantidadEventos;
+        while (izquierda < derecha) {
+            int medio = (izquierda + derecha) >>> 1;
+            if (eventos.getTiempo(medio) <= tiempo) {
+                izquierda = medio + 1;
+            } else {
+                derecha = medio;
+            }
+        }
+        return izquierda;
+    }
+
+    //Estado mutable que se usa para ir aplicando eventos, con la cola de listos como lista doblemente enlazada por PID
+    private static class Reproductor {
+        private final byte[] estados;
+        private final int[] siguiente;
+        private final int[] anterior;
+        private final boolean[] enCola;
+        private int primero;
+        private int ultimo;
+        private int largoCola;
+        private int pidEnCPU;
+
+        Reproductor(int cantidadProcesos) {
+            this.estados = new byte[cantidadProcesos + 1];
+            this.siguiente = new int[cantidadProcesos + 1];
+            this.anterior = new int[cantidadProcesos + 1];
+            this.enCola = new boolean[cantidadProcesos + 1];
+        }
+
+        //Vuelve al estado de la foto sin crear arreglos nuevos
+        void restaurar(Foto foto) {
+            System.arraycopy(foto.estados, 0, estados, 0, estados.length);
+            for (int pid = primero; pid != 0; pid = siguiente[pid]) {
+                enCola[pid] = false;
+            }
+            primero = 0;
+            ultimo = 0;
+            largoCola = 0;
+            for (int pid : foto.colaListos) {
+                encolar(pid);
+            }
+            this.pidEnCPU = foto.pidEnCPU;
+        }
+
+        void aplicar(byte codigo, int pid) {
+            switch (codigo) {
+                case ARRIBO:
+                    estados[pid] = NUEVO;
+                    encolar(pid);
+                    break;
+                case SELECCION:
+                    desencolar(pid);
+                    break;
+                case INICIO_TIP:
+                    estados[pid] = TIP;
+                    pidEnCPU = pid;
+                    break;
+                case INICIO_TCP:
+                    estados[pid] = TCP;
+                    pidEnCPU = pid;
+                    break;
+                case DESPACHO:
+                    estados[pid] = EJECUCION;
+                    pidEnCPU = pid;
+                    break;
+                case A_LISTO:
+                    estados[pid] = LISTO;
+                    encolar(pid);
+                    liberarCPU(pid);
+                    break;
+                case A_BLOQUEADO:
+                    estados[pid] = BLOQUEADO;
+                    liberarCPU(pid);
+                    break;
+                case TERMINA:
+                    estados[pid] = TFP;
+                    pidEnCPU = pid;
+                    break;
+                case FIN_TFP:
+                    estados[pid] = TERMINADO;
+                    liberarCPU(pid);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void liberarCPU(int pid) {
+            if (pidEnCPU == pid) {
+                pidEnCPU = 0;
+            }
+        }
+
+        private void encolar(int pid) {
+            if (enCola[pid]) {
+                return;
+            }
+            enCola[pid] = true;
+            siguiente[pid] = 0;
+            anterior[pid] = ultimo;
+            if (ultimo != 0) {
+                siguiente[ultimo] = pid;
+            } else {
+                primero = pid;
+            }
+            ultimo = pid;
+            largoCola++;
+        }
+
+        private void desencolar(int pid) {
+            if (!enCola[pid]) {
+                return;
+            }
+            enCola[pid] = false;
+            if (anterior[pid] != 0) {
+                siguiente[anterior[pid]] = siguiente[pid];
+            } else {
+                primero = siguiente[pid];
+            }
+            if (siguiente[pid] != 0) {
+                anterior[siguiente[pid]] = anterior[pid];
+            } else {
+                ultimo = anterior[pid];
+            }
+            largoCola--;
+        }
+
+        Foto fotografiar(int eventosAplicados) {
+            int[] cola = new int[largoCola];
+            int i = 0;
+            for (int pid = primero; pid != 0; pid = siguiente[pid]) {
+                cola[i++] = pid;
+            }
+            return new Foto(eventosAplicados, Arrays.copyOf(estados, estados.length), cola, pidEnCPU);
+        }
+    }
+
+    //Estado reconstruido en un instante; los PID van de 1 a cantidadProcesos
+    public static class Foto {
+        private long tiempo;
+        private final int eventosAplicados;
+        private final byte[] estados;
+        private final int[] colaListos;
+        private final int pidEnCPU;
+
+        Foto(int eventosAplicados, byte[] estados, int[] colaListos, int pidEnCPU) {
+            this.eventosAplicados = eventosAplicados;
+            this.estados = estados;
+            this.colaListos = colaListos;
+            this.pidEnCPU = pidEnCPU;
+        }
+
+        public long getTiempo() { return tiempo; }
+        public int getEventosAplicados() { return eventosAplicados; }
+        public byte getEstado(int pid) { return estados[pid]; }
+        public String getNombreEstado(int pid) { return NOMBRES_ESTADO[estados[pid]]; }
+        public int[] getColaListos() { return colaListos; }
+        public int getPidEnCPU() { return pidEnCPU; } //0 si la CPU está ociosa
+    }
+}
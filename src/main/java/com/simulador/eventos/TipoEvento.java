@@ -0,0 +1,60 @@
+package com.simulador.eventos;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+   Códigos numéricos de los tipos de evento del Simulador, para guardar cada evento como un registro
+   de tamaño fijo. El nombre de cada código es el mismo texto que se usó siempre en el log, así que
+   lo que se muestra y se exporta no cambia.
+ */
+public final class TipoEvento {
+
+    public static final int INICIO_SIMULACION = 0;
+    public static final int FIN_SIMULACION = 1;
+    public static final int SIMULACION_ABORTADA = 2;
+    public static final int IMPULSO_PRIORIDAD = 3;
+    public static final int ARRIBO_PROCESO = 4;
+    public static final int PROCESO_SELECCIONADO = 5;
+    public static final int INICIO_TIP = 6;
+    public static final int FIN_TIP = 7;
+    public static final int INICIO_TCP = 8;
+    public static final int DESPACHO_PROCESO = 9;
+    public static final int EJECUCION = 10; //Dato: lo que le resta a la ráfaga
+    public static final int FIN_RAFAGA_CPU = 11;
+    public static final int EJECUCION_A_BLOQUEADO = 12;
+    public static final int BLOQUEADO_A_LISTO = 13;
+    public static final int FIN_QUANTUM = 14;
+    public static final int INTERRUPCION = 15; //Dato: PID del que lo interrumpe
+    public static final int INCUMBENTE_EXPROPIADO = 16; //Dato: PID del que lo expropia
+    public static final int PROCESO_TERMINADO = 17;
+    public static final int FIN_TFP = 18;
+
+    private static final String[] NOMBRES = {"INICIO_SIMULACION", "FIN_SIMULACION", "SIMULACION_ABORTADA", "IMPULSO_PRIORIDAD",
+        "ARRIBO_PROCESO", "PROCESO_SELECCIONADO", "INICIO_TIP", "FIN_TIP", "INICIO_TCP", "DESPACHO_PROCESO", "EJECUCION",
+        "FIN_RAFAGA_CPU", "EJECUCION_A_BLOQUEADO", "BLOQUEADO_A_LISTO", "FIN_QUANTUM", "INTERRUPCION", "INCUMBENTE_EXPROPIADO",
+        "PROCESO_TERMINADO", "FIN TFP"};
+
+    public static final int CANTIDAD = NOMBRES.length;
+
+    private static final Map<String, Integer> CODIGOS = new HashMap<>();
+
+    static {
+        for (int i = 0; i < NOMBRES.length; i++) {
+            CODIGOS.put(NOMBRES[i], i);
+        }
+    }
+
+    private TipoEvento() {
+    }
+
+    public static String nombre(int codigo) {
+        return NOMBRES[codigo];
+    }
+
+    //-1 si no es un tipo del Simulador (por ejemplo, uno del simulador de tiempo real)
+    public static int codigo(String nombre) {
+        Integer codigo = CODIGOS.get(nombre);
+        return (codigo != null) ? codigo : -1;
+    }
+}
@@ -0,0 +1,161 @@
+package com.simulador.exportacion;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/*
+   Escribe CSV directo a un FileChannel a través de un ByteBuffer directo grande.
+   Los enteros se pasan a dígitos a mano y el texto ASCII se copia carácter a carácter, así que
+   por cada fila no se arma ningún String ni se pasa por un Formatter: lo que limita es el disco.
+   Los textos con coma, comillas o salto de línea van entre comillas (RFC 4180).
+ */
+public class EscritorCSV implements AutoCloseable {
+
+    private static final int CAPACIDAD = 1 << 20;
+    private static final int MAXIMO_DIGITOS = 20;
+
+    private final FileChannel canal;
+    private final ByteBuffer buffer;
+    private final byte[] digitos = new byte[MAXIMO_DIGITOS];
+    private boolean primeraColumna = true;
+
+    public EscritorCSV(Path archivo) throws IOException {
+        this.canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocateDirect(CAPACIDAD);
+    }
+
+    //Una fila de cabecera con los nombres de columna
+    public void cabecera(String... columnas) throws IOException {
+        for (String columna : columnas) {
+            texto(columna);
+        }
+        finFila();
+    }
+
+    public void entero(long valor) throws IOException {
+        separar();
+        asegurar(MAXIMO_DIGITOS + 1);
+        if (valor < 0) {
+            buffer.put((byte) '-');
+            if (valor == Long.MIN_VALUE) { //No tiene positivo
+                byte[] bytes = "9223372036854775808".getBytes(StandardCharsets.US_ASCII);
+                buffer.put(bytes);
+                return;
+            }
+            valor = -valor;
+        }
+        int i = MAXIMO_DIGITOS;
+        do {
+            digitos[--i] = (byte) ('0' + valor % 10);
+            valor /= 10;
+        } while (valor != 0);
+        buffer.put(digitos, i, MAXIMO_DIGITOS - i);
+    }
+
+    //Celda vacía (por ejemplo, el PID de un evento del sistema)
+    public void vacio() throws IOException {
+        separar();
+    }
+
+    public void decimal(double valor) throws IOException {
+        separar();
+        ascii(Double.toString(valor)); //Solo en filas de resumen, donde hay pocas
+    }
+
+    public void texto(String valor) throws IOException {
+        separar();
+        if (valor == null) {
+            return;
+        }
+        boolean comillas = false;
+        boolean soloAscii = true;
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                comillas = true;
+            }
+            if (c >= 0x80) {
+                soloAscii = false;
+            }
+        }
+        if (comillas) {
+            asegurar(1);
+            buffer.put((byte) '"');
+        }
+        if (soloAscii) {
+            for (int i = 0; i < valor.length(); i++) {
+                char c = valor.charAt(i);
+                asegurar(2);
+                if (c == '"') {
+                    buffer.put((byte) '"'); //Las comillas se duplican
+                }
+                buffer.put((byte) c);
+            }
+        } else {
+            byte[] bytes = (comillas ? valor.replace("\"", "\"\"") : valor).getBytes(StandardCharsets.UTF_8);
+            escribir(bytes);
+        }
+        if (comillas) {
+            asegurar(1);
+            buffer.put((byte) '"');
+        }
+    }
+
+    public void finFila() throws IOException {
+        asegurar(1);
+        buffer.put((byte) '\n');
+        primeraColumna = true;
+    }
+
+    private void separar() throws IOException {
+        if (!primeraColumna) {
+            asegurar(1);
+            buffer.put((byte) ',');
+        }
+        primeraColumna = false;
+    }
+
+    private void ascii(String valor) throws IOException {
+        asegurar(valor.length());
+        for (int i = 0; i < valor.length(); i++) {
+            buffer.put((byte) valor.charAt(i));
+        }
+    }
+
+    private void escribir(byte[] bytes) throws IOException {
+        int desde = 0;
+        while (desde < bytes.length) {
+            asegurar(1);
+            int cantidad = Math.min(buffer.remaining(), bytes.length - desde);
+            buffer.put(bytes, desde, cantidad);
+            desde += cantidad;
+        }
+    }
+
+    private void asegurar(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            vaciar();
+        }
+    }
+
+    private void vaciar() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            vaciar();
+        } finally {
+            canal.close();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.simulador.exportacion;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import com.simulador.Simulador;
+import com.simulador.eventos.AlmacenEventos;
+import com.simulador.eventos.TipoEvento;
+import com.simulador.models.CargaTrabajo;
+import com.simulador.models.EstadoProcesos;
+import com.simulador.models.Histograma;
+import com.simulador.models.Metricas;
+import com.simulador.models.Telemetria;
+
+/*
+   Exporta los resultados de una simulación en CSV, leyendo directo del simulador (no del texto de la interfaz):
+   - eventos.csv: tiempo, pid (vacío para el sistema), tipo y, si se pide, mensaje de cada evento;
+   - procesos.csv: una fila por proceso con retorno, retorno normalizado y tiempo en listo;
+   - metricas.csv: una fila con las métricas de la tanda y los percentiles de sus distribuciones;
+   - telemetria.csv: las ventanas de cada nivel de la telemetría, con la media y el máximo de cada serie.
+ */
+public final class ExportadorCSV {
+
+    public static final String EVENTOS = "eventos.csv";
+    public static final String PROCESOS = "procesos.csv";
+    public static final String METRICAS = "metricas.csv";
+    public static final String TELEMETRIA = "telemetria.csv";
+
+    private ExportadorCSV() {
+    }
+
+    /*
+       Los archivos en "directorio" (se crea si no existe); telemetria.csv solo si la corrida la registró.
+       Sin "conMensajes" eventos.csv es varias veces más chico y no se redacta un String por evento
+       (el mensaje se puede rearmar desde tipo y pid).
+     */
+    public static void exportar(Simulador simulador, Path directorio, boolean conMensajes) throws IOException {
+        Files.createDirectories(directorio);
+        exportarEventos(simulador.getLog(), directorio.resolve(EVENTOS), conMensajes);
+        exportarProcesos(simulador.getCarga(), simulador.getEstadoProcesos(), directorio.resolve(PROCESOS));
+        exportarMetricas(simulador.getMetricas(), simulador.getTiempoActual(), directorio.resolve(METRICAS));
+        if (simulador.getTelemetria() != null) {
+            exportarTelemetria(simulador.getTelemetria(), directorio.resolve(TELEMETRIA));
+        }
+    }
+
+    //Directo de los registros del almacén, sin armar un Evento por fila
+    public static void exportarEventos(AlmacenEventos eventos, Path archivo, boolean conMensaje) throws IOException {
+        try (EscritorCSV csv = new EscritorCSV(archivo)) {
+            if (conMensaje) {
+                csv.cabecera("tiempo", "pid", "tipo", "mensaje");
+            } else {
+                csv.cabecera("tiempo", "pid", "tipo");
+            }
+            for (long i = 0; i < eventos.getCantidad(); i++) {
+                csv.entero(eventos.getTiempo(i));
+                int pid = eventos.getPid(i);
+                if (pid != 0) {
+                    csv.entero(pid);
+                } else {
+                    csv.vacio();
+                }
+                csv.texto(TipoEvento.nombre(eventos.getTipo(i)));
+                if (conMensaje) {
+                    csv.texto(eventos.getMensaje(i));
+                }
+                csv.finFila();
+            }
+        }
+    }
+
+    public static void exportarProcesos(CargaTrabajo carga, EstadoProcesos procesos, Path archivo) throws IOException {
+        try (EscritorCSV csv = new EscritorCSV(archivo)) {
+            csv.cabecera("pid", "nombre", "tiempo_arribo", "tiempo_fin", "tiempo_retorno", "tiempo_servicio", "retorno_normalizado", "tiempo_listo");
+            for (int pid = 1; pid <= carga.getCantidad(); pid++) {
+                long tr = procesos.getTiempoFinEjecucion(pid) - carga.getTiempoArribo(pid);
+                long servicio = carga.getTiempoServicio(pid);
+                csv.entero(pid);
+                csv.texto(carga.getNombre(pid));
+                csv.entero(carga.getTiempoArribo(pid));
+                csv.entero(procesos.getTiempoFinEjecucion(pid));
+                csv.entero(tr);
+                csv.entero(servicio);
+                csv.decimal((servicio > 0) ? (double) tr / servicio : 0);
+                csv.entero(procesos.getTiempoEnEstadoListo(pid));
+                csv.finFila();
+            }
+        }
+    }
+
+    public static void exportarMetricas(Metricas m, long tiempoFinal, Path archivo) throws IOException {
+        String[] nombres = {"retorno", "retorno_normalizado", "espera_listo", "respuesta"};
+        Histograma[] histogramas = {m.getHistogramaRetorno(), m.getHistogramaRetornoNormalizado(), m.getHistogramaEsperaListo(), m.getHistogramaRespuesta()};
+        try (EscritorCSV csv = new EscritorCSV(archivo)) {
+            csv.cabecera(columnas(new String[] {"tiempo_final", "tiempo_retorno_tanda", "tiempo_medio_retorno", "cpu_desocupada", "cpu_so", "cpu_procesos"},
+                    nombres, "_p50", "_p90", "_p99", "_p999", "_max"));
+
+            csv.entero(tiempoFinal);
+            csv.entero(m.getTiempoRetornoTanda());
+            csv.decimal(m.getTiempoMedioRetornoTanda());
+            csv.entero(m.getTiempoCPUDesocupada());
+            csv.entero(m.getTiempoCPU_OS());
+            csv.entero(tiempoFinal - (m.getTiempoCPUDesocupada() + m.getTiempoCPU_OS())); //Igual que en la ventana principal
+            for (Histograma h : histogramas) {
+                csv.decimal(h.percentil(50));
+                csv.decimal(h.percentil(90));
+                csv.decimal(h.percentil(99));
+                csv.decimal(h.percentil(99.9));
+                csv.decimal(h.getMaximo());
+            }
+            csv.finFila();
+        }
+    }
+
+    //Una fila por ventana, del nivel más fino al más grueso; "muestras" es menor que "ancho" solo en la última de cada nivel
+    public static void exportarTelemetria(Telemetria telemetria, Path archivo) throws IOException {
+        try (EscritorCSV csv = new EscritorCSV(archivo)) {
+            csv.cabecera(columnas(new String[] {"nivel", "inicio", "ancho", "muestras"}, Telemetria.NOMBRES, "_media", "_max"));
+
+            for (int nivel = 0; nivel < Telemetria.NIVELES; nivel++) {
+                for (int i = 0; i < telemetria.getCantidad(nivel); i++) {
+                    csv.entero(nivel);
+                    csv.entero(telemetria.getInicio(nivel, i));
+                    csv.entero(telemetria.getAncho(nivel));
+                    csv.entero(telemetria.getMuestras(nivel, i));
+                    for (int serie = 0; serie < Telemetria.SERIES; serie++) {
+                        csv.decimal(telemetria.getMedia(nivel, i, serie));
+                        csv.decimal(telemetria.getMaximo(nivel, i, serie));
+                    }
+                    csv.finFila();
+                }
+            }
+        }
+    }
+
+    //Las columnas fijas y, después, cada nombre con cada sufijo ("retorno_p50", "retorno_p90", ...)
+    private static String[] columnas(String[] fijas, String[] nombres, String... sufijos) {
+        String[] columnas = Arrays.copyOf(fijas, fijas.length + nombres.length * sufijos.length);
+        int i = fijas.length;
+        for (String nombre : nombres) {
+            for (String sufijo : sufijos) {
+                columnas[i++] = nombre + sufijo;
+            }
+        }
+        return columnas;
+    }
+}
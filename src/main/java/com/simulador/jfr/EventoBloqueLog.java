@@ -0,0 +1,32 @@
+package com.simulador.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.simulador.BloqueLog")
+@Label("Bloque del log de eventos")
+@Category({"Simulador", "Log de eventos"})
+@Description("El log de eventos pidió un bloque nuevo de memoria nativa o de su archivo de desborde")
+@StackTrace(false)
+public class EventoBloqueLog extends jdk.jfr.Event {
+
+    @Label("Eventos")
+    @Description("Eventos en el log al pedir el bloque")
+    public long eventos;
+
+    @Label("En disco")
+    @Description("El bloque sale del archivo mapeado y no de memoria nativa")
+    public boolean enDisco;
+
+    @Label("En memoria")
+    @DataAmount
+    public long bytesEnMemoria;
+
+    @Label("Mapeado de disco")
+    @DataAmount
+    public long bytesEnDisco;
+}
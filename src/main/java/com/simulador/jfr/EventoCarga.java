@@ -0,0 +1,29 @@
+package com.simulador.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.simulador.Carga")
+@Label("Carga de procesos")
+@Category({"Simulador", "Entrada"})
+@Description("Lectura de un archivo de procesos (JSON o traza CSV) y armado de la carga de trabajo")
+@StackTrace(false)
+public class EventoCarga extends jdk.jfr.Event {
+
+    @Label("Archivo")
+    public String archivo;
+
+    @Label("Formato")
+    public String formato;
+
+    @Label("Tamaño")
+    @DataAmount
+    public long bytes;
+
+    @Label("Procesos")
+    public int procesos;
+}
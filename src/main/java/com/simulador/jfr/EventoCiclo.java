@@ -0,0 +1,60 @@
+package com.simulador.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/*
+   Uno de cada MUESTREO ciclos del simulador, con lo que tardó cada fase del ciclo: arribos, salida de
+   bloqueados y CPU (que incluye registrar sus eventos). La duración del evento es la del ciclo entero.
+   Un ciclo es una unidad de tiempo o un tramo de unidades sin sucesos que el simulador saltea de una vez.
+ */
+@Name("com.simulador.Ciclo")
+@Label("Ciclo del simulador")
+@Category({"Simulador", "Motor"})
+@Description("Un ciclo del simulador, muestreado, con la duración de cada fase")
+@StackTrace(false)
+public class EventoCiclo extends jdk.jfr.Event {
+
+    public static final int MUESTREO = 4096; //Potencia de 2
+
+    @Label("Instante")
+    public long tiempo;
+
+    @Label("Arribos")
+    @Timespan(Timespan.NANOSECONDS)
+    public long nanosLlegadas;
+
+    @Label("Salida de bloqueados")
+    @Timespan(Timespan.NANOSECONDS)
+    public long nanosBloqueados;
+
+    @Label("CPU")
+    @Timespan(Timespan.NANOSECONDS)
+    public long nanosCPU;
+
+    @Label("Listos")
+    public int listos;
+
+    @Label("Eventos registrados")
+    public long eventos;
+
+    private transient long marca; //transient: no se graba
+
+    //Antes de la primera fase
+    public void empezar() {
+        begin();
+        marca = System.nanoTime();
+    }
+
+    //Devuelve lo que pasó desde la marca anterior y deja una nueva
+    public long marcar() {
+        long ahora = System.nanoTime();
+        long transcurrido = ahora - marca;
+        marca = ahora;
+        return transcurrido;
+    }
+}
@@ -0,0 +1,31 @@
+package com.simulador.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.simulador.Decision")
+@Label("Decisión de planificación")
+@Category({"Simulador", "Motor"})
+@Description("Una de cada MUESTREO elecciones del planificador, con el estado de la cola en ese momento")
+@StackTrace(false)
+public class EventoDecision extends jdk.jfr.Event {
+
+    public static final int MUESTREO = 1024; //Potencia de 2
+
+    @Label("Instante")
+    public long tiempo;
+
+    @Label("PID elegido")
+    public int pid;
+
+    @Label("Listos")
+    @Description("Procesos que quedaron en la cola de listos después de elegir")
+    public int listos;
+
+    @Label("Decisiones")
+    @Description("Decisiones tomadas en la corrida hasta esta, incluida")
+    public long decisiones;
+}
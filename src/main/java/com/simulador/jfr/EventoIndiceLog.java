@@ -0,0 +1,21 @@
+package com.simulador.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.simulador.IndiceLog")
+@Label("Actualización del índice de eventos")
+@Category({"Simulador", "Log de eventos"})
+@Description("Indexado de los eventos agregados al log desde la última actualización")
+@StackTrace(false)
+public class EventoIndiceLog extends jdk.jfr.Event {
+
+    @Label("Eventos nuevos")
+    public long nuevos;
+
+    @Label("Eventos indexados")
+    public long indexados;
+}
@@ -0,0 +1,21 @@
+package com.simulador.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.simulador.PintadoGantt")
+@Label("Pintado del Gantt")
+@Category({"Simulador", "Interfaz"})
+@Description("Un repintado del diagrama de Gantt, acotado al área visible")
+@StackTrace(false)
+public class EventoPintadoGantt extends jdk.jfr.Event {
+
+    @Label("Filas")
+    public int filas;
+
+    @Label("Instantes")
+    public int instantes;
+}
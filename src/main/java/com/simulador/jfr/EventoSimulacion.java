@@ -0,0 +1,42 @@
+package com.simulador.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/*
+   Eventos de JDK Flight Recorder del simulador, para ver en una grabación (JMC, "jfr print") en qué se
+   va el tiempo de una corrida. Si no hay una grabación activa no cuestan casi nada: crear un evento y
+   preguntar shouldCommit() es una comprobación de un campo estático que el JIT elimina, y los que podrían
+   ser muchos (decisiones, ciclos) además se muestrean. No guardan la pila para no encarecer la grabación.
+
+   Se graban con, por ejemplo: java -XX:StartFlightRecording:filename=sim.jfr -jar simulador.jar
+ */
+@Name("com.simulador.Simulacion")
+@Label("Simulación")
+@Category({"Simulador", "Motor"})
+@Description("Una corrida completa del simulador, de iniciar() a las métricas finales")
+@StackTrace(false)
+public class EventoSimulacion extends jdk.jfr.Event {
+
+    @Label("Planificador")
+    public String planificador;
+
+    @Label("Procesos")
+    public int procesos;
+
+    @Label("Instante inicial")
+    @Description("0, o el instante del punto de control desde el que se reanudó")
+    public long tiempoInicial;
+
+    @Label("Instante final")
+    public long tiempoFinal;
+
+    @Label("Eventos registrados")
+    public long eventos;
+
+    @Label("Abortada")
+    public boolean abortada;
+}
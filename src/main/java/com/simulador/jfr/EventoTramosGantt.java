@@ -0,0 +1,24 @@
+package com.simulador.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.simulador.TramosGantt")
+@Label("Armado de tramos del Gantt")
+@Category({"Simulador", "Interfaz"})
+@Description("El Gantt armó los tramos de estado de un proceso a partir de sus eventos")
+@StackTrace(false)
+public class EventoTramosGantt extends jdk.jfr.Event {
+
+    @Label("PID")
+    public int pid;
+
+    @Label("Eventos del proceso")
+    public int eventos;
+
+    @Label("Tramos")
+    public int tramos;
+}
@@ -0,0 +1,211 @@
+package com.simulador.jmx;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/*
+   MBean de una simulación en curso, que el Simulador crea al iniciar y quita al terminar.
+   El hilo de la simulación publica sus contadores cada INTERVALO ciclos escribiendo campos volatile
+   (una escritura cada miles de ciclos no se nota), y los lectores JMX los leen sin bloquear a nadie.
+   Pausar y cancelar también se miran en cada publicación; solo una simulación pausada entra al monitor.
+
+   Se registra recién cuando la corrida lleva DEMORA_REGISTRO_NANOS: registrar cuesta más que una corrida chica
+   entera (las réplicas de Monte Carlo son miles), y lo que termina en menos de eso no hace falta mirarlo.
+ */
+public class MonitorSimulacion implements MonitorSimulacionMBean {
+
+    public static final int INTERVALO = 1024; //Potencia de 2
+    public static final String DOMINIO = "com.simulador";
+    public static final long DEMORA_REGISTRO_NANOS = 100_000_000L;
+
+    private static final AtomicLong SIGUIENTE_ID = new AtomicLong();
+
+    private final String planificador;
+    private final int procesos;
+    private final long nanosInicio;
+    private boolean registroIntentado;
+    private ObjectName nombre; //null si no está registrado
+
+    private volatile long tiempo;
+    private volatile double ticksPorSegundo;
+    private volatile long eventos;
+    private volatile long bytesLog;
+    private volatile int listos;
+    private volatile int bloqueados;
+    private volatile int terminados;
+    private volatile boolean pausada;
+    private volatile boolean cancelada;
+    private volatile boolean terminada;
+
+    //Solo los usa el hilo de la simulación
+    private long tiempoAnterior;
+    private long nanosAnterior;
+
+    public MonitorSimulacion(String planificador, int procesos, long tiempoInicial) {
+        this.planificador = planificador;
+        this.procesos = procesos;
+        this.tiempo = tiempoInicial;
+        this.tiempoAnterior = tiempoInicial;
+        this.nanosInicio = System.nanoTime();
+        this.nanosAnterior = nanosInicio;
+    }
+
+    //En el MBeanServer de la plataforma como com.simulador:type=Simulador,id=N,planificador=...
+    private void registrar() {
+        registroIntentado = true;
+        try {
+            MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+            ObjectName candidato = new ObjectName(DOMINIO + ":type=Simulador,id=" + SIGUIENTE_ID.incrementAndGet()
+                    + ",planificador=" + ObjectName.quote(planificador));
+            servidor.registerMBean(this, candidato);
+            nombre = candidato;
+        } catch (JMException | SecurityException ex) {
+            nombre = null; //Sin monitoreo la simulación corre igual
+        }
+    }
+
+    public void desregistrar() {
+        terminada = true;
+        if (nombre != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(nombre);
+            } catch (JMException | SecurityException ex) {
+                //Ya no estaba
+            }
+            nombre = null;
+        }
+    }
+
+    //Lo llama el hilo de la simulación
+    public void publicar(long tiempoActual, long eventosRegistrados, long bytesDelLog, int enListos, int enBloqueados, int enTerminados) {
+        long ahora = System.nanoTime();
+        if (ahora > nanosAnterior) {
+            ticksPorSegundo = (tiempoActual - tiempoAnterior) * 1e9 / (ahora - nanosAnterior);
+        }
+        tiempoAnterior = tiempoActual;
+        nanosAnterior = ahora;
+        tiempo = tiempoActual;
+        eventos = eventosRegistrados;
+        bytesLog = bytesDelLog;
+        listos = enListos;
+        bloqueados = enBloqueados;
+        terminados = enTerminados;
+    }
+
+    /*
+       Lo llama el hilo de la simulación después de publicar: registra el MBean si ya es hora y, si la pausaron,
+       espera hasta que la reanuden o la cancelen. Devuelve true si hay que cancelar.
+     */
+    public boolean controlar() {
+        if (!registroIntentado && nanosAnterior - nanosInicio >= DEMORA_REGISTRO_NANOS) {
+            registrar();
+        }
+        if (pausada && !cancelada) {
+            esperarReanudacion();
+            nanosAnterior = System.nanoTime(); //Lo pausado no cuenta para la velocidad
+        }
+        return cancelada;
+    }
+
+    private synchronized void esperarReanudacion() {
+        boolean interrumpido = false;
+        while (pausada && !cancelada) {
+            try {
+                wait();
+            } catch (InterruptedException ex) {
+                interrumpido = true; //Se sigue esperando; la interrupción se restaura al salir
+            }
+        }
+        if (interrumpido) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public ObjectName getNombre() {
+        return nombre;
+    }
+
+    @Override
+    public String getPlanificador() {
+        return planificador;
+    }
+
+    @Override
+    public int getProcesos() {
+        return procesos;
+    }
+
+    @Override
+    public String getEstado() {
+        if (terminada) {
+            return "TERMINADA";
+        }
+        if (cancelada) {
+            return "CANCELANDO";
+        }
+        return pausada ? "PAUSADA" : "EJECUTANDO";
+    }
+
+    @Override
+    public long getTiempoSimulado() {
+        return tiempo;
+    }
+
+    @Override
+    public double getTicksPorSegundo() {
+        return ticksPorSegundo;
+    }
+
+    @Override
+    public long getEventosRegistrados() {
+        return eventos;
+    }
+
+    @Override
+    public int getListos() {
+        return listos;
+    }
+
+    @Override
+    public int getBloqueados() {
+        return bloqueados;
+    }
+
+    @Override
+    public int getTerminados() {
+        return terminados;
+    }
+
+    @Override
+    public double getBytesHeapPorEvento() {
+        long cantidad = eventos;
+        return (cantidad == 0) ? 0 : (double) ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() / cantidad;
+    }
+
+    @Override
+    public double getBytesLogPorEvento() {
+        long cantidad = eventos;
+        return (cantidad == 0) ? 0 : (double) bytesLog / cantidad;
+    }
+
+    @Override
+    public synchronized void pausar() {
+        pausada = true;
+    }
+
+    @Override
+    public synchronized void reanudar() {
+        pausada = false;
+        notifyAll();
+    }
+
+    @Override
+    public synchronized void cancelar() {
+        cancelada = true;
+        notifyAll();
+    }
+}
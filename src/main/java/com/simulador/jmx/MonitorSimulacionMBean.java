@@ -0,0 +1,38 @@
+package com.simulador.jmx;
+
+//Lo que ve una herramienta JMX (jconsole, VisualVM) de una simulación en curso
+public interface MonitorSimulacionMBean {
+
+    String getPlanificador();
+
+    int getProcesos();
+
+    //EJECUTANDO, PAUSADA, CANCELANDO o TERMINADA
+    String getEstado();
+
+    long getTiempoSimulado();
+
+    //Unidades de tiempo simulado por segundo, entre las dos últimas publicaciones
+    double getTicksPorSegundo();
+
+    long getEventosRegistrados();
+
+    int getListos();
+
+    int getBloqueados();
+
+    int getTerminados();
+
+    //Heap usado por la JVM entera dividido los eventos de esta corrida (el log está fuera del heap)
+    double getBytesHeapPorEvento();
+
+    //Memoria nativa y archivo mapeado del log, por evento
+    double getBytesLogPorEvento();
+
+    void pausar();
+
+    void reanudar();
+
+    //La simulación se abandona como si la hubiera cortado configurarCorte (sin métricas finales)
+    void cancelar();
+}
@@ -1,14 +1,50 @@
 package com.simulador.main;
 
+import java.util.Arrays;
+
 import javax.swing.SwingUtilities;
 
+import com.simulador.LineaComandosSimulacion;
+import com.simulador.LineaComandosTiempoReal;
+import com.simulador.distribuido.LineaComandosBarrido;
+import com.simulador.distribuido.TrabajadorBarrido;
+import com.simulador.servidor.ServidorSimulacion;
 import com.simulador.ui.VentanaPrincipal;
 
 public class Main {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws Exception {
+        //Sin argumentos, la ventana; "barrido", "trabajador", "servidor", "tiemporeal", "simular", "reanudar" y "resimular" corren sin interfaz
+        if (args.length > 0 && args[0].equals("barrido")) {
+            LineaComandosBarrido.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("trabajador")) {
+            TrabajadorBarrido.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("servidor")) {
+            ServidorSimulacion.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("tiemporeal")) {
+            LineaComandosTiempoReal.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("simular")) {
+            LineaComandosSimulacion.simular(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("reanudar")) {
+            LineaComandosSimulacion.reanudar(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("resimular")) {
+            LineaComandosSimulacion.resimular(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
         SwingUtilities.invokeLater(() -> {
             VentanaPrincipal ventana = new VentanaPrincipal();
             ventana.setVisible(true);
         });
     }
-}
\ No newline at end of file
+}
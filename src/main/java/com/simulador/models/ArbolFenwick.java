@@ -0,0 +1,87 @@
+package com.simulador.models;
+
+import java.util.Arrays;
+
+/*
+   Árbol de Fenwick (Binary Indexed Tree) sobre cantidades no negativas.
+   Permite sumar a una posición, consultar sumas prefijas y encontrar la posición
+   donde "cae" un valor acumulado, todo en O(log n). Las posiciones van de 1 a capacidad.
+ */
+public class ArbolFenwick {
+
+    private long[] arbol;
+    private long total;
+
+    public ArbolFenwick(int capacidadInicial) {
+        this.arbol = new long[Math.max(2, capacidadInicial + 1)];
+        this.total = 0;
+    }
+
+    public int getCapacidad() {
+        return arbol.length - 1;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    //Suma delta a la posición i (1..capacidad), creciendo si hace falta
+    public void sumar(int i, long delta) {
+        if (i > getCapacidad()) {
+            crecer(i);
+        }
+        total += delta;
+        for (; i < arbol.length; i += i & -i) {
+            arbol[i] += delta;
+        }
+    }
+
+    //Suma de las posiciones 1..i
+    public long prefijo(int i) {
+        long suma = 0;
+        for (i = Math.min(i, getCapacidad()); i > 0; i -= i & -i) {
+            suma += arbol[i];
+        }
+        return suma;
+    }
+
+    /*
+       Devuelve la menor posición cuya suma prefija supera a objetivo (0 <= objetivo < total).
+       Es el "boleto ganador": cada posición ocupa un tramo de largo igual a su cantidad.
+     */
+    public int buscar(long objetivo) {
+        int pos = 0;
+        for (int paso = Integer.highestOneBit(getCapacidad()); paso > 0; paso >>= 1) {
+            int siguiente = pos + paso;
+            if (siguiente < arbol.length && arbol[siguiente] <= objetivo) {
+                pos = siguiente;
+                objetivo -= arbol[siguiente];
+            }
+        }
+        return pos + 1;
+    }
+
+    /*
+       Al crecer se deshace la construcción para recuperar los valores individuales y se
+       vuelve a armar el árbol, ambos en O(n), en vez de reinsertar uno por uno.
+     */
+    private void crecer(int minimo) {
+        int capacidadVieja = getCapacidad();
+        long[] valores = arbol.clone();
+        for (int i = capacidadVieja; i > 0; i--) {
+            int padre = i + (i & -i);
+            if (padre <= capacidadVieja) {
+                valores[padre] -= valores[i];
+            }
+        }
+        int nuevaCapacidad = Math.max(minimo, capacidadVieja * 2);
+        long[] nuevo = Arrays.copyOf(valores, nuevaCapacidad + 1);
+        for (int i = 1; i <= nuevaCapacidad; i++) {
+            int padre = i + (i & -i);
+            if (padre <= nuevaCapacidad) {
+                nuevo[padre] += nuevo[i];
+            }
+        }
+        this.arbol = nuevo;
+    }
+}
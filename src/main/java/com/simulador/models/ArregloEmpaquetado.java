@@ -0,0 +1,148 @@
+package com.simulador.models;
+
+import java.util.Arrays;
+
+/*
+   Arreglo inmutable de enteros no negativos guardados con los bits justos, uno detrás de otro en un long[].
+   Los valores van en bloques de BLOQUE y cada bloque usa los bits de su mayor valor, así una ráfaga
+   atípica solo ensancha su bloque y no toda la traza. Una traza de millones de ráfagas de menos de mil
+   unidades ocupa unos 10 bits por ráfaga en lugar de 64, y leer la posición i sigue siendo O(1).
+   Las duraciones son long (en microsegundos o nanosegundos no entran en un int), así que el máximo es de 63 bits.
+   Se arma de un long[] con de() o de a un valor con un Armador, sin juntar antes todos los valores.
+ */
+public final class ArregloEmpaquetado {
+
+    public static final int BLOQUE = 64; //Valores por bloque; cada uno empieza en una palabra nueva
+    private static final int BITS_BLOQUE = 6; //log2(BLOQUE)
+    private static final ArregloEmpaquetado VACIO = new ArregloEmpaquetado(0, new long[0], new int[0], new byte[0]);
+
+    private final int largo;
+    private final long[] palabras;
+    private final int[] inicioBloques; //Primera palabra de cada bloque
+    private final byte[] bitsBloques; //Bits por valor de cada bloque (0 si todos sus valores son 0)
+
+    private ArregloEmpaquetado(int largo, long[] palabras, int[] inicioBloques, byte[] bitsBloques) {
+        this.largo = largo;
+        this.palabras = palabras;
+        this.inicioBloques = inicioBloques;
+        this.bitsBloques = bitsBloques;
+    }
+
+    public static ArregloEmpaquetado de(long[] valores) {
+        return de(valores, 0, valores.length);
+    }
+
+    public static ArregloEmpaquetado de(long[] valores, int desde, int hasta) {
+        Armador armador = new Armador();
+        for (int i = desde; i < hasta; i++) {
+            armador.agregar(valores[i]);
+        }
+        return armador.armar();
+    }
+
+    public long get(int i) {
+        if (i < 0 || i >= largo) {
+            throw new IndexOutOfBoundsException("Índice " + i + " fuera de 0.." + (largo - 1));
+        }
+        int bloque = i >>> BITS_BLOQUE;
+        int bits = bitsBloques[bloque];
+        if (bits == 0) {
+            return 0;
+        }
+        long posicion = (long) (i & (BLOQUE - 1)) * bits;
+        int palabra = inicioBloques[bloque] + (int) (posicion >>> 6);
+        int desplazamiento = (int) (posicion & 63);
+        long valor = palabras[palabra] >>> desplazamiento;
+        if (desplazamiento + bits > 64) { //Quedó partido entre dos palabras
+            valor |= palabras[palabra + 1] << (64 - desplazamiento);
+        }
+        return valor & ((1L << bits) - 1);
+    }
+
+    public int largo() {
+        return largo;
+    }
+
+    public long[] toArray() {
+        long[] valores = new long[largo];
+        for (int i = 0; i < largo; i++) {
+            valores[i] = get(i);
+        }
+        return valores;
+    }
+
+    /*
+       Arma un ArregloEmpaquetado agregando los valores de a uno, en orden. Solo guarda sin empaquetar
+       el bloque en curso: cuando se completa, se empaqueta con los bits de su mayor valor.
+     */
+    public static final class Armador {
+        private final long[] bloque = new long[BLOQUE];
+        private int enBloque;
+        private int largo;
+        private long[] palabras = new long[16];
+        private int palabrasUsadas;
+        private int[] inicioBloques = new int[4];
+        private byte[] bitsBloques = new byte[4];
+        private int bloques;
+
+        public void agregar(long valor) {
+            if (valor < 0) {
+                throw new IllegalArgumentException("Solo se pueden empaquetar valores no negativos: " + valor);
+            }
+            if (largo == Integer.MAX_VALUE) {
+                throw new IllegalStateException("El arreglo empaquetado admite hasta " + Integer.MAX_VALUE + " valores.");
+            }
+            bloque[enBloque++] = valor;
+            largo++;
+            if (enBloque == BLOQUE) {
+                cerrarBloque();
+            }
+        }
+
+        public int largo() {
+            return largo;
+        }
+
+        private void cerrarBloque() {
+            long maximo = 0;
+            for (int i = 0; i < enBloque; i++) {
+                maximo |= bloque[i]; //Mismo bit más alto que el máximo
+            }
+            int bits = 64 - Long.numberOfLeadingZeros(maximo);
+            int necesarias = (int) (((long) enBloque * bits + 63) >>> 6);
+            if (bloques == inicioBloques.length) {
+                inicioBloques = Arrays.copyOf(inicioBloques, bloques * 2);
+                bitsBloques = Arrays.copyOf(bitsBloques, bloques * 2);
+            }
+            if (palabrasUsadas + necesarias > palabras.length) {
+                palabras = Arrays.copyOf(palabras, Math.max(palabras.length * 2, palabrasUsadas + necesarias));
+            }
+            inicioBloques[bloques] = palabrasUsadas;
+            bitsBloques[bloques] = (byte) bits;
+            bloques++;
+            for (int i = 0; i < enBloque && bits > 0; i++) {
+                long posicion = (long) i * bits;
+                int palabra = palabrasUsadas + (int) (posicion >>> 6);
+                int desplazamiento = (int) (posicion & 63);
+                palabras[palabra] |= bloque[i] << desplazamiento;
+                if (desplazamiento + bits > 64) {
+                    palabras[palabra + 1] |= bloque[i] >>> (64 - desplazamiento);
+                }
+            }
+            palabrasUsadas += necesarias;
+            enBloque = 0;
+        }
+
+        //El armador no se puede seguir usando después
+        public ArregloEmpaquetado armar() {
+            if (largo == 0) {
+                return VACIO;
+            }
+            if (enBloque > 0) {
+                cerrarBloque();
+            }
+            return new ArregloEmpaquetado(largo, Arrays.copyOf(palabras, palabrasUsadas),
+                    Arrays.copyOf(inicioBloques, bloques), Arrays.copyOf(bitsBloques, bloques));
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.simulador.models;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/*
+   Definición inmutable de una tanda de procesos, en arreglos indexados por PID (de 1 a getCantidad()).
+   El PID de cada proceso es su posición en la lista cargada más uno. Como no cambia durante la
+   simulación, una misma carga se puede compartir entre muchas corridas a la vez sin copiarla;
+   lo que cambia en cada corrida está en EstadoProcesos.
+
+   Los procesos con secuencia explícita de ráfagas (los que vienen de una traza) guardan todas sus
+   duraciones una detrás de otra en dos arreglos empaquetados compartidos, uno de CPU y otro de E/S;
+   inicioRafagas dice dónde empieza cada proceso. Los demás usan la duración fija de siempre.
+   Con un Armador las ráfagas van directo a los arreglos empaquetados, sin pasar por un long[] por proceso.
+ */
+public final class CargaTrabajo {
+
+    private final String[] nombres;
+    private final long[] tiemposArribo;
+    private final int[] cantidadesRafagasCPU;
+    private final long[] duracionesRafagaCPU;
+    private final long[] duracionesRafagaES;
+    private final int[] prioridadesExternas;
+    private final int[] pidsPorArribo; //PIDs ordenados por arribo (y por PID entre iguales)
+    private final int[] inicioRafagas; //Posición de la primera ráfaga en los arreglos empaquetados, -1 si usa la duración fija
+    private final ArregloEmpaquetado rafagasCPU;
+    private final ArregloEmpaquetado rafagasES; //rafagasES[inicio + i] es la E/S después de la ráfaga de CPU i
+    private final long[] tiemposServicio; //Suma de todas sus ráfagas de CPU
+
+    public CargaTrabajo(List<Proceso> definiciones) {
+        this(armar(definiciones));
+    }
+
+    private static Armador armar(List<Proceso> definiciones) {
+        Armador armador = new Armador();
+        for (Proceso p : definiciones) {
+            armador.agregar(p);
+        }
+        return armador;
+    }
+
+    private CargaTrabajo(Armador armador) {
+        int n = armador.definiciones.size();
+        this.nombres = new String[n + 1]; //La posición 0 no se usa, el PID 0 significa "ninguno"
+        this.tiemposArribo = new long[n + 1];
+        this.cantidadesRafagasCPU = new int[n + 1];
+        this.duracionesRafagaCPU = new long[n + 1];
+        this.duracionesRafagaES = new long[n + 1];
+        this.prioridadesExternas = new int[n + 1];
+        this.inicioRafagas = new int[n + 1];
+        this.tiemposServicio = new long[n + 1];
+        for (int i = 0; i < n; i++) {
+            Proceso p = armador.definiciones.get(i);
+            int pid = i + 1;
+            nombres[pid] = p.getNombre();
+            tiemposArribo[pid] = p.getTiempoArribo();
+            cantidadesRafagasCPU[pid] = p.getCantidadRafagasCPU();
+            duracionesRafagaCPU[pid] = p.getDuracionRafagaCPU();
+            duracionesRafagaES[pid] = p.getDuracionRafagaES();
+            prioridadesExternas[pid] = p.getPrioridadExterna();
+            inicioRafagas[pid] = armador.inicioRafagas[i];
+            tiemposServicio[pid] = (inicioRafagas[pid] >= 0) ? armador.tiemposServicio[i]
+                    : (long) cantidadesRafagasCPU[pid] * duracionesRafagaCPU[pid];
+        }
+        this.rafagasCPU = armador.cpu.armar();
+        this.rafagasES = armador.es.armar();
+        //Los arribos en tiempo negativo se toman como en 0, así los del mismo instante quedan por PID
+        this.pidsPorArribo = IntStream.rangeClosed(1, n).boxed()
+                .sorted((a, b) -> {
+                    int c = Long.compare(Math.max(0, tiemposArribo[a]), Math.max(0, tiemposArribo[b]));
+                    return (c != 0) ? c : Integer.compare(a, b);
+                })
+                .mapToInt(Integer::intValue).toArray();
+    }
+
+    public int getCantidad() {
+        return nombres.length - 1;
+    }
+
+    public String getNombre(int pid) {
+        return nombres[pid];
+    }
+
+    public long getTiempoArribo(int pid) {
+        return tiemposArribo[pid];
+    }
+
+    public int getCantidadRafagasCPU(int pid) {
+        return cantidadesRafagasCPU[pid];
+    }
+
+    public long getDuracionRafagaCPU(int pid) {
+        return duracionesRafagaCPU[pid];
+    }
+
+    public long getDuracionRafagaES(int pid) {
+        return duracionesRafagaES[pid];
+    }
+
+    public boolean tieneSecuenciaRafagas(int pid) {
+        return inicioRafagas[pid] >= 0;
+    }
+
+    //Duración de la ráfaga de CPU número "rafaga" (desde 0) del proceso
+    public long getDuracionRafagaCPU(int pid, int rafaga) {
+        int inicio = inicioRafagas[pid];
+        return (inicio < 0) ? duracionesRafagaCPU[pid] : rafagasCPU.get(inicio + rafaga);
+    }
+
+    //Duración de la E/S que sigue a la ráfaga de CPU número "rafaga"
+    public long getDuracionRafagaES(int pid, int rafaga) {
+        int inicio = inicioRafagas[pid];
+        return (inicio < 0) ? duracionesRafagaES[pid] : rafagasES.get(inicio + rafaga);
+    }
+
+    //Tiempo total de CPU que necesita (para el retorno normalizado)
+    public long getTiempoServicio(int pid) {
+        return tiemposServicio[pid];
+    }
+
+    public int getPrioridadExterna(int pid) {
+        return prioridadesExternas[pid];
+    }
+
+    //Boletos para los planificadores de reparto proporcional (Lotería y Stride), al menos uno
+    public int getTickets(int pid) {
+        return Math.max(1, prioridadesExternas[pid]);
+    }
+
+    //PID del i-ésimo proceso en orden de arribo
+    public int getPidPorArribo(int i) {
+        return pidsPorArribo[i];
+    }
+
+    //Si el proceso tiene la misma definición en las dos cargas
+    public boolean mismaDefinicion(int pid, CargaTrabajo otra) {
+        return Objects.equals(nombres[pid], otra.nombres[pid])
+                && tiemposArribo[pid] == otra.tiemposArribo[pid]
+                && cantidadesRafagasCPU[pid] == otra.cantidadesRafagasCPU[pid]
+                && duracionesRafagaCPU[pid] == otra.duracionesRafagaCPU[pid]
+                && duracionesRafagaES[pid] == otra.duracionesRafagaES[pid]
+                && prioridadesExternas[pid] == otra.prioridadesExternas[pid]
+                && mismasRafagas(pid, otra);
+    }
+
+    private boolean mismasRafagas(int pid, CargaTrabajo otra) {
+        if (tieneSecuenciaRafagas(pid) != otra.tieneSecuenciaRafagas(pid)) {
+            return false;
+        }
+        if (!tieneSecuenciaRafagas(pid)) {
+            return true;
+        }
+        for (int r = 0; r < cantidadesRafagasCPU[pid]; r++) {
+            if (getDuracionRafagaCPU(pid, r) != otra.getDuracionRafagaCPU(pid, r)
+                    || getDuracionRafagaES(pid, r) != otra.getDuracionRafagaES(pid, r)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //Vuelve a armar la definición como objeto (para mostrarla o guardarla como JSON)
+    public Proceso getDefinicion(int pid) {
+        Proceso p = new Proceso();
+        p.setNombre(nombres[pid]);
+        p.setTiempoArribo(tiemposArribo[pid]);
+        p.setCantidadRafagasCPU(cantidadesRafagasCPU[pid]);
+        p.setDuracionRafagaCPU(duracionesRafagaCPU[pid]);
+        p.setDuracionRafagaES(duracionesRafagaES[pid]);
+        p.setPrioridadExterna(prioridadesExternas[pid]);
+        if (tieneSecuenciaRafagas(pid)) {
+            int cantidad = cantidadesRafagasCPU[pid];
+            long[] cpu = new long[cantidad];
+            long[] es = new long[cantidad];
+            for (int r = 0; r < cantidad; r++) {
+                cpu[r] = getDuracionRafagaCPU(pid, r);
+                es[r] = getDuracionRafagaES(pid, r);
+            }
+            p.setRafagasCPU(cpu);
+            p.setRafagasES(es);
+        }
+        return p;
+    }
+
+    /*
+       Arma una carga de a un proceso, y las ráfagas de los que tienen secuencia de a una, directo en los
+       arreglos empaquetados: así un lector de trazas no necesita juntar antes las duraciones en un long[].
+       Después de agregarConSecuencia van las ráfagas de ese proceso con agregarRafaga, hasta el proceso siguiente.
+     */
+    public static final class Armador {
+        private final List<Proceso> definiciones = new ArrayList<>(); //Sin las secuencias, que van empaquetadas
+        private int[] inicioRafagas = new int[16];
+        private long[] tiemposServicio = new long[16];
+        private final ArregloEmpaquetado.Armador cpu = new ArregloEmpaquetado.Armador();
+        private final ArregloEmpaquetado.Armador es = new ArregloEmpaquetado.Armador();
+        private Proceso enCurso; //El último con secuencia, que recibe las ráfagas
+
+        //Un proceso ya definido; si tiene secuencia de ráfagas se copian a los arreglos empaquetados
+        public void agregar(Proceso p) {
+            if (!p.tieneSecuenciaRafagas()) {
+                nuevo(p, -1);
+                enCurso = null;
+                return;
+            }
+            long[] secuenciaCPU = p.getRafagasCPU();
+            long[] secuenciaES = (p.getRafagasES() != null) ? p.getRafagasES() : new long[0];
+            if (secuenciaES.length < secuenciaCPU.length - 1) {
+                throw new IllegalArgumentException("El proceso " + p.getNombre() + " tiene " + secuenciaCPU.length
+                        + " ráfagas de CPU y solo " + secuenciaES.length + " de E/S.");
+            }
+            Proceso definicion = agregarConSecuencia(p.getNombre(), p.getTiempoArribo(), p.getPrioridadExterna());
+            definicion.setDuracionRafagaCPU(p.getDuracionRafagaCPU());
+            definicion.setDuracionRafagaES(p.getDuracionRafagaES());
+            for (int r = 0; r < secuenciaCPU.length; r++) {
+                agregarRafaga(secuenciaCPU[r], (r < secuenciaES.length) ? secuenciaES[r] : 0);
+            }
+        }
+
+        //Un proceso con secuencia de ráfagas, todavía sin ninguna; devuelve su definición sin la secuencia
+        public Proceso agregarConSecuencia(String nombre, long tiempoArribo, int prioridadExterna) {
+            Proceso p = new Proceso();
+            p.setNombre(nombre);
+            p.setTiempoArribo(tiempoArribo);
+            p.setPrioridadExterna(prioridadExterna);
+            nuevo(p, cpu.largo());
+            enCurso = p;
+            return p;
+        }
+
+        //Una ráfaga de CPU del último proceso con secuencia y la E/S que la sigue (0 si es la última)
+        public void agregarRafaga(long duracionCPU, long duracionES) {
+            if (enCurso == null) {
+                throw new IllegalStateException("No hay un proceso con secuencia de ráfagas al que agregarle la ráfaga.");
+            }
+            if (cpu.largo() >= Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("La carga tiene demasiadas ráfagas: " + ((long) cpu.largo() + 1));
+            }
+            cpu.agregar(duracionCPU);
+            es.agregar(duracionES);
+            int i = definiciones.size() - 1;
+            tiemposServicio[i] += duracionCPU;
+            enCurso.setCantidadRafagasCPU(enCurso.getCantidadRafagasCPU() + 1);
+        }
+
+        public int getCantidad() {
+            return definiciones.size();
+        }
+
+        //El armador no se puede seguir usando después
+        public CargaTrabajo armar() {
+            return new CargaTrabajo(this);
+        }
+
+        private void nuevo(Proceso p, int inicio) {
+            int i = definiciones.size();
+            if (i == inicioRafagas.length) {
+                inicioRafagas = Arrays.copyOf(inicioRafagas, i * 2);
+                tiemposServicio = Arrays.copyOf(tiemposServicio, i * 2);
+            }
+            inicioRafagas[i] = inicio;
+            definiciones.add(p);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.simulador.models;
+
+/*
+   Cola de PIDs sobre la que se arman las colas de listos. Se guardan PIDs y no objetos: la definición
+   de cada proceso está en CargaTrabajo y su estado en EstadoProcesos, así que alcanza con el número.
+   NINGUNO (el PID 0, que no se usa) indica que no hay elemento.
+ */
+public interface ColaDePids {
+
+    int NINGUNO = 0;
+
+    //Agrega un PID; devuelve false si ya estaba
+    boolean offer(int pid);
+
+    //Quita y devuelve el primero según el orden de la cola, o NINGUNO si está vacía
+    int poll();
+
+    //Devuelve el primero sin quitarlo, o NINGUNO si está vacía
+    int peek();
+
+    int size();
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    //Los PIDs en el orden en que la cola los recorre (no necesariamente el de salida)
+    int[] toArray();
+}
@@ -1,41 +1,136 @@
 package com.simulador.models;
 
-import java.util.LinkedList;
-import java.util.Queue;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 /**
  * Representa la cola de procesos en estado "LISTO" (o la fila única de planificación).
  * Para un FCFS estricto, debe ser una cola FIFO (First-In, First-Out).
  * Cuando un proceso se añade, siempre va al final.
+ * Guarda PIDs: las subclases con otro orden reemplazan "cola" por su propia ColaDePids.
  */
 public class ColaListos {
 
-    public Queue<Proceso> cola;
+    public static final int NINGUNO = ColaDePids.NINGUNO;
+
+    public ColaDePids cola;
 
     public ColaListos() {
-        // Usamos LinkedList, que es una implementación de cola FIFO simple y perfecta.
-        this.cola = new LinkedList<>();
+        // Un arreglo circular de PIDs, que es una cola FIFO simple y sin un objeto por elemento.
+        this.cola = new FilaCircular();
     }
 
-    public void agregar(Proceso proceso) {
-        // El método add() en una LinkedList siempre añade el elemento al final.
-        this.cola.add(proceso);
+    public void agregar(int pid) {
+        // Siempre añade el PID al final.
+        this.cola.offer(pid);
     }
 
-    public Proceso quitar() {
-        // El método poll() quita y devuelve el elemento del principio de la fila.
+    public int quitar() {
+        // Quita y devuelve el PID del principio de la fila (NINGUNO si está vacía).
         return this.cola.poll();
     }
 
     public boolean estaVacia() {
         return this.cola.isEmpty();
     }
+
+    public int tamanio() {
+        return this.cola.size();
+    }
     
-    public Queue<Proceso> getCola() {
+    public ColaDePids getCola() {
         return cola;
     }
 
-    public Proceso verSiguiente() {
+    public int verSiguiente() {
         return this.cola.peek();
     }
-}
\ No newline at end of file
+
+    // Cantidad de niveles de prioridad que distingue la cola para las métricas de ocupación (0 si no tiene).
+    public int getCantidadNiveles() {
+        return 0;
+    }
+
+    // Suma la cantidad de procesos de cada nivel al acumulado, una muestra por cada una de las "unidades" de tiempo.
+    public void acumularOcupacion(long[] acumulado, long unidades) {
+    }
+
+    // Guarda el contenido de la cola para un punto de control. A la fila FIFO le alcanza con el orden de los PIDs.
+    public void escribirEstado(DataOutput salida) throws IOException {
+        int[] pids = cola.toArray();
+        salida.writeInt(pids.length);
+        for (int pid : pids) {
+            salida.writeInt(pid);
+        }
+    }
+
+    // Rearma, sobre una cola vacía, lo guardado por escribirEstado.
+    public void leerEstado(DataInput entrada) throws IOException {
+        int cantidad = entrada.readInt();
+        for (int i = 0; i < cantidad; i++) {
+            agregar(entrada.readInt());
+        }
+    }
+
+    // Avisa el instante actual. La fila FIFO no lo necesita, pero las colas cuyo orden depende del tiempo (HRRN) sí.
+    public void avanzarTiempo(long tiempoActual) {
+    }
+
+    // Fila FIFO sobre un arreglo circular que se duplica al llenarse.
+    private static class FilaCircular implements ColaDePids {
+
+        private int[] pids;
+        private int inicio;
+        private int tamanio;
+
+        FilaCircular() {
+            this.pids = new int[16];
+        }
+
+        @Override
+        public boolean offer(int pid) {
+            if (tamanio == pids.length) {
+                int[] nuevo = new int[pids.length * 2];
+                for (int i = 0; i < tamanio; i++) {
+                    nuevo[i] = pids[(inicio + i) % pids.length];
+                }
+                pids = nuevo;
+                inicio = 0;
+            }
+            pids[(inicio + tamanio) % pids.length] = pid;
+            tamanio++;
+            return true;
+        }
+
+        @Override
+        public int poll() {
+            if (tamanio == 0) {
+                return NINGUNO;
+            }
+            int pid = pids[inicio];
+            inicio = (inicio + 1) % pids.length;
+            tamanio--;
+            return pid;
+        }
+
+        @Override
+        public int peek() {
+            return (tamanio == 0) ? NINGUNO : pids[inicio];
+        }
+
+        @Override
+        public int size() {
+            return tamanio;
+        }
+
+        @Override
+        public int[] toArray() {
+            int[] copia = new int[tamanio];
+            for (int i = 0; i < tamanio; i++) {
+                copia[i] = pids[(inicio + i) % pids.length];
+            }
+            return copia;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.simulador.models;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/*
+   Base de las colas ordenadas por una clave (SRT, SPN, Prioridad).
+   Usa un HeapIndexado. La clave de un proceso no cambia mientras espera en la cola
+   (la ráfaga restante de SRT solo baja mientras ejecuta), así que no hace falta reacomodarlo.
+ */
+public class ColaListosConHeap extends ColaListos {
+
+    private final HeapIndexado heap;
+
+    public ColaListosConHeap(HeapIndexado.Comparador comparador) {
+        this.heap = new HeapIndexado(comparador);
+        super.cola = this.heap;
+    }
+
+    @Override
+    public void escribirEstado(DataOutput salida) throws IOException {
+        heap.escribirEstado(salida);
+    }
+
+    @Override
+    public void leerEstado(DataInput entrada) throws IOException {
+        heap.leerEstado(entrada);
+    }
+}
@@ -0,0 +1,261 @@
+package com.simulador.models;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/*
+   Representa la cola de procesos para el planificador HRRN (Highest Response Ratio Next).
+   La tasa de respuesta (espera + servicio) / servicio cambia en cada instante, así que no se
+   puede guardar en una PriorityQueue. Pero para cada proceso es una recta en función del tiempo:
+   R(t) = 1 + (t - llegada) / servicio. Se usa un árbol de segmentos cinético indexado por PID:
+   cada nodo guarda el ganador de su subárbol y el instante en que ese ganador puede dejar de serlo
+   (cuando la recta del perdedor, más empinada, lo alcanza). Al avanzar el tiempo solo se recalculan
+   los nodos cuyo instante ya llegó, por lo que elegir al siguiente no recorre toda la cola.
+   Entre tasas iguales gana el que entró antes a la cola.
+ */
+public class ColaListosHRRN extends ColaListos {
+
+    private final ArbolCinetico arbol;
+
+    public ColaListosHRRN(EstadoProcesos procesos) {
+        this.arbol = new ArbolCinetico(procesos);
+        super.cola = this.arbol;
+    }
+
+    @Override
+    public void avanzarTiempo(long tiempoActual) {
+        arbol.avanzar(tiempoActual);
+    }
+
+    @Override
+    public void escribirEstado(DataOutput salida) throws IOException {
+        salida.writeLong(arbol.tiempo);
+        salida.writeLong(arbol.contadorOrden);
+        salida.writeInt(arbol.tamanio);
+        for (int pid : arbol.toArray()) {
+            salida.writeInt(pid);
+            salida.writeLong(arbol.llegadaPorPid[pid]);
+            salida.writeLong(arbol.servicioPorPid[pid]);
+            salida.writeLong(arbol.ordenPorPid[pid]);
+        }
+    }
+
+    @Override
+    public void leerEstado(DataInput entrada) throws IOException {
+        arbol.tiempo = entrada.readLong();
+        long contador = entrada.readLong();
+        int cantidad = entrada.readInt();
+        for (int i = 0; i < cantidad; i++) {
+            int pid = entrada.readInt();
+            arbol.offer(pid);
+            arbol.llegadaPorPid[pid] = entrada.readLong();
+            arbol.servicioPorPid[pid] = entrada.readLong();
+            arbol.ordenPorPid[pid] = entrada.readLong();
+        }
+        arbol.contadorOrden = contador;
+        arbol.reconstruir(arbol.hojas); //Recalcula ganadores con las claves restauradas
+    }
+
+    private static class ArbolCinetico implements ColaDePids {
+
+        private static final long NUNCA = Long.MAX_VALUE;
+
+        private int hojas; //Potencia de dos, la hoja del PID p está en hojas + p
+        private int[] ganador; //PID ganador de cada nodo, 0 si el subárbol está vacío
+        private long[] cambio; //Instante a partir del cual el ganador del nodo puede cambiar
+        private final EstadoProcesos procesos;
+        private boolean[] presentePorPid;
+        private long[] llegadaPorPid; //Instante en que entró a la cola
+        private long[] servicioPorPid;
+        private long[] ordenPorPid;
+        private long contadorOrden;
+        private int tamanio;
+        private long tiempo;
+
+        ArbolCinetico(EstadoProcesos procesos) {
+            this.procesos = procesos;
+            this.presentePorPid = new boolean[0];
+            this.llegadaPorPid = new long[0];
+            this.servicioPorPid = new long[0];
+            this.ordenPorPid = new long[0];
+            reconstruir(16);
+        }
+
+        void avanzar(long nuevoTiempo) {
+            this.tiempo = nuevoTiempo;
+            if (cambio[1] <= tiempo) {
+                recalcularVencidos(1);
+            }
+        }
+
+        //Baja solo por los nodos cuyo ganador puede haber cambiado y los recalcula de abajo hacia arriba
+        private void recalcularVencidos(int nodo) {
+            if (nodo >= hojas) {
+                return;
+            }
+            int izq = 2 * nodo;
+            if (cambio[izq] <= tiempo) {
+                recalcularVencidos(izq);
+            }
+            if (cambio[izq + 1] <= tiempo) {
+                recalcularVencidos(izq + 1);
+            }
+            combinar(nodo);
+        }
+
+        private void combinar(int nodo) {
+            int izq = 2 * nodo;
+            int a = ganador[izq];
+            int b = ganador[izq + 1];
+            long minimoHijos = Math.min(cambio[izq], cambio[izq + 1]);
+            if (a == 0 || b == 0) {
+                ganador[nodo] = (a != 0) ? a : b;
+                cambio[nodo] = minimoHijos;
+                return;
+            }
+            int gana = gana(a, b) ? a : b;
+            int pierde = (gana == a) ? b : a;
+            ganador[nodo] = gana;
+            cambio[nodo] = Math.min(minimoHijos, instanteDeCruce(gana, pierde));
+        }
+
+        //Compara (t - llegada_i) / servicio_i contra la del otro sin dividir
+        private boolean gana(int i, int j) {
+            int c = compararProductos(tiempo - llegadaPorPid[i], servicioPorPid[j], tiempo - llegadaPorPid[j], servicioPorPid[i]);
+            if (c != 0) {
+                return c > 0;
+            }
+            return ordenPorPid[i] < ordenPorPid[j];
+        }
+
+        //Compara a * b contra c * d (todos no negativos) con los 128 bits del producto: en microsegundos o
+        //nanosegundos una espera por un servicio ya no entra en un long
+        private static int compararProductos(long a, long b, long c, long d) {
+            long altoIzq = Math.multiplyHigh(a, b);
+            long altoDer = Math.multiplyHigh(c, d);
+            if (altoIzq != altoDer) {
+                return Long.compare(altoIzq, altoDer);
+            }
+            return Long.compareUnsigned(a * b, c * d);
+        }
+
+        /*
+           Primer instante entero en que el perdedor pasa al ganador. Solo puede pasar si su
+           recta es más empinada, es decir si su servicio es menor.
+         */
+        private long instanteDeCruce(int ganadorActual, int perdedor) {
+            long sG = servicioPorPid[ganadorActual];
+            long sP = servicioPorPid[perdedor];
+            if (sP >= sG) {
+                return NUNCA;
+            }
+            long den = sG - sP;
+            long num;
+            try {
+                num = Math.subtractExact(Math.multiplyExact(llegadaPorPid[perdedor], sG), Math.multiplyExact(llegadaPorPid[ganadorActual], sP));
+            } catch (ArithmeticException ex) {
+                return instanteDeCruceExacto(ganadorActual, perdedor); //Tiempos y servicios grandes: el producto no entra en un long
+            }
+            if (ordenPorPid[perdedor] < ordenPorPid[ganadorActual]) {
+                return -Math.floorDiv(-num, den); //Con empatar ya le gana
+            }
+            return Math.floorDiv(num, den) + 1;
+        }
+
+        private long instanteDeCruceExacto(int ganadorActual, int perdedor) {
+            BigInteger sG = BigInteger.valueOf(servicioPorPid[ganadorActual]);
+            BigInteger sP = BigInteger.valueOf(servicioPorPid[perdedor]);
+            BigInteger num = BigInteger.valueOf(llegadaPorPid[perdedor]).multiply(sG)
+                    .subtract(BigInteger.valueOf(llegadaPorPid[ganadorActual]).multiply(sP));
+            BigInteger[] cociente = num.divideAndRemainder(sG.subtract(sP)); //Trunca hacia 0; den es positivo
+            BigInteger piso = (cociente[1].signum() < 0) ? cociente[0].subtract(BigInteger.ONE) : cociente[0];
+            BigInteger cruce = (ordenPorPid[perdedor] < ordenPorPid[ganadorActual] && cociente[1].signum() == 0) ? piso : piso.add(BigInteger.ONE);
+            return (cruce.bitLength() < Long.SIZE) ? cruce.longValue() : NUNCA;
+        }
+
+        private void actualizarHoja(int pid, boolean presente) {
+            int nodo = hojas + pid;
+            ganador[nodo] = presente ? pid : 0;
+            cambio[nodo] = NUNCA;
+            for (nodo >>= 1; nodo >= 1; nodo >>= 1) {
+                combinar(nodo);
+            }
+        }
+
+        private void reconstruir(int minimoHojas) {
+            int nuevas = Integer.highestOneBit(Math.max(2, minimoHojas - 1)) << 1;
+            this.hojas = nuevas;
+            this.ganador = new int[2 * nuevas];
+            this.cambio = new long[2 * nuevas];
+            Arrays.fill(cambio, NUNCA);
+            presentePorPid = Arrays.copyOf(presentePorPid, nuevas);
+            llegadaPorPid = Arrays.copyOf(llegadaPorPid, nuevas);
+            servicioPorPid = Arrays.copyOf(servicioPorPid, nuevas);
+            ordenPorPid = Arrays.copyOf(ordenPorPid, nuevas);
+            for (int pid = 1; pid < nuevas; pid++) {
+                ganador[nuevas + pid] = presentePorPid[pid] ? pid : 0;
+            }
+            for (int nodo = nuevas - 1; nodo >= 1; nodo--) {
+                combinar(nodo);
+            }
+        }
+
+        @Override
+        public boolean offer(int pid) {
+            if (pid >= hojas) {
+                reconstruir(Math.max(pid + 1, hojas * 2));
+            }
+            if (presentePorPid[pid]) {
+                return false;
+            }
+            presentePorPid[pid] = true;
+            llegadaPorPid[pid] = tiempo;
+            servicioPorPid[pid] = Math.max(1, procesos.getDuracionRafagaActual(pid)); //La ráfaga que va a ejecutar
+            ordenPorPid[pid] = contadorOrden++;
+            tamanio++;
+            actualizarHoja(pid, true);
+            return true;
+        }
+
+        @Override
+        public int poll() {
+            int pid = ganador[1];
+            if (pid != NINGUNO) {
+                quitar(pid);
+            }
+            return pid;
+        }
+
+        @Override
+        public int peek() {
+            return ganador[1];
+        }
+
+        @Override
+        public int size() {
+            return tamanio;
+        }
+
+        private void quitar(int pid) {
+            presentePorPid[pid] = false;
+            tamanio--;
+            actualizarHoja(pid, false);
+        }
+
+        //En orden de PID
+        @Override
+        public int[] toArray() {
+            int[] pids = new int[tamanio];
+            int i = 0;
+            for (int pid = 1; pid < hojas; pid++) {
+                if (presentePorPid[pid]) {
+                    pids[i++] = pid;
+                }
+            }
+            return pids;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.simulador.models;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/*
+   Representa la cola de procesos para el planificador por Lotería.
+   Cada proceso listo tiene tantos boletos como indica CargaTrabajo.getTickets() y el siguiente
+   a ejecutar se sortea con probabilidad proporcional a sus boletos.
+   Los boletos se guardan en un árbol de Fenwick indexado por PID, así sortear un ganador,
+   agregar, quitar o cambiar los boletos de un proceso cuesta O(log n) y no un recorrido lineal.
+   El sorteo usa un generador propio con semilla, por lo que dos corridas con la misma semilla
+   producen exactamente la misma secuencia de ganadores.
+ */
+public class ColaListosLoteria extends ColaListos {
+
+    private final Sorteo sorteo;
+
+    public ColaListosLoteria(CargaTrabajo carga, long semilla) {
+        this.sorteo = new Sorteo(carga, semilla);
+        super.cola = this.sorteo;
+    }
+
+    //Se guarda el estado del generador y el sorteo pendiente para que la continuación sortee lo mismo
+    @Override
+    public void escribirEstado(DataOutput salida) throws IOException {
+        salida.writeLong(sorteo.estadoAleatorio);
+        salida.writeInt(sorteo.tamanio);
+        for (int pid : sorteo.toArray()) {
+            salida.writeInt(pid);
+            salida.writeLong(sorteo.ticketsPorPid[pid]);
+        }
+        salida.writeInt(sorteo.ganadorPendiente);
+    }
+
+    @Override
+    public void leerEstado(DataInput entrada) throws IOException {
+        sorteo.estadoAleatorio = entrada.readLong();
+        int cantidad = entrada.readInt();
+        for (int i = 0; i < cantidad; i++) {
+            int pid = entrada.readInt();
+            sorteo.offer(pid);
+            sorteo.actualizarTickets(pid, entrada.readLong()); //Puede haber cambiado desde que entró
+        }
+        sorteo.ganadorPendiente = entrada.readInt();
+    }
+
+    private static class Sorteo implements ColaDePids {
+
+        private final CargaTrabajo carga;
+        private final ArbolFenwick boletos;
+        private boolean[] presentePorPid;
+        private long[] ticketsPorPid;
+        private int tamanio;
+        private int ganadorPendiente; //PID ya sorteado por verSiguiente() y todavía no quitado, 0 si no hay
+        private long estadoAleatorio;
+
+        Sorteo(CargaTrabajo carga, long semilla) {
+            this.carga = carga;
+            this.boletos = new ArbolFenwick(16);
+            this.presentePorPid = new boolean[17];
+            this.ticketsPorPid = new long[17];
+            this.tamanio = 0;
+            this.ganadorPendiente = 0;
+            this.estadoAleatorio = semilla;
+        }
+
+        @Override
+        public boolean offer(int pid) {
+            if (pid >= presentePorPid.length) {
+                int nuevoLargo = Math.max(pid + 1, presentePorPid.length * 2);
+                presentePorPid = Arrays.copyOf(presentePorPid, nuevoLargo);
+                ticketsPorPid = Arrays.copyOf(ticketsPorPid, nuevoLargo);
+            }
+            if (presentePorPid[pid]) {
+                return false; //Ya está en la cola
+            }
+            long tickets = carga.getTickets(pid);
+            presentePorPid[pid] = true;
+            ticketsPorPid[pid] = tickets;
+            boletos.sumar(pid, tickets);
+            tamanio++;
+            ganadorPendiente = 0; //Cambió el total de boletos, el próximo sorteo se rehace
+            return true;
+        }
+
+        @Override
+        public int poll() {
+            if (tamanio == 0) {
+                return NINGUNO;
+            }
+            int pid = (ganadorPendiente != 0) ? ganadorPendiente : sortear();
+            ganadorPendiente = 0;
+            quitarBoletos(pid);
+            return pid;
+        }
+
+        @Override
+        public int peek() {
+            if (tamanio == 0) {
+                return NINGUNO;
+            }
+            if (ganadorPendiente == 0) {
+                ganadorPendiente = sortear(); //Se recuerda para que el próximo poll() devuelva el mismo
+            }
+            return ganadorPendiente;
+        }
+
+        private void quitarBoletos(int pid) {
+            boletos.sumar(pid, -ticketsPorPid[pid]);
+            presentePorPid[pid] = false;
+            ticketsPorPid[pid] = 0;
+            tamanio--;
+        }
+
+        @Override
+        public int size() {
+            return tamanio;
+        }
+
+        void actualizarTickets(int pid, long nuevos) {
+            if (pid >= presentePorPid.length || !presentePorPid[pid]) {
+                return;
+            }
+            boletos.sumar(pid, nuevos - ticketsPorPid[pid]);
+            ticketsPorPid[pid] = nuevos;
+            ganadorPendiente = 0;
+        }
+
+        private int sortear() {
+            long boleto = (siguienteAleatorio() >>> 1) % boletos.getTotal();
+            return boletos.buscar(boleto);
+        }
+
+        //SplitMix64: generador chico y reproducible a partir de la semilla
+        private long siguienteAleatorio() {
+            long z = (estadoAleatorio += 0x9E3779B97F4A7C15L);
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+
+        //En orden de PID
+        @Override
+        public int[] toArray() {
+            int[] pids = new int[tamanio];
+            int i = 0;
+            for (int pid = 1; pid < presentePorPid.length; pid++) {
+                if (presentePorPid[pid]) {
+                    pids[i++] = pid;
+                }
+            }
+            return pids;
+        }
+    }
+}
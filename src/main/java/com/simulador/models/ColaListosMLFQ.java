@@ -0,0 +1,231 @@
+package com.simulador.models;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/*
+   Representa las filas del planificador MLFQ (Multi-Level Feedback Queue).
+   Hay una fila FIFO por nivel (0 es el de mayor prioridad), armadas como listas enlazadas
+   sobre arreglos indexados por PID. Un mapa de bits marca los niveles no vacíos, así el
+   próximo nivel a atender sale en O(1) con numberOfTrailingZeros.
+   El impulso de prioridad (boost) no recorre procesos: engancha cada fila al final del nivel 0
+   y aumenta una "época"; el nivel guardado de un proceso de una época anterior vale 0.
+ */
+public class ColaListosMLFQ extends ColaListos {
+
+    public static final int MAX_NIVELES = 64; //Uno por bit del mapa
+
+    private final FilasPorNivel filas;
+    private final int[] quantums;
+    private final boolean promoverAlBloquear;
+
+    public ColaListosMLFQ(int[] quantums, boolean promoverAlBloquear) {
+        if (quantums.length == 0 || quantums.length > MAX_NIVELES) {
+            throw new IllegalArgumentException("MLFQ admite entre 1 y " + MAX_NIVELES + " niveles.");
+        }
+        this.quantums = quantums.clone();
+        this.promoverAlBloquear = promoverAlBloquear;
+        this.filas = new FilasPorNivel(quantums.length);
+        super.cola = this.filas;
+    }
+
+    @Override
+    public int getCantidadNiveles() {
+        return quantums.length;
+    }
+
+    public int nivelDe(int pid) {
+        return filas.nivelEfectivo(pid);
+    }
+
+    public int quantumPara(int pid) {
+        return quantums[nivelDe(pid)];
+    }
+
+    //Agotó su quantum: baja un nivel (si no está ya en el último)
+    public void degradar(int pid) {
+        filas.asignarNivel(pid, Math.min(filas.nivelEfectivo(pid) + 1, quantums.length - 1));
+    }
+
+    //Se bloqueó por E/S antes de agotar el quantum: según la configuración sube un nivel o se queda
+    public void alBloquear(int pid) {
+        if (promoverAlBloquear) {
+            filas.asignarNivel(pid, Math.max(filas.nivelEfectivo(pid) - 1, 0));
+        }
+    }
+
+    //Todos los procesos vuelven al nivel 0 en O(cantidad de niveles)
+    public void impulsar() {
+        filas.impulsar();
+    }
+
+    @Override
+    public void acumularOcupacion(long[] acumulado, long unidades) {
+        for (int nivel = 0; nivel < acumulado.length && nivel < quantums.length; nivel++) {
+            acumulado[nivel] += filas.tamanioNivel[nivel] * unidades;
+        }
+    }
+
+    //Se guardan los niveles de todos los procesos (también de los que están en CPU o en E/S)
+    @Override
+    public void escribirEstado(DataOutput salida) throws IOException {
+        salida.writeInt(filas.epocaActual);
+        salida.writeInt(filas.nivelPorPid.length);
+        for (int pid = 0; pid < filas.nivelPorPid.length; pid++) {
+            salida.writeInt(filas.nivelPorPid[pid]);
+            salida.writeInt(filas.epocaPorPid[pid]);
+        }
+        super.escribirEstado(salida); //El orden de recorrido es nivel por nivel, igual al de las filas
+    }
+
+    @Override
+    public void leerEstado(DataInput entrada) throws IOException {
+        filas.epocaActual = entrada.readInt();
+        int largo = entrada.readInt();
+        filas.asegurarCapacidad(largo - 1);
+        for (int pid = 0; pid < largo; pid++) {
+            filas.nivelPorPid[pid] = entrada.readInt();
+            filas.epocaPorPid[pid] = entrada.readInt();
+        }
+        super.leerEstado(entrada);
+    }
+
+    private static class FilasPorNivel implements ColaDePids {
+
+        private static final int NADA = NINGUNO; //El PID 0 no se usa, sirve de "fin de lista"
+
+        private final int[] primero;
+        private final int[] ultimo;
+        private final int[] tamanioNivel;
+        private long nivelesNoVacios;
+        private int epocaActual;
+        private int tamanio;
+
+        private boolean[] presentePorPid;
+        private int[] siguientePorPid;
+        private int[] nivelPorPid;
+        private int[] epocaPorPid;
+
+        FilasPorNivel(int niveles) {
+            this.primero = new int[niveles];
+            this.ultimo = new int[niveles];
+            this.tamanioNivel = new int[niveles];
+            this.nivelesNoVacios = 0;
+            this.epocaActual = 0;
+            this.presentePorPid = new boolean[17];
+            this.siguientePorPid = new int[17];
+            this.nivelPorPid = new int[17];
+            this.epocaPorPid = new int[17];
+        }
+
+        private void asegurarCapacidad(int pid) {
+            if (pid >= presentePorPid.length) {
+                int nuevoLargo = Math.max(pid + 1, presentePorPid.length * 2);
+                presentePorPid = Arrays.copyOf(presentePorPid, nuevoLargo);
+                siguientePorPid = Arrays.copyOf(siguientePorPid, nuevoLargo);
+                nivelPorPid = Arrays.copyOf(nivelPorPid, nuevoLargo);
+                epocaPorPid = Arrays.copyOf(epocaPorPid, nuevoLargo);
+            }
+        }
+
+        int nivelEfectivo(int pid) {
+            if (pid >= nivelPorPid.length || epocaPorPid[pid] != epocaActual) {
+                return 0; //Nunca tuvo nivel o hubo un impulso desde que se lo asignaron
+            }
+            return nivelPorPid[pid];
+        }
+
+        void asignarNivel(int pid, int nivel) {
+            asegurarCapacidad(pid);
+            nivelPorPid[pid] = nivel;
+            epocaPorPid[pid] = epocaActual;
+        }
+
+        void impulsar() {
+            for (int nivel = 1; nivel < primero.length; nivel++) {
+                if (tamanioNivel[nivel] == 0) {
+                    continue;
+                }
+                if (tamanioNivel[0] == 0) {
+                    primero[0] = primero[nivel];
+                } else {
+                    siguientePorPid[ultimo[0]] = primero[nivel];
+                }
+                ultimo[0] = ultimo[nivel];
+                tamanioNivel[0] += tamanioNivel[nivel];
+                primero[nivel] = ultimo[nivel] = NADA;
+                tamanioNivel[nivel] = 0;
+            }
+            nivelesNoVacios = (tamanioNivel[0] > 0) ? 1L : 0L;
+            epocaActual++;
+        }
+
+        @Override
+        public boolean offer(int pid) {
+            asegurarCapacidad(pid);
+            if (presentePorPid[pid]) {
+                return false;
+            }
+            int nivel = nivelEfectivo(pid);
+            asignarNivel(pid, nivel);
+            presentePorPid[pid] = true;
+            siguientePorPid[pid] = NADA;
+            if (tamanioNivel[nivel] == 0) {
+                primero[nivel] = pid;
+            } else {
+                siguientePorPid[ultimo[nivel]] = pid;
+            }
+            ultimo[nivel] = pid;
+            tamanioNivel[nivel]++;
+            nivelesNoVacios |= 1L << nivel;
+            tamanio++;
+            return true;
+        }
+
+        @Override
+        public int poll() {
+            if (nivelesNoVacios == 0) {
+                return NINGUNO;
+            }
+            int nivel = Long.numberOfTrailingZeros(nivelesNoVacios);
+            int pid = primero[nivel];
+            primero[nivel] = siguientePorPid[pid];
+            if (--tamanioNivel[nivel] == 0) {
+                ultimo[nivel] = NADA;
+                nivelesNoVacios &= ~(1L << nivel);
+            }
+            presentePorPid[pid] = false;
+            siguientePorPid[pid] = NADA;
+            tamanio--;
+            return pid;
+        }
+
+        @Override
+        public int peek() {
+            if (nivelesNoVacios == 0) {
+                return NINGUNO;
+            }
+            return primero[Long.numberOfTrailingZeros(nivelesNoVacios)];
+        }
+
+        @Override
+        public int size() {
+            return tamanio;
+        }
+
+        //Nivel por nivel y, dentro de cada uno, en el orden de la fila
+        @Override
+        public int[] toArray() {
+            int[] pids = new int[tamanio];
+            int i = 0;
+            for (int nivel = 0; nivel < primero.length; nivel++) {
+                for (int pid = primero[nivel]; pid != NADA; pid = siguientePorPid[pid]) {
+                    pids[i++] = pid;
+                }
+            }
+            return pids;
+        }
+    }
+}
@@ -1,19 +1,16 @@
 package com.simulador.models;
 
-import java.util.Comparator;
-import java.util.PriorityQueue;
-
 /*
    Representa la cola de procesos para el planificador de Prioridad Externa.
-   Usa una PriorityQueue para asegurar que el proceso con la mayor prioridad siempre esté al frente.
+   Usa un HeapIndexado para asegurar que el proceso con la mayor prioridad siempre esté al frente.
  */
 
-public class ColaListosPrioridad extends ColaListos {
+public class ColaListosPrioridad extends ColaListosConHeap {
 
-    public ColaListosPrioridad() {
+    public ColaListosPrioridad(CargaTrabajo carga) {
         // El comparador ordena por el número de prioridad, de mayor a menor.
-        super.cola = new PriorityQueue<>(Comparator.comparingInt(Proceso::getPrioridadExterna).reversed());
+        super((a, b) -> Integer.compare(carga.getPrioridadExterna(b), carga.getPrioridadExterna(a)));
 
     }
 
-}
\ No newline at end of file
+}
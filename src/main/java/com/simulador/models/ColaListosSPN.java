@@ -1,13 +1,11 @@
 package com.simulador.models;
 
-import java.util.Comparator;
-import java.util.PriorityQueue;
 
+public class ColaListosSPN extends ColaListosConHeap {
 
-public class ColaListosSPN extends ColaListos {
-
-    public ColaListosSPN() {
-        // El comparador ordena por la duración de la ráfaga de CPU, de menor a mayor.
-        super.cola = new PriorityQueue<>(Comparator.comparingInt(Proceso::getDuracionRafagaCPU));
+    public ColaListosSPN(EstadoProcesos procesos) {
+        // El comparador ordena por la duración de la próxima ráfaga de CPU, de menor a mayor.
+        // No cambia mientras el proceso está en la cola: solo avanza de ráfaga cuando ejecuta.
+        super((a, b) -> Long.compare(procesos.getDuracionRafagaActual(a), procesos.getDuracionRafagaActual(b)));
     }
-}
\ No newline at end of file
+}
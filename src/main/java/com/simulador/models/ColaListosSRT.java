@@ -1,18 +1,15 @@
 package com.simulador.models;
 
-import java.util.Comparator;
-import java.util.PriorityQueue;
-
 /*
    Representa la cola de procesos para el planificador SRT.
-   Usa una PriorityQueue para asegurar que el proceso con el menor
-   tiempo restante de ráfaga de CPU siempre esté al frente.
+   Usa un HeapIndexado para asegurar que el proceso con el menor
+   tiempo restante de ráfaga de CPU siempre esté al frente. El tiempo restante
+   solo baja mientras el proceso ejecuta, nunca mientras espera en la cola.
  */
-public class ColaListosSRT extends ColaListos {
+public class ColaListosSRT extends ColaListosConHeap {
 
-    public ColaListosSRT() {
+    public ColaListosSRT(EstadoProcesos procesos) {
         // El comparador ordena por el tiempo restante de la ráfaga de CPU actual.
-        super.cola = new PriorityQueue<>(Comparator.comparingInt(Proceso::getTiempoRestanteRafagaCPU));
+        super((a, b) -> Long.compare(procesos.getTiempoRestanteRafagaCPU(a), procesos.getTiempoRestanteRafagaCPU(b)));
     }
-    
-}
\ No newline at end of file
+}
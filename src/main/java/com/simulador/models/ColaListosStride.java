@@ -0,0 +1,104 @@
+package com.simulador.models;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/*
+   Representa la cola de procesos para el planificador Stride (reparto proporcional determinista).
+   Cada proceso avanza su "pasada" en un paso inversamente proporcional a sus boletos cada vez que
+   es despachado, y siempre se elige al de menor pasada. Las pasadas se mantienen en un heap,
+   así la elección cuesta O(log n) aunque haya cientos de miles de procesos listos. El heap es un
+   HeapIndexado con desempate FIFO, que entre pasadas iguales da el mismo orden que antes.
+ */
+public class ColaListosStride extends ColaListos {
+
+    //Constante grande para que el paso (STRIDE_BASE / boletos) no pierda precisión al dividir
+    public static final long STRIDE_BASE = 1L << 20;
+
+    private final HeapPasadas pasadas;
+
+    public ColaListosStride(CargaTrabajo carga) {
+        this.pasadas = new HeapPasadas(carga);
+        super.cola = this.pasadas;
+    }
+
+    //Las pasadas de los que no están en la cola (en CPU o en E/S) también cuentan para la continuación
+    @Override
+    public void escribirEstado(DataOutput salida) throws IOException {
+        salida.writeLong(pasadas.pasadaGlobal);
+        salida.writeInt(pasadas.pasadaPorPid.length);
+        for (int pid = 0; pid < pasadas.pasadaPorPid.length; pid++) {
+            salida.writeLong(pasadas.pasadaPorPid[pid]);
+        }
+        pasadas.heap.escribirEstado(salida);
+    }
+
+    @Override
+    public void leerEstado(DataInput entrada) throws IOException {
+        pasadas.pasadaGlobal = entrada.readLong();
+        int largo = entrada.readInt();
+        pasadas.pasadaPorPid = new long[largo];
+        for (int pid = 0; pid < largo; pid++) {
+            pasadas.pasadaPorPid[pid] = entrada.readLong();
+        }
+        pasadas.heap.leerEstado(entrada); //Directo al heap: las claves ya están restauradas
+    }
+
+    private static class HeapPasadas implements ColaDePids {
+
+        private final CargaTrabajo carga;
+        private final HeapIndexado heap; //Desempata FIFO entre pasadas iguales
+        private long[] pasadaPorPid;
+        private long pasadaGlobal;
+
+        HeapPasadas(CargaTrabajo carga) {
+            this.carga = carga;
+            this.pasadaPorPid = new long[17];
+            this.pasadaGlobal = 0;
+            //Las claves solo cambian cuando el proceso está fuera del heap, así el orden no se rompe
+            this.heap = new HeapIndexado((a, b) -> Long.compare(pasadaPorPid[a], pasadaPorPid[b]));
+        }
+
+        @Override
+        public boolean offer(int pid) {
+            if (pid >= pasadaPorPid.length) {
+                pasadaPorPid = Arrays.copyOf(pasadaPorPid, Math.max(pid + 1, pasadaPorPid.length * 2));
+            }
+            if (heap.contains(pid)) {
+                return false;
+            }
+            //Un proceso que vuelve de E/S (o recién llega) no acumula crédito por el tiempo que no compitió
+            if (pasadaPorPid[pid] < pasadaGlobal) {
+                pasadaPorPid[pid] = pasadaGlobal;
+            }
+            return heap.offer(pid);
+        }
+
+        @Override
+        public int poll() {
+            int elegido = heap.poll();
+            if (elegido != NINGUNO) {
+                pasadaGlobal = pasadaPorPid[elegido]; //Es la menor pasada entre los que compiten
+                pasadaPorPid[elegido] += STRIDE_BASE / carga.getTickets(elegido);
+            }
+            return elegido;
+        }
+
+        @Override
+        public int peek() {
+            return heap.peek();
+        }
+
+        @Override
+        public int size() {
+            return heap.size();
+        }
+
+        @Override
+        public int[] toArray() {
+            return heap.toArray();
+        }
+    }
+}
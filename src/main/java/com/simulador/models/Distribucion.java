@@ -0,0 +1,154 @@
+package com.simulador.models;
+
+import java.util.SplittableRandom;
+
+import com.google.gson.annotations.SerializedName;
+
+/*
+   Distribución de una duración en un proceso estocástico. En el JSON va como objeto, por ejemplo
+   {"tipo": "exponencial", "media": 6} o {"tipo": "uniforme", "minimo": 2, "maximo": 9}.
+   Tipos: "fija" (valor), "uniforme" (minimo y maximo, inclusive), "exponencial" (media) y
+   "normal" (media y desvio). Las muestras se redondean al entero más cercano y nunca bajan de "minimo".
+ */
+public class Distribucion {
+
+    @SerializedName("tipo")
+    private String tipo;
+
+    @SerializedName("valor")
+    private double valor;
+
+    @SerializedName("minimo")
+    private double minimo;
+
+    @SerializedName("maximo")
+    private double maximo;
+
+    @SerializedName("media")
+    private double media;
+
+    @SerializedName("desvio")
+    private double desvio;
+
+    public Distribucion() {
+        //Vacio para el Gson
+    }
+
+    public Distribucion(Distribucion otra) {
+        this.tipo = otra.tipo;
+        this.valor = otra.valor;
+        this.minimo = otra.minimo;
+        this.maximo = otra.maximo;
+        this.media = otra.media;
+        this.desvio = otra.desvio;
+    }
+
+    public static Distribucion fija(double valor) {
+        Distribucion d = new Distribucion();
+        d.tipo = "fija";
+        d.valor = valor;
+        return d;
+    }
+
+    public static Distribucion uniforme(double minimo, double maximo) {
+        Distribucion d = new Distribucion();
+        d.tipo = "uniforme";
+        d.minimo = minimo;
+        d.maximo = maximo;
+        return d;
+    }
+
+    public static Distribucion exponencial(double media) {
+        Distribucion d = new Distribucion();
+        d.tipo = "exponencial";
+        d.media = media;
+        return d;
+    }
+
+    public static Distribucion normal(double media, double desvio) {
+        Distribucion d = new Distribucion();
+        d.tipo = "normal";
+        d.media = media;
+        d.desvio = desvio;
+        return d;
+    }
+
+    //Una muestra entera; "piso" es el menor valor admitido además de "minimo" (1 para ráfagas de CPU, 0 para E/S)
+    public long muestrear(SplittableRandom random, int piso) {
+        double x;
+        switch (tipo == null ? "fija" : tipo.toLowerCase()) {
+            case "fija":
+                x = valor;
+                break;
+            case "uniforme":
+                x = minimo + random.nextDouble() * (maximo - minimo + 1); //Con el +1 el máximo sale tan seguido como los demás
+                x = Math.floor(x);
+                break;
+            case "exponencial":
+                x = -media * Math.log(1.0 - random.nextDouble());
+                break;
+            case "normal":
+                x = media + desvio * normalEstandar(random);
+                break;
+            default:
+                throw new IllegalArgumentException("Distribución desconocida: " + tipo);
+        }
+        return Math.max(piso, Math.round(Math.max(x, minimo))); //Math.round ya satura en Long.MAX_VALUE
+    }
+
+    //Box-Muller; se descarta la segunda muestra para que cada llamada consuma siempre dos números
+    private static double normalEstandar(SplittableRandom random) {
+        double u1 = 1.0 - random.nextDouble(); //En (0, 1], así el logaritmo no diverge
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u1)) * Math.cos(2.0 * Math.PI * u2);
+    }
+
+    //Getters y Setters
+    public String getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(String tipo) {
+        this.tipo = tipo;
+    }
+
+    public double getValor() {
+        return valor;
+    }
+
+    public void setValor(double valor) {
+        this.valor = valor;
+    }
+
+    public double getMinimo() {
+        return minimo;
+    }
+
+    public void setMinimo(double minimo) {
+        this.minimo = minimo;
+    }
+
+    public double getMaximo() {
+        return maximo;
+    }
+
+    public void setMaximo(double maximo) {
+        this.maximo = maximo;
+    }
+
+    public double getMedia() {
+        return media;
+    }
+
+    public void setMedia(double media) {
+        this.media = media;
+    }
+
+    public double getDesvio() {
+        return desvio;
+    }
+
+    public void setDesvio(double desvio) {
+        this.desvio = desvio;
+    }
+}
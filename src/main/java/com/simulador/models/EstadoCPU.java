@@ -4,86 +4,86 @@ package com.simulador.models;
    Modela el estado actual del procesador.
    Puede estar ejecutando un proceso de usuario o realizando
    tareas del sistema operativo (TIP, TCP, TFP).
+   Los procesos se guardan por PID; ColaListos.NINGUNO (0) indica que no hay.
  */
 public class EstadoCPU {
 
-    private Proceso procesoActual;       // Proceso actualmente en ejecución
-    private int quantumRestante;         // Quantum restante del proceso actual
-    private int tiempoRestanteTCP;       // Tiempo restante de cambio de contexto (TCP o TFP)
-    private int tiempoRestanteTIP;       // Tiempo restante de ingreso de proceso (TIP)
-    private Proceso procesoADespachar;   // Proceso que está por ser asignado al CPU
+    private int procesoActual;           // Proceso actualmente en ejecución
+    private long quantumRestante;        // Quantum restante del proceso actual
+    private long tiempoRestanteTCP;      // Tiempo restante de cambio de contexto (TCP o TFP)
+    private long tiempoRestanteTIP;      // Tiempo restante de ingreso de proceso (TIP)
+    private int procesoADespachar;       // Proceso que está por ser asignado al CPU
 
     public EstadoCPU() {
-        this.procesoActual = null;
+        this.procesoActual = ColaListos.NINGUNO;
         this.quantumRestante = 0;
         this.tiempoRestanteTCP = 0;
         this.tiempoRestanteTIP = 0;
-        this.procesoADespachar = null;
+        this.procesoADespachar = ColaListos.NINGUNO;
     }
 
     
     //Indica si el CPU está libre de ejecutar procesos de usuario 
     public boolean estaOciosa() {
-        return procesoActual == null;
+        return procesoActual == ColaListos.NINGUNO;
     }
 
     /*
-       Asigna un proceso al CPU para su ejecución (estado EJECUCION).
+       Asigna un proceso al CPU para su ejecución (el Simulador lo pasa a EJECUCION).
        El quantum empieza a descontarse desde aquí.
      */
 
-    public void asignarProceso(Proceso proceso, int quantum) {
-        this.procesoActual = proceso;
+    public void asignarProceso(int pid, long quantum) {
+        this.procesoActual = pid;
         this.quantumRestante = quantum;
-        proceso.setEstado("EJECUCION");
     }
 
     
     //Libera el CPU del proceso actual (ej. fin de ráfaga, bloqueo, terminación).
     public void liberar() {
-        this.procesoActual = null;
+        this.procesoActual = ColaListos.NINGUNO;
         this.quantumRestante = 0;
     }
 
     //Getters y Setters
 
-    public Proceso getProcesoActual() {
+    public int getProcesoActual() {
         return procesoActual;
     }
 
-    public void setProcesoActual(Proceso procesoActual) {
+    public void setProcesoActual(int procesoActual) {
         this.procesoActual = procesoActual;
     }
 
-    public int getQuantumRestante() {
+    public long getQuantumRestante() {
         return quantumRestante;
     }
 
-    public void setQuantumRestante(int quantumRestante) {
+    public void setQuantumRestante(long quantumRestante) {
         this.quantumRestante = quantumRestante;
     }
 
-    public int getTiempoRestanteTCP() {
+    public long getTiempoRestanteTCP() {
         return tiempoRestanteTCP;
     }
 
-    public void setTiempoRestanteTCP(int tiempoRestanteTCP) {
+    public void setTiempoRestanteTCP(long tiempoRestanteTCP) {
         this.tiempoRestanteTCP = tiempoRestanteTCP;
     }
 
-    public int getTiempoRestanteTIP() {
+    public long getTiempoRestanteTIP() {
         return tiempoRestanteTIP;
     }
 
-    public void setTiempoRestanteTIP(int tiempoRestanteTIP) {
+    public void setTiempoRestanteTIP(long tiempoRestanteTIP) {
         this.tiempoRestanteTIP = tiempoRestanteTIP;
     }
 
-    public Proceso getProcesoADespachar() {
+    public int getProcesoADespachar() {
         return procesoADespachar;
     }
 
-    public void setProcesoADespachar(Proceso procesoADespachar) {
+    public void setProcesoADespachar(int procesoADespachar) {
         this.procesoADespachar = procesoADespachar;
     }
 }
@@ -0,0 +1,199 @@
+package com.simulador.models;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/*
+   Estado de los procesos durante una corrida, en arreglos de primitivas indexados por PID.
+   La definición (CargaTrabajo) se comparte; esto es lo único que cada corrida crea, y el ciclo del
+   simulador recorre arreglos contiguos en lugar de saltar de objeto en objeto.
+
+   El tiempo en estado listo se lleva de forma perezosa: se anota cuándo entró a la cola y se suma
+   la diferencia al salir, en vez de recorrer la cola sumando uno en cada unidad de tiempo.
+   De la E/S se guarda el instante en que el proceso despierta, no un contador que haya que descontar.
+ */
+public final class EstadoProcesos {
+
+    public static final byte NO_LLEGADO = 0;
+    public static final byte NUEVO = 1;
+    public static final byte LISTO = 2;
+    public static final byte EJECUCION = 3;
+    public static final byte BLOQUEADO = 4;
+    public static final byte TERMINADO = 5;
+    public static final String[] NOMBRES_ESTADO = {"NO_LLEGADO", "NUEVO", "LISTO", "EJECUCION", "BLOQUEADO", "TERMINADO"};
+
+    private final CargaTrabajo carga;
+    private final byte[] estados;
+    private final int[] rafagasRestantes;
+    private final long[] tiemposRestantesRafagaCPU;
+    private final long[] tiemposDespertar; //Instante en que termina la E/S (vale mientras está BLOQUEADO)
+    private final long[] tiemposFinEjecucion;
+    private final long[] tiemposEnEstadoListo;
+    private final long[] listoDesde; //Instante en que entró a la cola de listos (vale mientras está en ella)
+    private final boolean[] fueInterrumpido;
+    private int terminados;
+
+    public EstadoProcesos(CargaTrabajo carga) {
+        this.carga = carga;
+        int largo = carga.getCantidad() + 1;
+        this.estados = new byte[largo];
+        this.rafagasRestantes = new int[largo];
+        this.tiemposRestantesRafagaCPU = new long[largo];
+        this.tiemposDespertar = new long[largo];
+        this.tiemposFinEjecucion = new long[largo];
+        this.tiemposEnEstadoListo = new long[largo];
+        this.listoDesde = new long[largo];
+        this.fueInterrumpido = new boolean[largo];
+        for (int pid = 1; pid < largo; pid++) {
+            inicializar(pid);
+        }
+    }
+
+    //Deja al proceso como al comienzo de una simulación, según su definición
+    public void inicializar(int pid) {
+        if (estados[pid] == TERMINADO) {
+            terminados--;
+        }
+        estados[pid] = NO_LLEGADO;
+        rafagasRestantes[pid] = carga.getCantidadRafagasCPU(pid);
+        tiemposRestantesRafagaCPU[pid] = (rafagasRestantes[pid] > 0) ? carga.getDuracionRafagaCPU(pid, 0) : 0;
+        tiemposDespertar[pid] = 0;
+        tiemposFinEjecucion[pid] = 0;
+        tiemposEnEstadoListo[pid] = 0;
+        listoDesde[pid] = 0;
+        fueInterrumpido[pid] = false;
+    }
+
+    public CargaTrabajo getCarga() {
+        return carga;
+    }
+
+    public int getCantidad() {
+        return estados.length - 1;
+    }
+
+    public int getTerminados() {
+        return terminados;
+    }
+
+    //Número (desde 0) de la ráfaga de CPU en curso o por empezar
+    public int getIndiceRafaga(int pid) {
+        return carga.getCantidadRafagasCPU(pid) - rafagasRestantes[pid];
+    }
+
+    //Duración completa de la ráfaga de CPU en curso o por empezar
+    public long getDuracionRafagaActual(int pid) {
+        return carga.getDuracionRafagaCPU(pid, getIndiceRafaga(pid));
+    }
+
+    public void entrarAListo(int pid, long tiempoActual) {
+        listoDesde[pid] = tiempoActual;
+    }
+
+    //Devuelve cuánto esperó en la cola esta vez
+    public long salirDeListo(int pid, long tiempoActual) {
+        long espera = tiempoActual - listoDesde[pid];
+        tiemposEnEstadoListo[pid] += espera;
+        return espera;
+    }
+
+    //Getters y Setters
+    public byte getEstado(int pid) {
+        return estados[pid];
+    }
+
+    public String getNombreEstado(int pid) {
+        return NOMBRES_ESTADO[estados[pid]];
+    }
+
+    public void setEstado(int pid, byte estado) {
+        if (estados[pid] == TERMINADO) {
+            terminados--;
+        }
+        if (estado == TERMINADO) {
+            terminados++;
+        }
+        estados[pid] = estado;
+    }
+
+    public int getRafagasRestantes(int pid) {
+        return rafagasRestantes[pid];
+    }
+
+    public void setRafagasRestantes(int pid, int valor) {
+        rafagasRestantes[pid] = valor;
+    }
+
+    public long getTiempoRestanteRafagaCPU(int pid) {
+        return tiemposRestantesRafagaCPU[pid];
+    }
+
+    public void setTiempoRestanteRafagaCPU(int pid, long valor) {
+        tiemposRestantesRafagaCPU[pid] = valor;
+    }
+
+    public long getTiempoDespertar(int pid) {
+        return tiemposDespertar[pid];
+    }
+
+    public void setTiempoDespertar(int pid, long valor) {
+        tiemposDespertar[pid] = valor;
+    }
+
+    public long getTiempoFinEjecucion(int pid) {
+        return tiemposFinEjecucion[pid];
+    }
+
+    public void setTiempoFinEjecucion(int pid, long valor) {
+        tiemposFinEjecucion[pid] = valor;
+    }
+
+    public long getTiempoEnEstadoListo(int pid) {
+        return tiemposEnEstadoListo[pid];
+    }
+
+    public boolean getFueInterrumpido(int pid) {
+        return fueInterrumpido[pid];
+    }
+
+    public void setFueInterrumpido(int pid, boolean valor) {
+        fueInterrumpido[pid] = valor;
+    }
+
+    //Para los puntos de control, en orden de PID
+    public void escribirEstado(DataOutput salida) throws IOException {
+        salida.writeInt(getCantidad());
+        for (int pid = 1; pid < estados.length; pid++) {
+            salida.writeByte(estados[pid]);
+            salida.writeInt(rafagasRestantes[pid]);
+            salida.writeLong(tiemposRestantesRafagaCPU[pid]);
+            salida.writeLong(tiemposDespertar[pid]);
+            salida.writeLong(tiemposFinEjecucion[pid]);
+            salida.writeLong(tiemposEnEstadoListo[pid]);
+            salida.writeLong(listoDesde[pid]);
+            salida.writeBoolean(fueInterrumpido[pid]);
+        }
+    }
+
+    /*
+       Lee lo escrito por escribirEstado. Si la carga actual tiene más procesos que los guardados,
+       los que sobran quedan como sin arribar.
+     */
+    public void leerEstado(DataInput entrada) throws IOException {
+        int cantidad = entrada.readInt();
+        if (cantidad > getCantidad()) {
+            throw new IOException("El punto de control tiene " + cantidad + " procesos y la carga " + getCantidad());
+        }
+        for (int pid = 1; pid <= cantidad; pid++) {
+            setEstado(pid, entrada.readByte());
+            rafagasRestantes[pid] = entrada.readInt();
+            tiemposRestantesRafagaCPU[pid] = entrada.readLong();
+            tiemposDespertar[pid] = entrada.readLong();
+            tiemposFinEjecucion[pid] = entrada.readLong();
+            tiemposEnEstadoListo[pid] = entrada.readLong();
+            listoDesde[pid] = entrada.readLong();
+            fueInterrumpido[pid] = entrada.readBoolean();
+        }
+    }
+}
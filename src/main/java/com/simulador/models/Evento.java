@@ -4,12 +4,12 @@ package com.simulador.models;
 //Representa un evento ocurrido en un instante de tiempo específico durante la simulación.
 public class Evento {
 
-    private int tiempo;
+    private long tiempo;
     private Integer pid; //Puede ser nulo si el evento es del sistema
     private String tipoEvento; //Ejemplos: "ARRIBO", "FIN_CPU", "FIN_ES", "TIP", "TFP", "TCP"
     private String mensaje;
 
-    public Evento(int tiempo, Integer pid, String tipoEvento, String mensaje) {
+    public Evento(long tiempo, Integer pid, String tipoEvento, String mensaje) {
         this.tiempo = tiempo;
         this.pid = pid;
         this.tipoEvento = tipoEvento;
@@ -22,11 +22,11 @@ public class Evento {
         return String.format("t=%-4d | %-10s | %-18s | %s", tiempo, pidStr, tipoEvento, mensaje);
     }
     //Getters y Setters
-    public int getTiempo() {
+    public long getTiempo() {
         return tiempo;
     }
 
-    public void setTiempo(int tiempo) {
+    public void setTiempo(long tiempo) {
         this.tiempo = tiempo;
     }
 
@@ -0,0 +1,189 @@
+package com.simulador.models;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/*
+   Heap d-ario (d = 4) de PIDs que recuerda en qué posición está cada uno, indexado por PID.
+   Con la posición a mano, contains() es O(1) y agregar un PID que ya está no lo duplica.
+   La clave de un proceso no debe cambiar mientras está adentro: ninguna cola la modifica en espera.
+   Entre claves iguales sale primero el que entró antes (FIFO), así el orden no depende de la forma del heap.
+ */
+public class HeapIndexado implements ColaDePids {
+
+    private static final int ARIDAD = 4;
+    private static final int AUSENTE = -1;
+
+    //Compara dos PIDs por la clave de la cola (las claves se leen de CargaTrabajo o EstadoProcesos)
+    @FunctionalInterface
+    public interface Comparador {
+        int comparar(int pidA, int pidB);
+    }
+
+    private final Comparador comparador;
+    private int[] heap;
+    private int tamanio;
+    private int[] posicionPorPid;
+    private long[] ordenPorPid;
+    private long contadorOrden;
+
+    public HeapIndexado(Comparador comparador) {
+        this.comparador = comparador;
+        this.heap = new int[16];
+        this.tamanio = 0;
+        this.posicionPorPid = new int[17];
+        Arrays.fill(posicionPorPid, AUSENTE);
+        this.ordenPorPid = new long[17];
+        this.contadorOrden = 0;
+    }
+
+    @Override
+    public boolean offer(int pid) {
+        if (!insertar(pid, contadorOrden)) {
+            return false;
+        }
+        contadorOrden++;
+        return true;
+    }
+
+    private boolean insertar(int pid, long orden) {
+        if (pid >= posicionPorPid.length) {
+            int largoViejo = posicionPorPid.length;
+            int nuevoLargo = Math.max(pid + 1, largoViejo * 2);
+            posicionPorPid = Arrays.copyOf(posicionPorPid, nuevoLargo);
+            Arrays.fill(posicionPorPid, largoViejo, nuevoLargo, AUSENTE);
+            ordenPorPid = Arrays.copyOf(ordenPorPid, nuevoLargo);
+        }
+        if (posicionPorPid[pid] != AUSENTE) {
+            return false; //Ya está
+        }
+        if (tamanio == heap.length) {
+            heap = Arrays.copyOf(heap, tamanio * 2);
+        }
+        ordenPorPid[pid] = orden;
+        heap[tamanio] = pid;
+        posicionPorPid[pid] = tamanio;
+        tamanio++;
+        subir(tamanio - 1);
+        return true;
+    }
+
+    @Override
+    public int poll() {
+        if (tamanio == 0) {
+            return NINGUNO;
+        }
+        int primero = heap[0];
+        quitarEn(0);
+        return primero;
+    }
+
+    @Override
+    public int peek() {
+        return (tamanio == 0) ? NINGUNO : heap[0];
+    }
+
+    @Override
+    public int size() {
+        return tamanio;
+    }
+
+    public boolean contains(int pid) {
+        return posicionDe(pid) != AUSENTE;
+    }
+
+    //Para los puntos de control: cada proceso con su número de llegada, que define el desempate
+    public void escribirEstado(DataOutput salida) throws IOException {
+        salida.writeLong(contadorOrden);
+        salida.writeInt(tamanio);
+        for (int i = 0; i < tamanio; i++) {
+            salida.writeInt(heap[i]);
+            salida.writeLong(ordenPorPid[heap[i]]);
+        }
+    }
+
+    public void leerEstado(DataInput entrada) throws IOException {
+        long contador = entrada.readLong();
+        int cantidad = entrada.readInt();
+        for (int i = 0; i < cantidad; i++) {
+            int pid = entrada.readInt();
+            insertar(pid, entrada.readLong());
+        }
+        this.contadorOrden = contador;
+    }
+
+    private int posicionDe(int pid) {
+        if (pid <= 0 || pid >= posicionPorPid.length) {
+            return AUSENTE;
+        }
+        return posicionPorPid[pid];
+    }
+
+    private void quitarEn(int pos) {
+        posicionPorPid[heap[pos]] = AUSENTE;
+        tamanio--;
+        if (pos != tamanio) {
+            colocar(heap[tamanio], pos);
+            if (!subir(pos)) {
+                bajar(pos);
+            }
+        }
+    }
+
+    private boolean menor(int a, int b) {
+        int c = comparador.comparar(a, b);
+        return (c != 0) ? c < 0 : ordenPorPid[a] < ordenPorPid[b];
+    }
+
+    //Devuelve true si el elemento se movió hacia arriba
+    private boolean subir(int pos) {
+        int pid = heap[pos];
+        int inicio = pos;
+        while (pos > 0) {
+            int padre = (pos - 1) / ARIDAD;
+            if (!menor(pid, heap[padre])) {
+                break;
+            }
+            colocar(heap[padre], pos);
+            pos = padre;
+        }
+        colocar(pid, pos);
+        return pos != inicio;
+    }
+
+    private void bajar(int pos) {
+        int pid = heap[pos];
+        while (true) {
+            int primerHijo = pos * ARIDAD + 1;
+            if (primerHijo >= tamanio) {
+                break;
+            }
+            int mejor = primerHijo;
+            int ultimoHijo = Math.min(primerHijo + ARIDAD, tamanio);
+            for (int h = primerHijo + 1; h < ultimoHijo; h++) {
+                if (menor(heap[h], heap[mejor])) {
+                    mejor = h;
+                }
+            }
+            if (!menor(heap[mejor], pid)) {
+                break;
+            }
+            colocar(heap[mejor], pos);
+            pos = mejor;
+        }
+        colocar(pid, pos);
+    }
+
+    private void colocar(int pid, int pos) {
+        heap[pos] = pid;
+        posicionPorPid[pid] = pos;
+    }
+
+    //En orden de arreglo (no de prioridad), igual que el iterador de PriorityQueue
+    @Override
+    public int[] toArray() {
+        return Arrays.copyOf(heap, tamanio);
+    }
+}
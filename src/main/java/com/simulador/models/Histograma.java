@@ -0,0 +1,176 @@
+package com.simulador.models;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/*
+   Histograma con cubetas logarítmicas al estilo HdrHistogram, para percentiles de colas (p99, p99.9)
+   sin guardar cada muestra. Los valores se llevan a unidades enteras de "resolucion" (1 para tiempos,
+   0.001 para el retorno normalizado, por ejemplo). Las primeras 2^k unidades se cuentan exactas;
+   de ahí en adelante cada potencia de dos se parte en 2^(k-1) cubetas iguales, así el error relativo
+   queda por debajo de 10^-digitosSignificativos en todo el rango.
+
+   El arreglo de cuentas se reserva entero al crear el histograma (hasta VALOR_MAXIMO unidades), así que
+   registrar es O(1) y no reserva memoria: un numberOfLeadingZeros y un incremento. Dos histogramas con
+   la misma configuración se pueden fusionar sumando las cuentas, que es como se juntan las réplicas paralelas.
+ */
+public class Histograma {
+
+    public static final int DIGITOS_POR_DEFECTO = 2;
+    public static final long VALOR_MAXIMO = 1L << 40; //En unidades (unos 12 días en µs); lo que pase de acá cuenta en la última cubeta
+
+    private final int digitosSignificativos;
+    private final double resolucion;
+    private final int bitsSubcubeta; //k: las subcubetas por potencia de dos son 2^(k-1)
+    private final int mitad; //2^(k-1)
+    private final long[] cuentas;
+    private long total;
+    private long minimo = Long.MAX_VALUE;
+    private long maximo;
+    private long suma;
+
+    public Histograma() {
+        this(DIGITOS_POR_DEFECTO, 1.0);
+    }
+
+    public Histograma(int digitosSignificativos, double resolucion) {
+        if (digitosSignificativos < 1 || digitosSignificativos > 5) {
+            throw new IllegalArgumentException("Los dígitos significativos deben estar entre 1 y 5.");
+        }
+        if (resolucion <= 0) {
+            throw new IllegalArgumentException("La resolución debe ser positiva.");
+        }
+        this.digitosSignificativos = digitosSignificativos;
+        this.resolucion = resolucion;
+        long necesarias = 2 * (long) Math.pow(10, digitosSignificativos); //Subcubetas para ese error relativo, como en HdrHistogram
+        this.bitsSubcubeta = 64 - Long.numberOfLeadingZeros(necesarias - 1);
+        this.mitad = 1 << (bitsSubcubeta - 1);
+        this.cuentas = new long[indice(VALOR_MAXIMO) + 1];
+    }
+
+    //Copia vacía con la misma configuración, para acumular fusiones
+    public Histograma(Histograma modelo) {
+        this(modelo.digitosSignificativos, modelo.resolucion);
+    }
+
+    private int indice(long valor) {
+        int bitAlto = 63 - Long.numberOfLeadingZeros(valor); //-1 para el 0
+        int corrimiento = Math.max(0, bitAlto - (bitsSubcubeta - 1));
+        return mitad * corrimiento + (int) (valor >>> corrimiento);
+    }
+
+    private long mayorEquivalente(int indice) {
+        int corrimiento = Math.max(0, indice / mitad - 1);
+        long subcubeta = indice - (long) mitad * corrimiento;
+        return ((subcubeta + 1) << corrimiento) - 1;
+    }
+
+    public void registrar(double valor) {
+        registrarUnidades(Math.round(valor / resolucion));
+    }
+
+    public void registrarUnidades(long unidades) {
+        long v = Math.max(0, Math.min(VALOR_MAXIMO, unidades));
+        cuentas[indice(v)]++;
+        total++;
+        suma += v;
+        if (v < minimo) {
+            minimo = v;
+        }
+        if (v > maximo) {
+            maximo = v;
+        }
+    }
+
+    public void fusionar(Histograma otro) {
+        if (otro.digitosSignificativos != digitosSignificativos || otro.resolucion != resolucion) {
+            throw new IllegalArgumentException("Solo se pueden fusionar histogramas con la misma configuración.");
+        }
+        for (int i = 0; i < cuentas.length; i++) {
+            cuentas[i] += otro.cuentas[i];
+        }
+        total += otro.total;
+        suma += otro.suma;
+        minimo = Math.min(minimo, otro.minimo);
+        maximo = Math.max(maximo, otro.maximo);
+    }
+
+    //Valor por debajo del cual queda el "percentil" por ciento de las muestras (0 si está vacío)
+    public double percentil(double percentil) {
+        if (total == 0) {
+            return 0;
+        }
+        long objetivo = Math.max(1, (long) Math.ceil(percentil / 100.0 * total));
+        long acumulado = 0;
+        for (int i = 0; i < cuentas.length; i++) {
+            acumulado += cuentas[i];
+            if (acumulado >= objetivo) {
+                return Math.min(mayorEquivalente(i), maximo) * resolucion;
+            }
+        }
+        return maximo * resolucion;
+    }
+
+    public long getCantidad() {
+        return total;
+    }
+
+    public double getMinimo() {
+        return (total == 0) ? 0 : minimo * resolucion;
+    }
+
+    public double getMaximo() {
+        return maximo * resolucion;
+    }
+
+    public double getMedia() {
+        return (total == 0) ? 0 : (double) suma / total * resolucion;
+    }
+
+    //Para los puntos de control: configuración, totales y solo las cubetas con cuentas
+    public void escribirEstado(DataOutput salida) throws IOException {
+        salida.writeInt(digitosSignificativos);
+        salida.writeDouble(resolucion);
+        salida.writeLong(total);
+        salida.writeLong(minimo);
+        salida.writeLong(maximo);
+        salida.writeLong(suma);
+        int ocupadas = 0;
+        for (long c : cuentas) {
+            if (c != 0) {
+                ocupadas++;
+            }
+        }
+        salida.writeInt(ocupadas);
+        for (int i = 0; i < cuentas.length; i++) {
+            if (cuentas[i] != 0) {
+                salida.writeInt(i);
+                salida.writeLong(cuentas[i]);
+            }
+        }
+    }
+
+    public void leerEstado(DataInput entrada) throws IOException {
+        if (entrada.readInt() != digitosSignificativos || entrada.readDouble() != resolucion) {
+            throw new IOException("El histograma guardado tiene otra configuración.");
+        }
+        total = entrada.readLong();
+        minimo = entrada.readLong();
+        maximo = entrada.readLong();
+        suma = entrada.readLong();
+        Arrays.fill(cuentas, 0);
+        int ocupadas = entrada.readInt();
+        for (int j = 0; j < ocupadas; j++) {
+            int i = entrada.readInt();
+            cuentas[i] = entrada.readLong();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("p50=%.2f p90=%.2f p99=%.2f p99.9=%.2f max=%.2f (n=%d)",
+                percentil(50), percentil(90), percentil(99), percentil(99.9), getMaximo(), total);
+    }
+}
@@ -1,49 +1,131 @@
 package com.simulador.models;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 
 //Almacena y calcula las métricas de rendimiento de la simulación.
 public class Metricas {
 
-    private int tiempoCPUDesocupada;
-    private int tiempoCPU_OS; //Tiempo consumido por TIP, TFP, TCP
+    private long tiempoCPUDesocupada;
+    private long tiempoCPU_OS; //Tiempo consumido por TIP, TFP, TCP
     
     //Métricas de la tanda
-    private int tiempoRetornoTanda;
+    private long tiempoRetornoTanda;
     private double tiempoMedioRetornoTanda;
 
+    //Métricas de tiempo real (tareas periódicas)
+    private long trabajosLiberados;
+    private long trabajosCompletados;
+    private long plazosIncumplidos;
+    private long tardanzaMaxima; //Mayor demora de un trabajo terminado respecto de su plazo (0 si todos cumplieron)
+
+    //Ocupación de los niveles de MLFQ: suma, por nivel, de los procesos listos en cada unidad de tiempo
+    private long[] ocupacionNiveles;
+    private long muestrasOcupacion;
+
+    //Distribuciones: retorno y retorno normalizado por proceso, espera por cada paso por la cola de listos
+    //y respuesta (del arribo a la primera vez que el planificador lo elige)
+    private final Histograma histogramaRetorno;
+    private final Histograma histogramaRetornoNormalizado;
+    private final Histograma histogramaEsperaListo;
+    private final Histograma histogramaRespuesta;
+
     public Metricas() {
         this.tiempoCPUDesocupada = 0;
         this.tiempoCPU_OS = 0;
         this.tiempoRetornoTanda = 0;
         this.tiempoMedioRetornoTanda = 0.0;
+        this.histogramaRetorno = new Histograma();
+        this.histogramaRetornoNormalizado = new Histograma(Histograma.DIGITOS_POR_DEFECTO, 0.001);
+        this.histogramaEsperaListo = new Histograma();
+        this.histogramaRespuesta = new Histograma();
+    }
+
+    //Suma las distribuciones de otra corrida a las de esta (para juntar réplicas)
+    public void fusionarDistribuciones(Metricas otra) {
+        histogramaRetorno.fusionar(otra.histogramaRetorno);
+        histogramaRetornoNormalizado.fusionar(otra.histogramaRetornoNormalizado);
+        histogramaEsperaListo.fusionar(otra.histogramaEsperaListo);
+        histogramaRespuesta.fusionar(otra.histogramaRespuesta);
     }
     
+    //Para los puntos de control: todos los contadores, en un orden fijo
+    public void escribirEstado(DataOutput salida) throws IOException {
+        salida.writeLong(tiempoCPUDesocupada);
+        salida.writeLong(tiempoCPU_OS);
+        salida.writeLong(tiempoRetornoTanda);
+        salida.writeDouble(tiempoMedioRetornoTanda);
+        salida.writeLong(trabajosLiberados);
+        salida.writeLong(trabajosCompletados);
+        salida.writeLong(plazosIncumplidos);
+        salida.writeLong(tardanzaMaxima);
+        salida.writeInt(ocupacionNiveles == null ? -1 : ocupacionNiveles.length);
+        if (ocupacionNiveles != null) {
+            for (long ocupacion : ocupacionNiveles) {
+                salida.writeLong(ocupacion);
+            }
+        }
+        salida.writeLong(muestrasOcupacion);
+        histogramaRetorno.escribirEstado(salida);
+        histogramaRetornoNormalizado.escribirEstado(salida);
+        histogramaEsperaListo.escribirEstado(salida);
+        histogramaRespuesta.escribirEstado(salida);
+    }
+
+    public void leerEstado(DataInput entrada) throws IOException {
+        tiempoCPUDesocupada = entrada.readLong();
+        tiempoCPU_OS = entrada.readLong();
+        tiempoRetornoTanda = entrada.readLong();
+        tiempoMedioRetornoTanda = entrada.readDouble();
+        trabajosLiberados = entrada.readLong();
+        trabajosCompletados = entrada.readLong();
+        plazosIncumplidos = entrada.readLong();
+        tardanzaMaxima = entrada.readLong();
+        int niveles = entrada.readInt();
+        ocupacionNiveles = (niveles < 0) ? null : new long[niveles];
+        for (int i = 0; i < niveles; i++) {
+            ocupacionNiveles[i] = entrada.readLong();
+        }
+        muestrasOcupacion = entrada.readLong();
+        histogramaRetorno.leerEstado(entrada);
+        histogramaRetornoNormalizado.leerEstado(entrada);
+        histogramaEsperaListo.leerEstado(entrada);
+        histogramaRespuesta.leerEstado(entrada);
+    }
+
     //Getters y Setters
     public void incrementarTiempoCPUDesocupada() {
         this.tiempoCPUDesocupada++;
     }
 
-    public int getTiempoCPUDesocupada() {
+    //Varias unidades seguidas de una vez (cuando el simulador saltea tiempo sin sucesos)
+    public void sumarTiempoCPUDesocupada(long unidades) {
+        this.tiempoCPUDesocupada += unidades;
+    }
+
+    public long getTiempoCPUDesocupada() {
         return tiempoCPUDesocupada;
     }
 
-    public void setTiempoCPUDesocupada(int tiempoCPUDesocupada) {
+    public void setTiempoCPUDesocupada(long tiempoCPUDesocupada) {
         this.tiempoCPUDesocupada = tiempoCPUDesocupada;
     }
 
-    public int getTiempoCPU_OS() {
+    public long getTiempoCPU_OS() {
         return tiempoCPU_OS;
     }
 
-    public void setTiempoCPU_OS(int tiempoCPU_OS) {
+    public void setTiempoCPU_OS(long tiempoCPU_OS) {
         this.tiempoCPU_OS = tiempoCPU_OS;
     }
 
-    public int getTiempoRetornoTanda() {
+    public long getTiempoRetornoTanda() {
         return tiempoRetornoTanda;
     }
 
-    public void setTiempoRetornoTanda(int tiempoRetornoTanda) {
+    public void setTiempoRetornoTanda(long tiempoRetornoTanda) {
         this.tiempoRetornoTanda = tiempoRetornoTanda;
     }
 
@@ -58,6 +140,100 @@ public class Metricas {
     public void incrementarTiempoCPU_OS() {
         this.tiempoCPU_OS++;
     }
+
+    public void sumarTiempoCPU_OS(long unidades) {
+        this.tiempoCPU_OS += unidades;
+    }
+
+    public void incrementarTrabajosLiberados() {
+        this.trabajosLiberados++;
+    }
+
+    public void incrementarTrabajosCompletados() {
+        this.trabajosCompletados++;
+    }
+
+    public void incrementarPlazosIncumplidos() {
+        this.plazosIncumplidos++;
+    }
+
+    public void registrarTardanza(long tardanza) {
+        this.tardanzaMaxima = Math.max(this.tardanzaMaxima, tardanza);
+    }
+
+    public long getTrabajosLiberados() {
+        return trabajosLiberados;
+    }
+
+    public void setTrabajosLiberados(long trabajosLiberados) {
+        this.trabajosLiberados = trabajosLiberados;
+    }
+
+    public long getTrabajosCompletados() {
+        return trabajosCompletados;
+    }
+
+    public void setTrabajosCompletados(long trabajosCompletados) {
+        this.trabajosCompletados = trabajosCompletados;
+    }
+
+    public long getPlazosIncumplidos() {
+        return plazosIncumplidos;
+    }
+
+    public void setPlazosIncumplidos(long plazosIncumplidos) {
+        this.plazosIncumplidos = plazosIncumplidos;
+    }
+
+    public void inicializarOcupacionNiveles(int niveles) {
+        this.ocupacionNiveles = new long[niveles];
+        this.muestrasOcupacion = 0;
+    }
+
+    public void sumarMuestrasOcupacion(long muestras) {
+        this.muestrasOcupacion += muestras;
+    }
+
+    //Cantidad media de procesos listos en el nivel indicado, 0 si no hay datos
+    public double getOcupacionMediaNivel(int nivel) {
+        if (ocupacionNiveles == null || muestrasOcupacion == 0) {
+            return 0;
+        }
+        return (double) ocupacionNiveles[nivel] / muestrasOcupacion;
+    }
+
+    //null si el planificador no tiene niveles
+    public long[] getOcupacionNiveles() {
+        return ocupacionNiveles;
+    }
+
+    public long getMuestrasOcupacion() {
+        return muestrasOcupacion;
+    }
+
+    public long getTardanzaMaxima() {
+        return tardanzaMaxima;
+    }
+
+    public void setTardanzaMaxima(long tardanzaMaxima) {
+        this.tardanzaMaxima = tardanzaMaxima;
+    }
+
+    public Histograma getHistogramaRetorno() {
+        return histogramaRetorno;
+    }
+
+    public Histograma getHistogramaRetornoNormalizado() {
+        return histogramaRetornoNormalizado;
+    }
+
+    public Histograma getHistogramaEsperaListo() {
+        return histogramaEsperaListo;
+    }
+
+    public Histograma getHistogramaRespuesta() {
+        return histogramaRespuesta;
+    }
     
     
 }
\ No newline at end of file
@@ -1,78 +1,93 @@
 package com.simulador.models;
 
+import java.util.SplittableRandom;
+
 import com.google.gson.annotations.SerializedName;
 
 //SerializedName es una instruccion para Gson para mapear los nombres de los atributos JSON a los atributos Java
+//Los tiempos y duraciones están en la unidad de tiempo de la simulación (ver UnidadTiempo) y son long:
+//con microsegundos o nanosegundos un int se desborda en minutos (o segundos) de tiempo simulado.
 public class Proceso {
     @SerializedName("nombre")
     private String nombre;
 
     @SerializedName("tiempo_arribo")
-    private int tiempoArribo;
+    private long tiempoArribo;
 
     @SerializedName("cantidad_rafagas_cpu")
     private int cantidadRafagasCPU;
 
     @SerializedName("duracion_rafaga_cpu")
-    private int duracionRafagaCPU;
+    private long duracionRafagaCPU;
 
     @SerializedName("duracion_rafaga_es")
-    private int duracionRafagaES; 
+    private long duracionRafagaES; 
 
     @SerializedName("prioridad_externa")
     private int prioridadExterna;
-    
-    //Atributos de estado
-    private int rafagasRestantes;
-    private int tiempoRestanteRafagaCPU;
-    private int tiempoRestanteES;
-    private int pid;
-    private String estado;
-    private int tiempoFinEjecucion;
-    private int tiempoEnEstadoListo;
-    private int tiempoRestanteTIP;
-    private boolean fueInterrumpido;
 
+    //Opcionales: duración de cada ráfaga, en orden (para cargas sacadas de una traza). Si están, mandan
+    //sobre la cantidad y las duraciones fijas; la E/S i va después de la ráfaga de CPU i
+    @SerializedName("rafagas_cpu")
+    private long[] rafagasCPU;
+
+    @SerializedName("rafagas_es")
+    private long[] rafagasES;
+
+    //Opcionales: si están, la duración de la ráfaga se sortea en cada réplica en lugar de usar la fija
+    @SerializedName("distribucion_rafaga_cpu")
+    private Distribucion distribucionRafagaCPU;
+
+    @SerializedName("distribucion_rafaga_es")
+    private Distribucion distribucionRafagaES;
+    
     public Proceso() {
         //Vacio para el Gson    
     }
 
     public Proceso(Proceso otro) {
-      //Copiamos los atributos de definición
+      //Solo hay atributos de definición; el estado de cada corrida vive en EstadoProcesos
       this.nombre = otro.nombre;
       this.tiempoArribo = otro.tiempoArribo;
       this.cantidadRafagasCPU = otro.cantidadRafagasCPU;
       this.duracionRafagaCPU = otro.duracionRafagaCPU;
       this.duracionRafagaES = otro.duracionRafagaES;
       this.prioridadExterna = otro.prioridadExterna;
-
-      //También copiamos los atributos de estado 
-      this.pid = otro.pid;
-      this.estado = otro.estado;
-      this.rafagasRestantes = otro.rafagasRestantes;
-      this.tiempoRestanteRafagaCPU = otro.tiempoRestanteRafagaCPU;
-      this.tiempoRestanteES = otro.tiempoRestanteES;
-      this.tiempoRestanteTIP = otro.tiempoRestanteTIP;
-      this.fueInterrumpido = otro.fueInterrumpido;
-    
-      //métricas
-      this.tiempoFinEjecucion = otro.tiempoFinEjecucion;
-      this.tiempoEnEstadoListo = otro.tiempoEnEstadoListo;
+      this.rafagasCPU = (otro.rafagasCPU != null) ? otro.rafagasCPU.clone() : null;
+      this.rafagasES = (otro.rafagasES != null) ? otro.rafagasES.clone() : null;
+      this.distribucionRafagaCPU = (otro.distribucionRafagaCPU != null) ? new Distribucion(otro.distribucionRafagaCPU) : null;
+      this.distribucionRafagaES = (otro.distribucionRafagaES != null) ? new Distribucion(otro.distribucionRafagaES) : null;
+    }
+
+    public boolean esEstocastico() {
+        return distribucionRafagaCPU != null || distribucionRafagaES != null;
+    }
+
+    /*
+       Copia con las duraciones sorteadas de "random" ráfaga por ráfaga, como secuencia explícita
+       (el resto de la definición queda igual). Siempre consume los números en el mismo orden, todas
+       las de CPU y después todas las de E/S, para que con la misma semilla salga la misma muestra.
+       Si el proceso ya trae su secuencia de ráfagas, las distribuciones no se usan.
+     */
+    public Proceso muestrear(SplittableRandom random) {
+        Proceso muestra = new Proceso(this);
+        muestra.distribucionRafagaCPU = null;
+        muestra.distribucionRafagaES = null;
+        if (!esEstocastico() || rafagasCPU != null) {
+            return muestra;
+        }
+        int cantidad = cantidadRafagasCPU;
+        muestra.rafagasCPU = new long[cantidad];
+        muestra.rafagasES = new long[Math.max(0, cantidad - 1)]; //Después de la última ráfaga no hay E/S
+        for (int i = 0; i < muestra.rafagasCPU.length; i++) {
+            muestra.rafagasCPU[i] = (distribucionRafagaCPU != null) ? distribucionRafagaCPU.muestrear(random, 1) : duracionRafagaCPU;
+        }
+        for (int i = 0; i < muestra.rafagasES.length; i++) {
+            muestra.rafagasES[i] = (distribucionRafagaES != null) ? distribucionRafagaES.muestrear(random, 0) : duracionRafagaES;
+        }
+        return muestra;
     }
 
-
-    public void inicializarParaSimulacion(int pid) {
-        this.pid = pid;
-        this.estado = "NO_LLEGADO";
-        this.rafagasRestantes = this.cantidadRafagasCPU;
-        this.tiempoRestanteRafagaCPU = this.duracionRafagaCPU;
-        this.tiempoRestanteES = this.duracionRafagaES;
-        this.tiempoFinEjecucion = 0;
-        this.tiempoEnEstadoListo = 0;
-        this.tiempoRestanteTIP = 0;
-        this.fueInterrumpido = false;
-    }
-    
     //Getters y Setters
     public String getNombre() {
         return nombre;
@@ -82,35 +97,35 @@ public class Proceso {
         this.nombre = nombre;
     }
 
-    public int getTiempoArribo() {
+    public long getTiempoArribo() {
         return tiempoArribo;
     }
 
-    public void setTiempoArribo(int tiempoArribo) {
+    public void setTiempoArribo(long tiempoArribo) {
         this.tiempoArribo = tiempoArribo;
     }
 
     public int getCantidadRafagasCPU() {
-        return cantidadRafagasCPU;
+        return (rafagasCPU != null) ? rafagasCPU.length : cantidadRafagasCPU;
     }
 
     public void setCantidadRafagasCPU(int cantidadRafagasCPU) {
         this.cantidadRafagasCPU = cantidadRafagasCPU;
     }
 
-    public int getDuracionRafagaCPU() {
+    public long getDuracionRafagaCPU() {
         return duracionRafagaCPU;
     }
 
-    public void setDuracionRafagaCPU(int duracionRafagaCPU) {
+    public void setDuracionRafagaCPU(long duracionRafagaCPU) {
         this.duracionRafagaCPU = duracionRafagaCPU;
     }
 
-    public int getDuracionRafagaES() {
+    public long getDuracionRafagaES() {
         return duracionRafagaES;
     }
 
-    public void setDuracionRafagaES(int duracionRafagaES) {
+    public void setDuracionRafagaES(long duracionRafagaES) {
         this.duracionRafagaES = duracionRafagaES;
     }
 
@@ -122,75 +137,39 @@ public class Proceso {
         this.prioridadExterna = prioridadExterna;
     }
 
-    public int getPid() {
-        return pid;
-    }
-
-    public void setPid(int pid) {
-        this.pid = pid;
-    }
-
-    public String getEstado() {
-        return estado;
+    public boolean tieneSecuenciaRafagas() {
+        return rafagasCPU != null;
     }
 
-    public void setEstado(String estado) {
-        this.estado = estado;
+    public long[] getRafagasCPU() {
+        return rafagasCPU;
     }
 
-    public int getRafagasRestantes() {
-        return rafagasRestantes;
+    public void setRafagasCPU(long[] rafagasCPU) {
+        this.rafagasCPU = rafagasCPU;
     }
 
-    public void setRafagasRestantes(int rafagasRestantes) {
-        this.rafagasRestantes = rafagasRestantes;
+    public long[] getRafagasES() {
+        return rafagasES;
     }
 
-    public int getTiempoRestanteRafagaCPU() {
-        return tiempoRestanteRafagaCPU;
+    public void setRafagasES(long[] rafagasES) {
+        this.rafagasES = rafagasES;
     }
 
-    public void setTiempoRestanteRafagaCPU(int tiempoRestanteRafagaCPU) {
-        this.tiempoRestanteRafagaCPU = tiempoRestanteRafagaCPU;
+    public Distribucion getDistribucionRafagaCPU() {
+        return distribucionRafagaCPU;
     }
 
-    public int getTiempoRestanteES() {
-        return tiempoRestanteES;
+    public void setDistribucionRafagaCPU(Distribucion distribucionRafagaCPU) {
+        this.distribucionRafagaCPU = distribucionRafagaCPU;
     }
 
-    public void setTiempoRestanteES(int tiempoRestanteES) {
-        this.tiempoRestanteES = tiempoRestanteES;
-    }
-
-    public int getTiempoFinEjecucion() {
-        return tiempoFinEjecucion;
-    }
-
-    public void setTiempoFinEjecucion(int tiempoFinEjecucion) {
-        this.tiempoFinEjecucion = tiempoFinEjecucion;
-    }
-
-    public int getTiempoEnEstadoListo() {
-        return tiempoEnEstadoListo;
-    }
-
-    public void setTiempoEnEstadoListo(int tiempoEnEstadoListo) {
-        this.tiempoEnEstadoListo = tiempoEnEstadoListo;
-    }
-
-    public int getTiempoRestanteTIP() {
-        return tiempoRestanteTIP;
-    }
-
-    public void setTiempoRestanteTIP(int tiempoRestanteTIP) {
-        this.tiempoRestanteTIP = tiempoRestanteTIP;
-    }
-    
-    public boolean GetfueInterrumpido() {
-        return fueInterrumpido;
+    public Distribucion getDistribucionRafagaES() {
+        return distribucionRafagaES;
     }
 
-    public void setFueInterrumpido(boolean fueInterrumpido) {
-        this.fueInterrumpido = fueInterrumpido;
+    public void setDistribucionRafagaES(Distribucion distribucionRafagaES) {
+        this.distribucionRafagaES = distribucionRafagaES;
     }
-}
\ No newline at end of file
+}
@@ -1,19 +1,32 @@
 package com.simulador.models;
 
 
-//Almacena los parámetros de configuración del sistema operativo (TIP, TFP, etc.).
+/*
+   Almacena los parámetros de configuración del sistema operativo (TIP, TFP, etc.).
+   TIP, TFP, TCP y quantum siguen siendo int aunque el tiempo simulado sea long: son duraciones cortas
+   que entran holgadas aun en nanosegundos (un int llega a más de dos segundos).
+ */
 public class SystemParams {
 
     private int tip; //Tiempo de ingreso de proceso
     private int tfp; //Tiempo de finalización de proceso
     private int tcp; //Tiempo de cambio de proceso
     private int quantum; //Para Round Robin
+    private long semilla; //Para los planificadores con sorteo, misma semilla = misma simulación
+    private UnidadTiempo unidad = UnidadTiempo.UNIDAD; //Solo cambia cómo se muestran los tiempos, no la simulación
+
+    public static final long SEMILLA_POR_DEFECTO = 42L;
 
     public SystemParams(int tip, int tfp, int tcp, int quantum) {
+        this(tip, tfp, tcp, quantum, SEMILLA_POR_DEFECTO);
+    }
+
+    public SystemParams(int tip, int tfp, int tcp, int quantum, long semilla) {
         this.tip = tip;
         this.tfp = tfp;
         this.tcp = tcp;
         this.quantum = quantum;
+        this.semilla = semilla;
     }
     //Getters y Setters
     public int getTip() {
@@ -48,5 +61,21 @@ public class SystemParams {
         this.quantum = quantum;
     }
 
+    public long getSemilla() {
+        return semilla;
+    }
+
+    public void setSemilla(long semilla) {
+        this.semilla = semilla;
+    }
+
+    public UnidadTiempo getUnidad() {
+        return unidad;
+    }
+
+    public void setUnidad(UnidadTiempo unidad) {
+        this.unidad = unidad;
+    }
+
     
 }
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.simulador.models;
+
+import com.google.gson.annotations.SerializedName;
+
+/*
+   Define una tarea periódica de tiempo real: cada "periodo" unidades libera un trabajo que
+   necesita a lo sumo "wcet" unidades de CPU y debe terminar antes de "plazo" unidades desde
+   su liberación. La primera liberación ocurre en "fase".
+   Los trabajos no se guardan acá, el simulador los genera a medida que se liberan.
+ */
+public class TareaPeriodica {
+    @SerializedName("nombre")
+    private String nombre;
+
+    @SerializedName("periodo")
+    private long periodo;
+
+    @SerializedName("plazo")
+    private long plazo; //Plazo relativo, si no se indica es igual al periodo
+
+    @SerializedName("wcet")
+    private long wcet; //Tiempo de ejecución en el peor caso
+
+    @SerializedName("fase")
+    private long fase;
+
+    public TareaPeriodica() {
+        //Vacio para el Gson
+    }
+
+    public TareaPeriodica(String nombre, long periodo, long plazo, long wcet, long fase) {
+        this.nombre = nombre;
+        this.periodo = periodo;
+        this.plazo = plazo;
+        this.wcet = wcet;
+        this.fase = fase;
+    }
+
+    //Plazo relativo efectivo (plazo implícito = periodo cuando no se cargó)
+    public long getPlazoRelativo() {
+        return (plazo > 0) ? plazo : periodo;
+    }
+
+    //Fracción de CPU que pide la tarea
+    public double getUtilizacion() {
+        return (double) wcet / periodo;
+    }
+
+    //Getters y Setters
+    public String getNombre() {
+        return nombre;
+    }
+
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public long getPeriodo() {
+        return periodo;
+    }
+
+    public void setPeriodo(long periodo) {
+        this.periodo = periodo;
+    }
+
+    public long getPlazo() {
+        return plazo;
+    }
+
+    public void setPlazo(long plazo) {
+        this.plazo = plazo;
+    }
+
+    public long getWcet() {
+        return wcet;
+    }
+
+    public void setWcet(long wcet) {
+        this.wcet = wcet;
+    }
+
+    public long getFase() {
+        return fase;
+    }
+
+    public void setFase(long fase) {
+        this.fase = fase;
+    }
+}
@@ -0,0 +1,375 @@
+package com.simulador.models;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/*
+   Series de tiempo del sistema simulado (largo de la cola de listos, bloqueados, reparto de la CPU
+   entre procesos, SO y ociosa, y despachos por unidad de tiempo), muestreadas una vez por unidad de tiempo
+   y agregadas por ventanas. De cada ventana se guarda la suma y el máximo de cada serie.
+
+   La memoria no depende del largo de la corrida: hay NIVELES resoluciones, cada una un buffer circular de
+   "capacidad" ventanas. Las ventanas del nivel 0 son de "ventana" unidades; cada FACTOR ventanas de un nivel
+   forman una del siguiente, así los niveles finos tienen el detalle de lo último y los gruesos más historia.
+   El último nivel no descarta: cuando se llena junta las ventanas de a pares (y duplica su ancho), así
+   siempre cubre la corrida entera y hay con qué dibujarla completa.
+
+   Un tramo de unidades iguales (el simulador saltea de una vez los tramos sin sucesos) se registra en una sola
+   llamada: las ventanas completas e iguales pasan juntas al nivel de arriba y de cada nivel se guardan solo las
+   que entran en el buffer, así el costo depende de los cambios y no del largo del tramo. Como las muestras son
+   enteras, las sumas dan exactamente lo mismo que registrando unidad por unidad.
+ */
+public class Telemetria {
+
+    public static final int LISTOS = 0;
+    public static final int BLOQUEADOS = 1;
+    public static final int CPU_PROCESOS = 2; //Fracción del tiempo en que la CPU no estuvo ociosa ni en el SO
+    public static final int CPU_SO = 3; //TIP, TCP y TFP, contados como en Metricas
+    public static final int CPU_OCIOSA = 4; //Contada como en Metricas
+    public static final int DESPACHOS = 5; //Por unidad de tiempo
+
+    public static final String[] NOMBRES = {"listos", "bloqueados", "cpu_procesos", "cpu_so", "cpu_ociosa", "despachos"};
+    public static final int SERIES = NOMBRES.length;
+
+    public static final int NIVELES = 6;
+    public static final int FACTOR = 4;
+    public static final int CAPACIDAD_POR_DEFECTO = 512;
+
+    private final long tiempoInicio;
+    private final int capacidad;
+    private final Nivel[] niveles = new Nivel[NIVELES];
+    private final double[] muestra = new double[SERIES];
+    private boolean finalizada;
+
+    //Las ventanas empiezan en "tiempoInicio" (0, salvo que la corrida se haya reanudado de un punto de control)
+    public Telemetria(long tiempoInicio, int ventana, int capacidad) {
+        if (ventana <= 0 || capacidad < 2 || capacidad % 2 != 0) {
+            throw new IllegalArgumentException("La ventana debe ser positiva y la capacidad par y de al menos 2.");
+        }
+        this.tiempoInicio = tiempoInicio;
+        this.capacidad = capacidad;
+        long ancho = ventana;
+        for (int n = 0; n < NIVELES; n++) {
+            niveles[n] = new Nivel(ancho, (n == 0) ? ventana : FACTOR);
+            ancho *= FACTOR;
+        }
+    }
+
+    //Una unidad de tiempo; "cpu" es CPU_PROCESOS, CPU_SO o CPU_OCIOSA
+    public void registrar(int listos, int bloqueados, int cpu, int despachos) {
+        armarMuestra(listos, bloqueados, cpu, despachos);
+        acumular(0, muestra, muestra, 1);
+    }
+
+    //"unidades" unidades de tiempo seguidas con los mismos valores
+    public void registrar(int listos, int bloqueados, int cpu, int despachos, long unidades) {
+        armarMuestra(listos, bloqueados, cpu, despachos);
+        if (unidades == 1) {
+            acumular(0, muestra, muestra, 1);
+        } else {
+            acumularIguales(0, muestra, muestra, 1, unidades);
+        }
+    }
+
+    private void armarMuestra(int listos, int bloqueados, int cpu, int despachos) {
+        if (finalizada) {
+            throw new IllegalStateException("La telemetría ya se cerró.");
+        }
+        muestra[LISTOS] = listos;
+        muestra[BLOQUEADOS] = bloqueados;
+        muestra[CPU_PROCESOS] = (cpu == CPU_PROCESOS) ? 1 : 0;
+        muestra[CPU_SO] = (cpu == CPU_SO) ? 1 : 0;
+        muestra[CPU_OCIOSA] = (cpu == CPU_OCIOSA) ? 1 : 0;
+        muestra[DESPACHOS] = despachos;
+    }
+
+    //Suma una muestra (o una ventana del nivel de abajo) a la ventana en curso del nivel y la cierra si se completó
+    private void acumular(int n, double[] suma, double[] maximo, long muestras) {
+        Nivel nivel = niveles[n];
+        for (int s = 0; s < SERIES; s++) {
+            nivel.sumaEnCurso[s] += suma[s];
+            nivel.maximoEnCurso[s] = (nivel.partesEnCurso == 0) ? maximo[s] : Math.max(nivel.maximoEnCurso[s], maximo[s]);
+        }
+        nivel.muestrasEnCurso += muestras;
+        if (++nivel.partesEnCurso == nivel.partes) {
+            cerrarVentana(n);
+        }
+    }
+
+    //Suma "veces" partes iguales: completa la ventana en curso, pasa las ventanas enteras juntas y deja el resto en curso
+    private void acumularIguales(int n, double[] suma, double[] maximo, long muestras, long veces) {
+        Nivel nivel = niveles[n];
+        while (veces > 0) {
+            if (nivel.partesEnCurso == 0 && veces >= nivel.partes && n + 1 < NIVELES) {
+                long completas = veces / nivel.partes;
+                double[] sumaVentana = new double[SERIES];
+                for (int s = 0; s < SERIES; s++) {
+                    sumaVentana[s] = suma[s] * nivel.partes;
+                }
+                long muestrasVentana = muestras * nivel.partes;
+                acumularIguales(n + 1, sumaVentana, maximo, muestrasVentana, completas);
+                nivel.agregarIguales(sumaVentana, maximo, muestrasVentana, completas, capacidad);
+                veces -= completas * nivel.partes;
+                continue;
+            }
+            //El último nivel va de a una ventana porque al compactarse cambia cuántas partes lleva cada una
+            long partes = Math.min(veces, nivel.partes - nivel.partesEnCurso);
+            for (int s = 0; s < SERIES; s++) {
+                nivel.sumaEnCurso[s] += suma[s] * partes;
+                nivel.maximoEnCurso[s] = (nivel.partesEnCurso == 0) ? maximo[s] : Math.max(nivel.maximoEnCurso[s], maximo[s]);
+            }
+            nivel.muestrasEnCurso += muestras * partes;
+            nivel.partesEnCurso += partes;
+            veces -= partes;
+            if (nivel.partesEnCurso == nivel.partes) {
+                cerrarVentana(n);
+            }
+        }
+    }
+
+    private void cerrarVentana(int n) {
+        Nivel nivel = niveles[n];
+        if (n + 1 < NIVELES) {
+            acumular(n + 1, nivel.sumaEnCurso, nivel.maximoEnCurso, nivel.muestrasEnCurso);
+        }
+        nivel.agregar(capacidad);
+        if (n == NIVELES - 1 && nivel.cantidad == capacidad) {
+            nivel.compactar();
+        }
+    }
+
+    //Cierra las ventanas incompletas del final (quedan con menos muestras); después no se puede registrar más
+    public void finalizar() {
+        if (finalizada) {
+            return;
+        }
+        finalizada = true;
+        for (int n = 0; n < NIVELES; n++) {
+            if (niveles[n].partesEnCurso > 0) {
+                cerrarVentana(n);
+            }
+        }
+    }
+
+    public long getTiempoInicio() {
+        return tiempoInicio;
+    }
+
+    public long getAncho(int nivel) {
+        return niveles[nivel].ancho;
+    }
+
+    //Ventanas guardadas en el nivel, de la más vieja (0) a la más nueva
+    public int getCantidad(int nivel) {
+        return niveles[nivel].cantidad;
+    }
+
+    //Instante en que empieza la ventana i del nivel
+    public long getInicio(int nivel, int i) {
+        Nivel nv = niveles[nivel];
+        return tiempoInicio + (nv.cerradas - nv.cantidad + i) * nv.ancho;
+    }
+
+    //Unidades de tiempo registradas en la ventana (menos que el ancho solo en la última, si la corrida terminó antes)
+    public long getMuestras(int nivel, int i) {
+        Nivel nv = niveles[nivel];
+        return nv.muestras[nv.posicion(i, capacidad)];
+    }
+
+    public double getMedia(int nivel, int i, int serie) {
+        Nivel nv = niveles[nivel];
+        int p = nv.posicion(i, capacidad);
+        return (nv.muestras[p] == 0) ? 0 : nv.suma[serie][p] / nv.muestras[p];
+    }
+
+    public double getMaximo(int nivel, int i, int serie) {
+        Nivel nv = niveles[nivel];
+        return nv.maximo[serie][nv.posicion(i, capacidad)];
+    }
+
+    //El nivel más fino que todavía guarda el instante "desde" (el último siempre lo guarda)
+    public int nivelQueCubre(long desde) {
+        for (int n = 0; n < NIVELES - 1; n++) {
+            if (niveles[n].cantidad > 0 && getInicio(n, 0) <= desde) {
+                return n;
+            }
+        }
+        return NIVELES - 1;
+    }
+
+    //Máximo de la serie en toda la corrida, para la escala de los gráficos
+    public double getMaximoTotal(int serie) {
+        int n = NIVELES - 1;
+        double maximo = 0;
+        for (int i = 0; i < getCantidad(n); i++) {
+            maximo = Math.max(maximo, getMaximo(n, i, serie));
+        }
+        return maximo;
+    }
+
+    //Para la caché de resultados: todas las ventanas guardadas, de la más vieja a la más nueva, y las que están en curso
+    public void escribirEstado(DataOutput salida) throws IOException {
+        salida.writeLong(tiempoInicio);
+        salida.writeInt((int) niveles[0].partes); //El nivel 0 nunca se compacta: sus partes son la ventana
+        salida.writeInt(capacidad);
+        salida.writeBoolean(finalizada);
+        for (Nivel nivel : niveles) {
+            salida.writeLong(nivel.ancho);
+            salida.writeLong(nivel.partes);
+            salida.writeLong(nivel.cerradas);
+            salida.writeInt(nivel.cantidad);
+            for (int i = 0; i < nivel.cantidad; i++) {
+                int p = nivel.posicion(i, capacidad);
+                salida.writeLong(nivel.muestras[p]);
+                for (int s = 0; s < SERIES; s++) {
+                    salida.writeDouble(nivel.suma[s][p]);
+                    salida.writeFloat(nivel.maximo[s][p]);
+                }
+            }
+            salida.writeLong(nivel.muestrasEnCurso);
+            salida.writeLong(nivel.partesEnCurso);
+            for (int s = 0; s < SERIES; s++) {
+                salida.writeDouble(nivel.sumaEnCurso[s]);
+                salida.writeDouble(nivel.maximoEnCurso[s]);
+            }
+        }
+    }
+
+    public static Telemetria leerEstado(DataInput entrada) throws IOException {
+        Telemetria telemetria = new Telemetria(entrada.readLong(), entrada.readInt(), entrada.readInt());
+        telemetria.finalizada = entrada.readBoolean();
+        for (Nivel nivel : telemetria.niveles) {
+            nivel.ancho = entrada.readLong();
+            nivel.partes = entrada.readLong();
+            long cerradas = entrada.readLong();
+            int cantidad = entrada.readInt();
+            if (cantidad < 0 || cantidad > telemetria.capacidad) {
+                throw new IOException("Cantidad de ventanas inválida: " + cantidad);
+            }
+            for (int i = 0; i < cantidad; i++) { //Quedan desde la posición 0, como un buffer que no descartó
+                nivel.muestrasEnCurso = entrada.readLong();
+                for (int s = 0; s < SERIES; s++) {
+                    nivel.sumaEnCurso[s] = entrada.readDouble();
+                    nivel.maximoEnCurso[s] = entrada.readFloat();
+                }
+                nivel.agregar(telemetria.capacidad);
+            }
+            nivel.cerradas = cerradas;
+            nivel.muestrasEnCurso = entrada.readLong();
+            nivel.partesEnCurso = entrada.readLong();
+            for (int s = 0; s < SERIES; s++) {
+                nivel.sumaEnCurso[s] = entrada.readDouble();
+                nivel.maximoEnCurso[s] = entrada.readDouble();
+            }
+        }
+        return telemetria;
+    }
+
+    //Un nivel: buffer circular de ventanas cerradas y la ventana que se está armando
+    private static class Nivel {
+        private long ancho;
+        private long partes; //Cuántas muestras (nivel 0) o ventanas del nivel de abajo forman una ventana
+        private double[][] suma; //[serie][posición]; se piden al cerrar la primera ventana y crecen hasta la capacidad
+        private float[][] maximo;
+        private long[] muestras;
+        private int primera;
+        private int cantidad;
+        private long cerradas; //Ventanas cerradas desde el principio, contando las que ya se descartaron
+
+        private final double[] sumaEnCurso = new double[SERIES];
+        private final double[] maximoEnCurso = new double[SERIES];
+        private long muestrasEnCurso;
+        private long partesEnCurso;
+
+        private Nivel(long ancho, long partes) {
+            this.ancho = ancho;
+            this.partes = partes;
+        }
+
+        private int posicion(int i, int capacidad) {
+            if (i < 0 || i >= cantidad) {
+                throw new IndexOutOfBoundsException("Ventana " + i + " de " + cantidad);
+            }
+            return (primera + i) % capacidad;
+        }
+
+        //Guarda la ventana en curso, pisando la más vieja si el buffer está lleno
+        private void agregar(int capacidad) {
+            reservar(cantidad + 1, capacidad);
+            int p = (primera + cantidad) % capacidad;
+            if (cantidad == capacidad) {
+                primera = (primera + 1) % capacidad;
+            } else {
+                cantidad++;
+            }
+            for (int s = 0; s < SERIES; s++) {
+                suma[s][p] = sumaEnCurso[s];
+                maximo[s][p] = (float) maximoEnCurso[s];
+                sumaEnCurso[s] = 0;
+                maximoEnCurso[s] = 0;
+            }
+            muestras[p] = muestrasEnCurso;
+            muestrasEnCurso = 0;
+            partesEnCurso = 0;
+            cerradas++;
+        }
+
+        //Crece de a duplicar hasta "necesarias" ventanas: una corrida corta no paga la capacidad entera
+        private void reservar(int necesarias, int capacidad) {
+            if (suma == null) {
+                suma = new double[SERIES][];
+                maximo = new float[SERIES][];
+                muestras = new long[0];
+            }
+            if (necesarias > muestras.length && muestras.length < capacidad) { //Mientras no se llenó, "primera" es 0
+                int largo = Math.min(capacidad, Math.max(Math.max(16, muestras.length * 2), necesarias));
+                for (int s = 0; s < SERIES; s++) {
+                    suma[s] = (suma[s] == null) ? new double[largo] : Arrays.copyOf(suma[s], largo);
+                    maximo[s] = (maximo[s] == null) ? new float[largo] : Arrays.copyOf(maximo[s], largo);
+                }
+                muestras = Arrays.copyOf(muestras, largo);
+            }
+        }
+
+        /*
+           Guarda "veces" ventanas iguales seguidas (la en curso tiene que estar vacía). De las que no entran
+           en el buffer solo se cuentan las cerradas; las que sí, se escriben en uno o dos tramos contiguos.
+         */
+        private void agregarIguales(double[] suma, double[] maximo, long muestras, long veces, int capacidad) {
+            int guardadas = (int) Math.min(veces, capacidad);
+            reservar(cantidad + guardadas, capacidad);
+            int desde = (primera + cantidad) % capacidad;
+            int primerTramo = Math.min(guardadas, capacidad - desde);
+            for (int s = 0; s < SERIES; s++) {
+                Arrays.fill(this.suma[s], desde, desde + primerTramo, suma[s]);
+                Arrays.fill(this.suma[s], 0, guardadas - primerTramo, suma[s]);
+                Arrays.fill(this.maximo[s], desde, desde + primerTramo, (float) maximo[s]);
+                Arrays.fill(this.maximo[s], 0, guardadas - primerTramo, (float) maximo[s]);
+            }
+            Arrays.fill(this.muestras, desde, desde + primerTramo, muestras);
+            Arrays.fill(this.muestras, 0, guardadas - primerTramo, muestras);
+            int sobrantes = Math.max(0, cantidad + guardadas - capacidad); //Las más viejas que se pisaron
+            primera = (primera + sobrantes) % capacidad;
+            cantidad = Math.min(capacidad, cantidad + guardadas);
+            cerradas += veces;
+        }
+
+        //Junta las ventanas de a pares: la mitad de ventanas, del doble de ancho (solo el último nivel, recién llenado)
+        private void compactar() {
+            int mitad = cantidad / 2;
+            for (int i = 0; i < mitad; i++) { //El último nivel nunca descartó, así que "primera" es 0
+                for (int s = 0; s < SERIES; s++) {
+                    suma[s][i] = suma[s][2 * i] + suma[s][2 * i + 1];
+                    maximo[s][i] = Math.max(maximo[s][2 * i], maximo[s][2 * i + 1]);
+                }
+                muestras[i] = muestras[2 * i] + muestras[2 * i + 1];
+            }
+            cantidad = mitad;
+            cerradas = mitad;
+            ancho *= 2;
+            partes *= 2; //La ventana en curso está vacía: se compacta justo después de agregar
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.simulador.models;
+
+/*
+   Un trabajo (instancia) liberado por una TareaPeriodica.
+   El simulador solo lo crea cuando pasa a ser el pendiente más viejo de su tarea y lo descarta al terminar;
+   los pendientes que esperan detrás de él son solo un número.
+ */
+public class TrabajoTiempoReal {
+
+    private final int indiceTarea;
+    private final TareaPeriodica tarea;
+    private final long numero; //0 para la primera liberación de la tarea
+    private final long liberacion;
+    private final long plazoAbsoluto;
+    private long restante;
+
+    public TrabajoTiempoReal(int indiceTarea, TareaPeriodica tarea, long numero, long liberacion) {
+        this.indiceTarea = indiceTarea;
+        this.tarea = tarea;
+        this.numero = numero;
+        this.liberacion = liberacion;
+        this.plazoAbsoluto = liberacion + tarea.getPlazoRelativo();
+        this.restante = tarea.getWcet();
+    }
+
+    public boolean estaTerminado() {
+        return restante <= 0;
+    }
+
+    public String getNombre() {
+        return tarea.getNombre() + "#" + numero;
+    }
+
+    //Getters y Setters
+    public int getIndiceTarea() {
+        return indiceTarea;
+    }
+
+    public TareaPeriodica getTarea() {
+        return tarea;
+    }
+
+    public long getNumero() {
+        return numero;
+    }
+
+    public long getLiberacion() {
+        return liberacion;
+    }
+
+    public long getPlazoAbsoluto() {
+        return plazoAbsoluto;
+    }
+
+    public long getRestante() {
+        return restante;
+    }
+
+    public void setRestante(long restante) {
+        this.restante = restante;
+    }
+}
@@ -0,0 +1,76 @@
+package com.simulador.models;
+
+import java.util.List;
+
+/*
+   Unidad en la que se interpretan los tiempos de una simulación (arribos, ráfagas, TIP, TFP, TCP y quantum).
+   El simulador cuenta en unidades enteras sin importar cuál es; la unidad solo cambia cómo se muestran y
+   cuánto dura cada una en tiempo real. Con microsegundos o nanosegundos se pueden modelar cambios de contexto
+   realistas dentro de corridas de horas: el tiempo es long y las unidades sin sucesos se saltean de una vez.
+   La unidad abstracta de siempre no tiene abreviatura, así los textos quedan como antes.
+ */
+public final class UnidadTiempo {
+
+    public static final UnidadTiempo UNIDAD = new UnidadTiempo("unidad", "", 0);
+    public static final UnidadTiempo NANOSEGUNDO = new UnidadTiempo("nanosegundo", "ns", 1L);
+    public static final UnidadTiempo MICROSEGUNDO = new UnidadTiempo("microsegundo", "µs", 1_000L);
+    public static final UnidadTiempo MILISEGUNDO = new UnidadTiempo("milisegundo", "ms", 1_000_000L);
+    public static final UnidadTiempo SEGUNDO = new UnidadTiempo("segundo", "s", 1_000_000_000L);
+
+    private static final List<UnidadTiempo> TODAS = List.of(UNIDAD, NANOSEGUNDO, MICROSEGUNDO, MILISEGUNDO, SEGUNDO);
+
+    private final String nombre;
+    private final String abreviatura;
+    private final long nanos; //0 en la unidad abstracta
+
+    private UnidadTiempo(String nombre, String abreviatura, long nanos) {
+        this.nombre = nombre;
+        this.abreviatura = abreviatura;
+        this.nanos = nanos;
+    }
+
+    public static List<UnidadTiempo> todas() {
+        return TODAS;
+    }
+
+    //Por nombre o abreviatura ("us" también vale para microsegundos); null si no hay una con ese nombre
+    public static UnidadTiempo porNombre(String nombre) {
+        String buscado = nombre.trim().toLowerCase();
+        if (buscado.equals("us")) {
+            buscado = MICROSEGUNDO.abreviatura;
+        }
+        for (UnidadTiempo unidad : TODAS) {
+            if (unidad.nombre.equals(buscado) || (!unidad.abreviatura.isEmpty() && unidad.abreviatura.equals(buscado))) {
+                return unidad;
+            }
+        }
+        return null;
+    }
+
+    //"cantidad" con la abreviatura, o el número solo en la unidad abstracta
+    public String formatear(long cantidad) {
+        return abreviatura.isEmpty() ? String.valueOf(cantidad) : cantidad + " " + abreviatura;
+    }
+
+    //Segundos reales que duran "cantidad" unidades (NaN en la unidad abstracta)
+    public double enSegundos(long cantidad) {
+        return (nanos == 0) ? Double.NaN : cantidad * (nanos / 1e9);
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public String getAbreviatura() {
+        return abreviatura;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    @Override
+    public String toString() {
+        return nombre;
+    }
+}
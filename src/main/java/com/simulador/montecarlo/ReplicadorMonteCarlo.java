@@ -0,0 +1,120 @@
+package com.simulador.montecarlo;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import com.simulador.Simulador;
+import com.simulador.models.CargaTrabajo;
+import com.simulador.models.Metricas;
+import com.simulador.models.Proceso;
+import com.simulador.models.SystemParams;
+import com.simulador.scheduler.Planificador;
+import com.simulador.scheduler.RegistroPlanificadores;
+
+/*
+   Corre muchas réplicas independientes de una tanda con procesos estocásticos y junta las métricas.
+
+   De la semilla raíz sale, con split(), un flujo de SplittableRandom por réplica; de ese flujo salen
+   dos semillas: la de las duraciones de la réplica y la de los planificadores con sorteo. Solo se guardan
+   las semillas: la carga de la réplica se sortea recién al correrla, desde un SplittableRandom nuevo con
+   su semilla, así en memoria hay a lo sumo una carga por hilo y no una por réplica. Como el sorteo sale
+   siempre igual, todos los planificadores que se comparan corren sobre exactamente las mismas muestras
+   (números aleatorios comunes) y la diferencia entre dos de ellos se puede estimar réplica por réplica.
+
+   Las réplicas se corren en paralelo en todos los núcleos: cada una sortea su carga y crea su propio
+   planificador y simulador, y lo único compartido son las definiciones, que no cambian.
+ */
+public class ReplicadorMonteCarlo {
+
+    private final List<Proceso> definiciones;
+    private final SystemParams params;
+    private final CargaTrabajo fija; //La misma en todas las réplicas si no hay nada que sortear, si no null
+    private final long[] semillasCarga;
+    private final long[] semillasPlanificador;
+
+    public ReplicadorMonteCarlo(List<Proceso> definiciones, SystemParams params, int replicas, long semilla) {
+        if (replicas <= 0) {
+            throw new IllegalArgumentException("La cantidad de réplicas debe ser positiva.");
+        }
+        this.definiciones = List.copyOf(definiciones);
+        this.params = params;
+        this.semillasCarga = new long[replicas];
+        this.semillasPlanificador = new long[replicas];
+
+        boolean estocastica = definiciones.stream().anyMatch(Proceso::esEstocastico);
+        this.fija = estocastica ? null : new CargaTrabajo(definiciones);
+        SplittableRandom raiz = new SplittableRandom(semilla);
+        for (int i = 0; i < replicas; i++) {
+            SplittableRandom flujo = raiz.split(); //Secuencial, así la réplica i es siempre la misma para una semilla dada
+            semillasCarga[i] = flujo.nextLong();
+            semillasPlanificador[i] = flujo.nextLong();
+        }
+    }
+
+    public int getReplicas() {
+        return semillasCarga.length;
+    }
+
+    //La carga de la réplica i, sorteada en cada llamada (siempre sale la misma): quien la necesite varias veces la guarda
+    public CargaTrabajo getCarga(int replica) {
+        if (fija != null) {
+            return fija;
+        }
+        SplittableRandom flujo = new SplittableRandom(semillasCarga[replica]);
+        return new CargaTrabajo(definiciones.stream().map(p -> p.muestrear(flujo)).toList());
+    }
+
+    public SystemParams getParams(int replica) {
+        return new SystemParams(params.getTip(), params.getTfp(), params.getTcp(), params.getQuantum(), semillasPlanificador[replica]);
+    }
+
+    public ResultadoReplicas ejecutar(String nombrePlanificador) {
+        if (RegistroPlanificadores.crear(nombrePlanificador) == null) {
+            throw new IllegalArgumentException("No hay un planificador registrado con el nombre " + nombrePlanificador);
+        }
+        return ejecutar(nombrePlanificador, () -> RegistroPlanificadores.crear(nombrePlanificador));
+    }
+
+    //"fabrica" tiene que dar una instancia nueva en cada llamada: las réplicas corren a la vez
+    public ResultadoReplicas ejecutar(String nombre, Supplier<Planificador> fabrica) {
+        ResultadoReplicas resultado = new ResultadoReplicas(nombre, getReplicas());
+        //Un juego de histogramas por hilo del pool, no uno por cada tramo en que se parte el rango
+        Queue<Metricas> parciales = new ConcurrentLinkedQueue<>();
+        ThreadLocal<Metricas> delHilo = ThreadLocal.withInitial(() -> {
+            Metricas parcial = new Metricas();
+            parciales.add(parcial);
+            return parcial;
+        });
+        IntStream.range(0, getReplicas()).parallel().forEach(i -> {
+            Metricas m = correr(i, fabrica.get());
+            resultado.agregar(i, m);
+            delHilo.get().fusionarDistribuciones(m);
+        });
+        for (Metricas parcial : parciales) { //forEach ya esperó a todos los hilos
+            resultado.fusionarDistribuciones(parcial);
+        }
+        return resultado;
+    }
+
+    //Todos sobre las mismas réplicas, en el orden pedido
+    public Map<String, ResultadoReplicas> comparar(List<String> nombresPlanificadores) {
+        Map<String, ResultadoReplicas> resultados = new LinkedHashMap<>();
+        for (String nombre : nombresPlanificadores) {
+            resultados.put(nombre, ejecutar(nombre));
+        }
+        return resultados;
+    }
+
+    private Metricas correr(int replica, Planificador planificador) {
+        Simulador simulador = new Simulador(getCarga(replica), planificador, getParams(replica));
+        simulador.desactivarLog();
+        simulador.iniciar();
+        return simulador.getMetricas();
+    }
+}
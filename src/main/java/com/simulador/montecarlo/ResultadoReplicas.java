@@ -0,0 +1,78 @@
+package com.simulador.montecarlo;
+
+import com.simulador.models.Metricas;
+
+/*
+   Métricas de todas las réplicas de un planificador, guardadas por réplica (valores[metrica][replica])
+   para poder resumirlas y para comparar de a pares contra otro planificador corrido con los mismos números.
+ */
+public class ResultadoReplicas {
+
+    public static final int TIEMPO_RETORNO_TANDA = 0;
+    public static final int TIEMPO_MEDIO_RETORNO = 1;
+    public static final int CPU_DESOCUPADA = 2;
+    public static final int CPU_SO = 3;
+    public static final String[] NOMBRES_METRICA = {"Tiempo Retorno Tanda", "Tiempo Medio Retorno", "CPU Desocupada", "CPU SO"};
+
+    private final String nombrePlanificador;
+    private final double[][] valores;
+    private final Metricas distribuciones; //Solo se usan sus histogramas, fusionados de todas las réplicas
+
+    /*
+       Hay uno solo por planificador: cada réplica escribe su columna con agregar() (columnas distintas, sin
+       compartir nada), y los histogramas los junta cada hilo por su cuenta y se fusionan una vez por hilo al final.
+     */
+    ResultadoReplicas(String nombrePlanificador, int replicas) {
+        this.nombrePlanificador = nombrePlanificador;
+        this.valores = new double[NOMBRES_METRICA.length][replicas];
+        this.distribuciones = new Metricas();
+    }
+
+    void agregar(int replica, Metricas m) {
+        valores[TIEMPO_RETORNO_TANDA][replica] = m.getTiempoRetornoTanda();
+        valores[TIEMPO_MEDIO_RETORNO][replica] = m.getTiempoMedioRetornoTanda();
+        valores[CPU_DESOCUPADA][replica] = m.getTiempoCPUDesocupada();
+        valores[CPU_SO][replica] = m.getTiempoCPU_OS();
+    }
+
+    //Los histogramas que juntó un hilo con las réplicas que le tocaron
+    void fusionarDistribuciones(Metricas parcial) {
+        distribuciones.fusionarDistribuciones(parcial);
+    }
+
+    public String getNombrePlanificador() {
+        return nombrePlanificador;
+    }
+
+    //Histogramas de retorno, retorno normalizado, espera y respuesta de todas las réplicas juntas
+    public Metricas getDistribuciones() {
+        return distribuciones;
+    }
+
+    public int getReplicas() {
+        return valores[0].length;
+    }
+
+    public double getValor(int metrica, int replica) {
+        return valores[metrica][replica];
+    }
+
+    public Resumen getResumen(int metrica) {
+        return Resumen.de(valores[metrica]);
+    }
+
+    /*
+       Resumen de (este - base) réplica por réplica. Si los dos se corrieron con números aleatorios comunes,
+       el intervalo de la diferencia es mucho más angosto que el que sale de restar las medias por separado.
+     */
+    public Resumen diferenciaCon(ResultadoReplicas base, int metrica) {
+        if (base.getReplicas() != getReplicas()) {
+            throw new IllegalArgumentException("Los resultados tienen distinta cantidad de réplicas.");
+        }
+        double[] diferencias = new double[getReplicas()];
+        for (int i = 0; i < diferencias.length; i++) {
+            diferencias[i] = valores[metrica][i] - base.valores[metrica][i];
+        }
+        return Resumen.de(diferencias);
+    }
+}
@@ -0,0 +1,76 @@
+package com.simulador.montecarlo;
+
+/*
+   Media, desvío y el intervalo de confianza del 95% de la media de una muestra de réplicas.
+   Se usa la t de Student con n - 1 grados de libertad; desde 30 la diferencia con la normal ya no importa.
+ */
+public class Resumen {
+
+    //Cuantil 0.975 de la t de Student para 1..30 grados de libertad
+    private static final double[] T_975 = {
+        12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+        2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+        2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042
+    };
+    private static final double Z_975 = 1.960;
+
+    private final int cantidad;
+    private final double media;
+    private final double desvio;
+    private final double semiancho;
+
+    private Resumen(int cantidad, double media, double desvio) {
+        this.cantidad = cantidad;
+        this.media = media;
+        this.desvio = desvio;
+        if (cantidad < 2) {
+            this.semiancho = Double.NaN; //Con una sola réplica no hay forma de estimar el error
+        } else {
+            int gradosLibertad = cantidad - 1;
+            double t = (gradosLibertad <= T_975.length) ? T_975[gradosLibertad - 1] : Z_975;
+            this.semiancho = t * desvio / Math.sqrt(cantidad);
+        }
+    }
+
+    //Welford, para no perder precisión cuando la media es grande respecto del desvío
+    public static Resumen de(double[] valores) {
+        double media = 0;
+        double m2 = 0;
+        for (int i = 0; i < valores.length; i++) {
+            double delta = valores[i] - media;
+            media += delta / (i + 1);
+            m2 += delta * (valores[i] - media);
+        }
+        double desvio = (valores.length > 1) ? Math.sqrt(m2 / (valores.length - 1)) : 0;
+        return new Resumen(valores.length, media, desvio);
+    }
+
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    public double getMedia() {
+        return media;
+    }
+
+    public double getDesvio() {
+        return desvio;
+    }
+
+    public double getSemiancho() {
+        return semiancho;
+    }
+
+    public double getLimiteInferior() {
+        return media - semiancho;
+    }
+
+    public double getLimiteSuperior() {
+        return media + semiancho;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%.3f ± %.3f (n=%d)", media, semiancho, cantidad);
+    }
+}
@@ -0,0 +1,130 @@
+package com.simulador.optimizacion;
+
+import java.util.Arrays;
+
+import com.simulador.Simulador;
+import com.simulador.models.CargaTrabajo;
+import com.simulador.models.EstadoProcesos;
+
+/*
+   Lo que se quiere minimizar al buscar parámetros. Además del valor final, un objetivo puede dar
+   una cota inferior mientras la simulación corre: si la cota ya supera al mejor candidato, la corrida
+   no puede ganar y se abandona. La cota por defecto es 0, que nunca corta.
+ */
+public interface Objetivo {
+
+    String getNombre();
+
+    //Valor de una simulación terminada (menor es mejor)
+    double evaluar(Simulador simulador);
+
+    //Un valor que el resultado final seguro no va a bajar; se llama cada tanto con la simulación en curso
+    default double cotaInferior(Simulador simulador) {
+        return 0;
+    }
+
+    //Tiempo medio de retorno de la tanda
+    Objetivo RETORNO_MEDIO = new Objetivo() {
+        @Override
+        public String getNombre() {
+            return "Tiempo Medio Retorno";
+        }
+
+        @Override
+        public double evaluar(Simulador simulador) {
+            return simulador.getMetricas().getTiempoMedioRetornoTanda();
+        }
+
+        /*
+           Un proceso terminado ya tiene su retorno. A los que faltan les queda trabajo de CPU por hacer desde t,
+           en una sola CPU: cada uno termina al menos en t más lo que le falta (y no antes de arribo + servicio),
+           y entre todos terminan al menos como si se atendieran de menor a mayor trabajo restante sin sobrecargas
+           ni E/S, que es el mínimo de la suma de finalizaciones. Se usa la mayor de las dos cotas.
+           Es O(n log n), pero se pide cada n unidades de tiempo.
+         */
+        @Override
+        public double cotaInferior(Simulador simulador) {
+            CargaTrabajo carga = simulador.getCarga();
+            EstadoProcesos procesos = simulador.getEstadoProcesos();
+            int n = carga.getCantidad();
+            if (n == 0) {
+                return 0;
+            }
+            long t = simulador.getTiempoActual();
+            long[] restantes = new long[n];
+            int pendientes = 0;
+            double terminados = 0;
+            double individual = 0;
+            double arribosPendientes = 0;
+            for (int pid = 1; pid <= n; pid++) {
+                long fin = procesos.getTiempoFinEjecucion(pid);
+                long arribo = carga.getTiempoArribo(pid);
+                if (fin > 0) {
+                    terminados += fin - arribo;
+                    continue;
+                }
+                long restante = trabajoRestante(carga, procesos, pid);
+                individual += Math.max(t + restante, arribo + carga.getTiempoServicio(pid)) - arribo;
+                arribosPendientes += arribo;
+                restantes[pendientes++] = restante;
+            }
+            Arrays.sort(restantes, 0, pendientes);
+            double finalizaciones = 0;
+            long acumulado = t;
+            for (int i = 0; i < pendientes; i++) {
+                acumulado += restantes[i];
+                finalizaciones += acumulado;
+            }
+            return (terminados + Math.max(individual, finalizaciones - arribosPendientes)) / n;
+        }
+
+        //CPU que le falta: lo que queda de la ráfaga en curso (si ya empezó o fue interrumpida) más las ráfagas siguientes
+        private long trabajoRestante(CargaTrabajo carga, EstadoProcesos procesos, int pid) {
+            int rafagas = carga.getCantidadRafagasCPU(pid);
+            int indice = procesos.getIndiceRafaga(pid);
+            if (indice >= rafagas) { //Ya hizo todo, espera su TFP
+                return 0;
+            }
+            long completa = carga.getDuracionRafagaCPU(pid, indice);
+            long enCurso = procesos.getTiempoRestanteRafagaCPU(pid);
+            long restante = (enCurso > 0) ? Math.min(enCurso, completa) : completa;
+            for (int i = indice + 1; i < rafagas; i++) {
+                restante += carga.getDuracionRafagaCPU(pid, i);
+            }
+            return restante;
+        }
+    };
+
+    //Percentil 99 de la espera en la cola de listos (el percentil no crece de forma monótona, así que no poda)
+    Objetivo ESPERA_P99 = new Objetivo() {
+        @Override
+        public String getNombre() {
+            return "Espera p99";
+        }
+
+        @Override
+        public double evaluar(Simulador simulador) {
+            return simulador.getMetricas().getHistogramaEsperaListo().percentil(99);
+        }
+    };
+
+    //Tiempo de CPU usado por el sistema operativo (TIP, TCP y TFP), que solo puede crecer
+    Objetivo SOBRECARGA_SO = new Objetivo() {
+        @Override
+        public String getNombre() {
+            return "CPU SO";
+        }
+
+        @Override
+        public double evaluar(Simulador simulador) {
+            return simulador.getMetricas().getTiempoCPU_OS();
+        }
+
+        @Override
+        public double cotaInferior(Simulador simulador) {
+            return simulador.getMetricas().getTiempoCPU_OS();
+        }
+    };
+
+    Objetivo[] TODOS = {RETORNO_MEDIO, ESPERA_P99, SOBRECARGA_SO};
+}
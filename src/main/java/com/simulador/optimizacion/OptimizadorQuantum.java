@@ -0,0 +1,95 @@
+package com.simulador.optimizacion;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.function.Supplier;
+
+import com.simulador.Simulador;
+import com.simulador.models.CargaTrabajo;
+import com.simulador.models.SystemParams;
+import com.simulador.scheduler.Planificador;
+import com.simulador.scheduler.RoundRobin;
+
+/*
+   Busca el quantum que minimiza un objetivo probando todos los de un rango, en paralelo.
+   Primero corre una grilla gruesa (potencias de dos) para tener pronto un buen candidato y después
+   el resto. Cada corrida se pregunta periódicamente si su cota inferior ya es peor que el mejor valor
+   encontrado hasta el momento por cualquier hilo; si es así se abandona (queda como podada).
+   La carga es inmutable y se comparte; cada candidato crea su planificador y su simulador, y lo único
+   compartido que cambia es el mejor valor, en un DoubleAccumulator.
+ */
+public class OptimizadorQuantum {
+
+    private final CargaTrabajo carga;
+    private final SystemParams base; //Se toman TIP, TFP, TCP y semilla; el quantum es lo que se busca
+    private final Supplier<Planificador> fabricaPlanificador;
+    private final Objetivo objetivo;
+
+    public OptimizadorQuantum(CargaTrabajo carga, SystemParams base, Objetivo objetivo) {
+        this(carga, base, RoundRobin::new, objetivo);
+    }
+
+    public OptimizadorQuantum(CargaTrabajo carga, SystemParams base, Supplier<Planificador> fabricaPlanificador, Objetivo objetivo) {
+        this.carga = carga;
+        this.base = base;
+        this.fabricaPlanificador = fabricaPlanificador;
+        this.objetivo = objetivo;
+    }
+
+    public ResultadoOptimizacion optimizar(int quantumMinimo, int quantumMaximo) {
+        return optimizar(quantumMinimo, quantumMaximo, base.getTcp());
+    }
+
+    //El mejor quantum para cada TCP, para ver cuánto depende la elección del costo del cambio de contexto
+    public Map<Integer, ResultadoOptimizacion> sensibilidadTCP(int quantumMinimo, int quantumMaximo, int... valoresTCP) {
+        Map<Integer, ResultadoOptimizacion> resultados = new LinkedHashMap<>();
+        for (int tcp : valoresTCP) {
+            resultados.put(tcp, optimizar(quantumMinimo, quantumMaximo, tcp));
+        }
+        return resultados;
+    }
+
+    private ResultadoOptimizacion optimizar(int quantumMinimo, int quantumMaximo, int tcp) {
+        if (quantumMinimo < 1 || quantumMaximo < quantumMinimo) {
+            throw new IllegalArgumentException("Rango de quantum inválido: " + quantumMinimo + ".." + quantumMaximo);
+        }
+        List<Integer> gruesos = new ArrayList<>();
+        List<Integer> resto = new ArrayList<>();
+        for (int q = quantumMinimo; q <= quantumMaximo; q++) {
+            if (Integer.bitCount(q) == 1 || q == quantumMinimo || q == quantumMaximo) {
+                gruesos.add(q);
+            } else {
+                resto.add(q);
+            }
+        }
+
+        DoubleAccumulator mejor = new DoubleAccumulator(Math::min, Double.POSITIVE_INFINITY);
+        List<ResultadoOptimizacion.Candidato> candidatos = new ArrayList<>();
+        candidatos.addAll(gruesos.parallelStream().map(q -> evaluar(q, tcp, mejor)).toList());
+        //Los más cercanos al mejor de la grilla primero: si mejoran, el resto se poda antes
+        int mejorGrueso = new ResultadoOptimizacion(objetivo.getNombre(), tcp, candidatos).getMejorQuantum();
+        resto.sort(Comparator.comparingInt(q -> Math.abs(q - mejorGrueso)));
+        candidatos.addAll(resto.parallelStream().map(q -> evaluar(q, tcp, mejor)).toList());
+        candidatos.sort(Comparator.comparingInt(ResultadoOptimizacion.Candidato::getQuantum));
+        return new ResultadoOptimizacion(objetivo.getNombre(), tcp, candidatos);
+    }
+
+    private ResultadoOptimizacion.Candidato evaluar(int quantum, int tcp, DoubleAccumulator mejor) {
+        SystemParams params = new SystemParams(base.getTip(), base.getTfp(), tcp, quantum, base.getSemilla());
+        Simulador simulador = new Simulador(carga, fabricaPlanificador.get(), params);
+        simulador.desactivarLog();
+        //Cada n unidades de tiempo, así la cota O(n) del retorno medio cuesta O(1) por unidad
+        simulador.configurarCorte(s -> objetivo.cotaInferior(s) > mejor.get(), Math.max(64, carga.getCantidad()));
+        simulador.iniciar();
+        if (simulador.isAbortada()) {
+            return new ResultadoOptimizacion.Candidato(quantum, Double.NaN, true);
+        }
+        double valor = objetivo.evaluar(simulador);
+        mejor.accumulate(valor);
+        return new ResultadoOptimizacion.Candidato(quantum, valor, false);
+    }
+}
@@ -0,0 +1,65 @@
+package com.simulador.optimizacion;
+
+import java.util.List;
+
+//Todos los quantum probados con su valor (NaN si la corrida se podó) y el mejor de ellos
+public class ResultadoOptimizacion {
+
+    private final String nombreObjetivo;
+    private final int tcp;
+    private final List<Candidato> candidatos; //Ordenados por quantum
+    private final Candidato mejor;
+
+    ResultadoOptimizacion(String nombreObjetivo, int tcp, List<Candidato> candidatos) {
+        this.nombreObjetivo = nombreObjetivo;
+        this.tcp = tcp;
+        this.candidatos = List.copyOf(candidatos);
+        Candidato elegido = null;
+        for (Candidato c : candidatos) { //Entre iguales queda el quantum más chico
+            if (!c.isPodado() && (elegido == null || c.getValor() < elegido.getValor())) {
+                elegido = c;
+            }
+        }
+        this.mejor = elegido;
+    }
+
+    public String getNombreObjetivo() {
+        return nombreObjetivo;
+    }
+
+    public int getTcp() {
+        return tcp;
+    }
+
+    public List<Candidato> getCandidatos() {
+        return candidatos;
+    }
+
+    public int getMejorQuantum() {
+        return mejor.getQuantum();
+    }
+
+    public double getMejorValor() {
+        return mejor.getValor();
+    }
+
+    public long getPodados() {
+        return candidatos.stream().filter(Candidato::isPodado).count();
+    }
+
+    public static class Candidato {
+        private final int quantum;
+        private final double valor;
+        private final boolean podado;
+
+        Candidato(int quantum, double valor, boolean podado) {
+            this.quantum = quantum;
+            this.valor = valor;
+            this.podado = podado;
+        }
+
+        public int getQuantum() { return quantum; }
+        public double getValor() { return valor; }
+        public boolean isPodado() { return podado; } //Se abandonó porque ya no podía ganar
+    }
+}
@@ -0,0 +1,558 @@
+package com.simulador.persistencia;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.simulador.Simulador;
+import com.simulador.eventos.AlmacenEventos;
+import com.simulador.models.CargaTrabajo;
+import com.simulador.models.SystemParams;
+import com.simulador.scheduler.Planificador;
+
+/*
+   Caché de resultados de simulaciones, direccionada por contenido: la clave es un SHA-256 de la carga
+   normalizada, el planificador (nombre, clase y configuración) y los SystemParams. Cualquier cambio en
+   algo que afecte el resultado cambia la clave, así que no hace falta invalidar nada a mano; lo que queda
+   sin usar se va por antigüedad. Los nombres de los procesos no son parte de la clave (solo aparecen en
+   los mensajes, que se arman al leer con la carga actual).
+
+   Hay dos niveles: en memoria, los resultados serializados más usados hasta "limiteMemoria" bytes (LRU),
+   y en disco, un archivo por clave en "directorio" hasta "limiteDisco" bytes (se borran los que hace más
+   tiempo no se usan). Un resultado que no entra en memoria no se arma en el heap: sus eventos van de los
+   bloques del AlmacenEventos al archivo por un FileChannel, y al leerlo vuelven del canal a los bloques. Cada acierto arma un Simulador nuevo con Simulador.leerResultado, así quien lo
+   recibe puede modificarlo sin tocar lo guardado. Se guardan el estado final de los procesos, las métricas,
+   la telemetría y, si se piden, los eventos; un resultado sin eventos no sirve para un pedido con eventos.
+
+   Se puede usar desde varios hilos. Dos pedidos iguales al mismo tiempo simulan los dos (el segundo pisa
+   al primero con el mismo resultado). Un planificador de terceros que cambie su código sin cambiar nombre,
+   clase ni configuración no invalida sus resultados: para eso está VERSION o borrar el directorio.
+ */
+public class CacheResultados {
+
+    public static final long LIMITE_MEMORIA_POR_DEFECTO = 64L << 20;
+    public static final long LIMITE_DISCO_POR_DEFECTO = 1L << 30;
+    public static final long MAXIMO_EVENTOS = 8L << 20; //Con más, el resultado se guarda sin eventos (192 MiB de registros)
+
+    private static final int MAGIA = 0x53494D52; //"SIMR"
+    private static final int VERSION = 5; //Se sube si cambia el formato o el motor: deja inválido todo lo guardado
+    private static final String EXTENSION = ".res";
+    //Cada resultado empieza con MAGIA, VERSION, el largo del estado y la cantidad de eventos (-1 si se guardó sin eventos);
+    //siguen el estado (la clave y Simulador.escribirResultado sin eventos) y los registros de los eventos, 24 bytes cada uno
+    private static final int LARGO_CABECERA = 20;
+    private static final int BYTES_EVENTO = 24;
+    private static final int INTERVALO_PLAZO = 1 << 12; //Cada cuántas unidades simuladas se mira el reloj si hay plazo
+
+    private static CacheResultados compartida;
+
+    private final Path directorio; //null si solo se guarda en memoria
+    private final long limiteMemoria;
+    private final long limiteDisco;
+    private final LinkedHashMap<String, byte[]> enMemoria = new LinkedHashMap<>(16, 0.75f, true); //En orden de uso
+    private long bytesEnMemoria;
+    private long bytesEnDisco = -1; //-1 hasta que se mide el directorio la primera vez que se escribe
+    private long aciertosMemoria;
+    private long aciertosDisco;
+    private long fallos;
+
+    public CacheResultados(Path directorio, long limiteMemoria, long limiteDisco) {
+        if (limiteMemoria < 0 || limiteDisco < 0) {
+            throw new IllegalArgumentException("Los límites de la caché no pueden ser negativos.");
+        }
+        this.directorio = directorio;
+        this.limiteMemoria = limiteMemoria;
+        this.limiteDisco = limiteDisco;
+    }
+
+    /*
+       La de la interfaz y el servidor, con los límites por defecto, en un directorio propio del usuario dentro del
+       temporal del sistema. Si ese directorio es de otro usuario, es un enlace o no se puede crear, queda solo en memoria:
+       un resultado leído de ahí se devuelve como si fuera una simulación, así que nadie más debe poder escribirlo.
+     */
+    public static synchronized CacheResultados getCompartida() {
+        if (compartida == null) {
+            String usuario = System.getProperty("user.name", "").replaceAll("[^A-Za-z0-9._-]", "_");
+            Path directorio = directorioPrivado(Path.of(System.getProperty("java.io.tmpdir"), "simulador-cache-" + usuario));
+            compartida = new CacheResultados(directorio, LIMITE_MEMORIA_POR_DEFECTO, LIMITE_DISCO_POR_DEFECTO);
+        }
+        return compartida;
+    }
+
+    //El directorio, creado solo para el dueño si no existe, o null si no es un directorio de este usuario
+    private static Path directorioPrivado(Path directorio) {
+        boolean posix = FileSystems.getDefault().supportedFileAttributeViews().contains("posix");
+        try {
+            try {
+                if (posix) {
+                    Files.createDirectory(directorio, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+                } else {
+                    Files.createDirectory(directorio);
+                }
+            } catch (FileAlreadyExistsException ex) {
+                //Se verifica abajo, igual que si lo hubiéramos creado
+            }
+            if (!Files.isDirectory(directorio, LinkOption.NOFOLLOW_LINKS)) {
+                return null;
+            }
+            UserPrincipal usuario = FileSystems.getDefault().getUserPrincipalLookupService()
+                    .lookupPrincipalByName(System.getProperty("user.name"));
+            if (!Files.getOwner(directorio, LinkOption.NOFOLLOW_LINKS).equals(usuario)) {
+                return null;
+            }
+            if (posix) { //Es nuestro: si otro lo puede leer o escribir, se le sacan los permisos
+                PosixFileAttributeView vista = Files.getFileAttributeView(directorio, PosixFileAttributeView.class, LinkOption.NOFOLLOW_LINKS);
+                Set<PosixFilePermission> permisos = vista.readAttributes().permissions();
+                if (!PosixFilePermissions.fromString("rwx------").containsAll(permisos)) {
+                    vista.setPermissions(PosixFilePermissions.fromString("rwx------"));
+                }
+            }
+            return directorio;
+        } catch (IOException | UnsupportedOperationException | SecurityException ex) {
+            return null; //Sin disco se sigue con la memoria
+        }
+    }
+
+    /*
+       Devuelve la simulación terminada de la carga con ese planificador (nuevo, sin usar) y parámetros:
+       de la caché si ya estaba, o corriéndola y guardándola si no. Con "conEventos" en false la corrida
+       no registra el log y el Simulador devuelto puede venir sin eventos.
+     */
+    public Simulador simular(CargaTrabajo carga, Planificador planificador, SystemParams params, boolean conEventos) {
+        return simular(carga, planificador, params, conEventos, 0);
+    }
+
+    //Igual, pero si simular lleva más de "plazoNanos" de reloj (0: sin plazo) la corrida se abandona y vuelve con isAbortada()
+    public Simulador simular(CargaTrabajo carga, Planificador planificador, SystemParams params, boolean conEventos, long plazoNanos) {
+        String clave = clave(carga, planificador, params);
+        Simulador guardado = buscar(clave, carga, planificador, params, conEventos);
+        if (guardado != null) {
+            return guardado;
+        }
+        synchronized (this) {
+            fallos++;
+        }
+        Simulador simulador = new Simulador(carga, planificador, params);
+        if (!conEventos) {
+            simulador.desactivarLog();
+        }
+        if (plazoNanos > 0) {
+            long limite = System.nanoTime() + plazoNanos;
+            simulador.configurarCorte(s -> System.nanoTime() - limite > 0, INTERVALO_PLAZO);
+        }
+        simulador.iniciar();
+        if (!simulador.isAbortada()) { //Las canceladas desde JMX o por plazo no tienen un resultado completo
+            guardar(clave, simulador, conEventos && simulador.getLog().getCantidad() <= MAXIMO_EVENTOS);
+        }
+        return simulador;
+    }
+
+    //SHA-256 en hexadecimal de todo lo que determina el resultado de la simulación
+    public static String clave(CargaTrabajo carga, Planificador planificador, SystemParams params) {
+        MessageDigest sha;
+        try {
+            sha = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("La plataforma no tiene SHA-256", ex); //Toda JVM debe tenerlo
+        }
+        SalidaBinaria salida = new SalidaBinaria(64 * 1024); //Se resume todo junto al final: mucho más rápido que un DigestOutputStream
+        try {
+            salida.writeInt(VERSION);
+            salida.writeUTF(planificador.getClass().getName());
+            salida.writeUTF(planificador.getNombre());
+            SalidaBinaria configuracion = new SalidaBinaria(64);
+            planificador.escribirConfiguracion(configuracion);
+            salida.writeInt(configuracion.size()); //Con el largo adelante, la configuración no se confunde con lo que sigue
+            salida.write(configuracion.getDatos(), 0, configuracion.size());
+            salida.writeInt(params.getTip());
+            salida.writeInt(params.getTfp());
+            salida.writeInt(params.getTcp());
+            salida.writeInt(params.getQuantum());
+            salida.writeLong(params.getSemilla());
+            escribirCargaNormalizada(carga, salida);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex); //SalidaBinaria escribe en memoria
+        }
+        sha.update(salida.getDatos(), 0, salida.size());
+        return HexFormat.of().formatHex(sha.digest());
+    }
+
+    /*
+       La carga en orden de PID (el orden importa: desempata arribos simultáneos), sin nombres y con las ráfagas
+       en una forma única: la E/S después de la última ráfaga no se usa y una E/S negativa dura lo mismo que 0,
+       y una secuencia explícita con todas las ráfagas iguales se escribe igual que la duración fija.
+     */
+    private static void escribirCargaNormalizada(CargaTrabajo carga, SalidaBinaria salida) throws IOException {
+        salida.writeInt(carga.getCantidad());
+        for (int pid = 1; pid <= carga.getCantidad(); pid++) {
+            int rafagas = carga.getCantidadRafagasCPU(pid);
+            salida.writeLong(carga.getTiempoArribo(pid));
+            salida.writeInt(carga.getPrioridadExterna(pid));
+            salida.writeInt(rafagas);
+            if (rafagasUniformes(carga, pid)) {
+                salida.writeBoolean(false);
+                salida.writeLong(carga.getDuracionRafagaCPU(pid, 0));
+                salida.writeLong((rafagas > 1) ? Math.max(0, carga.getDuracionRafagaES(pid, 0)) : 0);
+            } else {
+                salida.writeBoolean(true);
+                for (int r = 0; r < rafagas; r++) {
+                    salida.writeLong(carga.getDuracionRafagaCPU(pid, r));
+                    salida.writeLong((r < rafagas - 1) ? Math.max(0, carga.getDuracionRafagaES(pid, r)) : 0);
+                }
+            }
+        }
+    }
+
+    private static boolean rafagasUniformes(CargaTrabajo carga, int pid) {
+        if (!carga.tieneSecuenciaRafagas(pid)) {
+            return true;
+        }
+        int rafagas = carga.getCantidadRafagasCPU(pid);
+        for (int r = 1; r < rafagas; r++) {
+            if (carga.getDuracionRafagaCPU(pid, r) != carga.getDuracionRafagaCPU(pid, 0)) {
+                return false;
+            }
+            if (r < rafagas - 1 && Math.max(0, carga.getDuracionRafagaES(pid, r)) != Math.max(0, carga.getDuracionRafagaES(pid, 0))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Simulador buscar(String clave, CargaTrabajo carga, Planificador planificador, SystemParams params, boolean conEventos) {
+        byte[] datos;
+        synchronized (this) {
+            datos = enMemoria.get(clave);
+        }
+        try {
+            if (datos != null) {
+                Simulador simulador = leerDeMemoria(clave, datos, carga, planificador, params, conEventos);
+                if (simulador != null) {
+                    synchronized (this) {
+                        aciertosMemoria++;
+                    }
+                }
+                return simulador;
+            }
+            return (directorio != null) ? leerDeDisco(clave, carga, planificador, params, conEventos) : null;
+        } catch (IOException | RuntimeException ex) { //Archivo truncado o de otro formato: se descarta y se simula
+            descartar(clave);
+            return null;
+        }
+    }
+
+    //null si el resultado se guardó sin eventos y se piden
+    private static Simulador leerDeMemoria(String clave, byte[] datos, CargaTrabajo carga, Planificador planificador, SystemParams params,
+            boolean conEventos) throws IOException {
+        ByteBuffer cabecera = ByteBuffer.wrap(datos, 0, LARGO_CABECERA);
+        int largoEstado = leerCabecera(cabecera);
+        long eventos = cabecera.getLong();
+        if (conEventos && eventos < 0) {
+            return null;
+        }
+        Simulador simulador = leerEstado(clave, new EntradaBinaria(datos, LARGO_CABECERA, largoEstado), carga, planificador, params);
+        if (eventos > 0) {
+            simulador.getLog().agregarRegistros(new EntradaBinaria(datos, LARGO_CABECERA + largoEstado, datos.length - LARGO_CABECERA - largoEstado), eventos);
+        }
+        return simulador;
+    }
+
+    /*
+       Un archivo que entra en memoria se lee entero y pasa al nivel de memoria; uno más grande se lee por el canal:
+       el estado a un arreglo chico y los eventos directo a los bloques del log, sin armar el resultado en el heap.
+     */
+    private Simulador leerDeDisco(String clave, CargaTrabajo carga, Planificador planificador, SystemParams params, boolean conEventos) throws IOException {
+        Path archivo = archivo(clave);
+        Simulador simulador;
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            if (canal.size() <= limiteMemoria / 4) {
+                byte[] datos = new byte[(int) canal.size()];
+                leerCompleto(canal, ByteBuffer.wrap(datos));
+                simulador = leerDeMemoria(clave, datos, carga, planificador, params, conEventos);
+                if (simulador != null) {
+                    synchronized (this) {
+                        agregarAMemoria(clave, datos);
+                    }
+                }
+            } else {
+                ByteBuffer cabecera = ByteBuffer.allocate(LARGO_CABECERA);
+                leerCompleto(canal, cabecera);
+                cabecera.flip();
+                byte[] estado = new byte[leerCabecera(cabecera)];
+                long eventos = cabecera.getLong();
+                if (conEventos && eventos < 0) {
+                    return null;
+                }
+                leerCompleto(canal, ByteBuffer.wrap(estado));
+                simulador = leerEstado(clave, new EntradaBinaria(estado), carga, planificador, params);
+                if (eventos > 0) {
+                    AlmacenEventos log = simulador.getLog();
+                    try {
+                        log.agregarRegistros(canal, eventos);
+                    } catch (IOException | RuntimeException ex) { //Lo ya leído puede haber pasado al desborde del log
+                        log.close();
+                        throw ex;
+                    }
+                }
+            }
+        } catch (NoSuchFileException ex) {
+            return null; //No está: se simula
+        }
+        if (simulador != null) {
+            synchronized (this) {
+                aciertosDisco++;
+            }
+            try {
+                Files.setLastModifiedTime(archivo, FileTime.fromMillis(System.currentTimeMillis())); //Para borrar primero los que no se usan
+            } catch (IOException ex) {
+                //Solo cambia el orden en que se borra
+            }
+        }
+        return simulador;
+    }
+
+    //Valida MAGIA y VERSION y devuelve el largo del estado; deja "cabecera" en la cantidad de eventos
+    private static int leerCabecera(ByteBuffer cabecera) throws IOException {
+        if (cabecera.getInt() != MAGIA || cabecera.getInt() != VERSION) {
+            throw new IOException("No es un resultado de esta versión");
+        }
+        int largoEstado = cabecera.getInt();
+        if (largoEstado < 0) {
+            throw new IOException("Largo de estado inválido: " + largoEstado);
+        }
+        return largoEstado;
+    }
+
+    private static Simulador leerEstado(String clave, EntradaBinaria entrada, CargaTrabajo carga, Planificador planificador, SystemParams params) throws IOException {
+        if (!entrada.readUTF().equals(clave)) {
+            throw new IOException("El resultado es de otra clave");
+        }
+        return Simulador.leerResultado(entrada, carga, planificador, params);
+    }
+
+    private static void leerCompleto(FileChannel canal, ByteBuffer destino) throws IOException {
+        while (destino.hasRemaining()) {
+            if (canal.read(destino) < 0) {
+                throw new EOFException("El resultado guardado está truncado");
+            }
+        }
+    }
+
+    private static void escribirCompleto(FileChannel canal, ByteBuffer origen) throws IOException {
+        while (origen.hasRemaining()) {
+            canal.write(origen);
+        }
+    }
+
+    /*
+       El estado se serializa en memoria (es chico); los eventos solo si todo el resultado entra en el nivel de memoria.
+       Si no, el archivo se escribe por partes y los eventos van directo de los bloques del log al canal.
+     */
+    private void guardar(String clave, Simulador simulador, boolean conEventos) {
+        SalidaBinaria estado = new SalidaBinaria(4096);
+        try {
+            estado.writeUTF(clave);
+            simulador.escribirResultado(estado, false);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex); //SalidaBinaria escribe en memoria
+        }
+        long eventos = conEventos ? simulador.getLog().getCantidad() : -1;
+        long largo = LARGO_CABECERA + estado.size() + Math.max(0, eventos) * BYTES_EVENTO;
+        ByteBuffer cabecera = ByteBuffer.allocate(LARGO_CABECERA).putInt(MAGIA).putInt(VERSION).putInt(estado.size()).putLong(eventos).flip();
+
+        if (largo <= limiteMemoria / 4) {
+            SalidaBinaria salida = new SalidaBinaria((int) largo);
+            try {
+                salida.write(cabecera.array());
+                salida.write(estado.getDatos(), 0, estado.size());
+                if (eventos > 0) {
+                    simulador.getLog().escribirRegistros(salida, 0);
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex); //SalidaBinaria escribe en memoria
+            }
+            byte[] datos = salida.toByteArray();
+            synchronized (this) {
+                agregarAMemoria(clave, datos);
+            }
+            if (directorio != null) {
+                escribirArchivo(clave, largo, canal -> escribirCompleto(canal, ByteBuffer.wrap(datos)));
+            }
+        } else if (directorio != null) {
+            escribirArchivo(clave, largo, canal -> {
+                escribirCompleto(canal, cabecera);
+                escribirCompleto(canal, ByteBuffer.wrap(estado.getDatos(), 0, estado.size()));
+                if (eventos > 0) {
+                    simulador.getLog().escribirRegistros(canal, 0);
+                }
+            });
+        }
+    }
+
+    //Con el lock tomado. Un resultado de más de un cuarto del límite queda solo en disco.
+    private void agregarAMemoria(String clave, byte[] datos) {
+        byte[] anterior = enMemoria.remove(clave);
+        if (anterior != null) {
+            bytesEnMemoria -= anterior.length;
+        }
+        if (datos.length > limiteMemoria / 4) {
+            return;
+        }
+        enMemoria.put(clave, datos);
+        bytesEnMemoria += datos.length;
+        Iterator<Map.Entry<String, byte[]>> menosUsados = enMemoria.entrySet().iterator();
+        while (bytesEnMemoria > limiteMemoria && menosUsados.hasNext()) {
+            bytesEnMemoria -= menosUsados.next().getValue().length;
+            menosUsados.remove();
+        }
+    }
+
+    private Path archivo(String clave) {
+        return directorio.resolve(clave + EXTENSION);
+    }
+
+    private interface Escritura {
+        void escribir(FileChannel canal) throws IOException;
+    }
+
+    //Como en PuntoDeControl: a un temporal y después se renombra, así nunca queda un archivo a medias con el nombre final
+    private void escribirArchivo(String clave, long largo, Escritura escritura) {
+        Path archivo = archivo(clave);
+        try {
+            Files.createDirectories(directorio);
+            Path temporal = Files.createTempFile(directorio, clave, ".tmp");
+            try {
+                try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    escritura.escribir(canal);
+                }
+                try {
+                    Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException ex) {
+                    Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temporal);
+            }
+            liberarDisco(largo);
+        } catch (IOException ex) {
+            //Sin disco se sigue con la memoria; el resultado ya se devolvió
+        }
+    }
+
+    //Suma lo escrito y, si se pasó del límite, borra los archivos que hace más tiempo no se usan
+    private synchronized void liberarDisco(long escritos) throws IOException {
+        List<Path> archivos = new ArrayList<>();
+        if (bytesEnDisco >= 0) {
+            bytesEnDisco += escritos;
+            if (bytesEnDisco <= limiteDisco) {
+                return;
+            }
+        }
+        bytesEnDisco = 0;
+        try (DirectoryStream<Path> lista = Files.newDirectoryStream(directorio, "*" + EXTENSION)) {
+            for (Path archivo : lista) {
+                archivos.add(archivo);
+                bytesEnDisco += Files.size(archivo);
+            }
+        }
+        if (bytesEnDisco <= limiteDisco) {
+            return;
+        }
+        archivos.sort(Comparator.comparing(CacheResultados::ultimaModificacion));
+        for (Path archivo : archivos) {
+            if (bytesEnDisco <= limiteDisco) {
+                break;
+            }
+            long largo = Files.size(archivo);
+            if (Files.deleteIfExists(archivo)) {
+                bytesEnDisco -= largo;
+            }
+        }
+    }
+
+    private static FileTime ultimaModificacion(Path archivo) {
+        try {
+            return Files.getLastModifiedTime(archivo);
+        } catch (IOException ex) {
+            return FileTime.fromMillis(0); //Si ya no está, da lo mismo dónde queda
+        }
+    }
+
+    private void descartar(String clave) {
+        synchronized (this) {
+            byte[] anterior = enMemoria.remove(clave);
+            if (anterior != null) {
+                bytesEnMemoria -= anterior.length;
+            }
+        }
+        if (directorio != null) {
+            try {
+                Files.deleteIfExists(archivo(clave));
+            } catch (IOException ex) {
+                //Se vuelve a escribir después de simular
+            }
+        }
+    }
+
+    //Vacía los dos niveles
+    public void vaciar() throws IOException {
+        synchronized (this) {
+            enMemoria.clear();
+            bytesEnMemoria = 0;
+            bytesEnDisco = -1;
+        }
+        if (directorio != null && Files.isDirectory(directorio)) {
+            try (DirectoryStream<Path> lista = Files.newDirectoryStream(directorio, "*" + EXTENSION)) {
+                for (Path archivo : lista) {
+                    Files.deleteIfExists(archivo);
+                }
+            }
+        }
+    }
+
+    public synchronized long getAciertosMemoria() {
+        return aciertosMemoria;
+    }
+
+    public synchronized long getAciertosDisco() {
+        return aciertosDisco;
+    }
+
+    public synchronized long getFallos() {
+        return fallos;
+    }
+
+    public synchronized long getBytesEnMemoria() {
+        return bytesEnMemoria;
+    }
+
+    public Path getDirectorio() {
+        return directorio;
+    }
+}
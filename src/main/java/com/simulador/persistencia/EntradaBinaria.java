@@ -0,0 +1,139 @@
+package com.simulador.persistencia;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+
+/*
+   La contraparte de SalidaBinaria: DataInput sobre un arreglo de bytes, sin sincronización.
+   DataInputStream sobre ByteArrayInputStream pasa por un método synchronized en cada lectura, y para
+   leer cientos de miles de eventos de la caché de resultados eso tarda más que volver a simular.
+   Lee el formato de DataOutputStream; si se pide más de lo que hay, EOFException.
+ */
+public class EntradaBinaria implements DataInput {
+
+    private final byte[] datos;
+    private final int fin;
+    private int posicion;
+
+    public EntradaBinaria(byte[] datos) {
+        this(datos, 0, datos.length);
+    }
+
+    public EntradaBinaria(byte[] datos, int desde, int largo) {
+        this.datos = datos;
+        this.posicion = desde;
+        this.fin = desde + largo;
+    }
+
+    public int getPosicion() {
+        return posicion;
+    }
+
+    private int asegurar(int cantidad) throws EOFException {
+        if (fin - posicion < cantidad) {
+            throw new EOFException("Se pidieron " + cantidad + " bytes y quedan " + (fin - posicion));
+        }
+        int p = posicion;
+        posicion += cantidad;
+        return p;
+    }
+
+    @Override
+    public void readFully(byte[] b) throws IOException {
+        readFully(b, 0, b.length);
+    }
+
+    @Override
+    public void readFully(byte[] b, int desde, int largo) throws IOException {
+        System.arraycopy(datos, asegurar(largo), b, desde, largo);
+    }
+
+    @Override
+    public int skipBytes(int n) {
+        int salteados = Math.max(0, Math.min(n, fin - posicion));
+        posicion += salteados;
+        return salteados;
+    }
+
+    @Override
+    public boolean readBoolean() throws IOException {
+        return datos[asegurar(1)] != 0;
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        return datos[asegurar(1)];
+    }
+
+    @Override
+    public int readUnsignedByte() throws IOException {
+        return datos[asegurar(1)] & 0xFF;
+    }
+
+    @Override
+    public short readShort() throws IOException {
+        int p = asegurar(2);
+        return (short) ((datos[p] << 8) | (datos[p + 1] & 0xFF));
+    }
+
+    @Override
+    public int readUnsignedShort() throws IOException {
+        return readShort() & 0xFFFF;
+    }
+
+    @Override
+    public char readChar() throws IOException {
+        return (char) readShort();
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        int p = asegurar(4);
+        return (datos[p] << 24) | ((datos[p + 1] & 0xFF) << 16) | ((datos[p + 2] & 0xFF) << 8) | (datos[p + 3] & 0xFF);
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        return ((long) readInt() << 32) | (readInt() & 0xFFFFFFFFL);
+    }
+
+    @Override
+    public float readFloat() throws IOException {
+        return Float.intBitsToFloat(readInt());
+    }
+
+    @Override
+    public double readDouble() throws IOException {
+        return Double.longBitsToDouble(readLong());
+    }
+
+    //Una línea terminada en \n, \r o \r\n, con cada byte como un carácter (como DataInputStream.readLine)
+    @Override
+    public String readLine() {
+        if (posicion >= fin) {
+            return null;
+        }
+        StringBuilder linea = new StringBuilder();
+        while (posicion < fin) {
+            char c = (char) (datos[posicion++] & 0xFF);
+            if (c == '\n') {
+                break;
+            }
+            if (c == '\r') {
+                if (posicion < fin && datos[posicion] == '\n') {
+                    posicion++;
+                }
+                break;
+            }
+            linea.append(c);
+        }
+        return linea.toString();
+    }
+
+    @Override
+    public String readUTF() throws IOException {
+        return DataInputStream.readUTF(this);
+    }
+}
@@ -0,0 +1,93 @@
+package com.simulador.persistencia;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.simulador.Simulador;
+
+/*
+   Puntos de control en memoria, en orden de tiempo. Es lo mismo que escribe PuntoDeControl pero sin
+   comprimir ni ir a disco: sirven para volver a correr una simulación desde la mitad cuando se
+   cambia algo que recién importa a partir de cierto instante (ver SimulacionIncremental).
+ */
+public class Instantaneas {
+
+    private final long intervalo;
+    private final List<Instantanea> lista;
+
+    public Instantaneas(long intervalo) {
+        if (intervalo <= 0) {
+            throw new IllegalArgumentException("El intervalo de las instantáneas debe ser positivo.");
+        }
+        this.intervalo = intervalo;
+        this.lista = new ArrayList<>();
+    }
+
+    public long getIntervalo() {
+        return intervalo;
+    }
+
+    public List<Instantanea> getLista() {
+        return lista;
+    }
+
+    //Si al comenzar esta unidad de tiempo corresponde guardar (una sola vez por instante)
+    public boolean corresponde(long tiempoActual) {
+        return tiempoActual > 0 && tiempoActual % intervalo == 0
+                && (lista.isEmpty() || lista.get(lista.size() - 1).getTiempo() < tiempoActual);
+    }
+
+    //Próximo instante en el que puede corresponder guardar (el simulador no lo saltea)
+    public long proximo(long tiempoActual) {
+        return (tiempoActual / intervalo + 1) * intervalo;
+    }
+
+    public void guardar(Simulador simulador, long tiempoActual, long posicionLog) throws IOException {
+        SalidaBinaria estado = new SalidaBinaria(16 * 1024);
+        simulador.escribirEstado(estado);
+        lista.add(new Instantanea(tiempoActual, posicionLog, estado.toByteArray()));
+    }
+
+    //La última instantánea tomada en un tiempo menor o igual a "tiempo", o null si no hay
+    public Instantanea ultimaHasta(long tiempo) {
+        int izquierda = 0;
+        int derecha = lista.size() - 1;
+        Instantanea encontrada = null;
+        while (izquierda <= derecha) {
+            int medio = (izquierda + derecha) >>> 1;
+            Instantanea candidata = lista.get(medio);
+            if (candidata.getTiempo() <= tiempo) {
+                encontrada = candidata;
+                izquierda = medio + 1;
+            } else {
+                derecha = medio - 1;
+            }
+        }
+        return encontrada;
+    }
+
+    //Descarta las instantáneas posteriores a "tiempo", ya no valen si la simulación cambia desde ahí
+    public void descartarDespuesDe(long tiempo) {
+        while (!lista.isEmpty() && lista.get(lista.size() - 1).getTiempo() > tiempo) {
+            lista.remove(lista.size() - 1);
+        }
+    }
+
+    //Estado al comenzar la unidad de tiempo "tiempo"; posicionLog es cuántos eventos había hasta ese momento
+    public static class Instantanea {
+        private final long tiempo;
+        private final long posicionLog;
+        private final byte[] datos;
+
+        Instantanea(long tiempo, long posicionLog, byte[] datos) {
+            this.tiempo = tiempo;
+            this.posicionLog = posicionLog;
+            this.datos = datos;
+        }
+
+        public long getTiempo() { return tiempo; }
+        public long getPosicionLog() { return posicionLog; }
+        public byte[] getDatos() { return datos; }
+    }
+}
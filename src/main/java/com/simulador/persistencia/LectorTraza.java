@@ -0,0 +1,185 @@
+package com.simulador.persistencia;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.simulador.models.CargaTrabajo;
+import com.simulador.models.Proceso;
+
+/*
+   Lee una carga desde una traza CSV con una fila por ráfaga:
+
+       nombre,tiempo_arribo,prioridad_externa,cpu,es
+       A,0,2,5,4
+       A,,,7,3
+       A,,,2,
+       B,3,1,6,
+
+   Las filas de un mismo proceso van en el orden de sus ráfagas (pueden estar intercaladas con las de
+   otros procesos). El arribo y la prioridad se toman de la primera fila del proceso; en las demás se pueden
+   dejar vacíos. "es" es la E/S que sigue a esa ráfaga de CPU y se ignora en la última.
+   La cabecera es opcional (si está, es la primera línea que no es comentario) y las líneas vacías
+   o que empiezan con # se saltean.
+   Los procesos quedan en el orden en que aparecen por primera vez, que es el que define sus PID.
+   leerCarga arma la CargaTrabajo directo, con las ráfagas empaquetadas y sin pasar por un long[] por proceso;
+   leer devuelve la lista de procesos para los que necesitan los objetos.
+ */
+public final class LectorTraza {
+
+    private LectorTraza() {
+    }
+
+    public static CargaTrabajo leerCarga(Path archivo) throws IOException {
+        Map<String, Acumulador> porNombre = new LinkedHashMap<>();
+        try (BufferedReader lector = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            String linea;
+            int numero = 0;
+            boolean primeraFila = true; //La primera que no es vacía ni comentario puede ser la cabecera
+            String[] campos = new String[5];
+            while ((linea = lector.readLine()) != null) {
+                numero++;
+                if (linea.isBlank() || linea.startsWith("#")) {
+                    continue;
+                }
+                int cantidad = partir(linea, campos);
+                boolean cabecera = primeraFila && campos[0].trim().equalsIgnoreCase("nombre");
+                primeraFila = false;
+                if (cabecera) {
+                    continue;
+                }
+                if (cantidad < 4) {
+                    throw new IOException("Línea " + numero + ": se esperaban al menos 4 columnas (nombre, arribo, prioridad, cpu).");
+                }
+                try {
+                    String nombre = campos[0].trim();
+                    Acumulador proceso = porNombre.get(nombre);
+                    if (proceso == null) {
+                        proceso = new Acumulador(nombre, entero(campos[1], 0), Math.toIntExact(entero(campos[2], 0)));
+                        porNombre.put(nombre, proceso);
+                    }
+                    proceso.agregar(entero(campos[3], -1), (cantidad > 4) ? entero(campos[4], 0) : 0);
+                } catch (NumberFormatException ex) {
+                    throw new IOException("Línea " + numero + ": número inválido (" + ex.getMessage() + ")", ex);
+                }
+            }
+        }
+
+        CargaTrabajo.Armador carga = new CargaTrabajo.Armador();
+        for (Acumulador a : porNombre.values()) {
+            a.volcar(carga);
+        }
+        return carga.armar();
+    }
+
+    //La misma carga como lista de procesos, para los que la guardan o la sortean (barrido, JSON)
+    public static List<Proceso> leer(Path archivo) throws IOException {
+        CargaTrabajo carga = leerCarga(archivo);
+        List<Proceso> procesos = new ArrayList<>(carga.getCantidad());
+        for (int pid = 1; pid <= carga.getCantidad(); pid++) {
+            Proceso p = carga.getDefinicion(pid);
+            p.setRafagasES(Arrays.copyOf(p.getRafagasES(), Math.max(0, p.getCantidadRafagasCPU() - 1)));
+            procesos.add(p);
+        }
+        return procesos;
+    }
+
+    //Separa por comas sin armar expresiones regulares ni listas; devuelve cuántos campos encontró
+    private static int partir(String linea, String[] campos) {
+        Arrays.fill(campos, "");
+        int cantidad = 0;
+        int desde = 0;
+        while (cantidad < campos.length) {
+            int coma = linea.indexOf(',', desde);
+            campos[cantidad++] = (coma < 0) ? linea.substring(desde) : linea.substring(desde, coma);
+            if (coma < 0) {
+                break;
+            }
+            desde = coma + 1;
+        }
+        return cantidad;
+    }
+
+    private static long entero(String campo, int siVacio) {
+        String texto = campo.trim();
+        if (texto.isEmpty()) {
+            if (siVacio < 0) {
+                throw new NumberFormatException("falta la duración de la ráfaga de CPU");
+            }
+            return siVacio;
+        }
+        long valor = Long.parseLong(texto);
+        if (valor < 0) {
+            throw new NumberFormatException("no puede ser negativo: " + texto);
+        }
+        return valor;
+    }
+
+    /*
+       Ráfagas de un proceso mientras se lee, como pares cpu/es en enteros de largo variable (7 bits por
+       byte, el bit alto indica que sigue otro byte) en un byte[] que crece al doble. Una ráfaga corta
+       ocupa uno o dos bytes en lugar de los 16 de dos long, y al terminar se vuelcan al armador de la carga.
+     */
+    private static class Acumulador {
+        private final String nombre;
+        private final long tiempoArribo;
+        private final int prioridad;
+        private byte[] datos = new byte[32];
+        private int usados;
+        private int leidos; //Bytes ya volcados
+        private int cantidad;
+
+        Acumulador(String nombre, long tiempoArribo, int prioridad) {
+            this.nombre = nombre;
+            this.tiempoArribo = tiempoArribo;
+            this.prioridad = prioridad;
+        }
+
+        void agregar(long duracionCPU, long duracionES) {
+            escribir(duracionCPU);
+            escribir(duracionES);
+            cantidad++;
+        }
+
+        private void escribir(long valor) {
+            if (usados + 10 > datos.length) { //Un long ocupa a lo sumo 10 bytes
+                datos = Arrays.copyOf(datos, datos.length * 2);
+            }
+            while ((valor & ~0x7FL) != 0) {
+                datos[usados++] = (byte) ((valor & 0x7F) | 0x80);
+                valor >>>= 7;
+            }
+            datos[usados++] = (byte) valor;
+        }
+
+        //La E/S después de la última ráfaga se ignora
+        void volcar(CargaTrabajo.Armador carga) {
+            carga.agregarConSecuencia(nombre, tiempoArribo, prioridad);
+            for (int r = 0; r < cantidad; r++) {
+                long cpu = leer();
+                long es = leer();
+                carga.agregarRafaga(cpu, (r < cantidad - 1) ? es : 0);
+            }
+            datos = null; //Ya no hace falta mientras se vuelcan los demás
+        }
+
+        private long leer() {
+            long valor = 0;
+            int desplazamiento = 0;
+            byte b;
+            do {
+                b = datos[leidos++];
+                valor |= (long) (b & 0x7F) << desplazamiento;
+                desplazamiento += 7;
+            } while (b < 0);
+            return valor;
+        }
+    }
+}
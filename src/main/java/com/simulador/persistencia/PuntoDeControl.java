@@ -0,0 +1,124 @@
+package com.simulador.persistencia;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.simulador.Simulador;
+import com.simulador.scheduler.Planificador;
+
+/*
+   Guarda puntos de control de una simulación cada cierto intervalo de tiempo simulado.
+   La simulación solo se detiene lo que tarda en copiar su estado a memoria (primitivas a un arreglo);
+   la compresión y la escritura a disco se hacen en un hilo aparte. El archivo se escribe en uno
+   temporal y se renombra al final, así un corte a mitad de escritura no pisa el punto anterior.
+ */
+public class PuntoDeControl implements AutoCloseable {
+
+    private final Path archivo;
+    private final long intervalo;
+    private final ExecutorService escritor;
+    private Future<?> escrituraEnCurso;
+    private long ultimoTiempoGuardado;
+
+    public PuntoDeControl(Path archivo, long intervalo) {
+        if (intervalo <= 0) {
+            throw new IllegalArgumentException("El intervalo de los puntos de control debe ser positivo.");
+        }
+        this.archivo = archivo;
+        this.intervalo = intervalo;
+        this.escritor = Executors.newSingleThreadExecutor(r -> {
+            Thread hilo = new Thread(r, "punto-de-control");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        this.ultimoTiempoGuardado = -1;
+    }
+
+    public Path getArchivo() {
+        return archivo;
+    }
+
+    //Si al comenzar esta unidad de tiempo corresponde guardar
+    public boolean corresponde(long tiempoActual) {
+        return tiempoActual > 0 && tiempoActual % intervalo == 0 && tiempoActual != ultimoTiempoGuardado;
+    }
+
+    //Próximo instante en el que puede corresponder guardar (el simulador no lo saltea)
+    public long proximo(long tiempoActual) {
+        return (tiempoActual / intervalo + 1) * intervalo;
+    }
+
+    //Copia el estado en el hilo de la simulación y deja la escritura en segundo plano
+    public void guardar(Simulador simulador, long tiempoActual) throws IOException {
+        SalidaBinaria estado = new SalidaBinaria(64 * 1024);
+        simulador.escribirEstado(estado);
+        esperarEscrituras(); //Como mucho una escritura pendiente, así la memoria no crece si el disco es lento
+        ultimoTiempoGuardado = tiempoActual;
+        escrituraEnCurso = escritor.submit(() -> {
+            escribirArchivo(estado.getDatos(), estado.size());
+            return null;
+        });
+    }
+
+    private void escribirArchivo(byte[] datos, int largo) throws IOException {
+        Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+        try (OutputStream salida = new GZIPOutputStream(Files.newOutputStream(temporal), 64 * 1024)) {
+            salida.write(datos, 0, largo);
+        }
+        try {
+            Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    //Bloquea hasta que termina la escritura pendiente; si falló, propaga el error
+    public void esperarEscrituras() throws IOException {
+        if (escrituraEnCurso == null) {
+            return;
+        }
+        try {
+            escrituraEnCurso.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrumpido esperando el punto de control", ex);
+        } catch (ExecutionException ex) {
+            throw new IOException("No se pudo escribir el punto de control " + archivo, ex.getCause());
+        } finally {
+            escrituraEnCurso = null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            esperarEscrituras();
+        } finally {
+            escritor.shutdown();
+        }
+    }
+
+    /*
+       Lee un punto de control y devuelve un Simulador listo para seguir con iniciar().
+       El planificador debe estar configurado igual que en la corrida original; si es null se crea
+       por nombre desde RegistroPlanificadores (sirve para los que tienen configuración por defecto).
+     */
+    public static Simulador restaurar(Path archivo, Planificador planificador) throws IOException {
+        try (InputStream entrada = new GZIPInputStream(new BufferedInputStream(Files.newInputStream(archivo), 64 * 1024), 64 * 1024)) {
+            return Simulador.leerEstado(new DataInputStream(new BufferedInputStream(entrada, 64 * 1024)), planificador);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.simulador.persistencia;
+
+import java.io.DataOutput;
+import java.io.UTFDataFormatException;
+import java.util.Arrays;
+
+/*
+   DataOutput sobre un arreglo de bytes que crece solo, sin sincronización.
+   DataOutputStream sobre ByteArrayOutputStream pasa por métodos synchronized en cada byte;
+   para volcar millones de procesos en un punto de control conviene escribir directo al arreglo.
+   El formato es el mismo de DataOutputStream (big endian, UTF modificado), así se lee con DataInputStream.
+ */
+public class SalidaBinaria implements DataOutput {
+
+    private byte[] datos;
+    private int tamanio;
+
+    public SalidaBinaria(int capacidadInicial) {
+        this.datos = new byte[Math.max(16, capacidadInicial)];
+        this.tamanio = 0;
+    }
+
+    public byte[] getDatos() {
+        return datos; //Solo son válidos los primeros size() bytes
+    }
+
+    public int size() {
+        return tamanio;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(datos, tamanio);
+    }
+
+    private void asegurar(int extra) {
+        if (tamanio + extra > datos.length) {
+            datos = Arrays.copyOf(datos, Math.max(tamanio + extra, datos.length * 2));
+        }
+    }
+
+    @Override
+    public void write(int b) {
+        asegurar(1);
+        datos[tamanio++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b) {
+        write(b, 0, b.length);
+    }
+
+    @Override
+    public void write(byte[] b, int desde, int largo) {
+        asegurar(largo);
+        System.arraycopy(b, desde, datos, tamanio, largo);
+        tamanio += largo;
+    }
+
+    @Override
+    public void writeBoolean(boolean v) {
+        write(v ? 1 : 0);
+    }
+
+    @Override
+    public void writeByte(int v) {
+        write(v);
+    }
+
+    @Override
+    public void writeShort(int v) {
+        asegurar(2);
+        datos[tamanio++] = (byte) (v >>> 8);
+        datos[tamanio++] = (byte) v;
+    }
+
+    @Override
+    public void writeChar(int v) {
+        writeShort(v);
+    }
+
+    @Override
+    public void writeInt(int v) {
+        asegurar(4);
+        datos[tamanio++] = (byte) (v >>> 24);
+        datos[tamanio++] = (byte) (v >>> 16);
+        datos[tamanio++] = (byte) (v >>> 8);
+        datos[tamanio++] = (byte) v;
+    }
+
+    @Override
+    public void writeLong(long v) {
+        writeInt((int) (v >>> 32));
+        writeInt((int) v);
+    }
+
+    @Override
+    public void writeFloat(float v) {
+        writeInt(Float.floatToIntBits(v));
+    }
+
+    @Override
+    public void writeDouble(double v) {
+        writeLong(Double.doubleToLongBits(v));
+    }
+
+    @Override
+    public void writeBytes(String s) {
+        asegurar(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            datos[tamanio++] = (byte) s.charAt(i);
+        }
+    }
+
+    @Override
+    public void writeChars(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            writeChar(s.charAt(i));
+        }
+    }
+
+    //UTF-8 modificado con el largo en 2 bytes adelante, igual que DataOutputStream.writeUTF
+    @Override
+    public void writeUTF(String s) throws UTFDataFormatException {
+        int largo = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            largo += (c >= 0x0001 && c <= 0x007F) ? 1 : (c <= 0x07FF) ? 2 : 3;
+        }
+        if (largo > 65535) {
+            throw new UTFDataFormatException("Texto demasiado largo: " + largo + " bytes");
+        }
+        writeShort(largo);
+        asegurar(largo);
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= 0x0001 && c <= 0x007F) {
+                datos[tamanio++] = (byte) c;
+            } else if (c <= 0x07FF) {
+                datos[tamanio++] = (byte) (0xC0 | ((c >> 6) & 0x1F));
+                datos[tamanio++] = (byte) (0x80 | (c & 0x3F));
+            } else {
+                datos[tamanio++] = (byte) (0xE0 | ((c >> 12) & 0x0F));
+                datos[tamanio++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                datos[tamanio++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.simulador.scheduler;
+
+import com.simulador.models.TrabajoTiempoReal;
+
+//Earliest Deadline First: gana el trabajo con el plazo absoluto más cercano (prioridad dinámica).
+public class EDF implements PlanificadorTiempoReal {
+
+    @Override
+    public int comparar(TrabajoTiempoReal a, TrabajoTiempoReal b) {
+        int c = Long.compare(a.getPlazoAbsoluto(), b.getPlazoAbsoluto());
+        if (c != 0) return c;
+        c = Long.compare(a.getLiberacion(), b.getLiberacion());
+        if (c != 0) return c;
+        return Integer.compare(a.getIndiceTarea(), b.getIndiceTarea());
+    }
+
+    @Override
+    public String getNombre() {
+        return "EDF";
+    }
+}
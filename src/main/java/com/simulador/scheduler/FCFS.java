@@ -1,14 +1,23 @@
 package com.simulador.scheduler;
 
-import java.util.List;
-
 import com.simulador.models.ColaListos;
-import com.simulador.models.Proceso;
+import com.simulador.models.EstadoProcesos;
+import com.simulador.models.SystemParams;
 
 public class FCFS implements Planificador {
 
     @Override
-    public Proceso seleccionarSiguienteProceso(ColaListos colaListos, List<Proceso> procesos) {
+    public String getNombre() {
+        return "FCFS";
+    }
+
+    @Override
+    public ColaListos crearColaListos(EstadoProcesos procesos, SystemParams params) {
+        return new ColaListos();
+    }
+
+    @Override
+    public int seleccionarSiguienteProceso(ColaListos colaListos) {
         //FCFS simplemente toma el primer proceso que entró a la cola.
         return colaListos.quitar();
     }
@@ -0,0 +1,30 @@
+package com.simulador.scheduler;
+
+import com.simulador.models.ColaListos;
+import com.simulador.models.ColaListosHRRN;
+import com.simulador.models.EstadoProcesos;
+import com.simulador.models.SystemParams;
+
+public class HRRN implements Planificador {
+
+    @Override
+    public String getNombre() {
+        return "HRRN";
+    }
+
+    @Override
+    public ColaListos crearColaListos(EstadoProcesos procesos, SystemParams params) {
+        return new ColaListosHRRN(procesos);
+    }
+
+    @Override
+    public int seleccionarSiguienteProceso(ColaListos colaListos) {
+        //La ColaListosHRRN ya tiene al frente al de mayor tasa de respuesta en el instante actual.
+        return colaListos.quitar();
+    }
+
+    @Override
+    public boolean esExpropiativo() {
+        return false;
+    }
+}
@@ -0,0 +1,36 @@
+package com.simulador.scheduler;
+
+import com.simulador.models.ColaListos;
+import com.simulador.models.ColaListosLoteria;
+import com.simulador.models.EstadoProcesos;
+import com.simulador.models.SystemParams;
+
+public class Loteria implements Planificador {
+
+    @Override
+    public String getNombre() {
+        return "Lotería";
+    }
+
+    @Override
+    public ColaListos crearColaListos(EstadoProcesos procesos, SystemParams params) {
+        return new ColaListosLoteria(procesos.getCarga(), params.getSemilla());
+    }
+
+    @Override
+    public int seleccionarSiguienteProceso(ColaListos colaListos) {
+        //La ColaListosLoteria sortea el ganador según los boletos de cada proceso.
+        return colaListos.quitar();
+    }
+
+    @Override
+    public boolean esExpropiativo() {
+        //Como Round Robin, el quantum es el que interrumpe y se vuelve a sortear.
+        return true;
+    }
+
+    @Override
+    public boolean usaQuantum() {
+        return true;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,204 @@
+package com.simulador.scheduler;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+import com.simulador.models.ColaListos;
+import com.simulador.models.ColaListosMLFQ;
+import com.simulador.models.EstadoProcesos;
+import com.simulador.models.SystemParams;
+
+/*
+   Multi-Level Feedback Queue: varios niveles de Round Robin con quantum propio.
+   Quien agota su quantum baja de nivel, quien se bloquea por E/S se queda (o sube, si se configura)
+   y cada cierto periodo todos vuelven al nivel más alto para que nadie muera de inanición.
+   Se configura con la ventana o con el nombre "MLFQ:niveles=4;quantums=2/4/8/16;boost=200;promover=si".
+ */
+public class MLFQ implements Planificador {
+
+    public static final int NIVELES_POR_DEFECTO = 3;
+    public static final int FACTOR_BOOST_POR_DEFECTO = 50; //Periodo de boost = 50 veces el quantum base
+    public static final int NIVELES_MAXIMOS = 16; //Con los quantums derivados, el del último nivel es el base por 2^15
+
+    private final int niveles;
+    private final int[] quantums; //Si es null se derivan del quantum de SystemParams, duplicándolo en cada nivel
+    private final int periodoBoost; //Si es 0 se usa FACTOR_BOOST_POR_DEFECTO veces el quantum base
+    private final boolean promoverAlBloquear;
+    private ColaListosMLFQ filas; //Se crea por simulación en crearColaListos
+    private long periodoEfectivo;
+
+    public MLFQ() {
+        this(NIVELES_POR_DEFECTO, 0, false);
+    }
+
+    public MLFQ(int niveles, int periodoBoost, boolean promoverAlBloquear) {
+        validar(niveles, periodoBoost);
+        this.niveles = niveles;
+        this.quantums = null;
+        this.periodoBoost = periodoBoost;
+        this.promoverAlBloquear = promoverAlBloquear;
+    }
+
+    public MLFQ(int[] quantums, int periodoBoost, boolean promoverAlBloquear) {
+        validar(quantums.length, periodoBoost);
+        for (int q : quantums) {
+            if (q <= 0) {
+                throw new IllegalArgumentException("Los quantums de MLFQ deben ser positivos.");
+            }
+        }
+        this.niveles = quantums.length;
+        this.quantums = quantums.clone();
+        this.periodoBoost = periodoBoost;
+        this.promoverAlBloquear = promoverAlBloquear;
+    }
+
+    private static void validar(int niveles, int periodoBoost) {
+        if (niveles < 1 || niveles > NIVELES_MAXIMOS) {
+            throw new IllegalArgumentException("MLFQ admite de 1 a " + NIVELES_MAXIMOS + " niveles.");
+        }
+        if (periodoBoost < 0) {
+            throw new IllegalArgumentException("El periodo de boost no puede ser negativo (0 usa el de por defecto).");
+        }
+    }
+
+    @Override
+    public String getNombre() {
+        return "MLFQ";
+    }
+
+    //Lo que no se indica queda como en esta instancia; con niveles y sin quantums, los quantums se derivan del base.
+    @Override
+    public Planificador configurar(String configuracion) {
+        Integer nivelesIndicados = null;
+        int[] quantumsIndicados = null;
+        int boost = periodoBoost;
+        boolean promover = promoverAlBloquear;
+        for (String parte : configuracion.split(";")) {
+            if (parte.isBlank()) {
+                continue;
+            }
+            String[] claveValor = parte.split("=", 2);
+            String clave = claveValor[0].trim();
+            String valor = (claveValor.length == 2) ? claveValor[1].trim() : "";
+            try {
+                switch (clave) {
+                    case "niveles" -> nivelesIndicados = Integer.parseInt(valor);
+                    case "quantums" -> quantumsIndicados = Arrays.stream(valor.split("/")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+                    case "boost" -> boost = Integer.parseInt(valor);
+                    case "promover" -> promover = valor.isEmpty() || valor.equals("si") || valor.equals("true");
+                    default -> throw new IllegalArgumentException("MLFQ no tiene la opción \"" + clave + "\". Las opciones son niveles, quantums, boost y promover.");
+                }
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Valor no numérico en la configuración de MLFQ: " + parte.trim());
+            }
+        }
+        if (quantumsIndicados == null && nivelesIndicados == null) {
+            quantumsIndicados = quantums; //Sin niveles ni quantums se conservan los de esta instancia
+        }
+        if (quantumsIndicados != null) {
+            if (nivelesIndicados != null && quantumsIndicados.length != nivelesIndicados) {
+                throw new IllegalArgumentException("MLFQ tiene " + nivelesIndicados + " niveles pero " + quantumsIndicados.length + " quantums.");
+            }
+            return new MLFQ(quantumsIndicados, boost, promover);
+        }
+        return new MLFQ((nivelesIndicados != null) ? nivelesIndicados : niveles, boost, promover);
+    }
+
+    @Override
+    public ColaListos crearColaListos(EstadoProcesos procesos, SystemParams params) {
+        this.filas = new ColaListosMLFQ(getQuantums(params), promoverAlBloquear);
+        this.periodoEfectivo = getPeriodoBoost(params);
+        return filas;
+    }
+
+    @Override
+    public int seleccionarSiguienteProceso(ColaListos colaListos) {
+        //La ColaListosMLFQ devuelve el primero del nivel no vacío más alto.
+        return colaListos.quitar();
+    }
+
+    @Override
+    public boolean esExpropiativo() {
+        //Expropia por fin de quantum y cuando llega alguien de un nivel más alto.
+        return true;
+    }
+
+    @Override
+    public boolean usaQuantum() {
+        return true;
+    }
+
+    @Override
+    public int quantumPara(int pid, SystemParams params) {
+        return filas.quantumPara(pid); //Cada nivel tiene su propio quantum
+    }
+
+    @Override
+    public boolean debeExpropiar(int actual, ColaListos colaListos) {
+        //Llegó alguien de un nivel más alto
+        int candidato = colaListos.verSiguiente();
+        return candidato != ColaListos.NINGUNO && filas.nivelDe(candidato) < filas.nivelDe(actual);
+    }
+
+    @Override
+    public void alFinQuantum(int pid) {
+        filas.degradar(pid); //Agotó el quantum, baja de nivel antes de volver a la fila
+    }
+
+    @Override
+    public void alBloquear(int pid) {
+        filas.alBloquear(pid);
+    }
+
+    @Override
+    public boolean alAvanzarTiempo(long tiempoActual) {
+        if (periodoEfectivo > 0 && tiempoActual > 0 && tiempoActual % periodoEfectivo == 0) {
+            filas.impulsar();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public long proximoAvanceDeTiempo(long tiempoActual) {
+        //El próximo múltiplo del periodo después del instante actual
+        return (periodoEfectivo > 0) ? (tiempoActual / periodoEfectivo + 1) * periodoEfectivo : Long.MAX_VALUE;
+    }
+
+    @Override
+    public void escribirConfiguracion(DataOutput salida) throws IOException {
+        salida.writeInt(niveles);
+        salida.writeBoolean(quantums != null);
+        if (quantums != null) {
+            for (int q : quantums) {
+                salida.writeInt(q);
+            }
+        }
+        salida.writeInt(periodoBoost);
+        salida.writeBoolean(promoverAlBloquear);
+    }
+
+    public int[] getQuantums(SystemParams params) {
+        if (quantums != null) {
+            return quantums.clone();
+        }
+        int[] derivados = new int[niveles];
+        for (int i = 0; i < niveles; i++) {
+            derivados[i] = params.getQuantum() << i;
+        }
+        return derivados;
+    }
+
+    public long getPeriodoBoost(SystemParams params) {
+        return (periodoBoost > 0) ? periodoBoost : (long) params.getQuantum() * FACTOR_BOOST_POR_DEFECTO;
+    }
+
+    public boolean isPromoverAlBloquear() {
+        return promoverAlBloquear;
+    }
+
+    public int getNiveles() {
+        return niveles;
+    }
+}
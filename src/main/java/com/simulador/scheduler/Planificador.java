@@ -1,16 +1,106 @@
 package com.simulador.scheduler;
 
-import java.util.List;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 import com.simulador.models.ColaListos;
-import com.simulador.models.Proceso;
+import com.simulador.models.EstadoProcesos;
+import com.simulador.models.SystemParams;
 
 
-//Interfaz que define las estrategias de planificación.
-
+/*
+   Interfaz que define las estrategias de planificación (SPI).
+   Cada planificador arma su propia cola de listos y decide, a través de los ganchos de abajo,
+   cuándo expropiar y qué hacer al vencer un quantum o al bloquearse un proceso. El Simulador no
+   conoce las clases concretas, así que se pueden agregar políticas nuevas sin tocarlo: basta con
+   implementar esta interfaz, tener un constructor sin argumentos y listarla en
+   META-INF/services/com.simulador.scheduler.Planificador (ver RegistroPlanificadores).
+   Una instancia se usa para una sola simulación, así que puede guardar estado propio.
+   Los procesos se identifican por PID: la definición está en EstadoProcesos.getCarga() y el estado
+   de la corrida en EstadoProcesos, que se recibe al crear la cola.
+ */
 public interface Planificador {
-    //Selecciona el siguiente proceso a ejecutar de la cola de listos, regresa el proceso seleccionado o null si no hay ninguno.
-    Proceso seleccionarSiguienteProceso(ColaListos colaListos, List<Proceso> procesos);
+    //Nombre con el que se muestra en la interfaz y se busca en el registro. Debe ser único.
+    String getNombre();
+
+    //Crea la cola de listos con el orden que necesita la política. El Simulador la llama una vez.
+    ColaListos crearColaListos(EstadoProcesos procesos, SystemParams params);
+
+    //Selecciona el siguiente proceso a ejecutar de la cola de listos, regresa su PID o ColaListos.NINGUNO si no hay ninguno.
+    int seleccionarSiguienteProceso(ColaListos colaListos);
 
     boolean esExpropiativo();
-}
\ No newline at end of file
+
+    //Si el proceso en CPU vuelve a la cola cuando se le termina el quantum (Round Robin y derivados).
+    default boolean usaQuantum() {
+        return false;
+    }
+
+    //Quantum que recibe el proceso al ser despachado.
+    default int quantumPara(int pid, SystemParams params) {
+        return params.getQuantum();
+    }
+
+    /*
+       Si el proceso "actual" (en CPU, o recién terminado su TIP/TCP) debe ceder la CPU a quien está
+       al frente de la cola. Recibe la cola y no el candidato para que las políticas que solo expropian
+       por quantum no tengan que mirarla (en Lotería mirar el frente implica sortear).
+       Si da false, tiene que seguir dando false mientras no cambie la cola ni el proceso en CPU (en SRTN
+       el que ejecuta solo puede quedar más corto): el simulador saltea los tramos sin sucesos sin volver a preguntar.
+     */
+    default boolean debeExpropiar(int actual, ColaListos colaListos) {
+        return false;
+    }
+
+    //Se llama antes de encolar un proceso (arribo, fin de E/S, fin de quantum o expropiación).
+    default void alEncolar(int pid) {
+    }
+
+    //Se llama cuando al proceso en CPU se le terminó el quantum, antes de volver a encolarlo.
+    default void alFinQuantum(int pid) {
+    }
+
+    //Se llama cuando el proceso en CPU termina su ráfaga y pasa a E/S.
+    default void alBloquear(int pid) {
+    }
+
+    //Se llama al comienzo de cada unidad de tiempo. Devuelve true si reordenó las prioridades (se registra en el log).
+    default boolean alAvanzarTiempo(long tiempoActual) {
+        return false;
+    }
+
+    /*
+       Primer instante posterior a "tiempoActual" en el que alAvanzarTiempo puede hacer algo (Long.MAX_VALUE si
+       nunca). Hasta ahí el simulador puede saltear de una vez las unidades en las que no pasa nada, así el costo
+       de una corrida depende de la cantidad de sucesos y no de la resolución del tiempo. Quien sobrescribe
+       alAvanzarTiempo tiene que sobrescribir también este.
+     */
+    default long proximoAvanceDeTiempo(long tiempoActual) {
+        return Long.MAX_VALUE;
+    }
+
+    /*
+       Una instancia nueva con la configuración en texto "clave=valor;clave=valor", la parte que sigue al ":" en
+       RegistroPlanificadores.crear (por ejemplo "MLFQ:niveles=4;boost=200"). Así el barrido, el servidor y las
+       réplicas configuran una política solo con su nombre. Las que no tienen nada que configurar la rechazan.
+     */
+    default Planificador configurar(String configuracion) {
+        throw new IllegalArgumentException("El planificador " + getNombre() + " no tiene opciones para configurar.");
+    }
+
+    /*
+       Configuración propia de la instancia que cambia los resultados y no está en SystemParams (por ejemplo,
+       los niveles de MLFQ). Dos instancias con el mismo nombre y la misma configuración deben planificar igual:
+       con esto se arma la clave de CacheResultados. Los que solo tienen constructor sin argumentos no escriben nada.
+     */
+    default void escribirConfiguracion(DataOutput salida) throws IOException {
+    }
+
+    //Estado propio de la política para los puntos de control (el de la cola lo guarda la cola).
+    default void escribirEstado(DataOutput salida) throws IOException {
+    }
+
+    default void leerEstado(DataInput entrada) throws IOException {
+    }
+}
@@ -0,0 +1,11 @@
+package com.simulador.scheduler;
+
+import com.simulador.models.TrabajoTiempoReal;
+
+//Interfaz de las políticas de tiempo real: definen qué trabajo liberado tiene más prioridad.
+public interface PlanificadorTiempoReal {
+    //Negativo si a tiene más prioridad que b. Debe ser un orden total para que la simulación sea reproducible.
+    int comparar(TrabajoTiempoReal a, TrabajoTiempoReal b);
+
+    String getNombre();
+}
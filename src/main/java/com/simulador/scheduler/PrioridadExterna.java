@@ -1,14 +1,28 @@
 package com.simulador.scheduler;
 
-import java.util.List;
-
+import com.simulador.models.CargaTrabajo;
 import com.simulador.models.ColaListos;
-import com.simulador.models.Proceso;
+import com.simulador.models.ColaListosPrioridad;
+import com.simulador.models.EstadoProcesos;
+import com.simulador.models.SystemParams;
 
 public class PrioridadExterna implements Planificador {
 
+    private CargaTrabajo carga; //Se recibe por simulación en crearColaListos
+
+    @Override
+    public String getNombre() {
+        return "Prioridad Externa";
+    }
+
     @Override
-    public Proceso seleccionarSiguienteProceso(ColaListos colaListos, List<Proceso> procesos) {
+    public ColaListos crearColaListos(EstadoProcesos procesos, SystemParams params) {
+        this.carga = procesos.getCarga();
+        return new ColaListosPrioridad(carga);
+    }
+
+    @Override
+    public int seleccionarSiguienteProceso(ColaListos colaListos) {
         // La ColaListosPrioridad ya ordenó los procesos.
         // Solo tenemos que quitar y devolver el de mayor prioridad.
         return colaListos.quitar();
@@ -18,4 +32,11 @@ public class PrioridadExterna implements Planificador {
     public boolean esExpropiativo() {
         return true;
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean debeExpropiar(int actual, ColaListos colaListos) {
+        //Solo si la prioridad del de la cola es MAYOR; si es igual sigue el mismo.
+        int candidato = colaListos.verSiguiente();
+        return candidato != ColaListos.NINGUNO && carga.getPrioridadExterna(candidato) > carga.getPrioridadExterna(actual);
+    }
+}
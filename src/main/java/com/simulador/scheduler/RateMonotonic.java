@@ -0,0 +1,21 @@
+package com.simulador.scheduler;
+
+import com.simulador.models.TrabajoTiempoReal;
+
+//Rate Monotonic: prioridad fija, gana la tarea de menor periodo. A igual periodo, la cargada primero.
+public class RateMonotonic implements PlanificadorTiempoReal {
+
+    @Override
+    public int comparar(TrabajoTiempoReal a, TrabajoTiempoReal b) {
+        int c = Long.compare(a.getTarea().getPeriodo(), b.getTarea().getPeriodo());
+        if (c != 0) return c;
+        c = Integer.compare(a.getIndiceTarea(), b.getIndiceTarea());
+        if (c != 0) return c;
+        return Long.compare(a.getNumero(), b.getNumero());
+    }
+
+    @Override
+    public String getNombre() {
+        return "Rate Monotonic";
+    }
+}
@@ -0,0 +1,52 @@
+package com.simulador.scheduler;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/*
+   Descubre los planificadores disponibles con ServiceLoader, así una política de terceros
+   se agrega con solo poner su jar en el classpath (con su archivo META-INF/services).
+   Cada llamada a crear() devuelve una instancia nueva, porque los planificadores guardan
+   estado de una simulación. Un nombre puede llevar su configuración después de ":" (ver Planificador.configurar).
+ */
+public final class RegistroPlanificadores {
+
+    private static Map<String, ServiceLoader.Provider<Planificador>> proveedores;
+
+    private RegistroPlanificadores() {
+    }
+
+    private static synchronized Map<String, ServiceLoader.Provider<Planificador>> getProveedores() {
+        if (proveedores == null) {
+            Map<String, ServiceLoader.Provider<Planificador>> encontrados = new LinkedHashMap<>();
+            ServiceLoader.load(Planificador.class).stream().forEach(proveedor -> {
+                String nombre = proveedor.get().getNombre();
+                if (encontrados.putIfAbsent(nombre, proveedor) != null) {
+                    System.err.println("Planificador duplicado ignorado: " + nombre + " (" + proveedor.type().getName() + ")");
+                }
+            });
+            proveedores = encontrados;
+        }
+        return proveedores;
+    }
+
+    //Nombres en el orden en que aparecen en los archivos de servicios
+    public static List<String> nombres() {
+        return new ArrayList<>(getProveedores().keySet());
+    }
+
+    //Nueva instancia del planificador con ese nombre, o null si no existe. Con "nombre:configuración" la configura,
+    //y si la configuración no vale lanza IllegalArgumentException.
+    public static Planificador crear(String nombre) {
+        int separador = nombre.indexOf(':');
+        ServiceLoader.Provider<Planificador> proveedor = getProveedores().get((separador >= 0) ? nombre.substring(0, separador) : nombre);
+        if (proveedor == null) {
+            return null;
+        }
+        Planificador planificador = proveedor.get();
+        return (separador >= 0) ? planificador.configurar(nombre.substring(separador + 1)) : planificador;
+    }
+}
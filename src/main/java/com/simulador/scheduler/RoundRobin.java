@@ -1,14 +1,23 @@
 package com.simulador.scheduler;
 
-import java.util.List;
-
 import com.simulador.models.ColaListos;
-import com.simulador.models.Proceso;
+import com.simulador.models.EstadoProcesos;
+import com.simulador.models.SystemParams;
 
 public class RoundRobin implements Planificador {
 
     @Override
-    public Proceso seleccionarSiguienteProceso(ColaListos colaListos, List<Proceso> procesos) {
+    public String getNombre() {
+        return "Round-Robin";
+    }
+
+    @Override
+    public ColaListos crearColaListos(EstadoProcesos procesos, SystemParams params) {
+        return new ColaListos();
+    }
+
+    @Override
+    public int seleccionarSiguienteProceso(ColaListos colaListos) {
         //Round Robin usa una cola FIFO simple para seleccionar al siguiente.
         return colaListos.quitar();
     }
@@ -18,4 +27,9 @@ public class RoundRobin implements Planificador {
         //Es expropiativo porque el quantum puede interrumpir un proceso.
         return true;
     }
+
+    @Override
+    public boolean usaQuantum() {
+        return true;
+    }
 }
\ No newline at end of file
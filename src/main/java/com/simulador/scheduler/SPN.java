@@ -1,14 +1,24 @@
 package com.simulador.scheduler;
 
-import java.util.List;
-
 import com.simulador.models.ColaListos;
-import com.simulador.models.Proceso;
+import com.simulador.models.ColaListosSPN;
+import com.simulador.models.EstadoProcesos;
+import com.simulador.models.SystemParams;
 
 public class SPN implements Planificador {
 
     @Override
-    public Proceso seleccionarSiguienteProceso(ColaListos colaListos, List<Proceso> procesos) {
+    public String getNombre() {
+        return "SPN";
+    }
+
+    @Override
+    public ColaListos crearColaListos(EstadoProcesos procesos, SystemParams params) {
+        return new ColaListosSPN(procesos);
+    }
+
+    @Override
+    public int seleccionarSiguienteProceso(ColaListos colaListos) {
         return colaListos.quitar();
     }
 
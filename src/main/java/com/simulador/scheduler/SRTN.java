@@ -1,16 +1,29 @@
 package com.simulador.scheduler;
 
-import java.util.List;
-
 import com.simulador.models.ColaListos;
-import com.simulador.models.Proceso;
+import com.simulador.models.ColaListosSRT;
+import com.simulador.models.EstadoProcesos;
+import com.simulador.models.SystemParams;
 
 public class SRTN implements Planificador {
 
+    private EstadoProcesos procesos; //Se recibe por simulación en crearColaListos
+
+    @Override
+    public String getNombre() {
+        return "SRTN";
+    }
+
     @Override
-    public Proceso seleccionarSiguienteProceso(ColaListos colaListos, List<Proceso> procesos) {
+    public ColaListos crearColaListos(EstadoProcesos procesos, SystemParams params) {
+        this.procesos = procesos;
+        return new ColaListosSRT(procesos);
+    }
+
+    @Override
+    public int seleccionarSiguienteProceso(ColaListos colaListos) {
         if (colaListos.estaVacia()) {
-            return null;
+            return ColaListos.NINGUNO;
         }
         
         return colaListos.quitar();
@@ -20,4 +33,12 @@ public class SRTN implements Planificador {
     public boolean esExpropiativo() {
         return true; //SRTN es expropiativo
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean debeExpropiar(int actual, ColaListos colaListos) {
+        //Solo si al de la cola le queda estrictamente menos ráfaga.
+        int candidato = colaListos.verSiguiente();
+        return candidato != ColaListos.NINGUNO
+                && procesos.getTiempoRestanteRafagaCPU(candidato) < procesos.getTiempoRestanteRafagaCPU(actual);
+    }
+}
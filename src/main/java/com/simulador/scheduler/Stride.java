@@ -0,0 +1,36 @@
+package com.simulador.scheduler;
+
+import com.simulador.models.ColaListos;
+import com.simulador.models.ColaListosStride;
+import com.simulador.models.EstadoProcesos;
+import com.simulador.models.SystemParams;
+
+public class Stride implements Planificador {
+
+    @Override
+    public String getNombre() {
+        return "Stride";
+    }
+
+    @Override
+    public ColaListos crearColaListos(EstadoProcesos procesos, SystemParams params) {
+        return new ColaListosStride(procesos.getCarga());
+    }
+
+    @Override
+    public int seleccionarSiguienteProceso(ColaListos colaListos) {
+        //La ColaListosStride devuelve el proceso con menor pasada.
+        return colaListos.quitar();
+    }
+
+    @Override
+    public boolean esExpropiativo() {
+        //Reparte la CPU por quantums, igual que Round Robin.
+        return true;
+    }
+
+    @Override
+    public boolean usaQuantum() {
+        return true;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,394 @@
+package com.simulador.servidor;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonWriter;
+import com.simulador.Simulador;
+import com.simulador.eventos.AlmacenEventos;
+import com.simulador.eventos.TipoEvento;
+import com.simulador.models.CargaTrabajo;
+import com.simulador.models.EstadoProcesos;
+import com.simulador.models.Histograma;
+import com.simulador.models.Metricas;
+import com.simulador.models.Proceso;
+import com.simulador.models.SystemParams;
+import com.simulador.models.UnidadTiempo;
+import com.simulador.persistencia.CacheResultados;
+import com.simulador.scheduler.Planificador;
+import com.simulador.scheduler.RegistroPlanificadores;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/*
+   Modo servidor: una JVM que queda levantada (y caliente) y simula lo que le piden por HTTP, para que
+   los scripts no paguen en cada corrida el arranque de la JVM, la carga de clases y el JIT. Usa el
+   servidor HTTP del JDK y atiende cada pedido en un hilo virtual, así varios pedidos corren a la vez.
+
+       GET  /salud        {"estado":"ok", simulaciones atendidas y aciertos de la caché}
+       GET  /algoritmos   los nombres registrados en RegistroPlanificadores
+       POST /simular      cuerpo: {"algoritmo":"Round-Robin", "params":{"tip":2,"tfp":1,"tcp":1,"quantum":10,"semilla":42},
+                                   "procesos":[ ...el mismo JSON que se carga en la ventana... ]}
+                          con ?eventos=true agrega la traza y con ?procesos=true una fila por proceso.
+                          En "params" también va "unidad" ("µs", "ms", ...): solo se informa, no cambia nada.
+                          El algoritmo puede llevar su configuración, por ejemplo "MLFQ:niveles=4;quantums=2/4/8/16;boost=200".
+
+   La respuesta de /simular se escribe mientras se arma (chunked): primero las métricas y después los
+   eventos leídos directo del almacén, sin juntar todo el JSON en memoria. Los parámetros que no vienen
+   toman los valores por defecto de la ventana. Los errores del pedido vuelven como 400 con {"error":...}.
+   Las simulaciones pasan por la CacheResultados que se le da, así un pedido repetido no se vuelve a simular.
+   Cada simulación tiene un plazo de reloj (el tercer argumento, en segundos): si se pasa, o si la cancelan
+   desde JMX, se abandona y el pedido vuelve como 503, así un pedido que no termina no ocupa un hilo para siempre.
+
+       servidor [puerto] [dirección] [plazo]
+ */
+public class ServidorSimulacion {
+
+    public static final int PUERTO_POR_DEFECTO = 7070;
+    public static final int MAXIMO_CUERPO = 64 << 20; //64 MiB de JSON alcanzan para cientos de miles de procesos
+    private static final int TIP_POR_DEFECTO = 2; //Los mismos que la ventana principal
+    private static final int TFP_POR_DEFECTO = 1;
+    private static final int TCP_POR_DEFECTO = 1;
+    private static final int QUANTUM_POR_DEFECTO = 10;
+    public static final int PLAZO_POR_DEFECTO_SEGUNDOS = 60;
+
+    static {
+        //Sin TCP_NODELAY, la respuesta chunked espera el ACK retrasado del cliente: 40 ms por pedido chico.
+        //Se lee una sola vez, al cargar la configuración del servidor HTTP, así que va antes de crear alguno.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final Gson gson = new Gson(); //Se puede compartir entre hilos
+    private final CacheResultados cache;
+    private final AtomicLong simulaciones = new AtomicLong();
+    private final long plazoNanos;
+    private HttpServer servidor;
+    private ExecutorService hilos;
+
+    public ServidorSimulacion(CacheResultados cache) {
+        this(cache, PLAZO_POR_DEFECTO_SEGUNDOS);
+    }
+
+    public ServidorSimulacion(CacheResultados cache, int plazoSegundos) {
+        if (plazoSegundos <= 0) {
+            throw new IllegalArgumentException("El plazo por pedido debe ser positivo.");
+        }
+        this.cache = cache;
+        this.plazoNanos = plazoSegundos * 1_000_000_000L;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int puerto = (args.length > 0) ? Integer.parseInt(args[0]) : PUERTO_POR_DEFECTO;
+        String direccion = (args.length > 1) ? args[1] : "127.0.0.1"; //Por defecto solo desde esta máquina
+        int plazo = (args.length > 2) ? Integer.parseInt(args[2]) : PLAZO_POR_DEFECTO_SEGUNDOS;
+        ServidorSimulacion servidor = new ServidorSimulacion(CacheResultados.getCompartida(), plazo);
+        long inicio = System.nanoTime();
+        servidor.calentar();
+        servidor.iniciar(new InetSocketAddress(direccion, puerto));
+        System.out.printf("Simulador escuchando en http://%s:%d/ (calentamiento: %.1f s)%n",
+                direccion, servidor.getPuerto(), (System.nanoTime() - inicio) / 1e9);
+    }
+
+    public synchronized void iniciar(InetSocketAddress direccion) throws IOException {
+        if (servidor != null) {
+            throw new IllegalStateException("El servidor ya está iniciado.");
+        }
+        hilos = Executors.newVirtualThreadPerTaskExecutor();
+        servidor = HttpServer.create(direccion, 0);
+        servidor.setExecutor(hilos);
+        servidor.createContext("/salud", this::salud);
+        servidor.createContext("/algoritmos", this::algoritmos);
+        servidor.createContext("/simular", this::simular);
+        servidor.start();
+    }
+
+    //Deja de aceptar pedidos; los que están corriendo tienen "segundos" para terminar
+    public synchronized void detener(int segundos) {
+        if (servidor != null) {
+            servidor.stop(segundos);
+            hilos.shutdown();
+            servidor = null;
+        }
+    }
+
+    public synchronized int getPuerto() {
+        return (servidor != null) ? servidor.getAddress().getPort() : -1;
+    }
+
+    public long getSimulaciones() {
+        return simulaciones.get();
+    }
+
+    /*
+       Corre cada planificador sobre una carga chica unas cuantas veces (sin la caché) para que el primer
+       pedido real no pague la carga de clases ni el código interpretado. Tarda menos de un segundo.
+     */
+    public void calentar() {
+        List<Proceso> procesos = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            Proceso p = new Proceso();
+            p.setNombre("P" + i);
+            p.setTiempoArribo(i * 3);
+            p.setCantidadRafagasCPU(1 + i % 4);
+            p.setDuracionRafagaCPU(1 + i % 7);
+            p.setDuracionRafagaES(i % 5);
+            p.setPrioridadExterna(i % 10);
+            procesos.add(p);
+        }
+        String json = gson.toJson(procesos);
+        for (int vuelta = 0; vuelta < 50; vuelta++) {
+            CargaTrabajo carga = new CargaTrabajo(gson.fromJson(json, new TypeToken<List<Proceso>>() {}.getType()));
+            for (String nombre : RegistroPlanificadores.nombres()) {
+                Simulador simulador = new Simulador(carga, RegistroPlanificadores.crear(nombre),
+                        new SystemParams(TIP_POR_DEFECTO, TFP_POR_DEFECTO, TCP_POR_DEFECTO, QUANTUM_POR_DEFECTO));
+                simulador.iniciar();
+            }
+        }
+    }
+
+    private void salud(HttpExchange intercambio) throws IOException {
+        try (intercambio) {
+            if (!exigirMetodo(intercambio, "GET")) {
+                return;
+            }
+            JsonObject respuesta = new JsonObject();
+            respuesta.addProperty("estado", "ok");
+            respuesta.addProperty("simulaciones", simulaciones.get());
+            respuesta.addProperty("aciertosCache", cache.getAciertosMemoria() + cache.getAciertosDisco());
+            respuesta.addProperty("fallosCache", cache.getFallos());
+            responder(intercambio, 200, respuesta);
+        }
+    }
+
+    private void algoritmos(HttpExchange intercambio) throws IOException {
+        try (intercambio) {
+            if (exigirMetodo(intercambio, "GET")) {
+                responder(intercambio, 200, gson.toJsonTree(RegistroPlanificadores.nombres()));
+            }
+        }
+    }
+
+    private void simular(HttpExchange intercambio) throws IOException {
+        try (intercambio) {
+            if (!exigirMetodo(intercambio, "POST")) {
+                return;
+            }
+            Map<String, String> consulta = leerConsulta(intercambio.getRequestURI());
+            boolean conEventos = Boolean.parseBoolean(consulta.get("eventos"));
+            boolean conProcesos = Boolean.parseBoolean(consulta.get("procesos"));
+
+            String nombre;
+            CargaTrabajo carga;
+            SystemParams params;
+            Planificador planificador;
+            try {
+                JsonObject pedido = JsonParser.parseString(leerCuerpo(intercambio.getRequestBody())).getAsJsonObject();
+                nombre = pedido.has("algoritmo") ? pedido.get("algoritmo").getAsString() : null;
+                List<Proceso> procesos = gson.fromJson(pedido.get("procesos"), new TypeToken<List<Proceso>>() {}.getType());
+                if (nombre == null || procesos == null || procesos.isEmpty()) {
+                    throw new IllegalArgumentException("El pedido necesita \"algoritmo\" y una lista \"procesos\" no vacía.");
+                }
+                params = leerParams(pedido.getAsJsonObject("params"));
+                carga = new CargaTrabajo(procesos);
+                planificador = RegistroPlanificadores.crear(nombre); //Una configuración inválida es un 400 más
+            } catch (JsonParseException | IllegalStateException | ClassCastException | UnsupportedOperationException | IllegalArgumentException ex) {
+                responderError(intercambio, 400, ex.getMessage());
+                return;
+            }
+            if (planificador == null) {
+                responderError(intercambio, 400, "No hay un planificador registrado con el nombre " + nombre
+                        + ". Los registrados son " + RegistroPlanificadores.nombres());
+                return;
+            }
+
+            long inicio = System.nanoTime();
+            Simulador simulador = cache.simular(carga, planificador, params, conEventos, plazoNanos);
+            simulaciones.incrementAndGet();
+            double milis = (System.nanoTime() - inicio) / 1e6;
+            try (AlmacenEventos log = simulador.getLog()) { //Al terminar de mandarlo se borra su archivo de desborde, si lo tuvo
+                if (simulador.isAbortada()) {
+                    responderError(intercambio, 503, "La simulación se abandonó en t=" + params.getUnidad().formatear(simulador.getTiempoActual())
+                            + ": superó el plazo de " + plazoNanos / 1_000_000_000L + " s o la cancelaron.");
+                    return;
+                }
+
+                intercambio.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+                intercambio.sendResponseHeaders(200, 0); //Largo desconocido: se manda en partes a medida que se escribe
+                try (JsonWriter json = new JsonWriter(new OutputStreamWriter(
+                        new BufferedOutputStream(intercambio.getResponseBody(), 64 * 1024), StandardCharsets.UTF_8))) {
+                    json.beginObject();
+                    json.name("algoritmo").value(planificador.getNombre());
+                    json.name("deCache").value(simulador.isDeResultadoGuardado());
+                    json.name("milisSimulacion").value(milis);
+                    json.name("unidad").value(params.getUnidad().getNombre());
+                    escribirMetricas(json, simulador.getMetricas(), simulador.getTiempoActual());
+                    if (conProcesos) {
+                        escribirProcesos(json, carga, simulador.getEstadoProcesos());
+                    }
+                    if (conEventos) {
+                        escribirEventos(json, log);
+                    }
+                    json.endObject();
+                }
+            }
+        }
+    }
+
+    //Los que falten quedan como en la ventana principal
+    private static SystemParams leerParams(JsonObject params) {
+        SystemParams resultado = new SystemParams(TIP_POR_DEFECTO, TFP_POR_DEFECTO, TCP_POR_DEFECTO, QUANTUM_POR_DEFECTO);
+        if (params == null) {
+            return resultado;
+        }
+        if (params.has("tip")) {
+            resultado.setTip(params.get("tip").getAsInt());
+        }
+        if (params.has("tfp")) {
+            resultado.setTfp(params.get("tfp").getAsInt());
+        }
+        if (params.has("tcp")) {
+            resultado.setTcp(params.get("tcp").getAsInt());
+        }
+        if (params.has("quantum")) {
+            resultado.setQuantum(params.get("quantum").getAsInt());
+        }
+        if (params.has("semilla")) {
+            resultado.setSemilla(params.get("semilla").getAsLong());
+        }
+        if (params.has("unidad")) {
+            UnidadTiempo unidad = UnidadTiempo.porNombre(params.get("unidad").getAsString());
+            if (unidad == null) {
+                throw new IllegalArgumentException("No hay una unidad de tiempo llamada " + params.get("unidad").getAsString() + ".");
+            }
+            resultado.setUnidad(unidad);
+        }
+        if (resultado.getTip() < 0 || resultado.getTfp() < 0 || resultado.getTcp() < 0 || resultado.getQuantum() <= 0) {
+            throw new IllegalArgumentException("Los tiempos no pueden ser negativos y el quantum debe ser positivo.");
+        }
+        return resultado;
+    }
+
+    //Las mismas columnas que metricas.csv de ExportadorCSV
+    private static void escribirMetricas(JsonWriter json, Metricas m, long tiempoFinal) throws IOException {
+        json.name("metricas").beginObject();
+        json.name("tiempoFinal").value(tiempoFinal);
+        json.name("tiempoRetornoTanda").value(m.getTiempoRetornoTanda());
+        json.name("tiempoMedioRetorno").value(m.getTiempoMedioRetornoTanda());
+        json.name("cpuDesocupada").value(m.getTiempoCPUDesocupada());
+        json.name("cpuSO").value(m.getTiempoCPU_OS());
+        json.name("cpuProcesos").value(tiempoFinal - (m.getTiempoCPUDesocupada() + m.getTiempoCPU_OS()));
+        String[] nombres = {"retorno", "retornoNormalizado", "esperaListo", "respuesta"};
+        Histograma[] histogramas = {m.getHistogramaRetorno(), m.getHistogramaRetornoNormalizado(), m.getHistogramaEsperaListo(), m.getHistogramaRespuesta()};
+        for (int i = 0; i < nombres.length; i++) {
+            json.name(nombres[i]).beginObject();
+            json.name("p50").value(histogramas[i].percentil(50));
+            json.name("p90").value(histogramas[i].percentil(90));
+            json.name("p99").value(histogramas[i].percentil(99));
+            json.name("p999").value(histogramas[i].percentil(99.9));
+            json.name("max").value(histogramas[i].getMaximo());
+            json.endObject();
+        }
+        json.endObject();
+    }
+
+    private static void escribirProcesos(JsonWriter json, CargaTrabajo carga, EstadoProcesos procesos) throws IOException {
+        json.name("procesos").beginArray();
+        for (int pid = 1; pid <= carga.getCantidad(); pid++) {
+            long tr = procesos.getTiempoFinEjecucion(pid) - carga.getTiempoArribo(pid);
+            long servicio = carga.getTiempoServicio(pid);
+            json.beginObject();
+            json.name("pid").value(pid);
+            json.name("nombre").value(carga.getNombre(pid));
+            json.name("tiempoArribo").value(carga.getTiempoArribo(pid));
+            json.name("tiempoFin").value(procesos.getTiempoFinEjecucion(pid));
+            json.name("tiempoRetorno").value(tr);
+            json.name("tiempoServicio").value(servicio);
+            json.name("retornoNormalizado").value((servicio > 0) ? (double) tr / servicio : 0);
+            json.name("tiempoListo").value(procesos.getTiempoEnEstadoListo(pid));
+            json.endObject();
+        }
+        json.endArray();
+    }
+
+    //Directo de los registros del almacén, como ExportadorCSV.exportarEventos
+    private static void escribirEventos(JsonWriter json, AlmacenEventos eventos) throws IOException {
+        json.name("eventos").beginArray();
+        for (long i = 0; i < eventos.getCantidad(); i++) {
+            json.beginObject();
+            json.name("tiempo").value(eventos.getTiempo(i));
+            int pid = eventos.getPid(i);
+            if (pid != 0) {
+                json.name("pid").value(pid);
+            }
+            json.name("tipo").value(TipoEvento.nombre(eventos.getTipo(i)));
+            json.name("mensaje").value(eventos.getMensaje(i));
+            json.endObject();
+        }
+        json.endArray();
+    }
+
+    private static String leerCuerpo(InputStream cuerpo) throws IOException {
+        byte[] datos = cuerpo.readNBytes(MAXIMO_CUERPO + 1);
+        if (datos.length > MAXIMO_CUERPO) {
+            throw new IllegalArgumentException("El pedido supera los " + (MAXIMO_CUERPO >> 20) + " MiB.");
+        }
+        return new String(datos, StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, String> leerConsulta(URI uri) {
+        Map<String, String> consulta = new HashMap<>();
+        if (uri.getQuery() != null) {
+            for (String par : uri.getQuery().split("&")) {
+                int igual = par.indexOf('=');
+                if (igual < 0) {
+                    consulta.put(par, "true"); //?eventos es lo mismo que ?eventos=true
+                } else {
+                    consulta.put(par.substring(0, igual), par.substring(igual + 1));
+                }
+            }
+        }
+        return consulta;
+    }
+
+    private boolean exigirMetodo(HttpExchange intercambio, String metodo) throws IOException {
+        if (intercambio.getRequestMethod().equalsIgnoreCase(metodo)) {
+            return true;
+        }
+        intercambio.getResponseHeaders().set("Allow", metodo);
+        responderError(intercambio, 405, "Este recurso solo acepta " + metodo + ".");
+        return false;
+    }
+
+    private void responderError(HttpExchange intercambio, int codigo, String mensaje) throws IOException {
+        JsonObject error = new JsonObject();
+        error.addProperty("error", mensaje);
+        responder(intercambio, codigo, error);
+    }
+
+    private void responder(HttpExchange intercambio, int codigo, JsonElement cuerpo) throws IOException {
+        byte[] datos = gson.toJson(cuerpo).getBytes(StandardCharsets.UTF_8);
+        intercambio.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        intercambio.sendResponseHeaders(codigo, datos.length);
+        intercambio.getResponseBody().write(datos);
+    }
+}
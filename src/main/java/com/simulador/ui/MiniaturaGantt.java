@@ -0,0 +1,107 @@
+package com.simulador.ui;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+
+import javax.swing.JPanel;
+
+import com.simulador.eventos.AlmacenEventos;
+import com.simulador.eventos.TipoEvento;
+import com.simulador.models.CargaTrabajo;
+
+/*
+   Un Gantt chico de una corrida completa, escalado al tamaño del panel: una fila por proceso (o por grupo de
+   procesos si no entran) y una columna por tramo de tiempo, pintada si el proceso ejecutó en ese tramo.
+   Un evento EJECUCION puede cubrir varias unidades (el simulador las agrupa): se pinta desde el despacho o
+   desde la ejecución anterior del mismo proceso.
+   La imagen se arma una sola vez (fuera del hilo de Swing) recorriendo los eventos, así el repintado es inmediato
+   aunque la corrida tenga millones de eventos.
+ */
+public class MiniaturaGantt extends JPanel {
+
+    public static final int ANCHO = 320;
+    public static final int ALTO = 120;
+    private static final int MARGEN_TITULO = 16;
+
+    private static final int COLOR_FONDO = Color.WHITE.getRGB();
+    private static final int COLOR_EJECUCION = new Color(0, 160, 0).getRGB();
+    private static final int COLOR_SO = Color.GRAY.getRGB(); //Franja inferior: TIP, TCP y TFP
+
+    private final String titulo;
+    private BufferedImage imagen; //null mientras la corrida no terminó
+
+    public MiniaturaGantt(String titulo) {
+        this.titulo = titulo;
+    }
+
+    //Se llama con el resultado de generar() cuando termina la corrida
+    public void mostrar(BufferedImage imagen) {
+        this.imagen = imagen;
+        repaint();
+    }
+
+    public static BufferedImage generar(CargaTrabajo carga, AlmacenEventos eventos) {
+        BufferedImage imagen = new BufferedImage(ANCHO, ALTO, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < ALTO; y++) {
+            for (int x = 0; x < ANCHO; x++) {
+                imagen.setRGB(x, y, COLOR_FONDO);
+            }
+        }
+        int n = carga.getCantidad();
+        long cantidad = eventos.getCantidad();
+        if (n == 0 || cantidad == 0) {
+            return imagen;
+        }
+        int filasSO = 4;
+        int altoProcesos = ALTO - filasSO - 1;
+        double tiempoTotal = eventos.getTiempo(cantidad - 1) + 1;
+        double altoFila = (double) altoProcesos / n;
+        long[] ejecutaDesde = new long[n + 1]; //Primera unidad que todavía no se pintó de cada proceso en CPU
+        for (long i = 0; i < cantidad; i++) {
+            long t = eventos.getTiempo(i);
+            int x = (int) (t * ANCHO / tiempoTotal);
+            int tipo = eventos.getTipo(i);
+            int pid = eventos.getPid(i);
+            if (pid != 0 && tipo == TipoEvento.DESPACHO_PROCESO) {
+                ejecutaDesde[pid] = t;
+            } else if (pid != 0 && tipo == TipoEvento.EJECUCION) {
+                int desde = (int) ((pid - 1) * altoFila);
+                int hasta = Math.max(desde + 1, (int) (pid * altoFila));
+                for (int columna = (int) (Math.min(ejecutaDesde[pid], t) * ANCHO / tiempoTotal); columna <= x; columna++) {
+                    for (int y = desde; y < hasta && y < altoProcesos; y++) {
+                        imagen.setRGB(columna, y, COLOR_EJECUCION);
+                    }
+                }
+                ejecutaDesde[pid] = t + 1;
+            } else if (tipo == TipoEvento.INICIO_TIP || tipo == TipoEvento.INICIO_TCP || tipo == TipoEvento.PROCESO_TERMINADO) {
+                for (int y = ALTO - filasSO; y < ALTO; y++) {
+                    imagen.setRGB(x, y, COLOR_SO);
+                }
+            }
+        }
+        return imagen;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        g.setFont(new Font("Arial", Font.BOLD, 12));
+        g.setColor(Color.BLACK);
+        g.drawString(titulo, 2, MARGEN_TITULO - 4);
+        if (imagen == null) {
+            g.setFont(new Font("Arial", Font.PLAIN, 11));
+            g.drawString("Ejecutando...", 2, MARGEN_TITULO + ALTO / 2);
+        } else {
+            g.drawImage(imagen, 0, MARGEN_TITULO, null);
+            g.drawRect(0, MARGEN_TITULO, ANCHO - 1, ALTO - 1);
+        }
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        return new Dimension(ANCHO, ALTO + MARGEN_TITULO);
+    }
+}
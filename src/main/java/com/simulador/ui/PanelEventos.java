@@ -0,0 +1,111 @@
+package com.simulador.ui;
+
+import java.awt.BorderLayout;
+import java.awt.Font;
+
+import javax.swing.JButton;
+import javax.swing.JComboBox;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTextArea;
+import javax.swing.JTextField;
+
+import com.simulador.eventos.AlmacenEventos;
+import com.simulador.eventos.IndiceEventos;
+import com.simulador.eventos.TipoEvento;
+
+//Visor del log con filtros por PID, tipo y rango de tiempo, resueltos con el índice de eventos
+public class PanelEventos extends JPanel {
+
+    private static final int LIMITE = 5000; //Más líneas no se pueden leer y hacen lento al JTextArea
+
+    private final JTextField pidField;
+    private final JComboBox<String> tipoSelector;
+    private final JTextField desdeField;
+    private final JTextField hastaField;
+    private final JButton filtrarButton;
+    private final JLabel resultadoLabel;
+    private final JTextArea eventosArea;
+
+    private IndiceEventos indice;
+
+    public PanelEventos() {
+        setLayout(new BorderLayout());
+
+        pidField = new JTextField(5);
+        String[] tipos = new String[TipoEvento.CANTIDAD + 1];
+        tipos[0] = "Todos";
+        for (int tipo = 0; tipo < TipoEvento.CANTIDAD; tipo++) {
+            tipos[tipo + 1] = TipoEvento.nombre(tipo);
+        }
+        tipoSelector = new JComboBox<>(tipos);
+        desdeField = new JTextField(7);
+        hastaField = new JTextField(7);
+        filtrarButton = new JButton("Filtrar");
+        filtrarButton.setEnabled(false); //Habilitado al finalizar la simulación
+        resultadoLabel = new JLabel("Sin simulación.");
+
+        JPanel panelFiltros = new JPanel();
+        panelFiltros.add(new JLabel("PID:"));
+        panelFiltros.add(pidField);
+        panelFiltros.add(new JLabel("Tipo:"));
+        panelFiltros.add(tipoSelector);
+        panelFiltros.add(new JLabel("Desde t:"));
+        panelFiltros.add(desdeField);
+        panelFiltros.add(new JLabel("Hasta t:"));
+        panelFiltros.add(hastaField);
+        panelFiltros.add(filtrarButton);
+        panelFiltros.add(resultadoLabel);
+
+        eventosArea = new JTextArea();
+        eventosArea.setEditable(false);
+        eventosArea.setFont(new Font("Monospaced", Font.PLAIN, 12));
+
+        add(panelFiltros, BorderLayout.NORTH);
+        add(new JScrollPane(eventosArea), BorderLayout.CENTER);
+
+        filtrarButton.addActionListener(e -> filtrar());
+    }
+
+    //Se llama al terminar cada simulación, con el índice ya armado fuera del hilo de Swing
+    public void mostrar(IndiceEventos indice) {
+        this.indice = indice;
+        filtrarButton.setEnabled(true);
+        filtrar();
+    }
+
+    private void filtrar() {
+        if (indice == null) {
+            return;
+        }
+        int pid;
+        long desde;
+        long hasta;
+        try { //Los campos vacíos no filtran
+            pid = pidField.getText().isBlank() ? 0 : Integer.parseInt(pidField.getText().trim());
+            desde = desdeField.getText().isBlank() ? 0 : Long.parseLong(desdeField.getText().trim());
+            hasta = hastaField.getText().isBlank() ? Long.MAX_VALUE : Long.parseLong(hastaField.getText().trim());
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "El PID y el rango de tiempo deben ser números enteros.", "Error de Entrada", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        int tipo = tipoSelector.getSelectedIndex() - 1; //-1 si es "Todos"
+
+        long inicio = System.nanoTime();
+        int[] posiciones = indice.filtrar(pid, tipo, desde, hasta, LIMITE + 1);
+        long micros = (System.nanoTime() - inicio) / 1000;
+
+        AlmacenEventos eventos = indice.getEventos();
+        StringBuilder texto = new StringBuilder();
+        int mostrados = Math.min(posiciones.length, LIMITE);
+        for (int i = 0; i < mostrados; i++) {
+            texto.append(eventos.get(posiciones[i])).append('\n');
+        }
+        eventosArea.setText(texto.toString());
+        eventosArea.setCaretPosition(0);
+        resultadoLabel.setText((posiciones.length > LIMITE ? "Primeros " + LIMITE + " eventos" : mostrados + " eventos")
+                + " (" + micros + " µs)");
+    }
+}
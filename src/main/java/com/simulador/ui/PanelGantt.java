@@ -4,41 +4,61 @@ import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.Graphics;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.awt.Rectangle;
+import java.util.Arrays;
 
 import javax.swing.JPanel;
 
-import com.simulador.models.Evento;
-import com.simulador.models.Proceso;
+import com.simulador.eventos.AlmacenEventos;
+import com.simulador.eventos.IndiceEventos;
+import com.simulador.eventos.IndiceLineaTiempo;
+import com.simulador.eventos.TipoEvento;
+import com.simulador.jfr.EventoPintadoGantt;
+import com.simulador.jfr.EventoTramosGantt;
+import com.simulador.models.CargaTrabajo;
+import com.simulador.models.UnidadTiempo;
 
 public class PanelGantt extends JPanel {
 
-    private final List<Proceso> procesos;
-    private final List<Evento> eventos;
+    private final CargaTrabajo carga;
+    private final IndiceEventos indice;
+    private final AlmacenEventos eventos;
+    private final long tiempoTotal;
+    private final long unidadesPorCelda; //1 salvo en corridas muy largas, así el ancho entra en un int
+    private final UnidadTiempo unidad;
     //Para los rectangulos de colores, nombres, etc
     private static final int ROW_HEIGHT = 30;
-    private static final int CELL_WIDTH = 15;
-    private static final int MARGIN_LEFT = 80;
+    static final int CELL_WIDTH = 15; //El panel de telemetría usa la misma escala de tiempo
+    static final int MARGIN_LEFT = 80;
     private static final int MARGIN_TOP = 40;
+    private static final long CELDAS_MAXIMAS = 100_000;
 
-    private final Map<String, Color> stateColors; //A un estado le corresponde un color
-
-    public PanelGantt(List<Proceso> procesos, List<Evento> eventos) {
-        this.procesos = procesos;
-        this.eventos = eventos;
-
-        stateColors = new HashMap<>();
-        stateColors.put("EJECUCION", Color.GREEN);      
-        stateColors.put("BLOQUEADO", Color.RED);      
-        stateColors.put("LISTO", Color.YELLOW);      
-        stateColors.put("NUEVO", Color.CYAN);       
-        stateColors.put("TIP", Color.LIGHT_GRAY);       
-        stateColors.put("TCP", Color.GRAY);         
-        stateColors.put("TFP", Color.DARK_GRAY);          
-        stateColors.put("TERMINADO", Color.WHITE);
-        stateColors.put("NO_LLEGADO", Color.WHITE);
+    private final Color[] stateColors; //A un estado (código de IndiceLineaTiempo) le corresponde un color
+
+    //Tramos de cada proceso, armados la primera vez que su fila se ve: en inicios[pid][k] empieza el estado estados[pid][k]
+    private final long[][] inicios;
+    private final byte[][] estados;
+
+    public PanelGantt(CargaTrabajo carga, IndiceEventos indice, UnidadTiempo unidad) {
+        this.carga = carga;
+        this.indice = indice;
+        this.eventos = indice.getEventos();
+        this.unidad = unidad;
+        this.tiempoTotal = (indice.getIndexados() > 0) ? eventos.getTiempo(indice.getIndexados() - 1) : 0;
+        this.unidadesPorCelda = Math.max(1, (tiempoTotal + 2 + CELDAS_MAXIMAS - 1) / CELDAS_MAXIMAS);
+        this.inicios = new long[carga.getCantidad() + 1][];
+        this.estados = new byte[carga.getCantidad() + 1][];
+
+        stateColors = new Color[IndiceLineaTiempo.NOMBRES_ESTADO.length];
+        stateColors[IndiceLineaTiempo.EJECUCION] = Color.GREEN;
+        stateColors[IndiceLineaTiempo.BLOQUEADO] = Color.RED;
+        stateColors[IndiceLineaTiempo.LISTO] = Color.YELLOW;
+        stateColors[IndiceLineaTiempo.NUEVO] = Color.CYAN;
+        stateColors[IndiceLineaTiempo.TIP] = Color.LIGHT_GRAY;
+        stateColors[IndiceLineaTiempo.TCP] = Color.GRAY;
+        stateColors[IndiceLineaTiempo.TFP] = Color.DARK_GRAY;
+        stateColors[IndiceLineaTiempo.TERMINADO] = Color.WHITE;
+        stateColors[IndiceLineaTiempo.NO_LLEGADO] = Color.WHITE;
     }
 
     @Override
@@ -46,132 +66,204 @@ public class PanelGantt extends JPanel {
         super.paintComponent(g);
         setBackground(Color.WHITE);
 
-        if (procesos == null || procesos.isEmpty() || eventos == null || eventos.isEmpty()) {
+        if (carga == null || carga.getCantidad() == 0 || indice.getIndexados() == 0) {
             g.drawString("No hay datos para mostrar.", 20, 20);
             return;
         }
 
-        int tiempoTotal = eventos.get(eventos.size() - 1).getTiempo(); 
+        //Solo se dibuja lo que se ve: las filas y los instantes dentro del área a repintar
+        Rectangle area = g.getClipBounds();
+        if (area == null) {
+            area = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        long celdaDesde = Math.max(0, (area.x - MARGIN_LEFT) / CELL_WIDTH - 1);
+        long celdaHasta = Math.min(tiempoTotal / unidadesPorCelda, (area.x + area.width - MARGIN_LEFT) / CELL_WIDTH + 1);
+        long tDesde = celdaDesde * unidadesPorCelda;
+        long tHasta = Math.min(tiempoTotal, (celdaHasta + 1) * unidadesPorCelda - 1);
+        int filaDesde = Math.max(0, (area.y - MARGIN_TOP) / ROW_HEIGHT - 1);
+        int filaHasta = Math.min(carga.getCantidad() - 1, (area.y + area.height - MARGIN_TOP) / ROW_HEIGHT + 1);
+        EventoPintadoGantt evento = new EventoPintadoGantt();
+        evento.begin();
 
         //1 Dibujar etiquetas y escala de tiempo
         g.setFont(new Font("Arial", Font.BOLD, 12));
-        for (int i = 0; i < procesos.size(); i++) {
-            Proceso p = procesos.get(i);
-            g.drawString("P" + p.getPid() + " (" + p.getNombre() + ")", 10, MARGIN_TOP + i * ROW_HEIGHT + ROW_HEIGHT / 2 + 5);
+        for (int i = filaDesde; i <= filaHasta; i++) {
+            int pid = i + 1;
+            g.drawString("P" + pid + " (" + carga.getNombre(pid) + ")", 10, MARGIN_TOP + i * ROW_HEIGHT + ROW_HEIGHT / 2 + 5);
         }
         g.setFont(new Font("Arial", Font.PLAIN, 10));
-        for (int t = 0; t <= tiempoTotal; t++) {
-            if (t % 5 == 0) {
-                g.drawString(String.valueOf(t), MARGIN_LEFT + t * CELL_WIDTH, MARGIN_TOP - 10);
-                g.drawLine(MARGIN_LEFT + t * CELL_WIDTH, MARGIN_TOP - 5, MARGIN_LEFT + t * CELL_WIDTH, MARGIN_TOP);
-            }
+        for (long c = celdaDesde - celdaDesde % 5; c <= celdaHasta; c += 5) {
+            g.drawString(unidad.formatear(c * unidadesPorCelda), x(c), MARGIN_TOP - 10);
+            g.drawLine(x(c), MARGIN_TOP - 5, x(c), MARGIN_TOP);
         }
 
-        //2 Construir la matriz de estados
-        String[][] estadoEnTiempo = new String[procesos.size() + 1][tiempoTotal + 2];
-
-        for (int t = 0; t <= tiempoTotal + 1; t++) {
-            for (Proceso p : procesos) {
-                int pid = p.getPid();
-                if (estadoEnTiempo[pid][t] == null) {
-                    if (t > 0) {
-                        estadoEnTiempo[pid][t] = estadoEnTiempo[pid][t - 1];
-                    } else {
-                        estadoEnTiempo[pid][t] = "NO_LLEGADO";
-                    }
-                }
+        //2 Dibujar los rectángulos, tramo por tramo
+        for (int i = filaDesde; i <= filaHasta; i++) {
+            int pid = i + 1;
+            if (inicios[pid] == null) {
+                armarTramos(pid);
             }
-            for (Evento e : eventos) {
-                if (e.getTiempo() == t && e.getPid() != null) {
-                    int pid = e.getPid();
-                    String tipo = e.getTipoEvento();
-
-                    switch (tipo) { //Algunos estados "transitorios" deberían mostrar cierto estado, como de ejecutando a bloquedo, debe mostrar ejecutando esa casilla
-                        case "ARRIBO_PROCESO":
-                            estadoEnTiempo[pid][t] = "NUEVO";
-                            break;
-                        case "INICIO_TIP":
-                            estadoEnTiempo[pid][t] = "TIP";
-                            break;
-                        case "INICIO_TCP":
-                            estadoEnTiempo[pid][t] = "TCP";
-                            break;
-                        case "EJECUCION":
-                        case "DESPACHO_PROCESO":
-                            estadoEnTiempo[pid][t] = "EJECUCION";
-                            break;
-                        case "FIN_TIP":
-                        case "BLOQUEADO_A_LISTO":
-                        case "INTERRUPCION":
-                        case "INCUMBENTE_EXPROPIADO":
-                            estadoEnTiempo[pid][t] = "LISTO";
-                            break;
-                        case "FIN TFP":
-                            estadoEnTiempo[pid][t] = "TFP";
-                            if (t + 1 <= tiempoTotal + 1) estadoEnTiempo[pid][t + 1] = "TERMINADO";
-                            break;
-                        
-                        case "EJECUCION_A_BLOQUEADO":
-                            estadoEnTiempo[pid][t] = "EJECUCION";
-                            if (t + 1 <= tiempoTotal + 1) estadoEnTiempo[pid][t + 1] = "BLOQUEADO";
-                            break;
-                        case "PROCESO_TERMINADO":
-                            estadoEnTiempo[pid][t] = "EJECUCION";
-                            if (t + 1 <= tiempoTotal + 1) estadoEnTiempo[pid][t + 1] = "TFP";
-                            break;
-                        case "FIN_QUANTUM": 
-                            estadoEnTiempo[pid][t] = "EJECUCION";
-                            if (t + 1 <= tiempoTotal + 1) estadoEnTiempo[pid][t + 1] = "LISTO";
-                            break;
-                    }
-                }
+            long[] desde = inicios[pid];
+            byte[] estado = estados[pid];
+            int k = Arrays.binarySearch(desde, tDesde);
+            if (k < 0) {
+                k = -k - 2; //El tramo que contiene a tDesde (el primero empieza en 0)
             }
-        }
-
-        //3 Dibujar los rectángulos
-        for (int i = 0; i < procesos.size(); i++) {
-            int pid = procesos.get(i).getPid();
-            for (int t = 0; t <= tiempoTotal; t++) {
-                String estado = estadoEnTiempo[pid][t];
-                Color color = stateColors.getOrDefault(estado, Color.LIGHT_GRAY);
-                g.setColor(color);
-                g.fillRect(MARGIN_LEFT + t * CELL_WIDTH, MARGIN_TOP + i * ROW_HEIGHT, CELL_WIDTH, ROW_HEIGHT); 
-                
-                if (estado != null && !"TERMINADO".equals(estado) && !"NO_LLEGADO".equals(estado)) {
+            int y = MARGIN_TOP + i * ROW_HEIGHT;
+            for (; k < desde.length && desde[k] <= tHasta; k++) {
+                long inicio = Math.max(desde[k], tDesde);
+                long fin = Math.min((k + 1 < desde.length) ? desde[k + 1] - 1 : tHasta, tHasta);
+                if (fin < inicio) {
+                    continue;
+                }
+                //Con varias unidades por celda, un tramo que empieza y termina en la misma celda la pinta entera
+                long primera = inicio / unidadesPorCelda;
+                long ultima = fin / unidadesPorCelda;
+                g.setColor(stateColors[estado[k]]);
+                g.fillRect(x(primera), y, x(ultima + 1) - x(primera), ROW_HEIGHT);
+                if (estado[k] != IndiceLineaTiempo.TERMINADO && estado[k] != IndiceLineaTiempo.NO_LLEGADO) {
                     g.setColor(Color.BLACK);
-                    g.drawRect(MARGIN_LEFT + t * CELL_WIDTH, MARGIN_TOP + i * ROW_HEIGHT, CELL_WIDTH, ROW_HEIGHT);
+                    for (long c = primera; c <= ultima; c++) {
+                        g.drawRect(x(c), y, CELL_WIDTH, ROW_HEIGHT);
+                    }
                 }
             }
         }
-        
-        //4 Dibujar leyenda
-        int legendY = MARGIN_TOP + procesos.size() * ROW_HEIGHT + 40;
+
+        //3 Dibujar leyenda
+        int legendY = MARGIN_TOP + carga.getCantidad() * ROW_HEIGHT + 40;
         int legendX = MARGIN_LEFT;
+        g.setColor(Color.BLACK);
         g.setFont(new Font("Arial", Font.BOLD, 12));
         g.drawString("Leyenda:", legendX, legendY);
         legendY += 5;
-        
-        String[] leyendaOrdenada = {"EJECUCION", "BLOQUEADO", "LISTO", "NUEVO", "TIP", "TCP", "TFP"};
-        for (String estado : leyendaOrdenada) {
-            Color color = stateColors.get(estado);
-            if (color == null) continue;
+
+        byte[] leyendaOrdenada = {IndiceLineaTiempo.EJECUCION, IndiceLineaTiempo.BLOQUEADO, IndiceLineaTiempo.LISTO, IndiceLineaTiempo.NUEVO,
+            IndiceLineaTiempo.TIP, IndiceLineaTiempo.TCP, IndiceLineaTiempo.TFP};
+        for (byte estado : leyendaOrdenada) {
             legendY += 20;
-            g.setColor(color);
+            g.setColor(stateColors[estado]);
             g.fillRect(legendX, legendY, 15, 15);
             g.setColor(Color.BLACK);
             g.drawRect(legendX, legendY, 15, 15);
-            g.drawString(estado, legendX + 25, legendY + 12);
+            g.drawString(IndiceLineaTiempo.NOMBRES_ESTADO[estado], legendX + 25, legendY + 12);
+        }
+        evento.end();
+        if (evento.shouldCommit()) {
+            evento.filas = Math.max(0, filaHasta - filaDesde + 1);
+            evento.instantes = (int) Math.min(Integer.MAX_VALUE, Math.max(0, tHasta - tDesde + 1));
+            evento.commit();
+        }
+    }
+
+    private static int x(long celda) {
+        return MARGIN_LEFT + (int) (celda * CELL_WIDTH);
+    }
+
+    //Cuántas unidades de tiempo representa cada celda; la telemetría de abajo usa la misma escala
+    long getUnidadesPorCelda() {
+        return unidadesPorCelda;
+    }
+
+    /*
+       Recorre solo los eventos del proceso (de la lista del índice) y arma sus tramos de estado.
+       Algunos eventos "transitorios" muestran un estado en su instante y otro desde el siguiente:
+       por ejemplo, de ejecutando a bloqueado la casilla del evento se ve ejecutando.
+     */
+    private void armarTramos(int pid) {
+        EventoTramosGantt evento = new EventoTramosGantt();
+        evento.begin();
+        int[] posiciones = indice.eventosDe(pid, 0, Long.MAX_VALUE);
+        long[] desde = new long[posiciones.length * 2 + 1];
+        byte[] estado = new byte[desde.length];
+        int cantidad = 1;
+        desde[0] = 0;
+        estado[0] = IndiceLineaTiempo.NO_LLEGADO;
+        byte arrastre = IndiceLineaTiempo.NO_LLEGADO;
+        int j = 0;
+        while (j < posiciones.length) {
+            long t = eventos.getTiempo(posiciones[j]);
+            byte casilla = arrastre;
+            byte siguiente = -1;
+            for (; j < posiciones.length && eventos.getTiempo(posiciones[j]) == t; j++) {
+                switch (eventos.getTipo(posiciones[j])) {
+                    case TipoEvento.ARRIBO_PROCESO:
+                        casilla = IndiceLineaTiempo.NUEVO;
+                        break;
+                    case TipoEvento.INICIO_TIP:
+                        casilla = IndiceLineaTiempo.TIP;
+                        break;
+                    case TipoEvento.INICIO_TCP:
+                        casilla = IndiceLineaTiempo.TCP;
+                        break;
+                    case TipoEvento.EJECUCION:
+                    case TipoEvento.DESPACHO_PROCESO:
+                        casilla = IndiceLineaTiempo.EJECUCION;
+                        break;
+                    case TipoEvento.FIN_TIP:
+                    case TipoEvento.BLOQUEADO_A_LISTO:
+                    case TipoEvento.INTERRUPCION:
+                    case TipoEvento.INCUMBENTE_EXPROPIADO:
+                        casilla = IndiceLineaTiempo.LISTO;
+                        break;
+                    case TipoEvento.FIN_TFP:
+                        casilla = IndiceLineaTiempo.TFP;
+                        siguiente = IndiceLineaTiempo.TERMINADO;
+                        break;
+                    case TipoEvento.EJECUCION_A_BLOQUEADO:
+                        casilla = IndiceLineaTiempo.EJECUCION;
+                        siguiente = IndiceLineaTiempo.BLOQUEADO;
+                        break;
+                    case TipoEvento.PROCESO_TERMINADO:
+                        casilla = IndiceLineaTiempo.EJECUCION;
+                        siguiente = IndiceLineaTiempo.TFP;
+                        break;
+                    case TipoEvento.FIN_QUANTUM:
+                        casilla = IndiceLineaTiempo.EJECUCION;
+                        siguiente = IndiceLineaTiempo.LISTO;
+                        break;
+                }
+            }
+            cantidad = agregarTramo(desde, estado, cantidad, t, casilla);
+            if (siguiente >= 0) {
+                cantidad = agregarTramo(desde, estado, cantidad, t + 1, siguiente);
+                arrastre = siguiente;
+            } else {
+                arrastre = casilla;
+            }
+        }
+        inicios[pid] = Arrays.copyOf(desde, cantidad);
+        estados[pid] = Arrays.copyOf(estado, cantidad);
+        evento.end();
+        if (evento.shouldCommit()) {
+            evento.pid = pid;
+            evento.eventos = posiciones.length;
+            evento.tramos = cantidad;
+            evento.commit();
+        }
+    }
+
+    //Un tramo que empieza donde empezaba el último lo reemplaza; uno igual al último no hace falta
+    private static int agregarTramo(long[] desde, byte[] estado, int cantidad, long t, byte nuevo) {
+        if (desde[cantidad - 1] == t) {
+            estado[cantidad - 1] = nuevo;
+            return cantidad;
+        }
+        if (estado[cantidad - 1] == nuevo) {
+            return cantidad;
         }
+        desde[cantidad] = t;
+        estado[cantidad] = nuevo;
+        return cantidad + 1;
     }
 
     @Override
     public Dimension getPreferredSize() {
-        if (eventos == null || eventos.isEmpty()) {
+        if (indice.getIndexados() == 0) {
             return new Dimension(800, 600);
         }
-        int tiempoTotal = eventos.get(eventos.size() - 1).getTiempo();
-        int width = MARGIN_LEFT + (tiempoTotal + 2) * CELL_WIDTH;
-        int height = MARGIN_TOP + procesos.size() * ROW_HEIGHT + 200;
+        int width = x(tiempoTotal / unidadesPorCelda + 2);
+        int height = MARGIN_TOP + carga.getCantidad() * ROW_HEIGHT + 200;
         return new Dimension(width, height);
     }
-}
\ No newline at end of file
+}
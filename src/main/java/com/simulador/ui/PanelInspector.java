@@ -0,0 +1,131 @@
+package com.simulador.ui;
+
+import java.awt.BorderLayout;
+import java.awt.Font;
+import java.awt.GridLayout;
+import javax.swing.BorderFactory;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JSlider;
+import javax.swing.JTable;
+import javax.swing.table.DefaultTableModel;
+
+import com.simulador.eventos.IndiceLineaTiempo;
+import com.simulador.models.CargaTrabajo;
+import com.simulador.models.UnidadTiempo;
+
+//Permite moverse por la línea de tiempo de la última simulación y ver el estado de todo en cada instante
+public class PanelInspector extends JPanel {
+
+    private static final int PASOS_MAXIMOS = 100_000; //El deslizador es int: en corridas más largas cada paso cubre varias unidades
+
+    private final JSlider deslizador;
+    private final JLabel tiempoLabel;
+    private final JLabel cpuLabel;
+    private final JLabel colaLabel;
+    private final DefaultTableModel modeloTabla;
+
+    private IndiceLineaTiempo indice;
+    private CargaTrabajo carga;
+    private UnidadTiempo unidad = UnidadTiempo.UNIDAD;
+
+    public PanelInspector() {
+        setLayout(new BorderLayout());
+
+        deslizador = new JSlider(0, 0, 0);
+        deslizador.setEnabled(false);
+        deslizador.addChangeListener(e -> mostrarInstante(tiempoDe(deslizador.getValue())));
+
+        tiempoLabel = new JLabel("Sin simulación.");
+        cpuLabel = new JLabel(" ");
+        colaLabel = new JLabel(" ");
+        Font fuente = new Font("Monospaced", Font.PLAIN, 12);
+        cpuLabel.setFont(fuente);
+        colaLabel.setFont(fuente);
+
+        JPanel panelSuperior = new JPanel(new GridLayout(4, 1));
+        panelSuperior.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
+        panelSuperior.add(deslizador);
+        panelSuperior.add(tiempoLabel);
+        panelSuperior.add(cpuLabel);
+        panelSuperior.add(colaLabel);
+
+        modeloTabla = new DefaultTableModel(new Object[]{"PID", "Nombre", "Estado"}, 0) {
+            @Override
+            public boolean isCellEditable(int fila, int columna) {
+                return false;
+            }
+        };
+        JTable tabla = new JTable(modeloTabla);
+
+        add(panelSuperior, BorderLayout.NORTH);
+        add(new JScrollPane(tabla), BorderLayout.CENTER);
+    }
+
+    //Se llama al terminar cada simulación, con el índice ya armado fuera del hilo de Swing
+    public void mostrar(CargaTrabajo carga, IndiceLineaTiempo indice, UnidadTiempo unidad) {
+        this.carga = carga;
+        this.indice = indice;
+        this.unidad = unidad;
+
+        modeloTabla.setRowCount(0);
+        for (int pid = 1; pid <= carga.getCantidad(); pid++) {
+            modeloTabla.addRow(new Object[]{pid, carga.getNombre(pid), ""});
+        }
+        deslizador.setMaximum((int) Math.min(indice.getTiempoFinal(), PASOS_MAXIMOS));
+        deslizador.setEnabled(true);
+        if (deslizador.getValue() == 0) {
+            mostrarInstante(0); //Si el valor no cambia el deslizador no avisa
+        } else {
+            deslizador.setValue(0);
+        }
+    }
+
+    //Deja el panel sin índice, por ejemplo si la simulación tiene demasiados eventos para armarlo
+    public void limpiar(String mensaje) {
+        this.indice = null;
+        modeloTabla.setRowCount(0);
+        deslizador.setEnabled(false);
+        tiempoLabel.setText(mensaje);
+        cpuLabel.setText(" ");
+        colaLabel.setText(" ");
+    }
+
+    private long tiempoDe(int valor) {
+        long tiempoFinal = (indice != null) ? indice.getTiempoFinal() : 0;
+        return (tiempoFinal <= PASOS_MAXIMOS) ? valor : Math.round(valor * (tiempoFinal / (double) PASOS_MAXIMOS));
+    }
+
+    private void mostrarInstante(long tiempo) {
+        if (indice == null) {
+            return;
+        }
+        IndiceLineaTiempo.Foto foto = indice.estadoEn(tiempo);
+        tiempoLabel.setText("t = " + unidad.formatear(tiempo) + " de " + unidad.formatear(indice.getTiempoFinal()));
+
+        int pidEnCPU = foto.getPidEnCPU();
+        if (pidEnCPU == 0) {
+            cpuLabel.setText("CPU: ociosa");
+        } else {
+            cpuLabel.setText("CPU: P" + pidEnCPU + " (" + foto.getNombreEstado(pidEnCPU) + ")");
+        }
+
+        StringBuilder cola = new StringBuilder("Cola de listos: ");
+        int[] listos = foto.getColaListos();
+        if (listos.length == 0) {
+            cola.append("vacía");
+        }
+        for (int i = 0; i < listos.length; i++) {
+            if (i > 0) {
+                cola.append(", ");
+            }
+            cola.append('P').append(listos[i]);
+        }
+        colaLabel.setText(cola.toString());
+
+        for (int fila = 0; fila < carga.getCantidad(); fila++) {
+            modeloTabla.setValueAt(foto.getNombreEstado(fila + 1), fila, 2);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.simulador.ui;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+
+import javax.swing.JPanel;
+
+import com.simulador.models.Telemetria;
+
+/*
+   Gráficos de la telemetría debajo del Gantt, con su misma escala de tiempo: cola de listos, bloqueados,
+   reparto de la CPU y despachos. Cada ventana es una barra con la media, y una raya marca el máximo.
+   Para lo que se ve se usa el nivel más fino de la telemetría que todavía guarda ese tramo de la corrida.
+ */
+public class PanelTelemetria extends JPanel {
+
+    private static final int ALTO_GRAFICO = 60;
+    private static final int SEPARACION = 25;
+    private static final int MARGEN_SUPERIOR = 20;
+
+    private static final String[] TITULOS = {"Listos", "Bloqueados", "CPU", "Despachos"};
+    private static final int[] SERIES = {Telemetria.LISTOS, Telemetria.BLOQUEADOS, Telemetria.CPU_PROCESOS, Telemetria.DESPACHOS};
+    private static final Color[] COLORES = {Color.ORANGE, Color.RED, Color.GREEN, Color.BLUE};
+    private static final Color COLOR_SO = Color.GRAY;
+
+    private final Telemetria telemetria;
+    private final long tiempoFinal;
+    private final long unidadesPorCelda; //La del Gantt de arriba
+    private final double[] escalas = new double[SERIES.length];
+
+    public PanelTelemetria(Telemetria telemetria, long unidadesPorCelda) {
+        this.telemetria = telemetria;
+        this.unidadesPorCelda = unidadesPorCelda;
+        int ultimo = Telemetria.NIVELES - 1;
+        int cantidad = (telemetria != null) ? telemetria.getCantidad(ultimo) : 0;
+        this.tiempoFinal = (cantidad > 0) ? telemetria.getInicio(ultimo, cantidad - 1) + telemetria.getMuestras(ultimo, cantidad - 1) - 1 : 0;
+        for (int g = 0; g < SERIES.length; g++) {
+            //La CPU va de 0 a 1; el resto, hasta el máximo de la corrida
+            escalas[g] = (SERIES[g] == Telemetria.CPU_PROCESOS || cantidad == 0) ? 1 : Math.max(1, telemetria.getMaximoTotal(SERIES[g]));
+        }
+        setBackground(Color.WHITE);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        if (telemetria == null || telemetria.getCantidad(Telemetria.NIVELES - 1) == 0) {
+            g.drawString("La simulación no registró telemetría.", 20, 20);
+            return;
+        }
+
+        Rectangle area = g.getClipBounds();
+        if (area == null) {
+            area = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        long tDesde = Math.max(0, (area.x - PanelGantt.MARGIN_LEFT) / PanelGantt.CELL_WIDTH - 1) * unidadesPorCelda;
+        long tHasta = Math.min(tiempoFinal, ((area.x + area.width - PanelGantt.MARGIN_LEFT) / PanelGantt.CELL_WIDTH + 2) * unidadesPorCelda - 1);
+        int nivel = telemetria.nivelQueCubre(tDesde);
+        int cantidad = telemetria.getCantidad(nivel);
+        long ancho = telemetria.getAncho(nivel);
+        int desde = (int) Math.max(0, (tDesde - telemetria.getInicio(nivel, 0)) / ancho);
+
+        for (int grafico = 0; grafico < SERIES.length; grafico++) {
+            int base = MARGEN_SUPERIOR + grafico * (ALTO_GRAFICO + SEPARACION) + ALTO_GRAFICO;
+            g.setColor(Color.BLACK);
+            g.setFont(new Font("Arial", Font.BOLD, 12));
+            g.drawString(TITULOS[grafico], 10, base - ALTO_GRAFICO / 2);
+            g.setFont(new Font("Arial", Font.PLAIN, 10));
+            g.drawString((SERIES[grafico] == Telemetria.CPU_PROCESOS) ? "100%" : "máx " + formatear(escalas[grafico]), 10, base - ALTO_GRAFICO / 2 + 14);
+            g.drawLine(PanelGantt.MARGIN_LEFT, base, x(tiempoFinal + 1), base);
+
+            for (int i = desde; i < cantidad && telemetria.getInicio(nivel, i) <= tHasta; i++) {
+                int x = x(telemetria.getInicio(nivel, i));
+                int w = Math.max(1, x(telemetria.getInicio(nivel, i) + telemetria.getMuestras(nivel, i)) - x);
+                if (SERIES[grafico] == Telemetria.CPU_PROCESOS) { //Apilado: procesos abajo, SO arriba, el resto es ociosa
+                    int procesos = altura(telemetria.getMedia(nivel, i, Telemetria.CPU_PROCESOS), 1);
+                    int so = altura(telemetria.getMedia(nivel, i, Telemetria.CPU_SO), 1);
+                    g.setColor(COLORES[grafico]);
+                    g.fillRect(x, base - procesos, w, procesos);
+                    g.setColor(COLOR_SO);
+                    g.fillRect(x, base - procesos - so, w, so);
+                } else {
+                    int media = altura(telemetria.getMedia(nivel, i, SERIES[grafico]), escalas[grafico]);
+                    int maximo = altura(telemetria.getMaximo(nivel, i, SERIES[grafico]), escalas[grafico]);
+                    g.setColor(COLORES[grafico]);
+                    g.fillRect(x, base - media, w, media);
+                    g.setColor(COLORES[grafico].darker());
+                    g.drawLine(x, base - maximo, x + w - 1, base - maximo);
+                }
+            }
+        }
+    }
+
+    private int x(long tiempo) {
+        return PanelGantt.MARGIN_LEFT + (int) (tiempo * PanelGantt.CELL_WIDTH / unidadesPorCelda);
+    }
+
+    private static int altura(double valor, double escala) {
+        return (int) Math.round(Math.min(1, valor / escala) * ALTO_GRAFICO);
+    }
+
+    private static String formatear(double valor) {
+        return (valor == Math.rint(valor)) ? String.valueOf((long) valor) : String.format("%.2f", valor);
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        int width = x(tiempoFinal + 2 * unidadesPorCelda);
+        int height = MARGEN_SUPERIOR + SERIES.length * (ALTO_GRAFICO + SEPARACION);
+        return new Dimension(width, height);
+    }
+}
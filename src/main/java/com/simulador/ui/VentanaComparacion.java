@@ -0,0 +1,128 @@
+package com.simulador.ui;
+
+import java.awt.BorderLayout;
+import java.awt.Dimension;
+import java.awt.GridLayout;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+import javax.swing.JDialog;
+import javax.swing.JFrame;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.SwingWorker;
+import javax.swing.table.DefaultTableModel;
+
+import com.simulador.Simulador;
+import com.simulador.eventos.AlmacenEventos;
+import com.simulador.models.CargaTrabajo;
+import com.simulador.models.Metricas;
+import com.simulador.models.SystemParams;
+import com.simulador.persistencia.CacheResultados;
+import com.simulador.scheduler.Planificador;
+import com.simulador.scheduler.RegistroPlanificadores;
+
+/*
+   Corre varios algoritmos a la vez sobre la misma carga (que es inmutable, así que se comparte sin copiarla)
+   y muestra sus métricas lado a lado junto con una miniatura del Gantt de cada uno.
+   Cada algoritmo tiene su propio SwingWorker, su planificador y su simulador; la fila de la tabla y la
+   miniatura se completan cuando termina esa corrida, sin esperar a las demás.
+ */
+public class VentanaComparacion extends JDialog {
+
+    public static final String[] ALGORITMOS = {"FCFS", "SPN", "Prioridad Externa", "SRTN", "Round-Robin"};
+
+    private static final String[] COLUMNAS = {"Algoritmo", "Estado", "Retorno Tanda", "Retorno Medio", "CPU Desocupada",
+        "CPU SO", "CPU Procesos", "Retorno p99", "Espera p99", "Respuesta p99", "Tiempo (ms)"};
+
+    private final DefaultTableModel modelo;
+
+    public VentanaComparacion(JFrame parent, CargaTrabajo carga, SystemParams params) {
+        super(parent, "Comparación de algoritmos", false); //No modal, para seguir usando la ventana principal
+
+        setSize(1100, 600);
+        setLocationRelativeTo(parent);
+        setLayout(new BorderLayout());
+
+        modelo = new DefaultTableModel(COLUMNAS, 0) {
+            @Override
+            public boolean isCellEditable(int fila, int columna) {
+                return false;
+            }
+        };
+        JTable tabla = new JTable(modelo);
+        JScrollPane scrollTabla = new JScrollPane(tabla);
+        scrollTabla.setPreferredSize(new Dimension(1000, 130));
+
+        JPanel panelMiniaturas = new JPanel(new GridLayout(0, 3, 8, 8));
+        for (int i = 0; i < ALGORITMOS.length; i++) {
+            Object[] fila = new Object[COLUMNAS.length];
+            fila[0] = ALGORITMOS[i];
+            fila[1] = "Ejecutando";
+            modelo.addRow(fila);
+
+            MiniaturaGantt miniatura = new MiniaturaGantt(ALGORITMOS[i]);
+            panelMiniaturas.add(miniatura);
+            new CorridaWorker(i, carga, params, miniatura).execute();
+        }
+
+        add(scrollTabla, BorderLayout.NORTH);
+        add(new JScrollPane(panelMiniaturas), BorderLayout.CENTER);
+    }
+
+    private class CorridaWorker extends SwingWorker<Simulador, Void> {
+
+        private final int fila;
+        private final CargaTrabajo carga;
+        private final SystemParams params;
+        private final MiniaturaGantt miniatura;
+        private BufferedImage imagen;
+        private long milisegundos;
+
+        public CorridaWorker(int fila, CargaTrabajo carga, SystemParams params, MiniaturaGantt miniatura) {
+            this.fila = fila;
+            this.carga = carga;
+            this.params = params;
+            this.miniatura = miniatura;
+        }
+
+        @Override
+        protected Simulador doInBackground() throws IOException {
+            long inicio = System.nanoTime();
+            Planificador planificador = RegistroPlanificadores.crear(ALGORITMOS[fila]);
+            if (planificador == null) {
+                throw new IllegalStateException("No hay un planificador registrado con el nombre " + ALGORITMOS[fila]);
+            }
+            Simulador simulador = CacheResultados.getCompartida().simular(carga, planificador, params, true); //Repetir la comparación es inmediato
+            try (AlmacenEventos log = simulador.getLog()) { //Después de la miniatura solo se usan las métricas
+                imagen = MiniaturaGantt.generar(carga, log); //También fuera del hilo de Swing
+            }
+            milisegundos = (System.nanoTime() - inicio) / 1_000_000;
+            return simulador;
+        }
+
+        @Override
+        protected void done() {
+            try {
+                Simulador simulador = get();
+                Metricas m = simulador.getMetricas();
+                long cpuProcesos = simulador.getTiempoActual() - (m.getTiempoCPUDesocupada() + m.getTiempoCPU_OS());
+                modelo.setValueAt("Terminado", fila, 1);
+                modelo.setValueAt(m.getTiempoRetornoTanda(), fila, 2);
+                modelo.setValueAt(String.format("%.2f", m.getTiempoMedioRetornoTanda()), fila, 3);
+                modelo.setValueAt(m.getTiempoCPUDesocupada(), fila, 4);
+                modelo.setValueAt(m.getTiempoCPU_OS(), fila, 5);
+                modelo.setValueAt(cpuProcesos, fila, 6);
+                modelo.setValueAt(String.format("%.0f", m.getHistogramaRetorno().percentil(99)), fila, 7);
+                modelo.setValueAt(String.format("%.0f", m.getHistogramaEsperaListo().percentil(99)), fila, 8);
+                modelo.setValueAt(String.format("%.0f", m.getHistogramaRespuesta().percentil(99)), fila, 9);
+                modelo.setValueAt(milisegundos, fila, 10);
+                miniatura.mostrar(imagen);
+            } catch (Exception ex) {
+                ex.printStackTrace();
+                modelo.setValueAt("Error: " + ex.getMessage(), fila, 1);
+            }
+        }
+    }
+}
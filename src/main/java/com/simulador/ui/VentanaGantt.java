@@ -1,28 +1,34 @@
 package com.simulador.ui;
 
 import java.awt.BorderLayout;
-import java.util.List;
 
 import javax.swing.JDialog;
 import javax.swing.JFrame;
+import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 
-import com.simulador.models.Evento;
-import com.simulador.models.Proceso;
+import com.simulador.eventos.IndiceEventos;
+import com.simulador.models.CargaTrabajo;
+import com.simulador.models.Telemetria;
+import com.simulador.models.UnidadTiempo;
 
 public class VentanaGantt extends JDialog {
 
-    public VentanaGantt(JFrame parent, List<Proceso> procesos, List<Evento> eventos) {
+    public VentanaGantt(JFrame parent, CargaTrabajo carga, IndiceEventos indice, Telemetria telemetria, UnidadTiempo unidad) {
         super(parent, "Diagrama de Gantt", true); // true para que sea modal
         
-        setSize(1200, 650);
+        setSize(1200, 750);
         setLocationRelativeTo(parent);
         setLayout(new BorderLayout());
 
         // El panel de dibujo se coloca dentro de un JScrollPane
         // para poder navegar si el diagrama es muy ancho.
-        PanelGantt panelGantt = new PanelGantt(procesos, eventos);
-        JScrollPane scrollPane = new JScrollPane(panelGantt);
+        // La telemetría va debajo, en el mismo panel, así se desplaza junto con el Gantt.
+        PanelGantt panelGantt = new PanelGantt(carga, indice, unidad);
+        JPanel contenido = new JPanel(new BorderLayout());
+        contenido.add(panelGantt, BorderLayout.CENTER);
+        contenido.add(new PanelTelemetria(telemetria, panelGantt.getUnidadesPorCelda()), BorderLayout.SOUTH);
+        JScrollPane scrollPane = new JScrollPane(contenido);
         
         add(scrollPane, BorderLayout.CENTER);
     }
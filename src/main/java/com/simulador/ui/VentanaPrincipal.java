@@ -7,9 +7,11 @@ import java.io.File;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 
 import javax.swing.JButton;
+import javax.swing.JCheckBox;
 import javax.swing.JComboBox;
 import javax.swing.JFileChooser;
 import javax.swing.JFrame;
@@ -17,6 +19,7 @@ import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
+import javax.swing.JTabbedPane;
 import javax.swing.JTextArea;
 import javax.swing.JTextField;
 import javax.swing.SwingWorker;
@@ -25,30 +28,49 @@ import javax.swing.filechooser.FileNameExtensionFilter;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import com.simulador.Simulador;
-import com.simulador.models.Evento;
+import com.simulador.eventos.IndiceEventos;
+import com.simulador.eventos.AlmacenEventos;
+import com.simulador.eventos.IndiceLineaTiempo;
+import com.simulador.exportacion.ExportadorCSV;
+import com.simulador.jfr.EventoCarga;
+import com.simulador.models.CargaTrabajo;
+import com.simulador.models.EstadoProcesos;
 import com.simulador.models.Metricas;
 import com.simulador.models.Proceso;
 import com.simulador.models.SystemParams;
-import com.simulador.scheduler.FCFS;
+import com.simulador.models.UnidadTiempo;
+import com.simulador.optimizacion.Objetivo;
+import com.simulador.optimizacion.OptimizadorQuantum;
+import com.simulador.optimizacion.ResultadoOptimizacion;
+import com.simulador.persistencia.CacheResultados;
+import com.simulador.persistencia.LectorTraza;
+import com.simulador.scheduler.MLFQ;
 import com.simulador.scheduler.Planificador;
-import com.simulador.scheduler.PrioridadExterna;
-import com.simulador.scheduler.RoundRobin;
-import com.simulador.scheduler.SPN;
-import com.simulador.scheduler.SRTN;
+import com.simulador.scheduler.RegistroPlanificadores;
 
 public class VentanaPrincipal extends JFrame {
 
+    private static final int LIMITE_LOG = 100_000; //Eventos que se vuelcan al log de texto
+
     //Componentes de la UI
     private JTextArea logArea;
     private JButton iniciarButton;
     private JComboBox<String> selectorAlgoritmo;
-    private JTextField tipField, tfpField, tcpField, quantumField;
+    private JComboBox<UnidadTiempo> selectorUnidad;
+    private JTextField tipField, tfpField, tcpField, quantumField, semillaField;
+    private JTextField nivelesMLFQField, quantumsMLFQField, boostMLFQField; //Solo se habilitan con MLFQ
     private JButton ganttButton;
     private JButton exportarButton;
+    private JButton exportarCSVButton;
+    private JButton optimizarButton;
+    private JButton compararButton;
+    private PanelInspector panelInspector;
+    private PanelEventos panelEventos;
 
     //Datos de la simulación
-    private List<Proceso> procesosCargados;
+    private CargaTrabajo cargaTrabajo; //Se arma una vez por archivo y la comparten todas las corridas
     private Simulador simulador; //Atributo para guardar la instancia del simulador
+    private IndiceEventos indiceEventos; //Del log de la última simulación, para el Gantt y el visor de eventos
 
     public VentanaPrincipal() {
         setTitle("Simulador de Planificación de CPU");
@@ -58,12 +80,21 @@ public class VentanaPrincipal extends JFrame {
         
         //Panel de Controles (Norte)
         JPanel panelControles = new JPanel();
-        String[] algoritmos = {"FCFS", "SPN", "Prioridad Externa", "SRTN", "Round-Robin"};
+        String[] algoritmos = RegistroPlanificadores.nombres().toArray(new String[0]); //Los que encuentra el ServiceLoader
         selectorAlgoritmo = new JComboBox<>(algoritmos);
         tipField = new JTextField("2", 4);
         tfpField = new JTextField("1", 4);
         tcpField = new JTextField("1", 4);
         quantumField = new JTextField("10", 4);
+        nivelesMLFQField = new JTextField(String.valueOf(MLFQ.NIVELES_POR_DEFECTO), 2);
+        quantumsMLFQField = new JTextField("", 8);
+        quantumsMLFQField.setToolTipText("Uno por nivel separados por \"/\" (ej. 2/4/8); vacío: el quantum duplicado en cada nivel");
+        boostMLFQField = new JTextField("0", 4);
+        boostMLFQField.setToolTipText("Cada cuánto todos vuelven al primer nivel; 0: " + MLFQ.FACTOR_BOOST_POR_DEFECTO + " veces el quantum");
+        selectorAlgoritmo.addActionListener(e -> habilitarCamposMLFQ());
+        habilitarCamposMLFQ();
+        semillaField = new JTextField(String.valueOf(SystemParams.SEMILLA_POR_DEFECTO), 6);
+        selectorUnidad = new JComboBox<>(UnidadTiempo.todas().toArray(new UnidadTiempo[0]));
         
         panelControles.add(new JLabel("Algoritmo:"));
         panelControles.add(selectorAlgoritmo);
@@ -75,6 +106,16 @@ public class VentanaPrincipal extends JFrame {
         panelControles.add(tcpField);
         panelControles.add(new JLabel("Quantum:"));
         panelControles.add(quantumField);
+        panelControles.add(new JLabel("Niveles MLFQ:"));
+        panelControles.add(nivelesMLFQField);
+        panelControles.add(new JLabel("Quantums:"));
+        panelControles.add(quantumsMLFQField);
+        panelControles.add(new JLabel("Boost:"));
+        panelControles.add(boostMLFQField);
+        panelControles.add(new JLabel("Semilla:"));
+        panelControles.add(semillaField);
+        panelControles.add(new JLabel("Unidad:"));
+        panelControles.add(selectorUnidad);
 
         //Área de Log (Centro)
         logArea = new JTextArea();
@@ -82,32 +123,49 @@ public class VentanaPrincipal extends JFrame {
         logArea.setFont(new Font("Monospaced", Font.PLAIN, 12));
         JScrollPane scrollPane = new JScrollPane(logArea);
 
+        //Inspector de la línea de tiempo, en otra pestaña junto al log
+        panelInspector = new PanelInspector();
+        JTabbedPane pestanias = new JTabbedPane();
+        pestanias.addTab("Log", scrollPane);
+        pestanias.addTab("Inspector", panelInspector);
+        panelEventos = new PanelEventos();
+        pestanias.addTab("Eventos", panelEventos);
+
         //Panel de Botones (Sur)
         JPanel panelBotones = new JPanel();
-        JButton cargarJsonButton = new JButton("Cargar JSON de Procesos");
+        JButton cargarJsonButton = new JButton("Cargar Procesos (JSON o CSV)");
         iniciarButton = new JButton("Iniciar Simulación");
         iniciarButton.setEnabled(false); //Deshabilitado hasta cargar procesos
         ganttButton = new JButton("Ver Diagrama de Gantt");
         ganttButton.setEnabled(false); //Habilitado al finalizar la simulación
         exportarButton = new JButton("Exportar Log a TXT");
         exportarButton.setEnabled(false); //Habilitado al finalizar la simulación
+        exportarCSVButton = new JButton("Exportar CSV");
+        exportarCSVButton.setEnabled(false); //Habilitado al finalizar la simulación
+        optimizarButton = new JButton("Optimizar Quantum");
+        optimizarButton.setEnabled(false); //Deshabilitado hasta cargar procesos
+        compararButton = new JButton("Comparar Todos");
+        compararButton.setEnabled(false); //Deshabilitado hasta cargar procesos
 
         panelBotones.add(cargarJsonButton);
         panelBotones.add(iniciarButton);
         panelBotones.add(ganttButton);
         panelBotones.add(exportarButton);
+        panelBotones.add(exportarCSVButton);
+        panelBotones.add(optimizarButton);
+        panelBotones.add(compararButton);
 
         //Añadir paneles al Frame
         Container contentPane = getContentPane();
         contentPane.setLayout(new BorderLayout());
         contentPane.add(panelControles, BorderLayout.NORTH);
-        contentPane.add(scrollPane, BorderLayout.CENTER);
+        contentPane.add(pestanias, BorderLayout.CENTER);
         contentPane.add(panelBotones, BorderLayout.SOUTH);
 
         //Lógica de botones, el cargar json e iniciar simulación
         cargarJsonButton.addActionListener(e -> {
             JFileChooser fileChooser = new JFileChooser();
-            fileChooser.setDialogTitle("Selecciona el archivo JSON");
+            fileChooser.setDialogTitle("Selecciona el archivo JSON o la traza CSV");
             int result = fileChooser.showOpenDialog(this);
             if (result == JFileChooser.APPROVE_OPTION) {
                 File selectedFile = fileChooser.getSelectedFile();
@@ -116,9 +174,10 @@ public class VentanaPrincipal extends JFrame {
         });
 
         ganttButton.addActionListener(e -> {
-            if (this.simulador != null) {
+            if (this.simulador != null && this.indiceEventos != null) {
                 // Abre una nueva ventana para mostrar el diagrama de Gantt
-                VentanaGantt ventanaGantt = new VentanaGantt(this, this.simulador.getProcesos(), this.simulador.getLog());
+                VentanaGantt ventanaGantt = new VentanaGantt(this, this.simulador.getCarga(), this.indiceEventos, this.simulador.getTelemetria(),
+                        this.simulador.getParams().getUnidad());
                 ventanaGantt.setVisible(true);
             }
         });
@@ -127,11 +186,24 @@ public class VentanaPrincipal extends JFrame {
             exportarResultados();
         });
 
+        exportarCSVButton.addActionListener(e -> {
+            exportarCSV();
+        });
+
+        optimizarButton.addActionListener(e -> {
+            optimizarQuantum();
+        });
+
+        compararButton.addActionListener(e -> {
+            compararTodos();
+        });
+
         iniciarButton.addActionListener(e -> {
             try {
                 iniciarButton.setEnabled(false);
                 ganttButton.setEnabled(false);
                 exportarButton.setEnabled(false);
+                exportarCSVButton.setEnabled(false);
                 logArea.setText(""); // Limpiar el log anterior
 
                 // 1. Recolectar los parámetros de la UI
@@ -139,7 +211,9 @@ public class VentanaPrincipal extends JFrame {
                 int tfp = Integer.parseInt(tfpField.getText());
                 int tcp = Integer.parseInt(tcpField.getText());
                 int quantum = Integer.parseInt(quantumField.getText()); //Convertimos lo ingresado a enteros
-                SystemParams params = new SystemParams(tip, tfp, tcp, quantum);
+                long semilla = Long.parseLong(semillaField.getText()); //Solo la usan los planificadores con sorteo
+                SystemParams params = new SystemParams(tip, tfp, tcp, quantum, semilla);
+                params.setUnidad((UnidadTiempo) selectorUnidad.getSelectedItem());
 
                 // 2. Crear el planificador seleccionado
                 String algoSeleccionado = (String) selectorAlgoritmo.getSelectedItem();
@@ -150,25 +224,17 @@ public class VentanaPrincipal extends JFrame {
                     return;
                 }
 
-                // 3. Crear el Simulador con una COPIA de los procesos cargados y guardarlo
-                List<Proceso> copiaProcesos = procesosCargados.stream().map(Proceso::new).toList();
-                
-                // Se reinicia el estado de cada proceso para una nueva simulación
-                for (int i = 0; i < copiaProcesos.size(); i++) {
-                    copiaProcesos.get(i).inicializarParaSimulacion(i + 1);
-                }
-                
-                // Guardamos la instancia del simulador en el atributo de la clase
-                this.simulador = new Simulador(copiaProcesos, planificador, params);
-
-                // 4. Crear y ejecutar el SwingWorker
+                // 3. Crear y ejecutar el SwingWorker: simula (o toma el resultado de la caché) y guarda el Simulador al terminar
                 logArea.append("--- INICIANDO SIMULACIÓN [" + algoSeleccionado + "] ---\n");
-                SimulacionWorker worker = new SimulacionWorker(this.simulador);
+                SimulacionWorker worker = new SimulacionWorker(cargaTrabajo, planificador, params);
                 worker.execute();
 
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(this, "Por favor, ingrese valores numéricos válidos en los parámetros.", "Error de Entrada", JOptionPane.ERROR_MESSAGE);
                 iniciarButton.setEnabled(true);
+            } catch (IllegalArgumentException ex) { //Configuración de MLFQ inválida
+                JOptionPane.showMessageDialog(this, ex.getMessage(), "Error de Entrada", JOptionPane.ERROR_MESSAGE);
+                iniciarButton.setEnabled(true);
             } catch (Exception ex) {
                 ex.printStackTrace();
                 JOptionPane.showMessageDialog(this, "Ocurrió un error inesperado: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
@@ -181,35 +247,62 @@ public class VentanaPrincipal extends JFrame {
         Gson gson = new Gson();
         java.lang.reflect.Type tipoListaProcesos = new TypeToken<List<Proceso>>() {}.getType();
 
-        try (FileReader reader = new FileReader(archivo)) {
-            this.procesosCargados = gson.fromJson(reader, tipoListaProcesos);
+        EventoCarga evento = new EventoCarga();
+        evento.begin();
+        boolean esTraza = archivo.getName().toLowerCase().endsWith(".csv");
+        try {
+            CargaTrabajo carga;
+            if (esTraza) { //Traza con la secuencia de ráfagas de cada proceso, directo a la carga empaquetada
+                carga = LectorTraza.leerCarga(archivo.toPath());
+            } else {
+                List<Proceso> procesosCargados;
+                try (FileReader reader = new FileReader(archivo)) {
+                    procesosCargados = gson.fromJson(reader, tipoListaProcesos);
+                }
+                carga = (procesosCargados != null) ? new CargaTrabajo(procesosCargados) : null;
+            }
             
-            if (this.procesosCargados == null || this.procesosCargados.isEmpty()) {
-                logArea.setText("El archivo JSON está vacío o no tiene el formato esperado.");
+            if (carga == null || carga.getCantidad() == 0) {
+                logArea.setText("El archivo está vacío o no tiene el formato esperado.");
                 iniciarButton.setEnabled(false);
                 return;
             }
+            this.cargaTrabajo = carga;
+            evento.end();
+            if (evento.shouldCommit()) {
+                evento.archivo = archivo.getAbsolutePath();
+                evento.formato = esTraza ? "CSV" : "JSON";
+                evento.bytes = archivo.length();
+                evento.procesos = cargaTrabajo.getCantidad();
+                evento.commit();
+            }
 
             logArea.setText("Archivo cargado: " + archivo.getName() + "\n");
-            logArea.append(this.procesosCargados.size() + " procesos cargados exitosamente.\n");
-            for (Proceso p : this.procesosCargados) {
+            logArea.append(carga.getCantidad() + " procesos cargados exitosamente.\n");
+            for (int pid = 1; pid <= carga.getCantidad(); pid++) {
                 logArea.append("----------------------------------------\n");
-                logArea.append("  Nombre: " + p.getNombre() + "\n");
-                logArea.append("   - Tiempo de Arribo: " + p.getTiempoArribo() + "\n");
-                logArea.append("   - Ráfagas de CPU: " + p.getCantidadRafagasCPU() + "\n");
-                logArea.append("   - Duración Ráfaga CPU: " + p.getDuracionRafagaCPU() + "\n");
-                logArea.append("   - Duración Ráfaga E/S: " + p.getDuracionRafagaES() + "\n");
-                logArea.append("   - Prioridad: " + p.getPrioridadExterna() + "\n");
+                logArea.append("  Nombre: " + carga.getNombre(pid) + "\n");
+                logArea.append("   - Tiempo de Arribo: " + carga.getTiempoArribo(pid) + "\n");
+                logArea.append("   - Ráfagas de CPU: " + carga.getCantidadRafagasCPU(pid) + "\n");
+                if (carga.tieneSecuenciaRafagas(pid)) {
+                    logArea.append("   - Duraciones: según la secuencia de ráfagas\n");
+                } else {
+                    logArea.append("   - Duración Ráfaga CPU: " + carga.getDuracionRafagaCPU(pid) + "\n");
+                    logArea.append("   - Duración Ráfaga E/S: " + carga.getDuracionRafagaES(pid) + "\n");
+                }
+                logArea.append("   - Prioridad: " + carga.getPrioridadExterna(pid) + "\n");
             }
             logArea.append("----------------------------------------\n"); //Mostramos los datos de los procesos cargados
             
             iniciarButton.setEnabled(true);
+            optimizarButton.setEnabled(true);
+            compararButton.setEnabled(true);
 
         } catch (IOException ex) {
             JOptionPane.showMessageDialog(this, "Error al leer el archivo: " + ex.getMessage(), "Error de Archivo", JOptionPane.ERROR_MESSAGE);
             iniciarButton.setEnabled(false);
         } catch (Exception ex) {
-            JOptionPane.showMessageDialog(this, "El archivo no es un JSON válido: " + ex.getMessage(), "Error de Formato", JOptionPane.ERROR_MESSAGE);
+            JOptionPane.showMessageDialog(this, "El archivo no tiene un formato válido: " + ex.getMessage(), "Error de Formato", JOptionPane.ERROR_MESSAGE);
             iniciarButton.setEnabled(false);
         }
     }
@@ -240,70 +333,226 @@ public class VentanaPrincipal extends JFrame {
         }
     }
 
+    //Eventos, métricas por proceso y de la tanda en CSV, sacados del simulador y no del texto del log
+    private void exportarCSV() {
+        if (this.simulador == null) {
+            JOptionPane.showMessageDialog(this, "No hay datos de simulación para exportar.", "Aviso", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Carpeta donde guardar los CSV");
+        fileChooser.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+        JCheckBox conMensajesCheck = new JCheckBox("Incluir mensajes"); //Sin ellos eventos.csv es varias veces más chico
+        fileChooser.setAccessory(conMensajesCheck);
+        if (fileChooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File carpeta = fileChooser.getSelectedFile();
+        boolean conMensajes = conMensajesCheck.isSelected();
+        Simulador simuladorExportado = this.simulador;
+        exportarCSVButton.setEnabled(false);
+        new SwingWorker<Void, Void>() { //Con millones de eventos tarda lo que tarde el disco, fuera del hilo de Swing
+            @Override
+            protected Void doInBackground() throws Exception {
+                ExportadorCSV.exportar(simuladorExportado, carpeta.toPath(), conMensajes);
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                exportarCSVButton.setEnabled(true);
+                try {
+                    get();
+                    JOptionPane.showMessageDialog(VentanaPrincipal.this, "Resultados exportados en:\n" + carpeta.getAbsolutePath(), "Exportación Exitosa", JOptionPane.INFORMATION_MESSAGE);
+                } catch (Exception ex) {
+                    ex.printStackTrace();
+                    JOptionPane.showMessageDialog(VentanaPrincipal.this, "Error al exportar: " + ex.getMessage(), "Error de Exportación", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    //Corre a la vez los algoritmos de VentanaComparacion con los parámetros ingresados y los muestra lado a lado
+    private void compararTodos() {
+        SystemParams params;
+        try {
+            params = new SystemParams(Integer.parseInt(tipField.getText()), Integer.parseInt(tfpField.getText()),
+                    Integer.parseInt(tcpField.getText()), Integer.parseInt(quantumField.getText()), Long.parseLong(semillaField.getText()));
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Por favor, ingrese valores numéricos válidos para los parámetros.", "Error de Entrada", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        new VentanaComparacion(this, cargaTrabajo, params).setVisible(true);
+    }
+
+    //Prueba los quantum de 1 a 100 con Round Robin y los TIP, TFP y TCP ingresados, y deja el mejor en el campo Quantum
+    private void optimizarQuantum() {
+        String[] nombres = new String[Objetivo.TODOS.length];
+        for (int i = 0; i < nombres.length; i++) {
+            nombres[i] = Objetivo.TODOS[i].getNombre();
+        }
+        Object elegido = JOptionPane.showInputDialog(this, "Qué minimizar:", "Optimizar Quantum",
+                JOptionPane.QUESTION_MESSAGE, null, nombres, nombres[0]);
+        if (elegido == null) {
+            return;
+        }
+        Objetivo objetivo = Objetivo.TODOS[Arrays.asList(nombres).indexOf(elegido)];
+        SystemParams params;
+        try {
+            params = new SystemParams(Integer.parseInt(tipField.getText()), Integer.parseInt(tfpField.getText()),
+                    Integer.parseInt(tcpField.getText()), 1, Long.parseLong(semillaField.getText()));
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Por favor, ingrese valores numéricos válidos para los parámetros.", "Error de Entrada", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        OptimizadorQuantum optimizador = new OptimizadorQuantum(cargaTrabajo, params, objetivo);
+        optimizarButton.setEnabled(false);
+        new SwingWorker<ResultadoOptimizacion, Void>() {
+            @Override
+            protected ResultadoOptimizacion doInBackground() {
+                return optimizador.optimizar(1, 100);
+            }
+
+            @Override
+            protected void done() {
+                optimizarButton.setEnabled(true);
+                try {
+                    ResultadoOptimizacion resultado = get();
+                    logArea.append("\n==== OPTIMIZACIÓN DEL QUANTUM (" + resultado.getNombreObjetivo() + ", TCP " + resultado.getTcp() + ") ====\n");
+                    for (ResultadoOptimizacion.Candidato c : resultado.getCandidatos()) {
+                        logArea.append(String.format("  Quantum %3d: %s\n", c.getQuantum(), c.isPodado() ? "descartado" : String.format("%.2f", c.getValor())));
+                    }
+                    logArea.append(String.format("Mejor quantum: %d (%.2f), %d corridas abandonadas antes de terminar\n",
+                            resultado.getMejorQuantum(), resultado.getMejorValor(), resultado.getPodados()));
+                    quantumField.setText(String.valueOf(resultado.getMejorQuantum()));
+                } catch (Exception ex) {
+                    ex.printStackTrace();
+                    JOptionPane.showMessageDialog(VentanaPrincipal.this, "Error al optimizar: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
     private Planificador crearPlanificador(String nombreAlgoritmo){
-        switch (nombreAlgoritmo) {
-            case "FCFS":
-                return new FCFS();
-            case "Round-Robin":
-                return new RoundRobin();
-            case "Prioridad Externa":
-                return new PrioridadExterna();
-            case "SPN":
-                return new SPN();
-            case "SRTN":
-                return new SRTN();
-            default:
-                return null; // O devolver un FCFS por defecto
+        if (nombreAlgoritmo.equals("MLFQ")) { //Con la misma configuración en texto que usan el barrido y el servidor
+            String quantums = quantumsMLFQField.getText().trim().replace(',', '/');
+            nombreAlgoritmo += ":boost=" + boostMLFQField.getText().trim()
+                    + (quantums.isEmpty() ? ";niveles=" + nivelesMLFQField.getText().trim() : ";quantums=" + quantums); //Los quantums fijan los niveles
         }
+        return RegistroPlanificadores.crear(nombreAlgoritmo); //null si no hay ninguno registrado con ese nombre
     }
 
-    private class SimulacionWorker extends SwingWorker<List<Evento>, Void> {
+    private void habilitarCamposMLFQ() {
+        boolean esMLFQ = "MLFQ".equals(selectorAlgoritmo.getSelectedItem());
+        nivelesMLFQField.setEnabled(esMLFQ);
+        quantumsMLFQField.setEnabled(esMLFQ);
+        boostMLFQField.setEnabled(esMLFQ);
+    }
 
+    //El log de la corrida que se reemplaza: se cierra para que su archivo de desborde no quede en el temporal
+    private void cerrarLogAnterior() {
+        if (this.simulador == null) {
+            return;
+        }
+        panelInspector.limpiar("Sin simulación."); //Su índice lee del log que se cierra
+        try {
+            this.simulador.getLog().close(); //Lo ya mapeado se sigue pudiendo leer (una exportación en curso, el Gantt abierto)
+        } catch (IOException ex) {
+            ex.printStackTrace();
+        }
+    }
+
+    private class SimulacionWorker extends SwingWorker<AlmacenEventos, Void> {
+
+        private final CargaTrabajo carga;
+        private final Planificador planificador;
+        private final SystemParams params;
         private Simulador simulador;
+        private IndiceLineaTiempo indice;
+        private IndiceEventos indiceEventos;
 
-        public SimulacionWorker(Simulador simulador) {
-            this.simulador = simulador;
+        public SimulacionWorker(CargaTrabajo carga, Planificador planificador, SystemParams params) {
+            this.carga = carga;
+            this.planificador = planificador;
+            this.params = params;
         }
 
         @Override
-        protected List<Evento> doInBackground() throws Exception {
-            simulador.iniciar();
+        protected AlmacenEventos doInBackground() throws Exception {
+            simulador = CacheResultados.getCompartida().simular(carga, planificador, params, true); //La misma corrida repetida no se vuelve a simular
+            if (IndiceLineaTiempo.admite(simulador.getLog().getCantidad())) { //Si no, el inspector queda sin usar
+                indice = new IndiceLineaTiempo(simulador.getLog(), simulador.getCarga().getCantidad()); //Se arma acá para no trabar la interfaz
+            }
+            indiceEventos = simulador.getLog().getIndice();
             return simulador.getLog();
         }
 
         @Override
         protected void done() {
             try {
-                List<Evento> eventos = get();
-                for (Evento e : eventos) {
-                    logArea.append(e.toString() + "\n");
+                AlmacenEventos eventos = get();
+                cerrarLogAnterior();
+                VentanaPrincipal.this.simulador = this.simulador;
+                if (simulador.isDeResultadoGuardado()) {
+                    logArea.append("(Resultado tomado de la caché: la misma carga, algoritmo y parámetros ya se simularon)\n");
+                }
+                int mostrados = (int) Math.min(eventos.getCantidad(), LIMITE_LOG);
+                StringBuilder texto = new StringBuilder();
+                for (int i = 0; i < mostrados; i++) {
+                    texto.append(eventos.get(i)).append('\n');
+                }
+                if (mostrados < eventos.getCantidad()) { //El resto se consulta con los filtros de la pestaña Eventos
+                    texto.append("... ").append(eventos.getCantidad() - mostrados).append(" eventos más, ver la pestaña Eventos\n");
                 }
+                logArea.append(texto.toString());
 
                 //Mostrar métricas de la tanda
                 logArea.append("\n==== METRICAS DE LA TANDA ====\n");
                 Metricas m = this.simulador.getMetricas();
-                logArea.append("Tiempo Retorno Tanda: " + m.getTiempoRetornoTanda() + "\n");
+                UnidadTiempo unidad = params.getUnidad();
+                logArea.append("Tiempo Retorno Tanda: " + unidad.formatear(m.getTiempoRetornoTanda()) + "\n");
                 logArea.append("Tiempo Medio Retorno: " + String.format("%.2f", m.getTiempoMedioRetornoTanda()) + "\n");
-                logArea.append("CPU Desocupada: " + m.getTiempoCPUDesocupada() + "\n");
-                logArea.append("CPU SO: " + m.getTiempoCPU_OS() + "\n");
+                logArea.append("CPU Desocupada: " + unidad.formatear(m.getTiempoCPUDesocupada()) + "\n");
+                logArea.append("CPU SO: " + unidad.formatear(m.getTiempoCPU_OS()) + "\n");
             
-                int totalTiempo = eventos.isEmpty() ? 0 : eventos.get(eventos.size() - 1).getTiempo(); //Tomamos el tiempo del último evento como el tiempo total
-                int cpuProc = totalTiempo - (m.getTiempoCPUDesocupada() + m.getTiempoCPU_OS());
-                logArea.append("CPU Procesos: " + cpuProc + "\n");
+                long totalTiempo = (eventos.getCantidad() == 0) ? 0 : eventos.getTiempo(eventos.getCantidad() - 1); //Tomamos el tiempo del último evento como el tiempo total
+                long cpuProc = totalTiempo - (m.getTiempoCPUDesocupada() + m.getTiempoCPU_OS());
+                logArea.append("CPU Procesos: " + unidad.formatear(cpuProc) + "\n");
+                if (m.getOcupacionNiveles() != null) {
+                    for (int nivel = 0; nivel < m.getOcupacionNiveles().length; nivel++) {
+                        logArea.append("Ocupación media nivel " + nivel + ": " + String.format("%.2f", m.getOcupacionMediaNivel(nivel)) + "\n");
+                    }
+                }
 
                 //Mostrar métricas por proceso
                 logArea.append("\n==== METRICAS POR PROCESO ====\n");
-                List<Proceso> procesosFinalizados = this.simulador.getProcesos();
-                for (Proceso p : procesosFinalizados) {
-                    int tr = p.getTiempoFinEjecucion() - p.getTiempoArribo();
-                    double tiempoDeServicio = p.getCantidadRafagasCPU() * p.getDuracionRafagaCPU();
+                CargaTrabajo carga = this.simulador.getCarga();
+                EstadoProcesos procesosFinalizados = this.simulador.getEstadoProcesos();
+                for (int pid = 1; pid <= carga.getCantidad(); pid++) {
+                    long tr = procesosFinalizados.getTiempoFinEjecucion(pid) - carga.getTiempoArribo(pid);
+                    double tiempoDeServicio = carga.getTiempoServicio(pid);
                     double trn = (tiempoDeServicio > 0) ? tr / tiempoDeServicio : 0;
                     
-                    logArea.append("Proceso " + p.getPid() + " (" + p.getNombre() + "):\n");
-                    logArea.append("  - Tiempo de Retorno (TRp): " + tr + "\n");
+                    logArea.append("Proceso " + pid + " (" + carga.getNombre(pid) + "):\n");
+                    logArea.append("  - Tiempo de Retorno (TRp): " + unidad.formatear(tr) + "\n");
                     logArea.append("  - T. de Retorno Normalizado (TRn): " + String.format("%.2f", trn) + "\n");
-                    logArea.append("  - Tiempo en Fila/Listo: " + p.getTiempoEnEstadoListo() + "\n");
+                    logArea.append("  - Tiempo en Fila/Listo: " + unidad.formatear(procesosFinalizados.getTiempoEnEstadoListo(pid)) + "\n");
+                }
+
+                //Distribuciones de la tanda (percentiles de los histogramas)
+                logArea.append("\n==== DISTRIBUCIONES ====\n");
+                logArea.append("Retorno (TRp): " + m.getHistogramaRetorno() + "\n");
+                logArea.append("Retorno Normalizado (TRn): " + m.getHistogramaRetornoNormalizado() + "\n");
+                logArea.append("Espera en Fila/Listo: " + m.getHistogramaEsperaListo() + "\n");
+                logArea.append("Respuesta: " + m.getHistogramaRespuesta() + "\n");
+                if (indice != null) {
+                    panelInspector.mostrar(carga, indice, unidad);
+                } else {
+                    panelInspector.limpiar("La simulación tiene demasiados eventos para el inspector.");
                 }
+                panelEventos.mostrar(indiceEventos);
+                VentanaPrincipal.this.indiceEventos = indiceEventos;
 
             } catch (Exception ex) {
                 ex.printStackTrace();
@@ -315,6 +564,7 @@ public class VentanaPrincipal extends JFrame {
             iniciarButton.setEnabled(true);
             ganttButton.setEnabled(true);
             exportarButton.setEnabled(true);
+            exportarCSVButton.setEnabled(true);
         }
     }
 }
\ No newline at end of file